@@ -0,0 +1,93 @@
+package dev.itltcanz.bankapi.benchmark;
+
+import dev.itltcanz.bankapi.cache.BinaryCacheSerializer;
+import dev.itltcanz.bankapi.dto.card.CardDtoResponse;
+import dev.itltcanz.bankapi.util.Money;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+/**
+ * Compares the binary cache codec with the JSON serializer the caches used before, for a single
+ * card and for pages of the user and admin card listings. The payload size of each combination
+ * is printed at setup. {@code json} is the baseline; it cannot read a {@link PageImpl} back, so
+ * its {@code decode} benchmark fails for the page values.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CacheCodecBenchmark {
+
+  @Param({"json", "binary", "binary-deflate"})
+  private String codec;
+
+  @Param({"card", "page-20", "page-1000"})
+  private String value;
+
+  private RedisSerializer<Object> serializer;
+  private Object cached;
+  private byte[] encoded;
+
+  @Setup
+  public void setUp() {
+    var json = new GenericJackson2JsonRedisSerializer();
+    serializer = switch (codec) {
+      case "json" -> json;
+      case "binary" -> new BinaryCacheSerializer(0, json);
+      case "binary-deflate" -> new BinaryCacheSerializer(1024, json);
+      default -> throw new IllegalArgumentException("Unknown codec " + codec);
+    };
+    var ownerId = UUID.randomUUID().toString();
+    cached = switch (value) {
+      case "card" -> card(0, ownerId);
+      case "page-20" -> page(20, ownerId);
+      case "page-1000" -> page(1000, ownerId);
+      default -> throw new IllegalArgumentException("Unknown value " + value);
+    };
+    encoded = serializer.serialize(cached);
+    System.out.printf("%n%s %s: %d bytes%n", codec, value, encoded.length);
+  }
+
+  @Benchmark
+  public byte[] encode() {
+    return serializer.serialize(cached);
+  }
+
+  @Benchmark
+  public Object decode() {
+    return serializer.deserialize(encoded);
+  }
+
+  private static PageImpl<CardDtoResponse> page(int size, String ownerId) {
+    var cards = new ArrayList<CardDtoResponse>(size);
+    for (int i = 0; i < size; i++) {
+      cards.add(card(i, ownerId));
+    }
+    return new PageImpl<>(cards, PageRequest.of(0, size, Sort.by("balance")), 10_000);
+  }
+
+  private static CardDtoResponse card(int index, String ownerId) {
+    return new CardDtoResponse(String.format("**** **** **** %04d", index % 10_000), ownerId,
+        YearMonth.now().plusMonths(index % 60), Money.ofMinor(index * 12_345L), "ACTIVE");
+  }
+}
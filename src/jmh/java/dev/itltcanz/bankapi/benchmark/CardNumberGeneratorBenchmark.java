@@ -0,0 +1,37 @@
+package dev.itltcanz.bankapi.benchmark;
+
+import dev.itltcanz.bankapi.util.CardNumberGenerator;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures card number generation and the Luhn check digit calculation used when issuing cards.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CardNumberGeneratorBenchmark {
+
+  private String cardNumber = "400000123456789";
+
+  @Benchmark
+  public String generateCardNumber() {
+    return CardNumberGenerator.generateCardNumber();
+  }
+
+  @Benchmark
+  public String calculateCheckDigit() {
+    return CardNumberGenerator.calculateCheckDigit(cardNumber);
+  }
+}
@@ -0,0 +1,89 @@
+package dev.itltcanz.bankapi.benchmark;
+
+import dev.itltcanz.bankapi.entity.Card;
+import dev.itltcanz.bankapi.entity.User;
+import dev.itltcanz.bankapi.entity.enumeration.CardStatus;
+import dev.itltcanz.bankapi.filter.CardFilter;
+import dev.itltcanz.bankapi.filter.CardSpecification;
+import dev.itltcanz.bankapi.filter.NumberFilterApplier;
+import dev.itltcanz.bankapi.filter.OwnerFilterApplier;
+import dev.itltcanz.bankapi.filter.StatusFilterApplier;
+import dev.itltcanz.bankapi.util.MoneyAttributeConverter;
+import dev.itltcanz.bankapi.util.YearMonthAttributeConverter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Predicate;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link CardSpecification#withFilter} predicate building for the card list endpoints.
+ * The criteria API needs a metamodel, so a Hibernate session factory is bootstrapped against an
+ * in-memory H2 database; no query is executed.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CardSpecificationBenchmark {
+
+  @Param({"none", "status", "all"})
+  private String filters;
+
+  private SessionFactory sessionFactory;
+  private EntityManager entityManager;
+  private CriteriaBuilder criteriaBuilder;
+  private CardSpecification cardSpecification;
+  private CardFilter filter;
+
+  @Setup
+  public void setUp() {
+    sessionFactory = new Configuration()
+        .addAnnotatedClass(Card.class)
+        .addAnnotatedClass(User.class)
+        .addAttributeConverter(YearMonthAttributeConverter.class)
+        .addAttributeConverter(MoneyAttributeConverter.class)
+        .setProperty("hibernate.connection.url", "jdbc:h2:mem:card-specification-benchmark")
+        .setProperty("hibernate.hbm2ddl.auto", "none")
+        .buildSessionFactory();
+    entityManager = sessionFactory.createEntityManager();
+    criteriaBuilder = entityManager.getCriteriaBuilder();
+    cardSpecification = new CardSpecification(List.of(new StatusFilterApplier(),
+        new NumberFilterApplier(), new OwnerFilterApplier()));
+    filter = switch (filters) {
+      case "status" -> new CardFilter(CardStatus.ACTIVE, null, null);
+      case "all" -> new CardFilter(CardStatus.ACTIVE, "1234", UUID.randomUUID().toString());
+      default -> new CardFilter(null, null, null);
+    };
+  }
+
+  @TearDown
+  public void tearDown() {
+    entityManager.close();
+    sessionFactory.close();
+  }
+
+  @Benchmark
+  public Predicate withFilter() {
+    var query = criteriaBuilder.createQuery(Card.class);
+    var root = query.from(Card.class);
+    return cardSpecification.withFilter(filter).toPredicate(root, query, criteriaBuilder);
+  }
+}
@@ -0,0 +1,98 @@
+package dev.itltcanz.bankapi.benchmark;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import dev.itltcanz.bankapi.config.JwtProperties;
+import dev.itltcanz.bankapi.config.TokenCacheProperties;
+import dev.itltcanz.bankapi.config.TokenRevocationProperties;
+import dev.itltcanz.bankapi.config.UserDetailsCacheProperties;
+import dev.itltcanz.bankapi.entity.User;
+import dev.itltcanz.bankapi.entity.enumeration.Role;
+import dev.itltcanz.bankapi.repository.UserRepo;
+import dev.itltcanz.bankapi.security.CustomUserDetailsService;
+import dev.itltcanz.bankapi.security.InMemoryRevokedTokenStore;
+import dev.itltcanz.bankapi.security.JwtAuthenticationCache;
+import dev.itltcanz.bankapi.security.JwtFilter;
+import dev.itltcanz.bankapi.security.JwtGenerator;
+import dev.itltcanz.bankapi.security.TokenRevocationService;
+import dev.itltcanz.bankapi.security.UserDetailsCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Measures {@link JwtFilter} for a request carrying a bearer token that was seen before, with the
+ * verified token cache disabled (every request parses and verifies the token) and enabled. The
+ * principal is built from the token claims, so neither case loads the user; the revocation
+ * check is answered by the Bloom filter in both.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtFilterBenchmark {
+
+  private static final String SECRET =
+      "53A73E5F1C4E0A2D3B5F2D784E6A1B4274OMH4TY1F6E5C3A596D635A75327855";
+
+  @Param({"false", "true"})
+  private boolean cacheEnabled;
+
+  private JwtFilter jwtFilter;
+  private String authorization;
+  private final FilterChain filterChain = (request, response) -> {
+  };
+
+  @Setup
+  public void setUp() {
+    var jwtProperties = new JwtProperties();
+    jwtProperties.setSecret(SECRET);
+    var jwtGenerator = new JwtGenerator(jwtProperties);
+    var user = new User(UUID.randomUUID(), "benchmark-user", "password", Role.ROLE_USER);
+    var userRepo = mock(UserRepo.class);
+    when(userRepo.findByUsername(user.getUsername())).thenReturn(Optional.of(user));
+
+    var cacheProperties = new TokenCacheProperties();
+    cacheProperties.setEnabled(cacheEnabled);
+    var meterRegistry = new SimpleMeterRegistry();
+    var userDetailsService = new CustomUserDetailsService(userRepo,
+        new UserDetailsCache(new UserDetailsCacheProperties(), meterRegistry), event -> {
+        });
+    jwtFilter = new JwtFilter(jwtGenerator, userDetailsService, request -> false,
+        new JwtAuthenticationCache(cacheProperties, meterRegistry),
+        new TokenRevocationService(new InMemoryRevokedTokenStore(),
+            new TokenRevocationProperties()));
+    authorization = "Bearer " + jwtGenerator.generateToken(user);
+  }
+
+  @Benchmark
+  public Object authenticate() throws Exception {
+    var request = new MockHttpServletRequest("GET", "/v1/cards/my");
+    request.addHeader("Authorization", authorization);
+    try {
+      jwtFilter.doFilter(request, new MockHttpServletResponse(), filterChain);
+      return SecurityContextHolder.getContext().getAuthentication();
+    } finally {
+      SecurityContextHolder.clearContext();
+    }
+  }
+}
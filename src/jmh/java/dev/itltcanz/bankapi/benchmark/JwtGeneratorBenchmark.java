@@ -0,0 +1,62 @@
+package dev.itltcanz.bankapi.benchmark;
+
+import dev.itltcanz.bankapi.config.JwtProperties;
+import dev.itltcanz.bankapi.entity.User;
+import dev.itltcanz.bankapi.entity.enumeration.Role;
+import dev.itltcanz.bankapi.security.JwtGenerator;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the JWT work done by {@link dev.itltcanz.bankapi.security.JwtFilter} on every
+ * authenticated request, plus token generation on login.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtGeneratorBenchmark {
+
+  private static final String SECRET =
+      "53A73E5F1C4E0A2D3B5F2D784E6A1B4274OMH4TY1F6E5C3A596D635A75327855";
+
+  private JwtGenerator jwtGenerator;
+  private User user;
+  private String token;
+
+  @Setup
+  public void setUp() {
+    var properties = new JwtProperties();
+    properties.setSecret(SECRET);
+    jwtGenerator = new JwtGenerator(properties);
+    user = new User(UUID.randomUUID(), "benchmark-user", "password", Role.ROLE_USER);
+    token = jwtGenerator.generateToken(user);
+  }
+
+  @Benchmark
+  public String generateToken() {
+    return jwtGenerator.generateToken(user);
+  }
+
+  @Benchmark
+  public String extractUsername() {
+    return jwtGenerator.extractUsername(token);
+  }
+
+  @Benchmark
+  public void validateToken() {
+    jwtGenerator.validateToken(token, user);
+  }
+}
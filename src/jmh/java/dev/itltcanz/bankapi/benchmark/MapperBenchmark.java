@@ -0,0 +1,162 @@
+package dev.itltcanz.bankapi.benchmark;
+
+import dev.itltcanz.bankapi.dto.card.CardBalanceDtoResponse;
+import dev.itltcanz.bankapi.dto.card.CardDtoResponse;
+import dev.itltcanz.bankapi.dto.request.BlockRequestDtoResponse;
+import dev.itltcanz.bankapi.dto.transaction.TransactionDtoResponse;
+import dev.itltcanz.bankapi.entity.BlockRequest;
+import dev.itltcanz.bankapi.entity.Card;
+import dev.itltcanz.bankapi.entity.Transaction;
+import dev.itltcanz.bankapi.entity.User;
+import dev.itltcanz.bankapi.entity.enumeration.CardStatus;
+import dev.itltcanz.bankapi.entity.enumeration.RequestStatus;
+import dev.itltcanz.bankapi.entity.enumeration.Role;
+import dev.itltcanz.bankapi.entity.enumeration.TransactionStatus;
+import dev.itltcanz.bankapi.mapper.BlockRequestMapper;
+import dev.itltcanz.bankapi.mapper.CardMapper;
+import dev.itltcanz.bankapi.mapper.TransactionMapper;
+import dev.itltcanz.bankapi.util.HibernateUtils;
+import dev.itltcanz.bankapi.util.Money;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.modelmapper.Converter;
+import org.modelmapper.ModelMapper;
+import org.modelmapper.convention.MatchingStrategies;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+/**
+ * Compares the entity to response DTO mappers with the ModelMapper configuration they replaced,
+ * per entity and for a page of 1000 cards as returned by the admin card listing. The
+ * {@code modelMapper*} benchmarks are the baseline.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+
+  private static final int PAGE_SIZE = 1000;
+
+  private ModelMapper modelMapper;
+  private final CardMapper cardMapper = new CardMapper();
+  private final TransactionMapper transactionMapper = new TransactionMapper();
+  private final BlockRequestMapper blockRequestMapper = new BlockRequestMapper();
+  private Card card;
+  private Transaction transaction;
+  private BlockRequest blockRequest;
+  private Page<Card> cardPage;
+
+  @Setup
+  public void setUp() {
+    modelMapper = legacyModelMapper();
+    var owner = new User(UUID.randomUUID(), "owner", "password", Role.ROLE_USER);
+    var admin = new User(UUID.randomUUID(), "admin", "password", Role.ROLE_ADMIN);
+    card = new Card("4000001234567899", owner, YearMonth.now().plusYears(3), CardStatus.ACTIVE,
+        Money.parse("1500.00"));
+    var receiverCard = new Card("4000009876543210", admin, YearMonth.now().plusYears(2),
+        CardStatus.ACTIVE, Money.parse("20.00"));
+    transaction = Transaction.builder().id(UUID.randomUUID()).senderCard(card)
+        .receiverCard(receiverCard).amount(Money.parse("99.95"))
+        .status(TransactionStatus.COMPLETED).createdAt(LocalDateTime.now()).build();
+    blockRequest = new BlockRequest(UUID.randomUUID(), card, owner, RequestStatus.APPROVED,
+        LocalDateTime.now().minusDays(1), LocalDateTime.now(), admin);
+    var cards = new ArrayList<Card>(PAGE_SIZE);
+    for (int i = 0; i < PAGE_SIZE; i++) {
+      var cardOwner = new User(UUID.randomUUID(), "owner-" + i, "password", Role.ROLE_USER);
+      cards.add(new Card(String.format("4%015d", i), cardOwner, YearMonth.now().plusYears(3),
+          CardStatus.ACTIVE, Money.parse("100.00")));
+    }
+    cardPage = new PageImpl<>(cards, PageRequest.of(0, PAGE_SIZE), PAGE_SIZE);
+  }
+
+  @Benchmark
+  public CardDtoResponse mapCard() {
+    return cardMapper.toResponse(card);
+  }
+
+  @Benchmark
+  public CardDtoResponse modelMapperCard() {
+    return modelMapper.map(card, CardDtoResponse.class);
+  }
+
+  @Benchmark
+  public TransactionDtoResponse mapTransaction() {
+    return transactionMapper.toResponse(transaction);
+  }
+
+  @Benchmark
+  public TransactionDtoResponse modelMapperTransaction() {
+    return modelMapper.map(transaction, TransactionDtoResponse.class);
+  }
+
+  @Benchmark
+  public BlockRequestDtoResponse mapBlockRequest() {
+    return blockRequestMapper.toResponse(blockRequest);
+  }
+
+  @Benchmark
+  public BlockRequestDtoResponse modelMapperBlockRequest() {
+    return modelMapper.map(blockRequest, BlockRequestDtoResponse.class);
+  }
+
+  @Benchmark
+  public Page<CardDtoResponse> mapCardPage() {
+    return cardPage.map(cardMapper::toResponse);
+  }
+
+  @Benchmark
+  public Page<CardDtoResponse> modelMapperCardPage() {
+    return cardPage.map(c -> modelMapper.map(c, CardDtoResponse.class));
+  }
+
+  /**
+   * The ModelMapper configuration the services used before the mappers were written.
+   */
+  private static ModelMapper legacyModelMapper() {
+    var modelMapper = new ModelMapper();
+    modelMapper.getConfiguration().setMatchingStrategy(MatchingStrategies.STRICT)
+        .setSkipNullEnabled(true);
+    Converter<String, String> cardNumberMasker = ctx -> CardMapper.maskNumber(ctx.getSource());
+    modelMapper.typeMap(Card.class, CardDtoResponse.class).addMappings(mapper -> {
+      mapper.map(src -> HibernateUtils.getIdAsString(src.getOwner()), CardDtoResponse::setOwnerId);
+      mapper.using(cardNumberMasker).map(Card::getNumber, CardDtoResponse::setNumber);
+    });
+    modelMapper.typeMap(Card.class, CardBalanceDtoResponse.class).addMappings(mapper -> {
+      mapper.using(cardNumberMasker).map(Card::getNumber, CardBalanceDtoResponse::setNumber);
+      mapper.skip(CardBalanceDtoResponse::setBalance);
+    });
+    modelMapper.typeMap(Transaction.class, TransactionDtoResponse.class).addMappings(mapper -> {
+      mapper.map(HibernateUtils::getIdAsString, TransactionDtoResponse::setId);
+      mapper.using(cardNumberMasker).map(src -> HibernateUtils.getCardNumber(src.getSenderCard()),
+          TransactionDtoResponse::setSenderCardId);
+      mapper.using(cardNumberMasker).map(src -> HibernateUtils.getCardNumber(src.getReceiverCard()),
+          TransactionDtoResponse::setReceiverCardId);
+    });
+    modelMapper.typeMap(BlockRequest.class, BlockRequestDtoResponse.class).addMappings(mapper -> {
+      mapper.using(cardNumberMasker).map(src -> HibernateUtils.getCardNumber(src.getCard()),
+          BlockRequestDtoResponse::setCardId);
+      mapper.map(src -> HibernateUtils.getIdAsString(src.getUser()),
+          BlockRequestDtoResponse::setUserId);
+      mapper.map(src -> HibernateUtils.getIdAsString(src.getAdmin()),
+          BlockRequestDtoResponse::setAdminId);
+    });
+    return modelMapper;
+  }
+}
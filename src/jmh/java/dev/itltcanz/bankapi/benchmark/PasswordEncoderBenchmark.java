@@ -0,0 +1,58 @@
+package dev.itltcanz.bankapi.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+/**
+ * Measures one password verification, the work done per login, for the candidate encoders. The
+ * login throughput of a node is roughly {@code bank.security.password-hashing.threads} divided by
+ * the time per operation; run with {@code -t} set to that thread count to include contention.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PasswordEncoderBenchmark {
+
+  private static final String PASSWORD = "correct horse battery staple";
+
+  @Param({"bcrypt-10", "bcrypt-11", "bcrypt-12", "pbkdf2", "argon2"})
+  private String encoder;
+
+  private PasswordEncoder passwordEncoder;
+  private String hash;
+
+  @Setup
+  public void setUp() {
+    passwordEncoder = switch (encoder) {
+      case "bcrypt-10" -> new BCryptPasswordEncoder(10);
+      case "bcrypt-11" -> new BCryptPasswordEncoder(11);
+      case "bcrypt-12" -> new BCryptPasswordEncoder(12);
+      case "pbkdf2" -> Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8();
+      case "argon2" -> Argon2PasswordEncoder.defaultsForSpringSecurity_v5_8();
+      default -> throw new IllegalArgumentException("Unknown encoder " + encoder);
+    };
+    hash = passwordEncoder.encode(PASSWORD);
+  }
+
+  @Benchmark
+  public boolean matches() {
+    return passwordEncoder.matches(PASSWORD, hash);
+  }
+}
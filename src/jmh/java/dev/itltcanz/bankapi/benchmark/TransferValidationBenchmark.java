@@ -0,0 +1,79 @@
+package dev.itltcanz.bankapi.benchmark;
+
+import dev.itltcanz.bankapi.entity.Card;
+import dev.itltcanz.bankapi.entity.enumeration.CardStatus;
+import dev.itltcanz.bankapi.exception.InsufficientFundsException;
+import dev.itltcanz.bankapi.service.CardCheckService;
+import dev.itltcanz.bankapi.service.impl.CardCheckServiceImpl;
+import dev.itltcanz.bankapi.util.Money;
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares the balance check and arithmetic of a transfer on {@link BigDecimal}, as it was done
+ * before balances became {@link Money}, with the current {@link Money} path through
+ * {@link CardCheckServiceImpl}. Run with the gc profiler to see the allocation difference:
+ * <pre>
+ * mvn -P jmh test-compile exec:exec -Djmh.args="TransferValidationBenchmark -prof gc"
+ * </pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TransferValidationBenchmark {
+
+  private final CardCheckService cardCheckService = new CardCheckServiceImpl();
+
+  private BigDecimal senderBalance;
+  private BigDecimal receiverBalance;
+  private BigDecimal amount;
+
+  private Card senderCard;
+  private Card receiverCard;
+  private Money moneyAmount;
+
+  @Setup
+  public void setUp() {
+    senderBalance = new BigDecimal("15234.56");
+    receiverBalance = new BigDecimal("871.20");
+    amount = new BigDecimal("129.99");
+
+    var validityPeriod = YearMonth.now().plusYears(1);
+    senderCard = new Card("4000000000000001", null, validityPeriod, CardStatus.ACTIVE,
+        Money.of(senderBalance));
+    receiverCard = new Card("4000000000000002", null, validityPeriod, CardStatus.ACTIVE,
+        Money.of(receiverBalance));
+    moneyAmount = Money.of(amount);
+  }
+
+  @Benchmark
+  public void bigDecimal(Blackhole blackhole) {
+    if (senderBalance.compareTo(amount) < 0) {
+      throw new InsufficientFundsException("There are insufficient funds");
+    }
+    blackhole.consume(senderBalance.subtract(amount));
+    blackhole.consume(receiverBalance.add(amount));
+  }
+
+  @Benchmark
+  public void money(Blackhole blackhole) {
+    cardCheckService.checkBalanceBeforeTransfer(senderCard, moneyAmount);
+    blackhole.consume(senderCard.getBalance().minus(moneyAmount));
+    blackhole.consume(receiverCard.getBalance().plus(moneyAmount));
+  }
+}
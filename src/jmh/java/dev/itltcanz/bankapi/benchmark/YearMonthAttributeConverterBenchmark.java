@@ -0,0 +1,41 @@
+package dev.itltcanz.bankapi.benchmark;
+
+import dev.itltcanz.bankapi.util.YearMonthAttributeConverter;
+import java.time.YearMonth;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the validity period conversion Hibernate performs for every card row read or written.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class YearMonthAttributeConverterBenchmark {
+
+  private final YearMonthAttributeConverter converter = new YearMonthAttributeConverter();
+
+  private YearMonth validityPeriod = YearMonth.of(2029, 7);
+  private String validityPeriodColumn = "07/29";
+
+  @Benchmark
+  public String convertToDatabaseColumn() {
+    return converter.convertToDatabaseColumn(validityPeriod);
+  }
+
+  @Benchmark
+  public YearMonth convertToEntityAttribute() {
+    return converter.convertToEntityAttribute(validityPeriodColumn);
+  }
+}
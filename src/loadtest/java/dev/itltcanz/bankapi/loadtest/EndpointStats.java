@@ -0,0 +1,91 @@
+package dev.itltcanz.bankapi.loadtest;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * Latency histogram and error count of one endpoint. Latencies are recorded in microseconds from
+ * any number of client threads.
+ */
+public class EndpointStats {
+
+  private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+  private final String name;
+  private final Recorder recorder = new Recorder(MAX_LATENCY_MICROS, 3);
+  private final LongAdder errors = new LongAdder();
+  private Histogram histogram;
+  private long errorCount;
+
+  public EndpointStats(String name) {
+    this.name = name;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public void recordSuccess(long latencyNanos) {
+    recorder.recordValue(
+        Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), MAX_LATENCY_MICROS));
+  }
+
+  public void recordError() {
+    errors.increment();
+  }
+
+  /**
+   * Discards everything recorded so far, used at the end of the warmup.
+   */
+  public void reset() {
+    recorder.reset();
+    errors.reset();
+  }
+
+  /**
+   * Takes the histogram and error count of everything recorded since the last {@link #reset()}.
+   */
+  public void finish() {
+    histogram = recorder.getIntervalHistogram();
+    errorCount = errors.sumThenReset();
+  }
+
+  /**
+   * Formats one report line: throughput, error count and latency percentiles in milliseconds.
+   *
+   * @param seconds The measured time in seconds.
+   * @return The report line.
+   */
+  public String summary(double seconds) {
+    return String.format("%-24s %8d req %10.1f req/s %6d err   p50 %8.2f  p90 %8.2f  p99 %8.2f"
+            + "  p99.9 %8.2f  max %8.2f ms",
+        name, histogram.getTotalCount(), histogram.getTotalCount() / seconds, errorCount,
+        millis(50), millis(90), millis(99), millis(99.9), histogram.getMaxValue() / 1000.0);
+  }
+
+  /**
+   * Writes the full percentile distribution in the HdrHistogram {@code .hgrm} format, which can
+   * be plotted with the HdrHistogram plotter.
+   *
+   * @param directory The output directory.
+   * @throws IOException If the file cannot be written.
+   */
+  public void writeDistribution(Path directory) throws IOException {
+    Files.createDirectories(directory);
+    var file = directory.resolve(name.replaceAll("[^A-Za-z0-9]+", "_") + ".hgrm");
+    try (var out = new PrintStream(new FileOutputStream(file.toFile()))) {
+      histogram.outputPercentileDistribution(out, 1000.0);
+    }
+  }
+
+  private double millis(double percentile) {
+    return histogram.getValueAtPercentile(percentile) / 1000.0;
+  }
+}
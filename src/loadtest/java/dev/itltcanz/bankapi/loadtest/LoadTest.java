@@ -0,0 +1,261 @@
+package dev.itltcanz.bankapi.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.itltcanz.bankapi.BankApiMain;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Boots {@link BankApiMain} against an embedded Postgres and an in-memory cache, seeds users and
+ * cards, and drives transfers, card listings and logins over HTTP from a fixed number of client
+ * threads. Prints throughput and latency percentiles per endpoint and writes the full latency
+ * distributions to {@code target/loadtest}.
+ *
+ * <p>Each client thread waits for a response before sending its next request, so the numbers
+ * describe the throughput ceiling at the given concurrency rather than latency under a fixed
+ * arrival rate. Settings are described in {@link LoadTestConfig}.
+ */
+public class LoadTest {
+
+  private static final String PASSWORD = "loadtest-password";
+  private static final BigDecimal OPENING_BALANCE = new BigDecimal("1000000.00");
+  private static final Path REPORT_DIRECTORY = Path.of("target", "loadtest");
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+  private final LoadTestConfig config;
+  private final URI baseUri;
+  private final HttpClient client = HttpClient.newBuilder()
+      .version(HttpClient.Version.HTTP_1_1)
+      .connectTimeout(Duration.ofSeconds(5))
+      .build();
+  private final EndpointStats transfers = new EndpointStats("POST /v1/transactions");
+  private final EndpointStats cards = new EndpointStats("GET /v1/cards/my");
+  private final EndpointStats logins = new EndpointStats("POST /v1/auth/login");
+
+  private List<SeededUser> users;
+
+  LoadTest(LoadTestConfig config, URI baseUri) {
+    this.config = config;
+    this.baseUri = baseUri;
+  }
+
+  public static void main(String[] args) throws Exception {
+    var config = LoadTestConfig.fromSystemProperties();
+    try (var postgres = EmbeddedPostgres.builder().start();
+        var context = startApplication(postgres)) {
+      var port = ((WebServerApplicationContext) context).getWebServer().getPort();
+      var loadTest = new LoadTest(config, URI.create("http://localhost:" + port));
+      var jdbcTemplate = context.getBean(JdbcTemplate.class);
+      loadTest.seed(jdbcTemplate, context.getBean(PasswordEncoder.class));
+      loadTest.run();
+      checkTotalBalance(jdbcTemplate, config);
+    }
+  }
+
+  private static ConfigurableApplicationContext startApplication(EmbeddedPostgres postgres) {
+    return new SpringApplicationBuilder(BankApiMain.class).run(
+        "--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+        "--spring.datasource.username=postgres",
+        "--spring.datasource.password=postgres",
+        "--spring.cache.type=simple",
+        "--bank.security.revocation.store=memory",
+        "--bank.security.user-cache.invalidation=local",
+        "--spring.jpa.show-sql=false",
+        "--management.health.redis.enabled=false",
+        "--bank.security.login-throttle.enabled=false",
+        "--server.port=0");
+  }
+
+  /**
+   * Inserts the users and cards directly, with the opening balance checkpoints that cards created
+   * through the API get from the ledger, and logs every user in once to obtain its token.
+   */
+  private void seed(JdbcTemplate jdbcTemplate, PasswordEncoder passwordEncoder) throws Exception {
+    var passwordHash = passwordEncoder.encode(PASSWORD);
+    var validityPeriod = YearMonth.now().plusYears(3)
+        .format(DateTimeFormatter.ofPattern("MM/yy"));
+    var userRows = new ArrayList<Object[]>();
+    var cardRows = new ArrayList<Object[]>();
+    var usernames = new ArrayList<String>();
+    var cardNumbers = new ArrayList<List<String>>();
+    for (int i = 0; i < config.users(); i++) {
+      var userId = UUID.randomUUID();
+      var username = "loadtest-" + i;
+      userRows.add(new Object[]{userId, username, passwordHash, "ROLE_USER"});
+      var numbers = new ArrayList<String>();
+      for (int j = 0; j < config.cardsPerUser(); j++) {
+        var number = String.format("9%015d", (long) i * config.cardsPerUser() + j);
+        cardRows.add(new Object[]{number, userId, validityPeriod, "ACTIVE", OPENING_BALANCE});
+        numbers.add(number);
+      }
+      usernames.add(username);
+      cardNumbers.add(numbers);
+    }
+    jdbcTemplate.batchUpdate(
+        "insert into users (id, username, password, role) values (?, ?, ?, ?)", userRows);
+    jdbcTemplate.batchUpdate(
+        "insert into cards (number, owner_id, validity_period, status, balance)"
+            + " values (?, ?, ?, ?, ?)", cardRows);
+    // Dated at the epoch like the opening checkpoints of migration 007, so the seeded balances
+    // are the balances at any earlier time too.
+    jdbcTemplate.update(
+        "insert into balance_checkpoints (id, card_number, sequence, balance, created_at)"
+            + " select gen_random_uuid(), number, 0, balance, timestamp '1970-01-01 00:00:00'"
+            + " from cards");
+
+    var executor = Executors.newFixedThreadPool(config.concurrency());
+    try {
+      var loginTasks = new ArrayList<Callable<SeededUser>>();
+      for (int i = 0; i < usernames.size(); i++) {
+        var username = usernames.get(i);
+        var numbers = cardNumbers.get(i);
+        loginTasks.add(() -> new SeededUser(username, numbers, login(username)));
+      }
+      users = new ArrayList<>();
+      for (var future : executor.invokeAll(loginTasks)) {
+        users.add(future.get());
+      }
+    } finally {
+      shutdown(executor);
+    }
+    System.out.printf("Seeded %d users with %d cards each%n", config.users(),
+        config.cardsPerUser());
+  }
+
+  private void run() throws Exception {
+    var stop = new AtomicBoolean();
+    var executor = Executors.newFixedThreadPool(config.concurrency());
+    for (int i = 0; i < config.concurrency(); i++) {
+      executor.submit(() -> {
+        while (!stop.get() && !Thread.currentThread().isInterrupted()) {
+          sendRandomRequest();
+        }
+      });
+    }
+    System.out.printf("Warming up for %s with %d client threads%n", config.warmup(),
+        config.concurrency());
+    Thread.sleep(config.warmup().toMillis());
+    List.of(transfers, cards, logins).forEach(EndpointStats::reset);
+    var start = System.nanoTime();
+    Thread.sleep(config.duration().toMillis());
+    List.of(transfers, cards, logins).forEach(EndpointStats::finish);
+    var seconds = (System.nanoTime() - start) / 1e9;
+    stop.set(true);
+    shutdown(executor);
+
+    System.out.printf("%nMeasured %.1f s with %d client threads, %d users, %d cards per user%n",
+        seconds, config.concurrency(), config.users(), config.cardsPerUser());
+    for (var stats : List.of(transfers, cards, logins)) {
+      System.out.println(stats.summary(seconds));
+      stats.writeDistribution(REPORT_DIRECTORY);
+    }
+    System.out.println("Latency distributions written to " + REPORT_DIRECTORY.toAbsolutePath());
+  }
+
+  private void sendRandomRequest() {
+    var random = ThreadLocalRandom.current();
+    var user = users.get(random.nextInt(users.size()));
+    var pick = random.nextInt(
+        config.transferWeight() + config.cardsWeight() + config.loginWeight());
+    if (pick < config.transferWeight()) {
+      var cardNumbers = user.cardNumbers();
+      var sender = random.nextInt(cardNumbers.size());
+      var receiver = (sender + 1 + random.nextInt(cardNumbers.size() - 1)) % cardNumbers.size();
+      var body = "{\"senderCardId\":\"" + cardNumbers.get(sender) + "\",\"receiverCardId\":\""
+          + cardNumbers.get(receiver) + "\",\"amount\":0.01}";
+      send(transfers, authorized(user, "/v1/transactions")
+          .header("Content-Type", "application/json")
+          .POST(BodyPublishers.ofString(body)).build());
+    } else if (pick < config.transferWeight() + config.cardsWeight()) {
+      send(cards, authorized(user, "/v1/cards/my").GET().build());
+    } else {
+      send(logins, loginRequest(user.username()));
+    }
+  }
+
+  private void send(EndpointStats stats, HttpRequest request) {
+    var start = System.nanoTime();
+    try {
+      var response = client.send(request, BodyHandlers.discarding());
+      if (response.statusCode() / 100 == 2) {
+        stats.recordSuccess(System.nanoTime() - start);
+      } else {
+        stats.recordError();
+      }
+    } catch (IOException e) {
+      stats.recordError();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private HttpRequest.Builder authorized(SeededUser user, String path) {
+    return HttpRequest.newBuilder(baseUri.resolve(path))
+        .header("Authorization", "Bearer " + user.token());
+  }
+
+  private HttpRequest loginRequest(String username) {
+    var body = "{\"username\":\"" + username + "\",\"password\":\"" + PASSWORD + "\"}";
+    return HttpRequest.newBuilder(baseUri.resolve("/v1/auth/login"))
+        .header("Content-Type", "application/json")
+        .POST(BodyPublishers.ofString(body)).build();
+  }
+
+  private String login(String username) throws IOException, InterruptedException {
+    var response = client.send(loginRequest(username), BodyHandlers.ofString());
+    if (response.statusCode() != 200) {
+      throw new IllegalStateException(
+          "Login of " + username + " failed with status " + response.statusCode());
+    }
+    return OBJECT_MAPPER.readTree(response.body()).get("accessToken").asText();
+  }
+
+  /**
+   * Transfers only move money between seeded cards, so their total must not change.
+   */
+  private static void checkTotalBalance(JdbcTemplate jdbcTemplate, LoadTestConfig config) {
+    var expected = OPENING_BALANCE.multiply(
+        BigDecimal.valueOf((long) config.users() * config.cardsPerUser()));
+    var actual = jdbcTemplate.queryForObject("select sum(balance) from cards", BigDecimal.class);
+    if (actual == null || expected.compareTo(actual) != 0) {
+      throw new IllegalStateException(
+          "Total balance changed from " + expected + " to " + actual + " during the load test");
+    }
+    System.out.println("Total balance unchanged: " + actual);
+  }
+
+  private static void shutdown(ExecutorService executor) throws InterruptedException {
+    executor.shutdown();
+    if (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+      executor.shutdownNow();
+    }
+  }
+
+  private record SeededUser(String username, List<String> cardNumbers, String token) {
+
+  }
+}
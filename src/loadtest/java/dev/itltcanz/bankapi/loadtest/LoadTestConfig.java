@@ -0,0 +1,44 @@
+package dev.itltcanz.bankapi.loadtest;
+
+import java.time.Duration;
+
+/**
+ * Load test settings, read from {@code loadtest.*} system properties.
+ *
+ * @param users          Number of seeded users.
+ * @param cardsPerUser   Number of seeded cards per user; transfers move money between them.
+ * @param concurrency    Number of client threads, each sending one request at a time.
+ * @param warmup         Time to run before measuring.
+ * @param duration       Measured time.
+ * @param transferWeight Relative share of {@code POST /v1/transactions} requests.
+ * @param cardsWeight    Relative share of {@code GET /v1/cards/my} requests.
+ * @param loginWeight    Relative share of {@code POST /v1/auth/login} requests.
+ */
+public record LoadTestConfig(int users, int cardsPerUser, int concurrency, Duration warmup,
+                             Duration duration, int transferWeight, int cardsWeight,
+                             int loginWeight) {
+
+  /**
+   * Reads the settings from system properties, falling back to defaults for a quick local run.
+   *
+   * @return The settings.
+   */
+  public static LoadTestConfig fromSystemProperties() {
+    var config = new LoadTestConfig(
+        Integer.getInteger("loadtest.users", 100),
+        Integer.getInteger("loadtest.cardsPerUser", 2),
+        Integer.getInteger("loadtest.concurrency", 32),
+        Duration.parse(System.getProperty("loadtest.warmup", "PT10S")),
+        Duration.parse(System.getProperty("loadtest.duration", "PT30S")),
+        Integer.getInteger("loadtest.transferWeight", 70),
+        Integer.getInteger("loadtest.cardsWeight", 25),
+        Integer.getInteger("loadtest.loginWeight", 5));
+    if (config.cardsPerUser < 2) {
+      throw new IllegalArgumentException("loadtest.cardsPerUser must be at least 2");
+    }
+    if (config.transferWeight + config.cardsWeight + config.loginWeight <= 0) {
+      throw new IllegalArgumentException("At least one request weight must be positive");
+    }
+    return config;
+  }
+}
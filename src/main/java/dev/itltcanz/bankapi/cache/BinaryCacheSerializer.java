@@ -0,0 +1,423 @@
+package dev.itltcanz.bankapi.cache;
+
+import dev.itltcanz.bankapi.dto.card.CardDtoResponse;
+import dev.itltcanz.bankapi.dto.transaction.TransactionDtoResponse;
+import dev.itltcanz.bankapi.entity.enumeration.TransactionStatus;
+import dev.itltcanz.bankapi.util.Money;
+import java.io.ByteArrayOutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.UUID;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import org.springframework.cache.support.NullValue;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+import org.springframework.lang.Nullable;
+
+/**
+ * Compact binary form of the cached values. Card and transaction responses are written field by
+ * field without names or class names, {@link Owned} values as their owner followed by the value,
+ * and pages as a slice of their content, page request and total, so they are read back as
+ * {@link PageImpl} without reflection. Numbers are written as variable-length integers and ids
+ * that are UUIDs in their 16 bytes. Any other value is written as JSON inside the binary
+ * envelope.
+ *
+ * <p>Values larger than the compression threshold are deflated when that makes them smaller.
+ * Entries written by {@link GenericJackson2JsonRedisSerializer} before the switch are still read,
+ * so the codec of a cache can be changed without flushing it.
+ */
+public class BinaryCacheSerializer implements RedisSerializer<Object> {
+
+  private static final byte PLAIN = 1;
+  private static final byte DEFLATED = 2;
+
+  private static final int NULL_VALUE = 0;
+  private static final int CARD = 1;
+  private static final int TRANSACTION = 2;
+  private static final int PAGE = 3;
+  private static final int JSON = 4;
+  private static final int OWNED = 5;
+
+  private static final int NULL_ID = 0;
+  private static final int UUID_ID = 1;
+  private static final int STRING_ID = 2;
+
+  private final int compressionThreshold;
+  private final RedisSerializer<Object> json;
+
+  /**
+   * Creates the serializer.
+   *
+   * @param compressionThreshold Size in bytes above which values are deflated; zero or less never
+   *                             compresses.
+   * @param json                 Serializer of the values without a binary form, also used to read
+   *                             entries written before the switch.
+   */
+  public BinaryCacheSerializer(int compressionThreshold, RedisSerializer<Object> json) {
+    this.compressionThreshold = compressionThreshold;
+    this.json = json;
+  }
+
+  @Override
+  public byte[] serialize(@Nullable Object value) {
+    if (value == null) {
+      return new byte[0];
+    }
+    var out = new ByteArrayOutputStream(256);
+    out.write(PLAIN);
+    writeValue(out, value);
+    var bytes = out.toByteArray();
+    if (compressionThreshold > 0 && bytes.length > compressionThreshold) {
+      var deflated = deflate(bytes);
+      if (deflated.length < bytes.length) {
+        return deflated;
+      }
+    }
+    return bytes;
+  }
+
+  @Override
+  @Nullable
+  public Object deserialize(@Nullable byte[] bytes) {
+    if (bytes == null || bytes.length == 0) {
+      return null;
+    }
+    try {
+      return switch (bytes[0]) {
+        case PLAIN -> readValue(ByteBuffer.wrap(bytes, 1, bytes.length - 1));
+        case DEFLATED -> readValue(ByteBuffer.wrap(inflate(bytes)));
+        default -> json.deserialize(bytes);
+      };
+    } catch (BufferUnderflowException | IllegalArgumentException | DataFormatException ex) {
+      throw new SerializationException("Could not read a cached value", ex);
+    }
+  }
+
+  private void writeValue(ByteArrayOutputStream out, Object value) {
+    if (value instanceof NullValue) {
+      writeVarInt(out, NULL_VALUE);
+    } else if (value instanceof CardDtoResponse card) {
+      writeVarInt(out, CARD);
+      writeString(out, card.getNumber());
+      writeId(out, card.getOwnerId());
+      writeYearMonth(out, card.getValidityPeriod());
+      writeMoney(out, card.getBalance());
+      writeString(out, card.getStatus());
+    } else if (value instanceof TransactionDtoResponse transaction) {
+      writeVarInt(out, TRANSACTION);
+      writeId(out, transaction.getId());
+      writeId(out, transaction.getSenderCardId());
+      writeId(out, transaction.getReceiverCardId());
+      writeMoney(out, transaction.getAmount());
+      writeString(out, transaction.getStatus() == null ? null : transaction.getStatus().name());
+      writeDateTime(out, transaction.getCreatedAt());
+    } else if (value instanceof Owned<?> owned) {
+      writeVarInt(out, OWNED);
+      writeId(out, owned.ownerId());
+      writeValue(out, owned.value());
+    } else if (value instanceof Page<?> page) {
+      writeVarInt(out, PAGE);
+      writePageable(out, page.getPageable());
+      writeVarLong(out, page.getTotalElements());
+      writeVarInt(out, page.getNumberOfElements());
+      page.forEach(element -> writeValue(out, element));
+    } else {
+      writeVarInt(out, JSON);
+      writeBytes(out, json.serialize(value));
+    }
+  }
+
+  private Object readValue(ByteBuffer in) {
+    var type = readVarInt(in);
+    return switch (type) {
+      case NULL_VALUE -> NullValue.INSTANCE;
+      case CARD -> new CardDtoResponse(readString(in), readId(in), readYearMonth(in),
+          readMoney(in), readString(in));
+      case TRANSACTION -> {
+        var id = readId(in);
+        var senderCardId = readId(in);
+        var receiverCardId = readId(in);
+        var amount = readMoney(in);
+        var status = readString(in);
+        yield new TransactionDtoResponse(id, senderCardId, receiverCardId, amount,
+            status == null ? null : TransactionStatus.valueOf(status), readDateTime(in));
+      }
+      case PAGE -> {
+        var pageable = readPageable(in);
+        var total = readVarLong(in);
+        var size = readVarInt(in);
+        var content = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+          content.add(readValue(in));
+        }
+        yield new PageImpl<>(content, pageable, total);
+      }
+      case JSON -> json.deserialize(readBytes(in));
+      case OWNED -> new Owned<>(readId(in), readValue(in));
+      default -> throw new IllegalArgumentException("Unknown cached value type " + type);
+    };
+  }
+
+  private static void writePageable(ByteArrayOutputStream out, Pageable pageable) {
+    if (pageable.isUnpaged()) {
+      writeVarInt(out, 0);
+      return;
+    }
+    writeVarInt(out, pageable.getPageSize());
+    writeVarInt(out, pageable.getPageNumber());
+    var orders = pageable.getSort().toList();
+    writeVarInt(out, orders.size());
+    for (var order : orders) {
+      writeString(out, order.getProperty());
+      out.write(order.isAscending() ? 0 : 1);
+    }
+  }
+
+  private static Pageable readPageable(ByteBuffer in) {
+    var size = readVarInt(in);
+    if (size == 0) {
+      return Pageable.unpaged();
+    }
+    var number = readVarInt(in);
+    var orderCount = readVarInt(in);
+    var orders = new ArrayList<Sort.Order>(orderCount);
+    for (int i = 0; i < orderCount; i++) {
+      var property = readString(in);
+      orders.add(in.get() == 0 ? Sort.Order.asc(property) : Sort.Order.desc(property));
+    }
+    return PageRequest.of(number, size, Sort.by(orders));
+  }
+
+  /**
+   * Writes an id as its 16 bytes when it is a UUID and as a string otherwise.
+   */
+  private static void writeId(ByteArrayOutputStream out, @Nullable String id) {
+    if (id == null) {
+      out.write(NULL_ID);
+      return;
+    }
+    var uuid = parseUuid(id);
+    if (uuid == null) {
+      out.write(STRING_ID);
+      writeString(out, id);
+      return;
+    }
+    out.write(UUID_ID);
+    writeLong(out, uuid.getMostSignificantBits());
+    writeLong(out, uuid.getLeastSignificantBits());
+  }
+
+  @Nullable
+  private static String readId(ByteBuffer in) {
+    var kind = in.get();
+    return switch (kind) {
+      case NULL_ID -> null;
+      case UUID_ID -> new UUID(in.getLong(), in.getLong()).toString();
+      case STRING_ID -> readString(in);
+      default -> throw new IllegalArgumentException("Unknown id kind " + kind);
+    };
+  }
+
+  /**
+   * Parses the canonical lower-case form only, so that the id reads back exactly as written.
+   */
+  @Nullable
+  private static UUID parseUuid(String id) {
+    if (id.length() != 36) {
+      return null;
+    }
+    try {
+      var uuid = UUID.fromString(id);
+      return uuid.toString().equals(id) ? uuid : null;
+    } catch (IllegalArgumentException ex) {
+      return null;
+    }
+  }
+
+  private static void writeMoney(ByteArrayOutputStream out, @Nullable Money money) {
+    if (money == null) {
+      out.write(0);
+      return;
+    }
+    out.write(1);
+    writeVarLong(out, zigZag(money.getMinorUnits()));
+  }
+
+  @Nullable
+  private static Money readMoney(ByteBuffer in) {
+    return in.get() == 0 ? null : Money.ofMinor(unZigZag(readVarLong(in)));
+  }
+
+  private static void writeYearMonth(ByteArrayOutputStream out, @Nullable YearMonth yearMonth) {
+    writeVarLong(out, yearMonth == null ? 0
+        : zigZag(yearMonth.getYear() * 12L + yearMonth.getMonthValue() - 1) + 1);
+  }
+
+  @Nullable
+  private static YearMonth readYearMonth(ByteBuffer in) {
+    var value = readVarLong(in);
+    if (value == 0) {
+      return null;
+    }
+    var months = unZigZag(value - 1);
+    return YearMonth.of((int) Math.floorDiv(months, 12), (int) Math.floorMod(months, 12) + 1);
+  }
+
+  private static void writeDateTime(ByteArrayOutputStream out, @Nullable LocalDateTime dateTime) {
+    if (dateTime == null) {
+      out.write(0);
+      return;
+    }
+    out.write(1);
+    writeVarLong(out, zigZag(dateTime.toEpochSecond(ZoneOffset.UTC)));
+    writeVarInt(out, dateTime.getNano());
+  }
+
+  @Nullable
+  private static LocalDateTime readDateTime(ByteBuffer in) {
+    if (in.get() == 0) {
+      return null;
+    }
+    var seconds = unZigZag(readVarLong(in));
+    return LocalDateTime.ofEpochSecond(seconds, readVarInt(in), ZoneOffset.UTC);
+  }
+
+  /**
+   * Writes a string as its UTF-8 length plus one, zero standing for {@code null}, and its bytes.
+   */
+  private static void writeString(ByteArrayOutputStream out, @Nullable String value) {
+    if (value == null) {
+      writeVarInt(out, 0);
+      return;
+    }
+    var bytes = value.getBytes(StandardCharsets.UTF_8);
+    writeVarInt(out, bytes.length + 1);
+    out.write(bytes, 0, bytes.length);
+  }
+
+  @Nullable
+  private static String readString(ByteBuffer in) {
+    var length = readVarInt(in);
+    if (length == 0) {
+      return null;
+    }
+    var bytes = new byte[length - 1];
+    in.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private static void writeBytes(ByteArrayOutputStream out, byte[] bytes) {
+    writeVarInt(out, bytes.length);
+    out.write(bytes, 0, bytes.length);
+  }
+
+  private static byte[] readBytes(ByteBuffer in) {
+    var bytes = new byte[readVarInt(in)];
+    in.get(bytes);
+    return bytes;
+  }
+
+  private static void writeLong(ByteArrayOutputStream out, long value) {
+    for (int shift = 56; shift >= 0; shift -= 8) {
+      out.write((int) (value >>> shift));
+    }
+  }
+
+  private static void writeVarInt(ByteArrayOutputStream out, int value) {
+    writeVarLong(out, value & 0xFFFFFFFFL);
+  }
+
+  private static int readVarInt(ByteBuffer in) {
+    var value = readVarLong(in);
+    if (value < 0 || value > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("Invalid length " + value);
+    }
+    return (int) value;
+  }
+
+  /**
+   * Writes an unsigned value seven bits per byte, low bits first, the high bit marking that more
+   * bytes follow.
+   */
+  private static void writeVarLong(ByteArrayOutputStream out, long value) {
+    while ((value & ~0x7FL) != 0) {
+      out.write((int) ((value & 0x7F) | 0x80));
+      value >>>= 7;
+    }
+    out.write((int) value);
+  }
+
+  private static long readVarLong(ByteBuffer in) {
+    long value = 0;
+    for (int shift = 0; shift < 64; shift += 7) {
+      var b = in.get();
+      value |= (long) (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return value;
+      }
+    }
+    throw new IllegalArgumentException("Malformed variable-length number");
+  }
+
+  private static long zigZag(long value) {
+    return (value << 1) ^ (value >> 63);
+  }
+
+  private static long unZigZag(long value) {
+    return (value >>> 1) ^ -(value & 1);
+  }
+
+  /**
+   * Deflates everything after the format byte, prefixed with its original length.
+   */
+  private static byte[] deflate(byte[] bytes) {
+    var deflater = new Deflater(Deflater.BEST_SPEED, true);
+    try {
+      deflater.setInput(bytes, 1, bytes.length - 1);
+      deflater.finish();
+      var out = new ByteArrayOutputStream(bytes.length / 2 + 16);
+      out.write(DEFLATED);
+      writeVarInt(out, bytes.length - 1);
+      var buffer = new byte[4096];
+      while (!deflater.finished()) {
+        out.write(buffer, 0, deflater.deflate(buffer));
+      }
+      return out.toByteArray();
+    } finally {
+      deflater.end();
+    }
+  }
+
+  private static byte[] inflate(byte[] bytes) throws DataFormatException {
+    var in = ByteBuffer.wrap(bytes, 1, bytes.length - 1);
+    var result = new byte[readVarInt(in)];
+    var inflater = new Inflater(true);
+    try {
+      inflater.setInput(bytes, in.position(), in.remaining());
+      var length = 0;
+      while (length < result.length) {
+        var read = inflater.inflate(result, length, result.length - length);
+        if (read == 0 && (inflater.finished() || inflater.needsInput())) {
+          throw new DataFormatException("Truncated cached value");
+        }
+        length += read;
+      }
+      return result;
+    } finally {
+      inflater.end();
+    }
+  }
+}
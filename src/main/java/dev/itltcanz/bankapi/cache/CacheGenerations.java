@@ -0,0 +1,32 @@
+package dev.itltcanz.bankapi.cache;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Counters shared by all nodes that change whenever cached values are invalidated, so that a load
+ * that read its value before a change can tell that the change happened while it ran. A cache has
+ * one counter for invalidations of the whole cache or of its pages by tag, and one per key for
+ * invalidations of a single key.
+ */
+public interface CacheGenerations {
+
+  /**
+   * Returns the generation of a key, which differs from any earlier generation of the key once
+   * the key or its whole cache has been invalidated since.
+   *
+   * @param cacheName The name of the cache.
+   * @param key       The key of the value in its string form.
+   * @return The generation of the key.
+   */
+  long current(String cacheName, String key);
+
+  /**
+   * Records an invalidation. Called before the values are evicted, so that a load running at
+   * the same time either sees the new generation or stores its value before the eviction.
+   *
+   * @param cacheName The name of the cache.
+   * @param key       The invalidated key in its string form, or {@code null} if values of the
+   *                  whole cache are invalidated.
+   */
+  void advance(String cacheName, @Nullable String key);
+}
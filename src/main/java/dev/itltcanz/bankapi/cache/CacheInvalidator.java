@@ -0,0 +1,163 @@
+package dev.itltcanz.bankapi.cache;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Evicts the cached views of changed cards and transactions once the change is committed, so that
+ * a request that reads them after the commit never gets the previous state from the cache. Single
+ * cards and transactions are evicted by key and pages by the owners they show, so a transfer
+ * leaves the pages of other users in place. Admin listings of every user's cards or transactions
+ * shift as a whole when one is added, removed or changes status, and are cleared then.
+ *
+ * <p>Changes recorded in a transaction are collected and evicted together after it commits, and
+ * dropped if it rolls back. Changes recorded outside a transaction are evicted right away.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CacheInvalidator {
+
+  public static final String CARDS = "cards";
+  public static final String USER_CARDS = "userCards";
+  public static final String ADMIN_CARDS = "adminCards";
+  public static final String TRANSACTION = "transaction";
+  public static final String USER_TRANSACTIONS = "userTransactions";
+  public static final String ADMIN_TRANSACTIONS = "adminTransactions";
+
+  private final CacheManager cacheManager;
+
+  /**
+   * Records that the balance or another detail of a card changed, without adding it to or
+   * removing it from any listing.
+   *
+   * @param cardNumber The number of the card.
+   * @param ownerId    The ID of the owner of the card.
+   */
+  public void cardChanged(String cardNumber, UUID ownerId) {
+    record(changes -> {
+      changes.cardNumbers.add(cardNumber);
+      changes.cardOwners.add(ownerId.toString());
+    });
+  }
+
+  /**
+   * Records that a card of a user was added, removed, moved to another user or changed status,
+   * which changes which cards the listings show.
+   *
+   * @param ownerId The ID of the user.
+   */
+  public void cardListChanged(UUID ownerId) {
+    record(changes -> {
+      changes.cardOwners.add(ownerId.toString());
+      changes.cardListChanged = true;
+    });
+  }
+
+  /**
+   * Records that a transaction was created or changed status.
+   *
+   * @param transactionId The ID of the transaction.
+   * @param senderOwnerId The ID of the owner of the sender card, whose listing shows it.
+   */
+  public void transactionChanged(UUID transactionId, UUID senderOwnerId) {
+    record(changes -> {
+      changes.transactionIds.add(transactionId.toString());
+      changes.transactionOwners.add(senderOwnerId.toString());
+    });
+  }
+
+  private void record(Consumer<Changes> change) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      var changes = new Changes();
+      change.accept(changes);
+      evict(changes);
+      return;
+    }
+    var changes = (Changes) TransactionSynchronizationManager.getResource(this);
+    if (changes == null) {
+      var pending = new Changes();
+      TransactionSynchronizationManager.bindResource(this, pending);
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          evict(pending);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+          TransactionSynchronizationManager.unbindResourceIfPossible(CacheInvalidator.this);
+        }
+      });
+      changes = pending;
+    }
+    change.accept(changes);
+  }
+
+  /**
+   * Evicts the changes. A failure is logged rather than thrown, since the change itself is
+   * already committed; the stale values then expire with their time to live.
+   */
+  private void evict(Changes changes) {
+    try {
+      evictKeys(CARDS, changes.cardNumbers);
+      evictTagged(USER_CARDS, changes.cardOwners);
+      if (changes.cardListChanged) {
+        clear(ADMIN_CARDS);
+      } else {
+        evictTagged(ADMIN_CARDS, changes.cardOwners);
+      }
+      evictKeys(TRANSACTION, changes.transactionIds);
+      evictTagged(USER_TRANSACTIONS, changes.transactionOwners);
+      if (!changes.transactionIds.isEmpty()) {
+        clear(ADMIN_TRANSACTIONS);
+      }
+    } catch (RuntimeException ex) {
+      log.warn("Failed to evict changed cards and transactions from the cache", ex);
+    }
+  }
+
+  private void evictKeys(String cacheName, Collection<String> keys) {
+    var cache = keys.isEmpty() ? null : cacheManager.getCache(cacheName);
+    if (cache != null) {
+      keys.forEach(cache::evict);
+    }
+  }
+
+  /**
+   * Evicts the values of the tags, or the whole cache if it does not track tags.
+   */
+  private void evictTagged(String cacheName, Collection<String> tags) {
+    var cache = tags.isEmpty() ? null : cacheManager.getCache(cacheName);
+    if (cache instanceof TaggedCache taggedCache) {
+      taggedCache.evictTagged(tags);
+    } else if (cache != null) {
+      cache.clear();
+    }
+  }
+
+  private void clear(String cacheName) {
+    var cache = cacheManager.getCache(cacheName);
+    if (cache != null) {
+      cache.clear();
+    }
+  }
+
+  private static class Changes {
+
+    private final Set<String> cardNumbers = new HashSet<>();
+    private final Set<String> cardOwners = new HashSet<>();
+    private final Set<String> transactionIds = new HashSet<>();
+    private final Set<String> transactionOwners = new HashSet<>();
+    private boolean cardListChanged;
+  }
+}
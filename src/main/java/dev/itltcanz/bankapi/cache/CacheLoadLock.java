@@ -0,0 +1,30 @@
+package dev.itltcanz.bankapi.cache;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Lock shared by the nodes that lets one of them load a missing cache value while the others
+ * wait for it to be stored.
+ */
+public interface CacheLoadLock {
+
+  /**
+   * Takes the lock of a key if no node holds it.
+   *
+   * @param cacheName The name of the cache.
+   * @param key       The key of the value.
+   * @return A token to release the lock with, or {@code null} if another node holds it.
+   */
+  @Nullable
+  String tryLock(String cacheName, String key);
+
+  /**
+   * Releases a lock taken with {@link #tryLock(String, String)}, unless it expired and was taken
+   * by another node since.
+   *
+   * @param cacheName The name of the cache.
+   * @param key       The key of the value.
+   * @param token     The token returned when the lock was taken.
+   */
+  void unlock(String cacheName, String key, String token);
+}
@@ -0,0 +1,44 @@
+package dev.itltcanz.bankapi.cache;
+
+import java.util.function.Supplier;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+/**
+ * Reads of a cache by key for values that are shared between users. Their loaders must not check
+ * access, since a value loaded for one request is also returned to the others reading the key,
+ * on a hit as well as to the requests a {@link CoalescingCache} makes wait for the load; the
+ * caller checks access on the value it gets back instead.
+ */
+public final class CacheReads {
+
+  private CacheReads() {
+  }
+
+  /**
+   * Returns the cached value of a key, loading and storing it on a miss the same way as
+   * {@code @Cacheable(sync = true)}. Without such a cache the value is loaded every time.
+   *
+   * @param cacheManager The cache manager.
+   * @param cacheName    The name of the cache.
+   * @param key          The key.
+   * @param loader       Loads the value; its runtime exceptions are rethrown as they are.
+   * @param <T>          The type of the value.
+   * @return The value.
+   */
+  public static <T> T get(CacheManager cacheManager, String cacheName, Object key,
+      Supplier<T> loader) {
+    var cache = cacheManager.getCache(cacheName);
+    if (cache == null) {
+      return loader.get();
+    }
+    try {
+      return cache.get(key, loader::get);
+    } catch (Cache.ValueRetrievalException ex) {
+      if (ex.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw ex;
+    }
+  }
+}
@@ -0,0 +1,27 @@
+package dev.itltcanz.bankapi.cache;
+
+import java.util.Collection;
+
+/**
+ * Secondary index from tags to the cache keys whose values depend on them, shared by all nodes.
+ */
+public interface CacheTagIndex {
+
+  /**
+   * Records that a cached value depends on tags.
+   *
+   * @param cacheName The name of the cache.
+   * @param key       The key of the value in its string form.
+   * @param tags      The tags the value depends on.
+   */
+  void tag(String cacheName, String key, Collection<String> tags);
+
+  /**
+   * Removes a tag and returns the keys recorded for it.
+   *
+   * @param cacheName The name of the cache.
+   * @param tag       The tag.
+   * @return The keys recorded for the tag since it was last removed.
+   */
+  Collection<String> removeKeys(String cacheName, String tag);
+}
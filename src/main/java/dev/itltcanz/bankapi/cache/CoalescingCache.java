@@ -0,0 +1,331 @@
+package dev.itltcanz.bankapi.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import dev.itltcanz.bankapi.config.CachePolicyProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.lang.Nullable;
+
+/**
+ * Cache that keeps concurrent misses of a key from all reaching the loader, as happens when a
+ * popular page expires. Only {@link #get(Object, Callable)}, used by {@code @Cacheable(sync =
+ * true)}, coalesces:
+ * <ul>
+ *   <li>one request per key and node runs the loader, the others wait for its result; if it
+ *   fails, each of them runs its own loader rather than failing with it;</li>
+ *   <li>with the distributed lock enabled, one node per key runs it, the others poll the cache
+ *   until the value arrives, taking the lock themselves once it is released without one or the
+ *   lock timeout passes;</li>
+ *   <li>a value loaded on this node is refreshed before it expires with a probability that grows
+ *   as expiry nears and with the time the value took to load, so that a hot key is usually
+ *   reloaded by one request before it expires rather than by many after.</li>
+ * </ul>
+ * A load that overlaps an invalidation of its key may have read the state from before the
+ * change, so the value it stored is evicted again; the {@link CacheGenerations} tell the two
+ * apart. Every invalidation through this cache advances them before evicting.
+ * Since waiting requests get the value another request loaded, a loader must not depend on its
+ * caller, such as by checking access; see {@link CacheReads}.
+ * Loads are published as {@code bank.cache.loads}, requests that waited for another load as
+ * {@code bank.cache.coalesced}.
+ */
+@Slf4j
+public class CoalescingCache implements Cache {
+
+  private final Cache delegate;
+  private final String name;
+  @Nullable
+  private final CacheLoadLock loadLock;
+  private final CacheGenerations generations;
+  private final double earlyRefreshBeta;
+  private final long timeToLiveNanos;
+  private final Duration lockTimeout;
+  private final Duration lockPollInterval;
+  private final ConcurrentMap<String, CompletableFuture<Object>> loading =
+      new ConcurrentHashMap<>();
+  private final com.github.benmanes.caffeine.cache.Cache<String, Stamp> stamps;
+  private final Counter misses;
+  private final Counter refreshes;
+  private final Counter coalesced;
+
+  public CoalescingCache(Cache delegate, @Nullable CacheLoadLock loadLock,
+      CacheGenerations generations, CachePolicyProperties properties,
+      MeterRegistry meterRegistry) {
+    this.delegate = delegate;
+    this.name = delegate.getName();
+    var policy = properties.policy(name);
+    var expires = !policy.getTtl().isZero() && !policy.getTtl().isNegative();
+    this.loadLock = policy.getDistributedLock() ? loadLock : null;
+    this.generations = generations;
+    this.earlyRefreshBeta = expires ? policy.getEarlyRefreshBeta() : 0;
+    this.timeToLiveNanos = policy.getTtl().toNanos();
+    this.lockTimeout = properties.getLockTimeout();
+    this.lockPollInterval = properties.getLockPollInterval();
+    var stampsBuilder = Caffeine.newBuilder().maximumSize(policy.getLocalMaximumSize());
+    if (expires) {
+      stampsBuilder.expireAfterWrite(policy.getTtl());
+    }
+    this.stamps = stampsBuilder.build();
+    this.misses = loads("miss", meterRegistry);
+    this.refreshes = loads("refresh", meterRegistry);
+    this.coalesced = Counter.builder("bank.cache.coalesced")
+        .description("Cache reads that waited for a load of the same key")
+        .tag("cache", name)
+        .register(meterRegistry);
+  }
+
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  @Override
+  public Object getNativeCache() {
+    return delegate.getNativeCache();
+  }
+
+  @Override
+  @Nullable
+  public ValueWrapper get(Object key) {
+    return delegate.get(key);
+  }
+
+  @Override
+  @Nullable
+  public <T> T get(Object key, @Nullable Class<T> type) {
+    return delegate.get(key, type);
+  }
+
+  @Override
+  @Nullable
+  @SuppressWarnings("unchecked")
+  public <T> T get(Object key, Callable<T> valueLoader) {
+    var stampKey = String.valueOf(key);
+    var current = delegate.get(key);
+    if (current != null && !refreshesEarly(stampKey)) {
+      return (T) current.get();
+    }
+    var flight = new CompletableFuture<Object>();
+    var running = loading.putIfAbsent(stampKey, flight);
+    if (running != null) {
+      if (current != null) {
+        return (T) current.get();
+      }
+      coalesced.increment();
+      try {
+        return (T) running.join();
+      } catch (CompletionException ex) {
+        return (T) loadAndPut(key, stampKey, valueLoader, misses);
+      }
+    }
+    try {
+      var value = current != null
+          ? refresh(key, stampKey, valueLoader, current)
+          : load(key, stampKey, valueLoader);
+      flight.complete(value);
+      return (T) value;
+    } catch (RuntimeException | Error ex) {
+      flight.completeExceptionally(ex);
+      throw ex;
+    } finally {
+      loading.remove(stampKey, flight);
+    }
+  }
+
+  @Override
+  public void put(Object key, @Nullable Object value) {
+    stamps.invalidate(String.valueOf(key));
+    delegate.put(key, value);
+  }
+
+  @Override
+  @Nullable
+  public ValueWrapper putIfAbsent(Object key, @Nullable Object value) {
+    return delegate.putIfAbsent(key, value);
+  }
+
+  @Override
+  public void evict(Object key) {
+    generations.advance(name, String.valueOf(key));
+    stamps.invalidate(String.valueOf(key));
+    delegate.evict(key);
+  }
+
+  @Override
+  public boolean evictIfPresent(Object key) {
+    generations.advance(name, String.valueOf(key));
+    stamps.invalidate(String.valueOf(key));
+    return delegate.evictIfPresent(key);
+  }
+
+  @Override
+  public void clear() {
+    generations.advance(name, null);
+    stamps.invalidateAll();
+    delegate.clear();
+  }
+
+  @Override
+  public boolean invalidate() {
+    generations.advance(name, null);
+    stamps.invalidateAll();
+    return delegate.invalidate();
+  }
+
+  /**
+   * Loads a missing value. The cache is read again first, since the value may have been stored
+   * between the miss and the start of this load.
+   */
+  @Nullable
+  private Object load(Object key, String stampKey, Callable<?> valueLoader) {
+    var cached = delegate.get(key);
+    if (cached != null) {
+      return cached.get();
+    }
+    if (loadLock == null) {
+      return loadAndPut(key, stampKey, valueLoader, misses);
+    }
+    var deadline = System.nanoTime() + lockTimeout.toNanos();
+    while (true) {
+      String token;
+      try {
+        token = loadLock.tryLock(name, stampKey);
+      } catch (RuntimeException ex) {
+        log.warn("Failed to lock the load of {} in cache {}, loading without the lock", stampKey,
+            name, ex);
+        return loadAndPut(key, stampKey, valueLoader, misses);
+      }
+      if (token != null) {
+        try {
+          // The previous holder may have stored the value just before releasing the lock.
+          cached = delegate.get(key);
+          return cached != null ? cached.get() : loadAndPut(key, stampKey, valueLoader, misses);
+        } finally {
+          unlock(stampKey, token);
+        }
+      }
+      if (System.nanoTime() >= deadline || !pause()) {
+        return loadAndPut(key, stampKey, valueLoader, misses);
+      }
+      cached = delegate.get(key);
+      if (cached != null) {
+        coalesced.increment();
+        return cached.get();
+      }
+    }
+  }
+
+  /**
+   * Reloads a value before it expires. While another node holds the lock of the key, it is
+   * refreshing the value, and the current one is returned.
+   */
+  @Nullable
+  private Object refresh(Object key, String stampKey, Callable<?> valueLoader,
+      ValueWrapper current) {
+    if (loadLock == null) {
+      return loadAndPut(key, stampKey, valueLoader, refreshes);
+    }
+    String token;
+    try {
+      token = loadLock.tryLock(name, stampKey);
+    } catch (RuntimeException ex) {
+      log.warn("Failed to lock the refresh of {} in cache {}, keeping the value", stampKey, name,
+          ex);
+      return current.get();
+    }
+    if (token == null) {
+      return current.get();
+    }
+    try {
+      return loadAndPut(key, stampKey, valueLoader, refreshes);
+    } finally {
+      unlock(stampKey, token);
+    }
+  }
+
+  @Nullable
+  private Object loadAndPut(Object key, String stampKey, Callable<?> valueLoader,
+      Counter counter) {
+    counter.increment();
+    var generation = generations.current(name, stampKey);
+    var start = System.nanoTime();
+    Object value;
+    try {
+      value = valueLoader.call();
+    } catch (Exception ex) {
+      throw new ValueRetrievalException(key, valueLoader, ex);
+    }
+    var loaded = System.nanoTime();
+    delegate.put(key, value);
+    if (generations.current(name, stampKey) != generation) {
+      // Invalidated while loading: the eviction may have run before the put.
+      stamps.invalidate(stampKey);
+      delegate.evict(key);
+    } else {
+      stamps.put(stampKey, new Stamp(loaded - start, loaded + timeToLiveNanos));
+    }
+    return value;
+  }
+
+  /**
+   * Tells whether this read should refresh the value, following the XFetch rule: a value that
+   * took {@code delta} to load is refreshed once {@code now - delta * beta * ln(random)} passes
+   * its expiry. Values loaded on other nodes carry no stamp here and are refreshed there.
+   */
+  private boolean refreshesEarly(String stampKey) {
+    if (earlyRefreshBeta <= 0) {
+      return false;
+    }
+    var stamp = stamps.getIfPresent(stampKey);
+    if (stamp == null) {
+      return false;
+    }
+    var gap = stamp.loadNanos() * earlyRefreshBeta
+        * -Math.log(ThreadLocalRandom.current().nextDouble());
+    return System.nanoTime() + gap >= stamp.expiresAtNanos();
+  }
+
+  /**
+   * Waits for the next poll of a load running on another node.
+   *
+   * @return {@code false} if the thread was interrupted.
+   */
+  private boolean pause() {
+    try {
+      Thread.sleep(lockPollInterval.toMillis());
+      return true;
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
+  private void unlock(String stampKey, String token) {
+    try {
+      loadLock.unlock(name, stampKey, token);
+    } catch (RuntimeException ex) {
+      log.warn("Failed to unlock the load of {} in cache {}", stampKey, name, ex);
+    }
+  }
+
+  private Counter loads(String reason, MeterRegistry meterRegistry) {
+    return Counter.builder("bank.cache.loads")
+        .description("Cache values loaded, after a miss or to refresh them before expiry")
+        .tags("cache", name, "reason", reason)
+        .register(meterRegistry);
+  }
+
+  /**
+   * How long a value loaded on this node took to load, and when it expires in the cache.
+   */
+  private record Stamp(long loadNanos, long expiresAtNanos) {
+  }
+}
@@ -0,0 +1,13 @@
+package dev.itltcanz.bankapi.cache;
+
+/**
+ * Cached value together with the id of the user it belongs to, for values whose response does
+ * not carry the owner itself. Access is checked against the owner after every read, so the value
+ * can be shared by all users' reads of the key.
+ *
+ * @param ownerId The id of the owning user.
+ * @param value   The cached value.
+ * @param <T>     The type of the value.
+ */
+public record Owned<T>(String ownerId, T value) {
+}
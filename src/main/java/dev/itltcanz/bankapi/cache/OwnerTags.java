@@ -0,0 +1,51 @@
+package dev.itltcanz.bankapi.cache;
+
+import dev.itltcanz.bankapi.dto.card.CardDtoResponse;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import org.springframework.data.domain.Page;
+import org.springframework.lang.Nullable;
+
+/**
+ * Tags of the cached pages: the ids of the users whose cards or transactions a page shows. Keys
+ * of the per-user caches start with the id of the user followed by {@code ':'}; admin card pages
+ * are tagged with the owners of the cards they contain.
+ */
+public final class OwnerTags {
+
+  private OwnerTags() {
+  }
+
+  /**
+   * Returns the taggers of the page caches by cache name.
+   *
+   * @return The taggers.
+   */
+  public static Map<String, TaggedCache.Tagger> taggers() {
+    return Map.of(
+        CacheInvalidator.USER_CARDS, OwnerTags::keyOwner,
+        CacheInvalidator.USER_TRANSACTIONS, OwnerTags::keyOwner,
+        CacheInvalidator.ADMIN_CARDS, OwnerTags::cardOwners);
+  }
+
+  static Collection<String> keyOwner(Object key, @Nullable Object value) {
+    var string = String.valueOf(key);
+    var end = string.indexOf(':');
+    return end > 0 ? List.of(string.substring(0, end)) : List.of();
+  }
+
+  static Collection<String> cardOwners(Object key, @Nullable Object value) {
+    if (!(value instanceof Page<?> page)) {
+      return List.of();
+    }
+    var owners = new HashSet<String>();
+    for (var element : page) {
+      if (element instanceof CardDtoResponse card && card.getOwnerId() != null) {
+        owners.add(card.getOwnerId());
+      }
+    }
+    return owners;
+  }
+}
@@ -0,0 +1,57 @@
+package dev.itltcanz.bankapi.cache;
+
+import dev.itltcanz.bankapi.config.CachePolicyProperties;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.lang.Nullable;
+
+/**
+ * Cache generations kept in Redis as counters. The counter of a key expires after the generation
+ * time to live, which must exceed the longest load; an expired counter reads as a change, so its
+ * expiry can only cause an extra eviction.
+ */
+public class RedisCacheGenerations implements CacheGenerations {
+
+  private final StringRedisTemplate redisTemplate;
+  private final CachePolicyProperties properties;
+
+  public RedisCacheGenerations(StringRedisTemplate redisTemplate,
+      CachePolicyProperties properties) {
+    this.redisTemplate = redisTemplate;
+    this.properties = properties;
+  }
+
+  @Override
+  public long current(String cacheName, String key) {
+    var values = redisTemplate.opsForValue()
+        .multiGet(List.of(counterKey(cacheName, null), counterKey(cacheName, key)));
+    long generation = 0;
+    if (values != null) {
+      for (var value : values) {
+        generation += value != null ? Long.parseLong(value) : 0;
+      }
+    }
+    return generation;
+  }
+
+  @Override
+  public void advance(String cacheName, @Nullable String key) {
+    if (key == null) {
+      redisTemplate.opsForValue().increment(counterKey(cacheName, null));
+      return;
+    }
+    var counterKey = counterKey(cacheName, key).getBytes(StandardCharsets.UTF_8);
+    var timeToLive = Math.max(1, properties.getGenerationTtl().toSeconds());
+    redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+      connection.stringCommands().incr(counterKey);
+      connection.keyCommands().expire(counterKey, timeToLive);
+      return null;
+    });
+  }
+
+  private String counterKey(String cacheName, @Nullable String key) {
+    return properties.getGenerationPrefix() + cacheName + (key != null ? ":" + key : "");
+  }
+}
@@ -0,0 +1,45 @@
+package dev.itltcanz.bankapi.cache;
+
+import dev.itltcanz.bankapi.config.CachePolicyProperties;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.lang.Nullable;
+
+/**
+ * Load lock kept in Redis as one key per cache key, holding the token of its owner and expiring
+ * after the lock timeout, so that a node that dies while loading does not block the others.
+ */
+public class RedisCacheLoadLock implements CacheLoadLock {
+
+  private static final RedisScript<Long> UNLOCK = RedisScript.of(
+      "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) "
+          + "else return 0 end", Long.class);
+
+  private final StringRedisTemplate redisTemplate;
+  private final CachePolicyProperties properties;
+
+  public RedisCacheLoadLock(StringRedisTemplate redisTemplate, CachePolicyProperties properties) {
+    this.redisTemplate = redisTemplate;
+    this.properties = properties;
+  }
+
+  @Override
+  @Nullable
+  public String tryLock(String cacheName, String key) {
+    var token = UUID.randomUUID().toString();
+    var locked = redisTemplate.opsForValue()
+        .setIfAbsent(lockKey(cacheName, key), token, properties.getLockTimeout());
+    return Boolean.TRUE.equals(locked) ? token : null;
+  }
+
+  @Override
+  public void unlock(String cacheName, String key, String token) {
+    redisTemplate.execute(UNLOCK, List.of(lockKey(cacheName, key)), token);
+  }
+
+  private String lockKey(String cacheName, String key) {
+    return properties.getLockPrefix() + cacheName + ":" + key;
+  }
+}
@@ -0,0 +1,57 @@
+package dev.itltcanz.bankapi.cache;
+
+import dev.itltcanz.bankapi.config.CachePolicyProperties;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * Tag index kept in Redis as one set of keys per cache and tag. A set expires with the last value
+ * recorded in it, so that tags of values that expired on their own do not accumulate; in caches
+ * whose values do not expire, neither do the sets.
+ */
+public class RedisCacheTagIndex implements CacheTagIndex {
+
+  private final StringRedisTemplate redisTemplate;
+  private final CachePolicyProperties properties;
+
+  public RedisCacheTagIndex(StringRedisTemplate redisTemplate, CachePolicyProperties properties) {
+    this.redisTemplate = redisTemplate;
+    this.properties = properties;
+  }
+
+  @Override
+  public void tag(String cacheName, String key, Collection<String> tags) {
+    var member = key.getBytes(StandardCharsets.UTF_8);
+    var ttl = properties.policy(cacheName).getTtl();
+    var expires = !ttl.isZero() && !ttl.isNegative();
+    // Rounded up, so that a set never expires before the value it was recorded for.
+    var timeToLive = (ttl.toMillis() + 999) / 1000;
+    redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+      for (var tag : tags) {
+        var setKey = setKey(cacheName, tag).getBytes(StandardCharsets.UTF_8);
+        connection.setCommands().sAdd(setKey, member);
+        if (expires) {
+          connection.keyCommands().expire(setKey, timeToLive);
+        }
+      }
+      return null;
+    });
+  }
+
+  /**
+   * Pops every key of the set at once, so that a key recorded concurrently is either returned
+   * or left for the next removal.
+   */
+  @Override
+  public Collection<String> removeKeys(String cacheName, String tag) {
+    var keys = redisTemplate.opsForSet().pop(setKey(cacheName, tag), Integer.MAX_VALUE);
+    return keys != null ? keys : List.of();
+  }
+
+  private String setKey(String cacheName, String tag) {
+    return properties.getTagPrefix() + cacheName + ":" + tag;
+  }
+}
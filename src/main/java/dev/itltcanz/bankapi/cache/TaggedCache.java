@@ -0,0 +1,131 @@
+package dev.itltcanz.bankapi.cache;
+
+import java.util.Collection;
+import java.util.concurrent.Callable;
+import org.springframework.cache.Cache;
+import org.springframework.lang.Nullable;
+
+/**
+ * Cache that records the tags of every value it stores in a {@link CacheTagIndex}, so that the
+ * values depending on a tag can be evicted without clearing the whole cache. A value is tagged
+ * before it is stored, so a value that can be read is always found by its tags. A value stored
+ * after its tags were evicted, by a load that started before, is not found by them; the
+ * generation advanced before the eviction makes that load evict it again.
+ */
+public class TaggedCache implements Cache {
+
+  private final Cache delegate;
+  private final Tagger tagger;
+  private final CacheTagIndex tagIndex;
+  private final CacheGenerations generations;
+
+  public TaggedCache(Cache delegate, Tagger tagger, CacheTagIndex tagIndex,
+      CacheGenerations generations) {
+    this.delegate = delegate;
+    this.tagger = tagger;
+    this.tagIndex = tagIndex;
+    this.generations = generations;
+  }
+
+  @Override
+  public String getName() {
+    return delegate.getName();
+  }
+
+  @Override
+  public Object getNativeCache() {
+    return delegate.getNativeCache();
+  }
+
+  @Override
+  @Nullable
+  public ValueWrapper get(Object key) {
+    return delegate.get(key);
+  }
+
+  @Override
+  @Nullable
+  public <T> T get(Object key, @Nullable Class<T> type) {
+    return delegate.get(key, type);
+  }
+
+  @Override
+  @Nullable
+  public <T> T get(Object key, Callable<T> valueLoader) {
+    return delegate.get(key, () -> {
+      var value = valueLoader.call();
+      tag(key, value);
+      return value;
+    });
+  }
+
+  @Override
+  public void put(Object key, @Nullable Object value) {
+    tag(key, value);
+    delegate.put(key, value);
+  }
+
+  @Override
+  @Nullable
+  public ValueWrapper putIfAbsent(Object key, @Nullable Object value) {
+    tag(key, value);
+    return delegate.putIfAbsent(key, value);
+  }
+
+  @Override
+  public void evict(Object key) {
+    delegate.evict(key);
+  }
+
+  @Override
+  public boolean evictIfPresent(Object key) {
+    return delegate.evictIfPresent(key);
+  }
+
+  @Override
+  public void clear() {
+    delegate.clear();
+  }
+
+  @Override
+  public boolean invalidate() {
+    return delegate.invalidate();
+  }
+
+  /**
+   * Evicts the values that depend on any of the tags.
+   *
+   * @param tags The tags.
+   */
+  public void evictTagged(Collection<String> tags) {
+    generations.advance(getName(), null);
+    for (var tag : tags) {
+      for (var key : tagIndex.removeKeys(getName(), tag)) {
+        delegate.evict(key);
+      }
+    }
+  }
+
+  private void tag(Object key, @Nullable Object value) {
+    var tags = tagger.tags(key, value);
+    if (!tags.isEmpty()) {
+      tagIndex.tag(getName(), String.valueOf(key), tags);
+    }
+  }
+
+  /**
+   * Tells which tags a cached value depends on.
+   */
+  @FunctionalInterface
+  public interface Tagger {
+
+    /**
+     * Returns the tags of a value.
+     *
+     * @param key   The key of the value.
+     * @param value The value.
+     * @return The tags, empty if the value depends on none.
+     */
+    Collection<String> tags(Object key, @Nullable Object value);
+  }
+}
@@ -0,0 +1,166 @@
+package dev.itltcanz.bankapi.cache;
+
+import java.util.concurrent.Callable;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.lang.Nullable;
+
+/**
+ * Cache with a bounded in-process tier in front of a shared remote tier. Reads are served from
+ * the local tier when possible and fill it from the remote tier otherwise. Writes and evictions
+ * go to both tiers and are announced through the {@link InvalidationPublisher}, so that other
+ * nodes drop their local copy.
+ */
+public class TwoLevelCache implements Cache {
+
+  private final String name;
+  private final com.github.benmanes.caffeine.cache.Cache<String, ValueWrapper> local;
+  private final Cache remote;
+  private final InvalidationPublisher invalidationPublisher;
+
+  public TwoLevelCache(String name,
+      com.github.benmanes.caffeine.cache.Cache<String, ValueWrapper> local, Cache remote,
+      InvalidationPublisher invalidationPublisher) {
+    this.name = name;
+    this.local = local;
+    this.remote = remote;
+    this.invalidationPublisher = invalidationPublisher;
+  }
+
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  @Override
+  public Object getNativeCache() {
+    return this;
+  }
+
+  @Override
+  @Nullable
+  public ValueWrapper get(Object key) {
+    var localKey = localKey(key);
+    var wrapper = local.getIfPresent(localKey);
+    if (wrapper != null) {
+      return wrapper;
+    }
+    wrapper = remote.get(key);
+    if (wrapper != null) {
+      local.put(localKey, wrapper);
+    }
+    return wrapper;
+  }
+
+  @Override
+  @Nullable
+  @SuppressWarnings("unchecked")
+  public <T> T get(Object key, @Nullable Class<T> type) {
+    var wrapper = get(key);
+    var value = wrapper != null ? wrapper.get() : null;
+    if (value != null && type != null && !type.isInstance(value)) {
+      throw new IllegalStateException(
+          "Cached value is not of required type [" + type.getName() + "]: " + value);
+    }
+    return (T) value;
+  }
+
+  @Override
+  @Nullable
+  @SuppressWarnings("unchecked")
+  public <T> T get(Object key, Callable<T> valueLoader) {
+    var wrapper = get(key);
+    if (wrapper != null) {
+      return (T) wrapper.get();
+    }
+    var value = remote.get(key, valueLoader);
+    local.put(localKey(key), new SimpleValueWrapper(value));
+    return value;
+  }
+
+  @Override
+  public void put(Object key, @Nullable Object value) {
+    remote.put(key, value);
+    var localKey = localKey(key);
+    local.put(localKey, new SimpleValueWrapper(value));
+    invalidationPublisher.publish(name, localKey);
+  }
+
+  @Override
+  @Nullable
+  public ValueWrapper putIfAbsent(Object key, @Nullable Object value) {
+    var existing = remote.putIfAbsent(key, value);
+    var localKey = localKey(key);
+    if (existing != null) {
+      local.put(localKey, existing);
+      return existing;
+    }
+    local.put(localKey, new SimpleValueWrapper(value));
+    invalidationPublisher.publish(name, localKey);
+    return null;
+  }
+
+  @Override
+  public void evict(Object key) {
+    remote.evict(key);
+    var localKey = localKey(key);
+    local.invalidate(localKey);
+    invalidationPublisher.publish(name, localKey);
+  }
+
+  @Override
+  public boolean evictIfPresent(Object key) {
+    var present = remote.evictIfPresent(key);
+    var localKey = localKey(key);
+    local.invalidate(localKey);
+    invalidationPublisher.publish(name, localKey);
+    return present;
+  }
+
+  @Override
+  public void clear() {
+    remote.clear();
+    local.invalidateAll();
+    invalidationPublisher.publish(name, null);
+  }
+
+  @Override
+  public boolean invalidate() {
+    var present = remote.invalidate();
+    local.invalidateAll();
+    invalidationPublisher.publish(name, null);
+    return present;
+  }
+
+  /**
+   * Drops a key from the local tier only, after another node changed it.
+   *
+   * @param key The key in its string form, or {@code null} to drop every key.
+   */
+  void evictLocal(@Nullable String key) {
+    if (key == null) {
+      local.invalidateAll();
+    } else {
+      local.invalidate(key);
+    }
+  }
+
+  private static String localKey(Object key) {
+    return String.valueOf(key);
+  }
+
+  /**
+   * Announces changed keys to the other nodes.
+   */
+  @FunctionalInterface
+  public interface InvalidationPublisher {
+
+    /**
+     * Announces that a key of a cache changed.
+     *
+     * @param cacheName The name of the cache.
+     * @param key       The key in its string form, or {@code null} if the whole cache changed.
+     */
+    void publish(String cacheName, @Nullable String key);
+  }
+}
@@ -0,0 +1,131 @@
+package dev.itltcanz.bankapi.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import dev.itltcanz.bankapi.config.CachePolicyProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.metrics.cache.RedisCacheMetrics;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.lang.Nullable;
+
+/**
+ * Cache manager that puts a bounded in-process {@link TwoLevelCache} tier in front of every Redis
+ * cache, sized per cache from {@link CachePolicyProperties}. Changed keys are announced on the
+ * invalidation channel and dropped from the local tier of the other nodes when the announcement
+ * arrives; until then, and if it is lost, a node serves its local copy for at most the local TTL.
+ * Hits and misses are published as the {@code cache.*} metrics tagged with {@code tier=local} or
+ * {@code tier=remote}. Caches with a {@link TaggedCache.Tagger} record the tags of their values in
+ * the {@link CacheTagIndex}. Every cache coalesces concurrent loads of a key through a
+ * {@link CoalescingCache}, across nodes through the {@link CacheLoadLock} where configured.
+ */
+@Slf4j
+public class TwoLevelCacheManager implements CacheManager, MessageListener {
+
+  private static final String SEPARATOR = "\n";
+
+  private final RedisCacheManager remoteCacheManager;
+  private final StringRedisTemplate redisTemplate;
+  private final CacheTagIndex tagIndex;
+  private final CacheLoadLock loadLock;
+  private final CacheGenerations generations;
+  private final Map<String, TaggedCache.Tagger> taggers;
+  private final CachePolicyProperties properties;
+  private final MeterRegistry meterRegistry;
+  private final String nodeId = UUID.randomUUID().toString();
+  private final ConcurrentMap<String, Cache> caches = new ConcurrentHashMap<>();
+
+  public TwoLevelCacheManager(RedisCacheManager remoteCacheManager,
+      StringRedisTemplate redisTemplate, CacheTagIndex tagIndex, CacheLoadLock loadLock,
+      CacheGenerations generations, Map<String, TaggedCache.Tagger> taggers,
+      CachePolicyProperties properties, MeterRegistry meterRegistry) {
+    this.remoteCacheManager = remoteCacheManager;
+    this.redisTemplate = redisTemplate;
+    this.tagIndex = tagIndex;
+    this.loadLock = loadLock;
+    this.generations = generations;
+    this.taggers = taggers;
+    this.properties = properties;
+    this.meterRegistry = meterRegistry;
+  }
+
+  @Override
+  @Nullable
+  public Cache getCache(String name) {
+    var cache = caches.get(name);
+    if (cache != null) {
+      return cache;
+    }
+    var remote = remoteCacheManager.getCache(name);
+    if (remote == null) {
+      return null;
+    }
+    return caches.computeIfAbsent(name, key -> {
+      var created = new CoalescingCache(createCache(name, remote), loadLock, generations,
+          properties, meterRegistry);
+      var tagger = taggers.get(name);
+      return tagger != null ? new TaggedCache(created, tagger, tagIndex, generations) : created;
+    });
+  }
+
+  @Override
+  public Collection<String> getCacheNames() {
+    return Collections.unmodifiableSet(caches.keySet());
+  }
+
+  /**
+   * Drops a key announced by another node from the local tier.
+   */
+  @Override
+  public void onMessage(Message message, @Nullable byte[] pattern) {
+    var parts = new String(message.getBody(), StandardCharsets.UTF_8).split(SEPARATOR, 3);
+    if (parts.length < 2 || parts[0].equals(nodeId)) {
+      return;
+    }
+    var cache = caches.get(parts[1]);
+    if (cache != null && cache.getNativeCache() instanceof TwoLevelCache twoLevelCache) {
+      twoLevelCache.evictLocal(parts.length == 3 ? parts[2] : null);
+    }
+  }
+
+  private Cache createCache(String name, Cache remote) {
+    if (remote instanceof RedisCache redisCache) {
+      new RedisCacheMetrics(redisCache, Tags.of("tier", "remote")).bindTo(meterRegistry);
+    }
+    var policy = properties.policy(name);
+    if (!policy.getLocalEnabled()) {
+      return remote;
+    }
+    com.github.benmanes.caffeine.cache.Cache<String, Cache.ValueWrapper> local =
+        Caffeine.newBuilder()
+            .maximumSize(policy.getLocalMaximumSize())
+            .expireAfterWrite(policy.getLocalTtl())
+            .recordStats()
+            .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, local, name, Tags.of("tier", "local"));
+    return new TwoLevelCache(name, local, remote, this::publish);
+  }
+
+  private void publish(String cacheName, @Nullable String key) {
+    var message = nodeId + SEPARATOR + cacheName + (key != null ? SEPARATOR + key : "");
+    try {
+      redisTemplate.convertAndSend(properties.getInvalidationChannel(), message);
+    } catch (RuntimeException ex) {
+      log.warn("Failed to announce the change of cache {} to other nodes", cacheName, ex);
+    }
+  }
+}
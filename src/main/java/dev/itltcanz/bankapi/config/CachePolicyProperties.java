@@ -0,0 +1,152 @@
+package dev.itltcanz.bankapi.config;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Settings of the application caches behind {@code @Cacheable}, bound from the
+ * {@code bank.cache} block and applied when the cache manager is created. Every cache uses
+ * {@link #getDefaults()} except for the settings overridden under {@link #getCaches()} by cache
+ * name.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "bank.cache")
+public class CachePolicyProperties {
+
+  /**
+   * Redis channel on which nodes announce changed cache keys to each other.
+   */
+  private String invalidationChannel = "bank:cache:invalidation";
+  /**
+   * Prefix of the Redis sets that index cached pages by the users they show.
+   */
+  private String tagPrefix = "bank:cache:tags:";
+  /**
+   * Prefix of the Redis keys that lock the loading of a missing value across nodes.
+   */
+  private String lockPrefix = "bank:cache:lock:";
+  /**
+   * How long a node holds the load lock at most, and how long other nodes wait for the value
+   * before loading it themselves.
+   */
+  private Duration lockTimeout = Duration.ofSeconds(5);
+  /**
+   * How often a node waiting for another node's load checks whether the value arrived.
+   */
+  private Duration lockPollInterval = Duration.ofMillis(20);
+  /**
+   * Prefix of the Redis counters that change whenever cached values are invalidated.
+   */
+  private String generationPrefix = "bank:cache:generation:";
+  /**
+   * How long the invalidation counter of a single key is kept; must exceed the longest load.
+   */
+  private Duration generationTtl = Duration.ofHours(1);
+  private Policy defaults = new Policy(true, 10_000L, Duration.ofSeconds(30), Codec.BINARY,
+      DataSize.ofKilobytes(1), Duration.ofMinutes(5), true, "", 1.0, false);
+  private Map<String, Policy> caches = new HashMap<>();
+
+  /**
+   * Returns the settings of a cache, with the settings it does not override taken from the
+   * defaults.
+   *
+   * @param cacheName The name of the cache.
+   * @return The complete settings of the cache.
+   */
+  public Policy policy(String cacheName) {
+    var policy = caches.get(cacheName);
+    if (policy == null) {
+      return defaults;
+    }
+    return new Policy(
+        Objects.requireNonNullElse(policy.getLocalEnabled(), defaults.getLocalEnabled()),
+        Objects.requireNonNullElse(policy.getLocalMaximumSize(), defaults.getLocalMaximumSize()),
+        Objects.requireNonNullElse(policy.getLocalTtl(), defaults.getLocalTtl()),
+        Objects.requireNonNullElse(policy.getCodec(), defaults.getCodec()),
+        Objects.requireNonNullElse(policy.getCompressionThreshold(),
+            defaults.getCompressionThreshold()),
+        Objects.requireNonNullElse(policy.getTtl(), defaults.getTtl()),
+        Objects.requireNonNullElse(policy.getCacheNullValues(), defaults.getCacheNullValues()),
+        Objects.requireNonNullElse(policy.getKeyPrefix(), defaults.getKeyPrefix()),
+        Objects.requireNonNullElse(policy.getEarlyRefreshBeta(), defaults.getEarlyRefreshBeta()),
+        Objects.requireNonNullElse(policy.getDistributedLock(), defaults.getDistributedLock()));
+  }
+
+  /**
+   * Form in which values are stored in Redis.
+   */
+  public enum Codec {
+    /**
+     * JSON with class names, readable with any Redis client.
+     */
+    JSON,
+    /**
+     * Compact binary form of the cached responses and pages.
+     */
+    BINARY
+  }
+
+  @Getter
+  @Setter
+  @NoArgsConstructor
+  @AllArgsConstructor
+  public static class Policy {
+
+    /**
+     * Whether values are also kept in process in front of Redis.
+     */
+    private Boolean localEnabled;
+    /**
+     * Maximum number of values kept in process.
+     */
+    private Long localMaximumSize;
+    /**
+     * How long a value is kept in process. Changes made on other nodes evict it right away; this
+     * bounds staleness when an announcement is lost.
+     */
+    private Duration localTtl;
+    /**
+     * Form in which values are stored in Redis.
+     */
+    private Codec codec;
+    /**
+     * Size above which binary values are compressed before they are stored in Redis; zero never
+     * compresses.
+     */
+    private DataSize compressionThreshold;
+    /**
+     * How long a value is kept in Redis. Changes evict it right away; this bounds staleness when
+     * an eviction fails.
+     */
+    private Duration ttl;
+    /**
+     * Whether a {@code null} result is cached like any other value.
+     */
+    private Boolean cacheNullValues;
+    /**
+     * Prefix of the Redis keys of the cache, put before the cache name. Changing it leaves the
+     * values stored under the previous prefix to expire.
+     */
+    private String keyPrefix;
+    /**
+     * How eagerly a value loaded on this node is refreshed before it expires in Redis. Each read
+     * refreshes it with a probability that grows as expiry nears and with the time the value took
+     * to load; higher values refresh earlier, zero never refreshes early.
+     */
+    private Double earlyRefreshBeta;
+    /**
+     * Whether a missing value is loaded by one node at a time, the others waiting for it in
+     * Redis, rather than by one request per node.
+     */
+    private Boolean distributedLock;
+  }
+}
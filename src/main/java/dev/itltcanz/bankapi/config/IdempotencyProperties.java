@@ -0,0 +1,26 @@
+package dev.itltcanz.bankapi.config;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings of the {@code Idempotency-Key} support, bound from the {@code bank.idempotency}
+ * block.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "bank.idempotency")
+public class IdempotencyProperties {
+
+  /**
+   * How long a key is remembered; a retry after that executes the request again.
+   */
+  private Duration ttl = Duration.ofHours(24);
+  /**
+   * Maximum number of keys held in the in-process cache in front of the table.
+   */
+  private long cacheSize = 100_000;
+  private Duration cleanupInterval = Duration.ofHours(1);
+}
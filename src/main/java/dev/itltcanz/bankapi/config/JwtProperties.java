@@ -0,0 +1,49 @@
+package dev.itltcanz.bankapi.config;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings of JWT signing and verification, bound from the {@code jwt} block.
+ *
+ * <p>To rotate the signing key, add the new key to {@link #keys}, point {@link #activeKeyId} at
+ * it, and remove the previous key once tokens signed with it have expired.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "jwt")
+public class JwtProperties {
+
+  /**
+   * Key id of {@link #secret}.
+   */
+  public static final String DEFAULT_KEY_ID = "default";
+
+  /**
+   * Base64-encoded HMAC key, available under the {@value #DEFAULT_KEY_ID} key id. It also
+   * verifies tokens issued without a key id.
+   */
+  private String secret;
+  /**
+   * Further Base64-encoded HMAC keys by key id, accepted for verification.
+   */
+  private Map<String, String> keys = new LinkedHashMap<>();
+  /**
+   * Key id of the key new tokens are signed with.
+   */
+  private String activeKeyId = DEFAULT_KEY_ID;
+  /**
+   * Lifetime of access tokens. Kept short, because clients renew them with a refresh token
+   * instead of logging in again.
+   */
+  private Duration accessTokenValidity = Duration.ofMinutes(15);
+  /**
+   * Lifetime of refresh tokens, counted from the login or refresh that issued them.
+   */
+  private Duration refreshTokenValidity = Duration.ofDays(14);
+  private Duration refreshTokenCleanupInterval = Duration.ofHours(1);
+}
@@ -0,0 +1,20 @@
+package dev.itltcanz.bankapi.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings of the card ledger, bound from the {@code bank.ledger} block.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "bank.ledger")
+public class LedgerProperties {
+
+  /**
+   * A balance checkpoint is written every this many entries of a card, which bounds the number of
+   * entries summed up by a balance-as-of-time query.
+   */
+  private int checkpointInterval = 1000;
+}
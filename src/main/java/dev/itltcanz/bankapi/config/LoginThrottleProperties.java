@@ -0,0 +1,49 @@
+package dev.itltcanz.bankapi.config;
+
+import java.time.Duration;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings of the login attempt throttling, bound from the {@code bank.security.login-throttle}
+ * block.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "bank.security.login-throttle")
+public class LoginThrottleProperties {
+
+  private boolean enabled = true;
+  /**
+   * Attempts allowed for one username, whichever address they come from.
+   */
+  private Limit username = new Limit(5, Duration.ofSeconds(12));
+  /**
+   * Attempts allowed from one client address, whichever usernames they are for.
+   */
+  private Limit ip = new Limit(50, Duration.ofMillis(200));
+  /**
+   * Maximum number of usernames and of addresses tracked at once; the least recently seen are
+   * forgotten first.
+   */
+  private long maximumTracked = 100_000;
+
+  @Getter
+  @Setter
+  @NoArgsConstructor
+  @AllArgsConstructor
+  public static class Limit {
+
+    /**
+     * Number of attempts that can be made in a burst.
+     */
+    private long capacity;
+    /**
+     * Time it takes to earn back one attempt.
+     */
+    private Duration refillPeriod;
+  }
+}
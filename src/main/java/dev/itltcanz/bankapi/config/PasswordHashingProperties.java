@@ -0,0 +1,62 @@
+package dev.itltcanz.bankapi.config;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings of the dedicated pool that hashes and verifies passwords, bound from the
+ * {@code bank.security.password-hashing} block.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "bank.security.password-hashing")
+public class PasswordHashingProperties {
+
+  /**
+   * Algorithm new and upgraded hashes are created with. Stored hashes of the other algorithm, and
+   * BCrypt hashes stored without an algorithm prefix, are still accepted and are re-hashed on the
+   * next successful login.
+   */
+  private Algorithm algorithm = Algorithm.BCRYPT;
+  /**
+   * BCrypt cost factor; every increment doubles the time of one hash. When not set, the cost is
+   * chosen at startup by timing hashes on this host against {@link #targetHashTime}.
+   */
+  private Integer strength;
+  /**
+   * Time one BCrypt hash should take when the cost is chosen at startup.
+   */
+  private Duration targetHashTime = Duration.ofMillis(50);
+  /**
+   * Lowest BCrypt cost chosen at startup, however slow the host.
+   */
+  private int minimumStrength = 10;
+  /**
+   * Number of threads hashing passwords. Kept below the number of cores so that a burst of logins
+   * leaves CPU for the other requests.
+   */
+  private int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+  /**
+   * Maximum number of hashes waiting for a thread; further ones are rejected right away.
+   */
+  private int queueCapacity = 100;
+  /**
+   * How long a request waits for its hash before giving up.
+   */
+  private Duration timeout = Duration.ofSeconds(5);
+
+  @Getter
+  @RequiredArgsConstructor
+  public enum Algorithm {
+    BCRYPT("bcrypt"),
+    PBKDF2("pbkdf2");
+
+    /**
+     * The prefix that marks hashes of this algorithm, without the braces.
+     */
+    private final String id;
+  }
+}
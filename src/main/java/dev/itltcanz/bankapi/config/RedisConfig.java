@@ -1,24 +1,86 @@
 package dev.itltcanz.bankapi.config;
 
-import java.time.Duration;
+import dev.itltcanz.bankapi.cache.BinaryCacheSerializer;
+import dev.itltcanz.bankapi.cache.OwnerTags;
+import dev.itltcanz.bankapi.cache.RedisCacheGenerations;
+import dev.itltcanz.bankapi.cache.RedisCacheLoadLock;
+import dev.itltcanz.bankapi.cache.RedisCacheTagIndex;
+import dev.itltcanz.bankapi.cache.TwoLevelCacheManager;
+import dev.itltcanz.bankapi.config.CachePolicyProperties.Policy;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.HashMap;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
 
+/**
+ * Two-level cache manager over Redis, with its pages indexed by owner in Redis sets and its loads
+ * locked across nodes with Redis keys, and the subscription to cache invalidations of other
+ * nodes, used unless another cache type is selected with {@code spring.cache.type}, as the load
+ * test does.
+ */
 @Configuration
+@ConditionalOnProperty(name = "spring.cache.type", havingValue = "redis", matchIfMissing = true)
 public class RedisConfig {
+
   @Bean
-  public RedisCacheManager cacheManager(RedisConnectionFactory connectionFactory) {
-    RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig()
-        .entryTtl(Duration.ofMinutes(5))
-        .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(
-            new GenericJackson2JsonRedisSerializer()));
-    return RedisCacheManager.builder(connectionFactory)
-        .cacheDefaults(config)
+  public TwoLevelCacheManager cacheManager(RedisConnectionFactory connectionFactory,
+      StringRedisTemplate redisTemplate, CachePolicyProperties cachePolicyProperties,
+      MeterRegistry meterRegistry) {
+    var json = new GenericJackson2JsonRedisSerializer();
+    var cacheConfigurations = new HashMap<String, RedisCacheConfiguration>();
+    cachePolicyProperties.getCaches().keySet().forEach(cacheName -> cacheConfigurations.put(
+        cacheName, redisCacheConfiguration(cachePolicyProperties.policy(cacheName), json)));
+    var redisCacheManager = RedisCacheManager.builder(connectionFactory)
+        .cacheDefaults(redisCacheConfiguration(cachePolicyProperties.getDefaults(), json))
+        .withInitialCacheConfigurations(cacheConfigurations)
+        .enableStatistics()
         .build();
+    redisCacheManager.afterPropertiesSet();
+    var tagIndex = new RedisCacheTagIndex(redisTemplate, cachePolicyProperties);
+    var loadLock = new RedisCacheLoadLock(redisTemplate, cachePolicyProperties);
+    var generations = new RedisCacheGenerations(redisTemplate, cachePolicyProperties);
+    var cacheManager = new TwoLevelCacheManager(redisCacheManager, redisTemplate, tagIndex,
+        loadLock, generations, OwnerTags.taggers(), cachePolicyProperties, meterRegistry);
+    // Create the configured caches now, so that an invalid policy fails the startup.
+    cachePolicyProperties.getCaches().keySet().forEach(cacheManager::getCache);
+    return cacheManager;
+  }
+
+  @Bean
+  public RedisMessageListenerContainer redisMessageListenerContainer(
+      RedisConnectionFactory connectionFactory, TwoLevelCacheManager cacheManager,
+      CachePolicyProperties cachePolicyProperties) {
+    var container = new RedisMessageListenerContainer();
+    container.setConnectionFactory(connectionFactory);
+    container.addMessageListener(cacheManager,
+        new ChannelTopic(cachePolicyProperties.getInvalidationChannel()));
+    return container;
+  }
+
+  private static RedisCacheConfiguration redisCacheConfiguration(Policy policy,
+      RedisSerializer<Object> json) {
+    RedisSerializer<Object> serializer = switch (policy.getCodec()) {
+      case JSON -> json;
+      case BINARY -> new BinaryCacheSerializer(
+          (int) policy.getCompressionThreshold().toBytes(), json);
+    };
+    var config = RedisCacheConfiguration.defaultCacheConfig()
+        .entryTtl(policy.getTtl())
+        .serializeValuesWith(
+            RedisSerializationContext.SerializationPair.fromSerializer(serializer));
+    if (!policy.getKeyPrefix().isEmpty()) {
+      config = config.prefixCacheNameWith(policy.getKeyPrefix());
+    }
+    return policy.getCacheNullValues() ? config : config.disableCachingNullValues();
   }
-}
\ No newline at end of file
+}
@@ -0,0 +1,49 @@
+package dev.itltcanz.bankapi.config;
+
+import dev.itltcanz.bankapi.security.RedisUserDetailsInvalidation;
+import dev.itltcanz.bankapi.security.TokenRevocationService;
+import java.nio.charset.StandardCharsets;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * Subscriptions to the user cache invalidations and token revocations of other nodes. Each is
+ * switched on its own, by {@code bank.security.user-cache.invalidation} and
+ * {@code bank.security.revocation.store}, and is independent of the cache type, so that switching
+ * the response cache away from Redis does not make either node-local.
+ */
+@Configuration
+public class RedisSecurityConfig {
+
+  @Bean
+  @ConditionalOnProperty(name = "bank.security.user-cache.invalidation", havingValue = "redis",
+      matchIfMissing = true)
+  public RedisMessageListenerContainer userDetailsMessageListenerContainer(
+      RedisConnectionFactory connectionFactory, RedisUserDetailsInvalidation invalidation,
+      UserDetailsCacheProperties userDetailsCacheProperties) {
+    var container = new RedisMessageListenerContainer();
+    container.setConnectionFactory(connectionFactory);
+    container.addMessageListener(invalidation,
+        new ChannelTopic(userDetailsCacheProperties.getInvalidationChannel()));
+    return container;
+  }
+
+  @Bean
+  @ConditionalOnProperty(name = "bank.security.revocation.store", havingValue = "redis",
+      matchIfMissing = true)
+  public RedisMessageListenerContainer tokenRevocationMessageListenerContainer(
+      RedisConnectionFactory connectionFactory, TokenRevocationService tokenRevocationService,
+      TokenRevocationProperties tokenRevocationProperties) {
+    var container = new RedisMessageListenerContainer();
+    container.setConnectionFactory(connectionFactory);
+    container.addMessageListener(
+        (message, pattern) -> tokenRevocationService.remember(
+            new String(message.getBody(), StandardCharsets.UTF_8)),
+        new ChannelTopic(tokenRevocationProperties.getChannel()));
+    return container;
+  }
+}
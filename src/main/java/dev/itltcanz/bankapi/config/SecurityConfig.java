@@ -1,8 +1,11 @@
 package dev.itltcanz.bankapi.config;
 
+import dev.itltcanz.bankapi.security.BoundedPasswordEncoder;
 import dev.itltcanz.bankapi.security.CustomUserDetailsService;
 import dev.itltcanz.bankapi.security.JwtExceptionFilter;
 import dev.itltcanz.bankapi.security.JwtFilter;
+import dev.itltcanz.bankapi.security.PasswordEncoders;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
@@ -16,7 +19,6 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -78,24 +80,32 @@ public class SecurityConfig {
   }
 
   /**
-   * Configures the authentication provider with a custom user details service.
+   * Configures the authentication provider with a custom user details service, which also stores
+   * the new hash of a user whose password hash is outdated after a successful login.
    *
+   * @param passwordEncoder the password encoder
    * @return the configured AuthenticationProvider
    */
   @Bean
-  public AuthenticationProvider authenticationProvider() {
+  public AuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder) {
     var provider = new DaoAuthenticationProvider(customUserDetailsService);
-    provider.setPasswordEncoder(passwordEncoder());
+    provider.setPasswordEncoder(passwordEncoder);
+    provider.setUserDetailsPasswordService(customUserDetailsService);
     return provider;
   }
 
   /**
-   * Configures the password encoder using BCrypt.
+   * Configures the password encoder built by {@link PasswordEncoders}, run on a bounded pool of
+   * its own.
    *
-   * @return the BCryptPasswordEncoder instance
+   * @param properties    the password hashing settings
+   * @param meterRegistry the registry of the hashing metrics
+   * @return the BoundedPasswordEncoder instance
    */
   @Bean
-  public PasswordEncoder passwordEncoder() {
-    return new BCryptPasswordEncoder(10);
+  public PasswordEncoder passwordEncoder(PasswordHashingProperties properties,
+      MeterRegistry meterRegistry) {
+    return new BoundedPasswordEncoder(PasswordEncoders.create(properties), properties,
+        meterRegistry);
   }
 }
\ No newline at end of file
@@ -0,0 +1,24 @@
+package dev.itltcanz.bankapi.config;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings of the cache of verified bearer tokens in front of JWT verification, bound from the
+ * {@code bank.security.token-cache} block.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "bank.security.token-cache")
+public class TokenCacheProperties {
+
+  private boolean enabled = true;
+  private long maximumSize = 100_000;
+  /**
+   * Upper bound on how long a verified token is reused without parsing and verifying it again.
+   * Entries never outlive the token's own expiration.
+   */
+  private Duration maxTtl = Duration.ofMinutes(5);
+}
@@ -0,0 +1,46 @@
+package dev.itltcanz.bankapi.config;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings of the revocation list of access tokens, bound from the
+ * {@code bank.security.revocation} block.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "bank.security.revocation")
+public class TokenRevocationProperties {
+
+  /**
+   * Where revoked token ids are kept. With {@code redis} revocations are shared between nodes over
+   * Redis; with {@code memory} they stay local to the node, which only suits a single node such
+   * as the load test.
+   */
+  private Store store = Store.REDIS;
+  /**
+   * Number of simultaneously revoked, not yet expired tokens the Bloom filter is sized for. More
+   * revocations only make the filter send more lookups to the store.
+   */
+  private long expectedRevocations = 100_000;
+  private double falsePositiveProbability = 0.01;
+  /**
+   * How often the Bloom filter is rebuilt from the store to drop expired revocations.
+   */
+  private Duration rebuildInterval = Duration.ofMinutes(10);
+  /**
+   * Redis sorted set of revoked token ids, scored by the expiration of the token.
+   */
+  private String redisKey = "bank:revoked-tokens";
+  /**
+   * Redis channel on which nodes announce revoked token ids to each other.
+   */
+  private String channel = "bank:token-revocation";
+
+  public enum Store {
+    REDIS,
+    MEMORY
+  }
+}
@@ -0,0 +1,72 @@
+package dev.itltcanz.bankapi.config;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings of the money transfer path, bound from the {@code bank.transfer} block.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "bank.transfer")
+public class TransferProperties {
+
+  /**
+   * How card rows are protected against concurrent balance updates.
+   */
+  private LockingMode lockingMode = LockingMode.PESSIMISTIC;
+  private Retry retry = new Retry();
+  private Async async = new Async();
+
+  public enum LockingMode {
+    /**
+     * Card rows are locked with {@code SELECT ... FOR UPDATE} in card number order.
+     */
+    PESSIMISTIC,
+    /**
+     * Card rows are read without locks; conflicting updates are detected through the version
+     * column and the transfer is retried.
+     */
+    OPTIMISTIC
+  }
+
+  @Getter
+  @Setter
+  public static class Retry {
+
+    private int maxAttempts = 5;
+    private Duration initialBackoff = Duration.ofMillis(10);
+    private Duration maxBackoff = Duration.ofMillis(200);
+  }
+
+  @Getter
+  @Setter
+  public static class Async {
+
+    /**
+     * Number of single-threaded lanes the cards are sharded across.
+     */
+    private int lanes = 8;
+    /**
+     * Maximum number of transfer steps waiting in one lane; further steps stay in the database
+     * and are picked up by the recovery sweep.
+     */
+    private int queueCapacity = 10_000;
+    /**
+     * Maximum number of transfer steps a lane applies in one database transaction.
+     */
+    private int maxBatchSize = 100;
+    private Duration recoveryInterval = Duration.ofMinutes(1);
+    /**
+     * Pending transfers older than this are considered lost and are queued again by the sweep.
+     */
+    private Duration staleAfter = Duration.ofSeconds(30);
+    /**
+     * Number of times a single transfer step may fail with an unexpected error before its
+     * transaction is marked FAILED instead of being queued again.
+     */
+    private int maxStepFailures = 5;
+  }
+}
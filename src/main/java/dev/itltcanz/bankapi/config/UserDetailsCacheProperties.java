@@ -0,0 +1,39 @@
+package dev.itltcanz.bankapi.config;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings of the in-process cache of users in front of {@code CustomUserDetailsService}, bound
+ * from the {@code bank.security.user-cache} block.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "bank.security.user-cache")
+public class UserDetailsCacheProperties {
+
+  private boolean enabled = true;
+  private long maximumSize = 10_000;
+  /**
+   * How long a loaded user is reused. Changes made through the API evict the user right away on
+   * every node; this only bounds changes made directly in the database.
+   */
+  private Duration ttl = Duration.ofMinutes(5);
+  /**
+   * How evictions reach the other nodes. With {@code redis} they are announced over Redis
+   * pub/sub; with {@code local} they only evict this node's cache, which only suits a single node
+   * such as the load test.
+   */
+  private Invalidation invalidation = Invalidation.REDIS;
+  /**
+   * Redis channel on which nodes announce evicted usernames to each other.
+   */
+  private String invalidationChannel = "bank:user-details:invalidation";
+
+  public enum Invalidation {
+    REDIS,
+    LOCAL
+  }
+}
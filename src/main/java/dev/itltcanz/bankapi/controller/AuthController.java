@@ -1,16 +1,20 @@
 package dev.itltcanz.bankapi.controller;
 
+import dev.itltcanz.bankapi.dto.auth.RefreshTokenDtoRequest;
+import dev.itltcanz.bankapi.dto.auth.TokenDtoResponse;
 import dev.itltcanz.bankapi.dto.user.UserDtoRegistration;
 import dev.itltcanz.bankapi.dto.user.UserDtoResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 
 @RequestMapping("/v1/auth")
@@ -32,11 +36,41 @@ public interface AuthController {
   @PostMapping("/login")
   @Operation(
       summary = "Authenticate a user",
-      description = "Authenticates a user and returns a JWT token in the response body")
+      description = "Authenticates a user and returns a short-lived JWT access token and a "
+          + "refresh token")
   @ApiResponses({
-      @ApiResponse(responseCode = "200", description = "Login successful, JWT token returned"),
-      @ApiResponse(responseCode = "401", description = "Invalid credentials")})
-  ResponseEntity<String> login(
+      @ApiResponse(responseCode = "200", description = "Login successful, tokens returned"),
+      @ApiResponse(responseCode = "401", description = "Invalid credentials"),
+      @ApiResponse(responseCode = "429", description = "Too many login attempts"),
+      @ApiResponse(responseCode = "503", description = "Too many logins in progress")})
+  ResponseEntity<TokenDtoResponse> login(
       @Parameter(description = "User login credentials (username, password)", required = true)
-      @RequestBody @Valid UserDtoRegistration userDto);
+      @RequestBody @Valid UserDtoRegistration userDto,
+      @Parameter(hidden = true) HttpServletRequest request);
+
+  @PostMapping("/refresh")
+  @Operation(
+      summary = "Refresh the tokens",
+      description = "Exchanges a refresh token for a new access token and a new refresh token. "
+          + "The presented refresh token can be used only once")
+  @ApiResponses({
+      @ApiResponse(responseCode = "200", description = "Tokens refreshed"),
+      @ApiResponse(responseCode = "401", description = "Unknown, expired or used refresh token")})
+  ResponseEntity<TokenDtoResponse> refresh(
+      @Parameter(description = "The refresh token", required = true)
+      @RequestBody @Valid RefreshTokenDtoRequest request);
+
+  @PostMapping("/logout")
+  @Operation(
+      summary = "Log out",
+      description = "Revokes the refresh token and the access token from the Authorization "
+          + "header, if present")
+  @ApiResponses({
+      @ApiResponse(responseCode = "204", description = "Tokens revoked"),
+      @ApiResponse(responseCode = "401", description = "Invalid access token")})
+  ResponseEntity<Void> logout(
+      @Parameter(description = "Bearer access token")
+      @RequestHeader(value = "Authorization", required = false) String authorization,
+      @Parameter(description = "The refresh token", required = true)
+      @RequestBody @Valid RefreshTokenDtoRequest request);
 }
@@ -1,5 +1,6 @@
 package dev.itltcanz.bankapi.controller;
 
+import dev.itltcanz.bankapi.dto.card.CardBalanceDtoResponse;
 import dev.itltcanz.bankapi.dto.card.CardDtoCreate;
 import dev.itltcanz.bankapi.dto.card.CardDtoPatch;
 import dev.itltcanz.bankapi.dto.card.CardDtoPut;
@@ -12,8 +13,11 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
+import java.time.LocalDateTime;
 import java.util.UUID;
 import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.annotation.Secured;
 import org.springframework.validation.annotation.Validated;
@@ -91,6 +95,18 @@ public interface CardController {
   ResponseEntity<CardDtoResponse> getCardById(
       @Parameter(description = "Card ID", required = true) @PathVariable @NotNull String cardId);
 
+  @GetMapping("/{cardId}/balance")
+  @Operation(
+      summary = "Retrieve a card balance",
+      description = "Returns the current balance of a card, or its balance at the given time reconstructed from the ledger")
+  @ApiResponses({
+      @ApiResponse(responseCode = "200", description = "Balance retrieved successfully"),
+      @ApiResponse(responseCode = "404", description = "Card not found"),
+      @ApiResponse(responseCode = "401", description = "Unauthorized access")})
+  ResponseEntity<CardBalanceDtoResponse> getCardBalance(
+      @Parameter(description = "Card ID", required = true) @PathVariable @NotNull String cardId,
+      @Parameter(description = "Point in time (ISO-8601), defaults to now", example = "2025-01-31T23:59:59") @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime at);
+
   @PutMapping("/{cardId}")
   @Secured("ROLE_ADMIN")
   @Operation(
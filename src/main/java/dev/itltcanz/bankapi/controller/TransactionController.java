@@ -1,7 +1,9 @@
 package dev.itltcanz.bankapi.controller;
 
+import dev.itltcanz.bankapi.dto.transaction.TransactionBatchItemResponse;
 import dev.itltcanz.bankapi.dto.transaction.TransactionDtoCreate;
 import dev.itltcanz.bankapi.dto.transaction.TransactionDtoResponse;
+import dev.itltcanz.bankapi.dto.transaction.TransactionStatusDtoResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -9,6 +11,8 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
 import org.springframework.data.domain.Page;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.annotation.Secured;
@@ -17,6 +21,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -35,13 +40,61 @@ public interface TransactionController {
   @ApiResponses({
       @ApiResponse(responseCode = "200", description = "Transaction created successfully"),
       @ApiResponse(responseCode = "400", description = "Invalid transaction data"),
-      @ApiResponse(responseCode = "401", description = "Unauthorized access")
+      @ApiResponse(responseCode = "401", description = "Unauthorized access"),
+      @ApiResponse(responseCode = "409", description = "A request with the same idempotency key is in progress")
   })
   ResponseEntity<TransactionDtoResponse> createTransaction(
+      @Parameter(description = "Transaction details", required = true)
+      @RequestBody @Valid TransactionDtoCreate transactionDto,
+      @Parameter(description = "Client-generated key; a retry with the same key returns the original transaction")
+      @RequestHeader(value = "Idempotency-Key", required = false) @Size(max = 255) String idempotencyKey
+  );
+
+  @PostMapping("/batch")
+  @Operation(
+      summary = "Create a batch of transactions",
+      description = "Executes up to 10000 transfers in one database transaction and returns the outcome of every item"
+  )
+  @ApiResponses({
+      @ApiResponse(responseCode = "200", description = "Batch processed, see per-item statuses"),
+      @ApiResponse(responseCode = "400", description = "Invalid transaction data"),
+      @ApiResponse(responseCode = "401", description = "Unauthorized access")
+  })
+  ResponseEntity<List<TransactionBatchItemResponse>> createTransactions(
+      @Parameter(description = "Transactions to execute", required = true)
+      @RequestBody @Size(min = 1, max = 10000) List<@Valid TransactionDtoCreate> transactionDtos
+  );
+
+  @PostMapping("/async")
+  @Operation(
+      summary = "Submit a transaction for asynchronous execution",
+      description = "Stores the transaction as PENDING and returns immediately; the funds are moved by a background worker. Poll the status endpoint for the outcome"
+  )
+  @ApiResponses({
+      @ApiResponse(responseCode = "202", description = "Transaction accepted"),
+      @ApiResponse(responseCode = "400", description = "Invalid transaction data"),
+      @ApiResponse(responseCode = "401", description = "Unauthorized access")
+  })
+  ResponseEntity<TransactionDtoResponse> submitTransaction(
       @Parameter(description = "Transaction details", required = true)
       @RequestBody @Valid TransactionDtoCreate transactionDto
   );
 
+  @GetMapping("/{transactionId}/status")
+  @Operation(
+      summary = "Retrieve the status of a transaction",
+      description = "Returns whether a transaction is still pending, has completed or has failed, and why"
+  )
+  @ApiResponses({
+      @ApiResponse(responseCode = "200", description = "Status retrieved successfully"),
+      @ApiResponse(responseCode = "404", description = "Transaction not found"),
+      @ApiResponse(responseCode = "401", description = "Unauthorized access")
+  })
+  ResponseEntity<TransactionStatusDtoResponse> getTransactionStatus(
+      @Parameter(description = "Transaction ID", required = true)
+      @PathVariable @NotNull String transactionId
+  );
+
   @GetMapping("/{transactionId}")
   @Operation(
       summary = "Retrieve a transaction by ID",
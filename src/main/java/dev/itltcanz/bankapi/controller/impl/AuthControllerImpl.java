@@ -1,10 +1,14 @@
 package dev.itltcanz.bankapi.controller.impl;
 
 import dev.itltcanz.bankapi.controller.AuthController;
+import dev.itltcanz.bankapi.dto.auth.RefreshTokenDtoRequest;
+import dev.itltcanz.bankapi.dto.auth.TokenDtoResponse;
 import dev.itltcanz.bankapi.dto.user.UserDtoRegistration;
 import dev.itltcanz.bankapi.dto.user.UserDtoResponse;
-import dev.itltcanz.bankapi.security.JwtGenerator;
+import dev.itltcanz.bankapi.security.LoginThrottle;
+import dev.itltcanz.bankapi.service.TokenService;
 import dev.itltcanz.bankapi.service.impl.AuthServiceImpl;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -17,16 +21,30 @@ import org.springframework.web.bind.annotation.RestController;
 public class AuthControllerImpl implements AuthController {
 
   private final AuthServiceImpl authService;
-  private final JwtGenerator jwtGenerator;
+  private final TokenService tokenService;
+  private final LoginThrottle loginThrottle;
 
   public ResponseEntity<UserDtoResponse> register(UserDtoRegistration userDto) {
     var userDtoRegistration = authService.register(userDto);
     return new ResponseEntity<>(userDtoRegistration, HttpStatus.CREATED);
   }
 
-  public ResponseEntity<String> login(UserDtoRegistration userDto) {
-    authService.verify(userDto);
-    return ResponseEntity.ok(jwtGenerator.generateToken(userDto.getUsername()));
+  public ResponseEntity<TokenDtoResponse> login(UserDtoRegistration userDto,
+      HttpServletRequest request) {
+    loginThrottle.acquire(userDto.getUsername(), request.getRemoteAddr());
+    var user = authService.verify(userDto);
+    return ResponseEntity.ok(tokenService.issue(user));
+  }
+
+  public ResponseEntity<TokenDtoResponse> refresh(RefreshTokenDtoRequest request) {
+    return ResponseEntity.ok(tokenService.refresh(request.getRefreshToken()));
+  }
+
+  public ResponseEntity<Void> logout(String authorization, RefreshTokenDtoRequest request) {
+    var accessToken = authorization != null && authorization.startsWith("Bearer ")
+        ? authorization.substring(7) : null;
+    tokenService.revoke(accessToken, request.getRefreshToken());
+    return ResponseEntity.noContent().build();
   }
 
 }
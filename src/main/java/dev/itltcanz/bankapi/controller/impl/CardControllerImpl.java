@@ -1,6 +1,7 @@
 package dev.itltcanz.bankapi.controller.impl;
 
 import dev.itltcanz.bankapi.controller.CardController;
+import dev.itltcanz.bankapi.dto.card.CardBalanceDtoResponse;
 import dev.itltcanz.bankapi.dto.card.CardDtoCreate;
 import dev.itltcanz.bankapi.dto.card.CardDtoPatch;
 import dev.itltcanz.bankapi.dto.card.CardDtoPut;
@@ -8,6 +9,7 @@ import dev.itltcanz.bankapi.dto.card.CardDtoResponse;
 import dev.itltcanz.bankapi.entity.enumeration.CardStatus;
 import dev.itltcanz.bankapi.filter.CardFilter;
 import dev.itltcanz.bankapi.service.impl.CardServiceImpl;
+import java.time.LocalDateTime;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -51,6 +53,11 @@ public class CardControllerImpl implements CardController {
     return ResponseEntity.ok(cardsResponse);
   }
 
+  public ResponseEntity<CardBalanceDtoResponse> getCardBalance(String cardId, LocalDateTime at) {
+    var balanceResponse = cardService.getCardBalance(cardId, at);
+    return ResponseEntity.ok(balanceResponse);
+  }
+
   public ResponseEntity<CardDtoResponse> updateCard(String cardId, CardDtoPut cardDto) {
     var cardResponse = cardService.updateCard(cardId, cardDto);
     return ResponseEntity.ok(cardResponse);
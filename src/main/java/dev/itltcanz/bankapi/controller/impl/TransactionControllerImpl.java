@@ -1,10 +1,15 @@
 package dev.itltcanz.bankapi.controller.impl;
 
 import dev.itltcanz.bankapi.controller.TransactionController;
+import dev.itltcanz.bankapi.dto.transaction.TransactionBatchItemResponse;
 import dev.itltcanz.bankapi.dto.transaction.TransactionDtoCreate;
 import dev.itltcanz.bankapi.dto.transaction.TransactionDtoResponse;
+import dev.itltcanz.bankapi.dto.transaction.TransactionStatusDtoResponse;
 import dev.itltcanz.bankapi.service.impl.TransactionServiceImpl;
+import dev.itltcanz.bankapi.transfer.TransferRetryExecutor;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import java.net.URI;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -21,10 +26,30 @@ import org.springframework.web.bind.annotation.RestController;
 public class TransactionControllerImpl implements TransactionController {
 
   private final TransactionServiceImpl transactionService;
+  private final TransferRetryExecutor transferRetryExecutor;
 
   public ResponseEntity<TransactionDtoResponse> createTransaction(
+      TransactionDtoCreate transactionDto, String idempotencyKey) {
+    return ResponseEntity.ok(transferRetryExecutor.execute(
+        () -> transactionService.createTransaction(transactionDto, idempotencyKey)));
+  }
+
+  public ResponseEntity<List<TransactionBatchItemResponse>> createTransactions(
+      List<TransactionDtoCreate> transactionDtos) {
+    return ResponseEntity.ok(
+        transferRetryExecutor.execute(() -> transactionService.createTransactions(transactionDtos)));
+  }
+
+  public ResponseEntity<TransactionDtoResponse> submitTransaction(
       TransactionDtoCreate transactionDto) {
-    return ResponseEntity.ok(transactionService.createTransaction(transactionDto));
+    var transaction = transactionService.submitTransaction(transactionDto);
+    return ResponseEntity.accepted()
+        .location(URI.create("/v1/transactions/" + transaction.getId() + "/status"))
+        .body(transaction);
+  }
+
+  public ResponseEntity<TransactionStatusDtoResponse> getTransactionStatus(String transactionId) {
+    return ResponseEntity.ok(transactionService.getTransactionStatus(transactionId));
   }
 
   public ResponseEntity<TransactionDtoResponse> getTransactionById(String transactionId) {
@@ -0,0 +1,20 @@
+package dev.itltcanz.bankapi.dto.auth;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Data Transfer Object (DTO) carrying a refresh token.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class RefreshTokenDtoRequest {
+
+  @NotBlank
+  private String refreshToken;
+}
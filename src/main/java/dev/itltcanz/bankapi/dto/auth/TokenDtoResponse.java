@@ -0,0 +1,26 @@
+package dev.itltcanz.bankapi.dto.auth;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * Data Transfer Object (DTO) for the tokens issued on login and refresh.
+ */
+@Getter
+@Setter
+@ToString(exclude = {"accessToken", "refreshToken"})
+@AllArgsConstructor
+@NoArgsConstructor
+public class TokenDtoResponse {
+
+  private String accessToken;
+  private String refreshToken;
+  private String tokenType;
+  /**
+   * Lifetime of the access token in seconds.
+   */
+  private long expiresIn;
+}
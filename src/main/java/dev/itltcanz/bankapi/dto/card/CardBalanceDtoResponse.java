@@ -0,0 +1,24 @@
+package dev.itltcanz.bankapi.dto.card;
+
+import dev.itltcanz.bankapi.util.Money;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * Data Transfer Object (DTO) for representing the balance of a card at a point in time.
+ */
+@Getter
+@Setter
+@ToString
+@AllArgsConstructor
+@NoArgsConstructor
+public class CardBalanceDtoResponse {
+
+  private String number;
+  private Money balance;
+  private LocalDateTime at;
+}
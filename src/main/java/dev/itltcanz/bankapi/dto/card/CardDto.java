@@ -1,6 +1,6 @@
 package dev.itltcanz.bankapi.dto.card;
 
-import java.math.BigDecimal;
+import dev.itltcanz.bankapi.util.Money;
 import java.time.YearMonth;
 
 /**
@@ -25,7 +25,7 @@ public interface CardDto {
   /**
    * Retrieves the balance of the card.
    *
-   * @return The balance as a BigDecimal.
+   * @return The balance as a Money.
    */
-  BigDecimal getBalance();
+  Money getBalance();
 }
\ No newline at end of file
@@ -2,11 +2,11 @@ package dev.itltcanz.bankapi.dto.card;
 
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import dev.itltcanz.bankapi.util.FutureOrPresentYearMonth;
+import dev.itltcanz.bankapi.util.Money;
+import dev.itltcanz.bankapi.util.PositiveOrZeroMoney;
 import dev.itltcanz.bankapi.util.YearMonthMMYYDeserializer;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
-import jakarta.validation.constraints.PositiveOrZero;
-import java.math.BigDecimal;
 import java.time.YearMonth;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -30,6 +30,6 @@ public class CardDtoCreate implements CardDto {
   @JsonDeserialize(using = YearMonthMMYYDeserializer.class)
   @FutureOrPresentYearMonth
   private YearMonth validityPeriod;
-  @PositiveOrZero
-  private BigDecimal balance;
+  @PositiveOrZeroMoney
+  private Money balance;
 }
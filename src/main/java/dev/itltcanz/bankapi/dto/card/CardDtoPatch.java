@@ -3,10 +3,10 @@ package dev.itltcanz.bankapi.dto.card;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import dev.itltcanz.bankapi.entity.enumeration.CardStatus;
 import dev.itltcanz.bankapi.util.FutureOrPresentYearMonth;
+import dev.itltcanz.bankapi.util.Money;
 import dev.itltcanz.bankapi.util.YearMonthMMYYDeserializer;
 import jakarta.annotation.Nullable;
 import jakarta.validation.constraints.Pattern;
-import java.math.BigDecimal;
 import java.time.YearMonth;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -34,5 +34,5 @@ public class CardDtoPatch implements CardDto {
   @Nullable
   private CardStatus status;
   @Nullable
-  private BigDecimal balance;
+  private Money balance;
 }
\ No newline at end of file
@@ -3,11 +3,11 @@ package dev.itltcanz.bankapi.dto.card;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import dev.itltcanz.bankapi.entity.enumeration.CardStatus;
 import dev.itltcanz.bankapi.util.FutureOrPresentYearMonth;
+import dev.itltcanz.bankapi.util.Money;
+import dev.itltcanz.bankapi.util.PositiveOrZeroMoney;
 import dev.itltcanz.bankapi.util.YearMonthMMYYDeserializer;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
-import jakarta.validation.constraints.PositiveOrZero;
-import java.math.BigDecimal;
 import java.time.YearMonth;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -32,6 +32,6 @@ public class CardDtoPut implements CardDto {
   @FutureOrPresentYearMonth
   private YearMonth validityPeriod;
   private CardStatus status;
-  @PositiveOrZero
-  private BigDecimal balance;
+  @PositiveOrZeroMoney
+  private Money balance;
 }
\ No newline at end of file
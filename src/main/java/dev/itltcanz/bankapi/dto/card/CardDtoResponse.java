@@ -1,8 +1,10 @@
 package dev.itltcanz.bankapi.dto.card;
 
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import dev.itltcanz.bankapi.util.Money;
+import dev.itltcanz.bankapi.util.YearMonthMMYYDeserializer;
 import dev.itltcanz.bankapi.util.YearMonthMMYYSerializer;
-import java.math.BigDecimal;
 import java.time.YearMonth;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -23,7 +25,8 @@ public class CardDtoResponse implements CardDto {
   private String number;
   private String ownerId;
   @JsonSerialize(using = YearMonthMMYYSerializer.class)
+  @JsonDeserialize(using = YearMonthMMYYDeserializer.class)
   private YearMonth validityPeriod;
-  private BigDecimal balance;
+  private Money balance;
   private String status;
 }
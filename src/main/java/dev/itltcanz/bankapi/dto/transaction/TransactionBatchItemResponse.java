@@ -0,0 +1,24 @@
+package dev.itltcanz.bankapi.dto.transaction;
+
+import dev.itltcanz.bankapi.entity.enumeration.TransactionStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * Data Transfer Object (DTO) for representing the outcome of one item of a batch transfer.
+ */
+@Getter
+@Setter
+@ToString
+@AllArgsConstructor
+@NoArgsConstructor
+public class TransactionBatchItemResponse {
+
+  private int index;
+  private TransactionStatus status;
+  private TransactionDtoResponse transaction;
+  private String error;
+}
@@ -1,9 +1,9 @@
 package dev.itltcanz.bankapi.dto.transaction;
 
+import dev.itltcanz.bankapi.util.Money;
+import dev.itltcanz.bankapi.util.PositiveOrZeroMoney;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
-import jakarta.validation.constraints.PositiveOrZero;
-import java.math.BigDecimal;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -26,6 +26,6 @@ public class TransactionDtoCreate {
   @NotBlank
   @Pattern(regexp = "^[0-9]{16}", message = "Invalid card number format")
   private String receiverCardId;
-  @PositiveOrZero
-  private BigDecimal amount;
+  @PositiveOrZeroMoney
+  private Money amount;
 }
\ No newline at end of file
@@ -1,7 +1,7 @@
 package dev.itltcanz.bankapi.dto.transaction;
 
 import dev.itltcanz.bankapi.entity.enumeration.TransactionStatus;
-import java.math.BigDecimal;
+import dev.itltcanz.bankapi.util.Money;
 import java.time.LocalDateTime;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -22,7 +22,7 @@ public class TransactionDtoResponse {
   private String id;
   private String senderCardId;
   private String receiverCardId;
-  private BigDecimal amount;
+  private Money amount;
   private TransactionStatus status;
   private LocalDateTime createdAt;
 }
@@ -0,0 +1,23 @@
+package dev.itltcanz.bankapi.dto.transaction;
+
+import dev.itltcanz.bankapi.entity.enumeration.TransactionStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * Data Transfer Object (DTO) for polling the state of an asynchronously executed transaction.
+ */
+@Getter
+@Setter
+@ToString
+@AllArgsConstructor
+@NoArgsConstructor
+public class TransactionStatusDtoResponse {
+
+  private String id;
+  private TransactionStatus status;
+  private String failureReason;
+}
@@ -0,0 +1,51 @@
+package dev.itltcanz.bankapi.entity;
+
+import dev.itltcanz.bankapi.util.Money;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * Balance of a card right after the ledger entry with the given sequence was applied.
+ */
+@Entity
+@Table(name = "balance_checkpoints")
+@Getter
+@Setter
+@ToString
+@AllArgsConstructor
+@NoArgsConstructor
+public class BalanceCheckpoint {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.UUID)
+  @Column(updatable = false)
+  private UUID id;
+
+  @ManyToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "card_number", nullable = false, updatable = false)
+  @ToString.Exclude
+  private Card card;
+
+  @Column(nullable = false, updatable = false)
+  private long sequence;
+
+  @Column(nullable = false, updatable = false)
+  private Money balance;
+
+  @Column(nullable = false, updatable = false)
+  private LocalDateTime createdAt;
+}
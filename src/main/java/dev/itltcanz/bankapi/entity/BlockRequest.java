@@ -26,7 +26,7 @@ import lombok.ToString;
 @ToString
 @AllArgsConstructor
 @NoArgsConstructor
-public class BlockRequest {
+public class BlockRequest implements Identifiable<UUID> {
 
   @Id
   @GeneratedValue(strategy = GenerationType.UUID)
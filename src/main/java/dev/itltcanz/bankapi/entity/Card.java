@@ -1,6 +1,7 @@
 package dev.itltcanz.bankapi.entity;
 
 import dev.itltcanz.bankapi.entity.enumeration.CardStatus;
+import dev.itltcanz.bankapi.util.Money;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
@@ -8,7 +9,7 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.Id;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
-import java.math.BigDecimal;
+import jakarta.persistence.Version;
 import java.time.YearMonth;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -36,5 +37,17 @@ public class Card {
   @Enumerated(EnumType.STRING)
   private CardStatus status;
   @Column(nullable = false)
-  private BigDecimal balance;
+  private Money balance;
+  @Version
+  private Long version;
+  /**
+   * Sequence of the last ledger entry written for this card.
+   */
+  @Column(nullable = false)
+  private long ledgerSequence;
+
+  public Card(String number, User owner, YearMonth validityPeriod, CardStatus status,
+      Money balance) {
+    this(number, owner, validityPeriod, status, balance, null, 0);
+  }
 }
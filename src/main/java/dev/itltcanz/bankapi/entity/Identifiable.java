@@ -0,0 +1,17 @@
+package dev.itltcanz.bankapi.entity;
+
+/**
+ * Entity whose identifier can be read without reflection, see
+ * {@link dev.itltcanz.bankapi.util.HibernateUtils#getId(Identifiable)}.
+ *
+ * @param <T> The type of the identifier.
+ */
+public interface Identifiable<T> {
+
+  /**
+   * Retrieves the identifier of the entity.
+   *
+   * @return The identifier, or {@code null} if the entity has not been persisted yet.
+   */
+  T getId();
+}
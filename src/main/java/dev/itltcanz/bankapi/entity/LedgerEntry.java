@@ -0,0 +1,67 @@
+package dev.itltcanz.bankapi.entity;
+
+import dev.itltcanz.bankapi.entity.enumeration.LedgerEntryType;
+import dev.itltcanz.bankapi.util.Money;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * Immutable movement of funds on a single card. Every transfer produces a debit entry on the
+ * sender card and a credit entry on the receiver card; direct balance changes produce a single
+ * entry without a transaction.
+ */
+@Entity
+@Table(name = "ledger_entries")
+@Getter
+@Setter
+@ToString
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class LedgerEntry {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.UUID)
+  @Column(updatable = false)
+  private UUID id;
+
+  @ManyToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "card_number", nullable = false, updatable = false)
+  @ToString.Exclude
+  private Card card;
+
+  @Column(nullable = false, updatable = false)
+  private long sequence;
+
+  @Column(nullable = false, updatable = false)
+  @Enumerated(EnumType.STRING)
+  private LedgerEntryType type;
+
+  @Column(nullable = false, updatable = false)
+  private Money amount;
+
+  @ManyToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "transaction_id", updatable = false)
+  @ToString.Exclude
+  private Transaction transaction;
+
+  @Column(nullable = false, updatable = false)
+  private LocalDateTime createdAt;
+}
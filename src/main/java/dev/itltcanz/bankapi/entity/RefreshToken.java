@@ -0,0 +1,51 @@
+package dev.itltcanz.bankapi.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * A refresh token, stored only as its SHA-256 hash. Each refresh replaces the token with a new
+ * one of the same family; presenting a replaced token again revokes the whole family.
+ */
+@Entity
+@Table(name = "refresh_tokens")
+@Getter
+@Setter
+@ToString
+@AllArgsConstructor
+@NoArgsConstructor
+public class RefreshToken {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.UUID)
+  @Column(updatable = false)
+  private UUID id;
+
+  @Column(nullable = false, unique = true, updatable = false)
+  private String tokenHash;
+
+  @Column(name = "user_id", nullable = false, updatable = false)
+  private UUID userId;
+
+  @Column(nullable = false, updatable = false)
+  private UUID familyId;
+
+  @Column(nullable = false, updatable = false)
+  private LocalDateTime createdAt = LocalDateTime.now();
+
+  @Column(nullable = false, updatable = false)
+  private LocalDateTime expiresAt;
+
+  private LocalDateTime revokedAt;
+}
@@ -1,6 +1,7 @@
 package dev.itltcanz.bankapi.entity;
 
 import dev.itltcanz.bankapi.entity.enumeration.TransactionStatus;
+import dev.itltcanz.bankapi.util.Money;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
@@ -11,7 +12,6 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.UUID;
 import lombok.AllArgsConstructor;
@@ -29,7 +29,7 @@ import lombok.ToString;
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
-public class Transaction {
+public class Transaction implements Identifiable<UUID> {
 
   @Id
   @GeneratedValue(strategy = GenerationType.UUID)
@@ -45,12 +45,14 @@ public class Transaction {
   private Card receiverCard;
 
   @Column(nullable = false, updatable = false)
-  private BigDecimal amount;
+  private Money amount;
 
-  @Column(nullable = false, updatable = false)
+  @Column(nullable = false)
   @Enumerated(EnumType.STRING)
   private TransactionStatus status = TransactionStatus.PENDING;
 
+  private String failureReason;
+
   @Column(nullable = false, updatable = false)
   private LocalDateTime createdAt = LocalDateTime.now();
 }
@@ -28,7 +28,7 @@ import org.springframework.security.core.userdetails.UserDetails;
 @AllArgsConstructor
 @NoArgsConstructor
 @Table(name = "users")
-public class User implements UserDetails {
+public class User implements UserDetails, Identifiable<UUID> {
 
   @Id
   @GeneratedValue(strategy = GenerationType.UUID)
@@ -0,0 +1,5 @@
+package dev.itltcanz.bankapi.entity.enumeration;
+
+public enum LedgerEntryType {
+  DEBIT, CREDIT
+}
@@ -1,5 +1,12 @@
 package dev.itltcanz.bankapi.entity.enumeration;
 
 public enum TransactionStatus {
-  PENDING, COMPLETED, FAILED
+  PENDING,
+  /**
+   * The amount has been withdrawn from the sender card and is waiting to be deposited to the
+   * receiver card.
+   */
+  DEBITED,
+  COMPLETED,
+  FAILED
 }
@@ -0,0 +1,16 @@
+package dev.itltcanz.bankapi.exception;
+
+/**
+ * Exception thrown when a request with the same idempotency key is already being processed.
+ */
+public class DuplicateRequestException extends RuntimeException {
+
+  /**
+   * Constructs a new DuplicateRequestException with the specified message.
+   *
+   * @param message The detail message.
+   */
+  public DuplicateRequestException(String message) {
+    super(message);
+  }
+}
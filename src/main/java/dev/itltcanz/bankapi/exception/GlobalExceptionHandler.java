@@ -1,8 +1,11 @@
 package dev.itltcanz.bankapi.exception;
 
+import jakarta.validation.ConstraintViolationException;
 import java.util.Objects;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.data.mapping.PropertyReferenceException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -85,6 +88,64 @@ public class GlobalExceptionHandler {
         .body(new ErrorResponse("Conflict", e.getMessage()));
   }
 
+  /**
+   * Handles InvalidTokenException and returns a 401 response.
+   *
+   * @param e The InvalidTokenException.
+   * @return A ResponseEntity with an ErrorResponse and HTTP status 401.
+   */
+  @ExceptionHandler(InvalidTokenException.class)
+  public ResponseEntity<ErrorResponse> handleInvalidTokenException(InvalidTokenException e) {
+    log.error("Invalid token: {}", e.getMessage(), e);
+    return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+        .body(new ErrorResponse("Unauthorized", e.getMessage()));
+  }
+
+  /**
+   * Handles TooManyRequestsException and returns a 429 response with a Retry-After header.
+   *
+   * @param e The TooManyRequestsException.
+   * @return A ResponseEntity with an ErrorResponse and HTTP status 429.
+   */
+  @ExceptionHandler(TooManyRequestsException.class)
+  public ResponseEntity<ErrorResponse> handleTooManyRequestsException(
+      TooManyRequestsException e) {
+    log.error("Too many requests: {}", e.getMessage());
+    var retryAfterSeconds = Math.max(1, (e.getRetryAfter().toMillis() + 999) / 1000);
+    return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+        .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+        .body(new ErrorResponse("Too many requests", e.getMessage()));
+  }
+
+  /**
+   * Handles ServiceOverloadedException and returns a 503 response with a Retry-After header.
+   *
+   * @param e The ServiceOverloadedException.
+   * @return A ResponseEntity with an ErrorResponse and HTTP status 503.
+   */
+  @ExceptionHandler(ServiceOverloadedException.class)
+  public ResponseEntity<ErrorResponse> handleServiceOverloadedException(
+      ServiceOverloadedException e) {
+    log.error("Service overloaded: {}", e.getMessage());
+    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+        .header(HttpHeaders.RETRY_AFTER, "1")
+        .body(new ErrorResponse("Service unavailable", e.getMessage()));
+  }
+
+  /**
+   * Handles DuplicateRequestException and returns a 409 response.
+   *
+   * @param e The DuplicateRequestException.
+   * @return A ResponseEntity with an ErrorResponse and HTTP status 409.
+   */
+  @ExceptionHandler(DuplicateRequestException.class)
+  public ResponseEntity<ErrorResponse> handleDuplicateRequestException(
+      DuplicateRequestException e) {
+    log.error("Duplicate request: {}", e.getMessage(), e);
+    return ResponseEntity.status(HttpStatus.CONFLICT)
+        .body(new ErrorResponse("Conflict", e.getMessage()));
+  }
+
   /**
    * Handles InactiveCardException and returns a 400 response.
    *
@@ -126,6 +187,21 @@ public class GlobalExceptionHandler {
         .body(new ErrorResponse("Bad request", e.getMessage()));
   }
 
+  /**
+   * Handles ConcurrencyFailureException left after all transfer retries and returns a 409
+   * response.
+   *
+   * @param e The ConcurrencyFailureException.
+   * @return A ResponseEntity with an ErrorResponse and HTTP status 409.
+   */
+  @ExceptionHandler(ConcurrencyFailureException.class)
+  public ResponseEntity<ErrorResponse> handleConcurrencyFailureException(
+      ConcurrencyFailureException e) {
+    log.error("Concurrent update: {}", e.getMessage(), e);
+    return ResponseEntity.status(HttpStatus.CONFLICT)
+        .body(new ErrorResponse("Conflict", "The card is being updated concurrently, try again"));
+  }
+
   /**
    * Handles HttpMessageNotReadableException and returns a 400 response.
    *
@@ -156,6 +232,20 @@ public class GlobalExceptionHandler {
         .body(new ErrorResponse("Bad request", message));
   }
 
+  /**
+   * Handles ConstraintViolationException and returns a 400 response.
+   *
+   * @param e The ConstraintViolationException.
+   * @return A ResponseEntity with an ErrorResponse and HTTP status 400.
+   */
+  @ExceptionHandler(ConstraintViolationException.class)
+  public ResponseEntity<ErrorResponse> handleConstraintViolationException(
+      ConstraintViolationException e) {
+    log.error("Validation error: {}", e.getMessage());
+    return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+        .body(new ErrorResponse("Bad request", e.getMessage()));
+  }
+
   /**
    * Handles PropertyReferenceException and returns a 400 response.
    *
@@ -0,0 +1,17 @@
+package dev.itltcanz.bankapi.exception;
+
+/**
+ * Exception thrown when a refresh token is unknown, expired or already used, or when an access
+ * token has been revoked.
+ */
+public class InvalidTokenException extends RuntimeException {
+
+  /**
+   * Constructs a new InvalidTokenException with the specified message.
+   *
+   * @param message The detail message.
+   */
+  public InvalidTokenException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,17 @@
+package dev.itltcanz.bankapi.exception;
+
+/**
+ * Exception thrown when an amount of money cannot be parsed from JSON.
+ */
+public class MoneyParseException extends RuntimeException {
+
+  /**
+   * Constructs a new MoneyParseException with the specified message and cause.
+   *
+   * @param message The detail message.
+   * @param cause   The cause of the exception.
+   */
+  public MoneyParseException(String message, Throwable cause) {
+    super(message, cause);
+  }
+}
\ No newline at end of file
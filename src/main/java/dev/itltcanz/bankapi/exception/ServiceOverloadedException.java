@@ -0,0 +1,16 @@
+package dev.itltcanz.bankapi.exception;
+
+/**
+ * Exception thrown when work is rejected because the pool that should run it is saturated.
+ */
+public class ServiceOverloadedException extends RuntimeException {
+
+  /**
+   * Constructs a new ServiceOverloadedException with the specified message.
+   *
+   * @param message The detail message.
+   */
+  public ServiceOverloadedException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,24 @@
+package dev.itltcanz.bankapi.exception;
+
+import java.time.Duration;
+import lombok.Getter;
+
+/**
+ * Exception thrown when a client exceeds its allowed rate of requests.
+ */
+@Getter
+public class TooManyRequestsException extends RuntimeException {
+
+  private final Duration retryAfter;
+
+  /**
+   * Constructs a new TooManyRequestsException with the specified message.
+   *
+   * @param message    The detail message.
+   * @param retryAfter How long the client should wait before trying again.
+   */
+  public TooManyRequestsException(String message, Duration retryAfter) {
+    super(message);
+    this.retryAfter = retryAfter;
+  }
+}
@@ -0,0 +1,30 @@
+package dev.itltcanz.bankapi.mapper;
+
+import dev.itltcanz.bankapi.dto.request.BlockRequestDtoResponse;
+import dev.itltcanz.bankapi.entity.BlockRequest;
+import dev.itltcanz.bankapi.util.HibernateUtils;
+import org.springframework.stereotype.Component;
+
+/**
+ * Maps card block requests to their DTOs, with the card number masked.
+ */
+@Component
+public class BlockRequestMapper {
+
+  /**
+   * Maps a block request to its response DTO.
+   *
+   * @param blockRequest The block request.
+   * @return The response DTO.
+   */
+  public BlockRequestDtoResponse toResponse(BlockRequest blockRequest) {
+    return new BlockRequestDtoResponse(
+        blockRequest.getId() != null ? blockRequest.getId().toString() : null,
+        CardMapper.maskNumber(HibernateUtils.getCardNumber(blockRequest.getCard())),
+        HibernateUtils.getIdAsString(blockRequest.getUser()),
+        blockRequest.getStatus(),
+        blockRequest.getCreatedAt(),
+        blockRequest.getUpdatedAt(),
+        HibernateUtils.getIdAsString(blockRequest.getAdmin()));
+  }
+}
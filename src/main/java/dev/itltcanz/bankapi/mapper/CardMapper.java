@@ -0,0 +1,92 @@
+package dev.itltcanz.bankapi.mapper;
+
+import dev.itltcanz.bankapi.dto.card.CardBalanceDtoResponse;
+import dev.itltcanz.bankapi.dto.card.CardDto;
+import dev.itltcanz.bankapi.dto.card.CardDtoPatch;
+import dev.itltcanz.bankapi.dto.card.CardDtoPut;
+import dev.itltcanz.bankapi.dto.card.CardDtoResponse;
+import dev.itltcanz.bankapi.entity.Card;
+import dev.itltcanz.bankapi.entity.enumeration.CardStatus;
+import dev.itltcanz.bankapi.util.HibernateUtils;
+import org.springframework.stereotype.Component;
+
+/**
+ * Maps cards to their DTOs and applies card update DTOs to card entities. Card numbers leave the
+ * application masked down to their last four digits.
+ */
+@Component
+public class CardMapper {
+
+  private static final String MASK = "************";
+
+  /**
+   * Masks all but the last four digits of a card number.
+   *
+   * @param number The card number, may be {@code null}.
+   * @return The masked number, or the number itself if it is shorter than four characters.
+   */
+  public static String maskNumber(String number) {
+    if (number == null || number.length() < 4) {
+      return number;
+    }
+    return MASK + number.substring(number.length() - 4);
+  }
+
+  /**
+   * Maps a card to its response DTO.
+   *
+   * @param card The card.
+   * @return The response DTO.
+   */
+  public CardDtoResponse toResponse(Card card) {
+    return new CardDtoResponse(
+        maskNumber(card.getNumber()),
+        HibernateUtils.getIdAsString(card.getOwner()),
+        card.getValidityPeriod(),
+        card.getBalance(),
+        card.getStatus() != null ? card.getStatus().name() : null);
+  }
+
+  /**
+   * Maps a card to a balance DTO holding only its masked number; the balance and its point in
+   * time are filled in by the caller.
+   *
+   * @param card The card.
+   * @return The balance DTO.
+   */
+  public CardBalanceDtoResponse toBalanceResponse(Card card) {
+    var response = new CardBalanceDtoResponse();
+    response.setNumber(maskNumber(card.getNumber()));
+    return response;
+  }
+
+  /**
+   * Copies the non-null validity period, status and balance of an update DTO onto a card. The
+   * owner is resolved and set by the caller.
+   *
+   * @param cardDto The update DTO.
+   * @param card    The card to update.
+   */
+  public void updateEntity(CardDto cardDto, Card card) {
+    if (cardDto.getValidityPeriod() != null) {
+      card.setValidityPeriod(cardDto.getValidityPeriod());
+    }
+    var status = statusOf(cardDto);
+    if (status != null) {
+      card.setStatus(status);
+    }
+    if (cardDto.getBalance() != null) {
+      card.setBalance(cardDto.getBalance());
+    }
+  }
+
+  private static CardStatus statusOf(CardDto cardDto) {
+    if (cardDto instanceof CardDtoPut put) {
+      return put.getStatus();
+    }
+    if (cardDto instanceof CardDtoPatch patch) {
+      return patch.getStatus();
+    }
+    return null;
+  }
+}
@@ -0,0 +1,29 @@
+package dev.itltcanz.bankapi.mapper;
+
+import dev.itltcanz.bankapi.dto.transaction.TransactionDtoResponse;
+import dev.itltcanz.bankapi.entity.Transaction;
+import dev.itltcanz.bankapi.util.HibernateUtils;
+import org.springframework.stereotype.Component;
+
+/**
+ * Maps transactions to their DTOs, with the card numbers masked.
+ */
+@Component
+public class TransactionMapper {
+
+  /**
+   * Maps a transaction to its response DTO.
+   *
+   * @param transaction The transaction.
+   * @return The response DTO.
+   */
+  public TransactionDtoResponse toResponse(Transaction transaction) {
+    return new TransactionDtoResponse(
+        transaction.getId() != null ? transaction.getId().toString() : null,
+        CardMapper.maskNumber(HibernateUtils.getCardNumber(transaction.getSenderCard())),
+        CardMapper.maskNumber(HibernateUtils.getCardNumber(transaction.getReceiverCard())),
+        transaction.getAmount(),
+        transaction.getStatus(),
+        transaction.getCreatedAt());
+  }
+}
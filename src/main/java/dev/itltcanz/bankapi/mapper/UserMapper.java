@@ -0,0 +1,41 @@
+package dev.itltcanz.bankapi.mapper;
+
+import dev.itltcanz.bankapi.dto.user.UserDtoRegistration;
+import dev.itltcanz.bankapi.dto.user.UserDtoResponse;
+import dev.itltcanz.bankapi.entity.User;
+import org.springframework.stereotype.Component;
+
+/**
+ * Maps users to their DTOs and registration DTOs to new users. Password hashes never leave the
+ * application.
+ */
+@Component
+public class UserMapper {
+
+  /**
+   * Maps a user to its response DTO.
+   *
+   * @param user The user.
+   * @return The response DTO.
+   */
+  public UserDtoResponse toResponse(User user) {
+    return new UserDtoResponse(
+        user.getId() != null ? user.getId().toString() : null,
+        user.getUsername(),
+        user.getRole() != null ? user.getRole().name() : null);
+  }
+
+  /**
+   * Creates a user from a registration DTO. The password is copied as entered and must be hashed
+   * by the caller; the role is left for the caller to set.
+   *
+   * @param userDto The registration DTO.
+   * @return The new user.
+   */
+  public User toEntity(UserDtoRegistration userDto) {
+    var user = new User();
+    user.setUsername(userDto.getUsername());
+    user.setPassword(userDto.getPassword());
+    return user;
+  }
+}
@@ -0,0 +1,13 @@
+package dev.itltcanz.bankapi.repository;
+
+import dev.itltcanz.bankapi.entity.BalanceCheckpoint;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface BalanceCheckpointRepo extends JpaRepository<BalanceCheckpoint, UUID> {
+
+  Optional<BalanceCheckpoint> findFirstByCard_NumberAndCreatedAtLessThanEqualOrderBySequenceDesc(
+      String cardNumber, LocalDateTime at);
+}
@@ -1,7 +1,6 @@
 package dev.itltcanz.bankapi.repository;
 
 import dev.itltcanz.bankapi.entity.BlockRequest;
-import dev.itltcanz.bankapi.entity.User;
 import java.util.UUID;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -9,5 +8,5 @@ import org.springframework.data.jpa.repository.JpaRepository;
 
 public interface BlockRequestRepo extends JpaRepository<BlockRequest, UUID> {
 
-  Page<BlockRequest> findAllByUser(User user, Pageable pageable);
+  Page<BlockRequest> findAllByUser_Id(UUID userId, Pageable pageable);
 }
@@ -1,11 +1,23 @@
 package dev.itltcanz.bankapi.repository;
 
 import dev.itltcanz.bankapi.entity.Card;
+import jakarta.persistence.LockModeType;
+import java.util.Collection;
+import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface CardRepo extends JpaRepository<Card, String>, JpaSpecificationExecutor<Card> {
 
   boolean existsByNumber(String number);
 
+  List<Card> findAllByNumberInOrderByNumber(Collection<String> numbers);
+
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("select c from Card c where c.number in :numbers order by c.number")
+  List<Card> findAllByNumberInForUpdate(@Param("numbers") Collection<String> numbers);
+
 }
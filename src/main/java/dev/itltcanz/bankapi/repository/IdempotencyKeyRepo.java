@@ -0,0 +1,27 @@
+package dev.itltcanz.bankapi.repository;
+
+import dev.itltcanz.bankapi.entity.IdempotencyKey;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface IdempotencyKeyRepo extends JpaRepository<IdempotencyKey, UUID> {
+
+  Optional<IdempotencyKey> findByUserIdAndKey(UUID userId, String key);
+
+  @Modifying
+  @Query("""
+      delete from IdempotencyKey k
+      where k.userId = :userId and k.key = :key and k.createdAt <= :threshold
+      """)
+  int deleteByUserIdAndKeyCreatedBefore(@Param("userId") UUID userId, @Param("key") String key,
+      @Param("threshold") LocalDateTime threshold);
+
+  @Modifying
+  @Query("delete from IdempotencyKey k where k.createdAt < :threshold")
+  int deleteAllCreatedBefore(@Param("threshold") LocalDateTime threshold);
+}
@@ -0,0 +1,29 @@
+package dev.itltcanz.bankapi.repository;
+
+import dev.itltcanz.bankapi.entity.LedgerEntry;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface LedgerEntryRepo extends JpaRepository<LedgerEntry, UUID> {
+
+  /**
+   * Sums the signed amounts of the entries of a card written after a sequence number and not
+   * later than a point in time. The amounts are cast so that the sum is computed on the decimal
+   * column rather than on the converted {@link dev.itltcanz.bankapi.util.Money} attribute. Not a
+   * native query: Spring Data binds native query parameters through Hibernate 6 types that the
+   * Hibernate 7 of this project lacks.
+   */
+  @Query("""
+      select coalesce(sum(case
+          when e.type = dev.itltcanz.bankapi.entity.enumeration.LedgerEntryType.DEBIT
+          then -cast(e.amount as BigDecimal) else cast(e.amount as BigDecimal) end), 0)
+      from LedgerEntry e
+      where e.card.number = :cardNumber and e.sequence > :afterSequence and e.createdAt <= :at
+      """)
+  BigDecimal sumAmountsAfter(@Param("cardNumber") String cardNumber,
+      @Param("afterSequence") long afterSequence, @Param("at") LocalDateTime at);
+}
@@ -0,0 +1,36 @@
+package dev.itltcanz.bankapi.repository;
+
+import dev.itltcanz.bankapi.entity.RefreshToken;
+import jakarta.persistence.LockModeType;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface RefreshTokenRepo extends JpaRepository<RefreshToken, UUID> {
+
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+  @Modifying
+  @Query("""
+      update RefreshToken t set t.revokedAt = :revokedAt
+      where t.familyId = :familyId and t.revokedAt is null
+      """)
+  int revokeFamily(@Param("familyId") UUID familyId, @Param("revokedAt") LocalDateTime revokedAt);
+
+  @Modifying
+  @Query("""
+      update RefreshToken t set t.revokedAt = :revokedAt
+      where t.userId = :userId and t.revokedAt is null
+      """)
+  int revokeAllByUserId(@Param("userId") UUID userId, @Param("revokedAt") LocalDateTime revokedAt);
+
+  @Modifying
+  @Query("delete from RefreshToken t where t.expiresAt < :threshold")
+  int deleteAllExpiredBefore(@Param("threshold") LocalDateTime threshold);
+}
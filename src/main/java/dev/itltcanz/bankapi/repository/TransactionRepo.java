@@ -1,13 +1,50 @@
 package dev.itltcanz.bankapi.repository;
 
 import dev.itltcanz.bankapi.entity.Transaction;
-import dev.itltcanz.bankapi.entity.User;
+import dev.itltcanz.bankapi.entity.enumeration.TransactionStatus;
+import jakarta.persistence.LockModeType;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface TransactionRepo extends JpaRepository<Transaction, UUID> {
 
-  Page<Transaction> findTransactionsBySenderCard_Owner(User senderCardOwner, Pageable pageable);
+  Page<Transaction> findTransactionsBySenderCard_Owner_Id(UUID senderCardOwnerId,
+      Pageable pageable);
+
+  @Query("""
+      select t.id as id, t.status as status,
+             t.senderCard.number as senderCardNumber, t.receiverCard.number as receiverCardNumber
+      from Transaction t
+      where t.status in :statuses and t.createdAt < :createdBefore
+      order by t.createdAt
+      """)
+  List<TransferCards> findTransferCardsByStatusInAndCreatedAtBefore(
+      @Param("statuses") Collection<TransactionStatus> statuses,
+      @Param("createdBefore") LocalDateTime createdBefore, Pageable pageable);
+
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("select t from Transaction t where t.id in :ids order by t.id")
+  List<Transaction> findAllByIdInForUpdate(@Param("ids") Collection<UUID> ids);
+
+  /**
+   * State and card numbers of a transfer, read without loading the card entities.
+   */
+  interface TransferCards {
+
+    UUID getId();
+
+    TransactionStatus getStatus();
+
+    String getSenderCardNumber();
+
+    String getReceiverCardNumber();
+  }
 }
@@ -7,6 +7,9 @@ import lombok.NonNull;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface UserRepo extends JpaRepository<User, UUID> {
 
@@ -14,6 +17,10 @@ public interface UserRepo extends JpaRepository<User, UUID> {
 
   boolean existsByUsername(String username);
 
+  @Modifying
+  @Query("update User u set u.password = :password where u.username = :username")
+  int updatePassword(@Param("username") String username, @Param("password") String password);
+
   @NonNull
   Page<User> findAll(@NonNull Pageable pageable);
 }
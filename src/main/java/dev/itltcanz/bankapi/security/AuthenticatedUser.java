@@ -0,0 +1,43 @@
+package dev.itltcanz.bankapi.security;
+
+import dev.itltcanz.bankapi.entity.User;
+import dev.itltcanz.bankapi.entity.enumeration.Role;
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.security.core.AuthenticatedPrincipal;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+/**
+ * Principal of an authenticated request, built from the claims of its token so that identity and
+ * permission checks need no database round-trip. Code that needs the {@link User} entity itself
+ * loads it through {@code AuthService.getCurrentUser()}.
+ *
+ * @param id       The user id.
+ * @param username The username.
+ * @param role     The role of the user when the token was issued.
+ */
+public record AuthenticatedUser(UUID id, String username, Role role)
+    implements AuthenticatedPrincipal, Serializable {
+
+  /**
+   * Creates the principal of a loaded user.
+   *
+   * @param user The user entity.
+   * @return The principal.
+   */
+  public static AuthenticatedUser of(User user) {
+    return new AuthenticatedUser(user.getId(), user.getUsername(), user.getRole());
+  }
+
+  @Override
+  public String getName() {
+    return username;
+  }
+
+  public Collection<? extends GrantedAuthority> getAuthorities() {
+    return List.of(new SimpleGrantedAuthority(role.toString()));
+  }
+}
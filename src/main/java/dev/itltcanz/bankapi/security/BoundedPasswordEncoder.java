@@ -0,0 +1,117 @@
+package dev.itltcanz.bankapi.security;
+
+import dev.itltcanz.bankapi.config.PasswordHashingProperties;
+import dev.itltcanz.bankapi.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Runs a CPU-heavy password encoder on a small pool of its own with a bounded queue, so that a
+ * burst of logins or registrations occupies at most that many cores and request threads are not
+ * parked behind an unbounded backlog of hashes. Work that does not fit in the queue, or is not
+ * done in time, fails with {@link ServiceOverloadedException} instead of waiting.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, AutoCloseable {
+
+  private final PasswordEncoder delegate;
+  private final ThreadPoolExecutor executor;
+  private final long timeoutNanos;
+  private final Timer encodeTimer;
+  private final Timer matchesTimer;
+  private final Counter rejected;
+
+  public BoundedPasswordEncoder(PasswordEncoder delegate, PasswordHashingProperties properties,
+      MeterRegistry meterRegistry) {
+    this.delegate = delegate;
+    this.timeoutNanos = properties.getTimeout().toNanos();
+    var threadNumber = new AtomicInteger();
+    this.executor = new ThreadPoolExecutor(properties.getThreads(), properties.getThreads(),
+        0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+        runnable -> {
+          var thread = new Thread(runnable, "password-hashing-" + threadNumber.incrementAndGet());
+          thread.setDaemon(true);
+          return thread;
+        },
+        new ThreadPoolExecutor.AbortPolicy());
+    this.encodeTimer = hashingTimer("encode", meterRegistry);
+    this.matchesTimer = hashingTimer("matches", meterRegistry);
+    this.rejected = Counter.builder("bank.security.password.hashing.rejected")
+        .description("Password hashes rejected because the hashing pool was saturated")
+        .register(meterRegistry);
+    Gauge.builder("bank.security.password.hashing.queue", executor, e -> e.getQueue().size())
+        .description("Password hashes waiting for a hashing thread")
+        .register(meterRegistry);
+  }
+
+  @Override
+  public String encode(CharSequence rawPassword) {
+    return run(encodeTimer, () -> delegate.encode(rawPassword));
+  }
+
+  @Override
+  public boolean matches(CharSequence rawPassword, String encodedPassword) {
+    return run(matchesTimer, () -> delegate.matches(rawPassword, encodedPassword));
+  }
+
+  @Override
+  public boolean upgradeEncoding(String encodedPassword) {
+    return delegate.upgradeEncoding(encodedPassword);
+  }
+
+  /**
+   * Stops the hashing threads; hashes still waiting are abandoned.
+   */
+  @Override
+  public void close() {
+    executor.shutdownNow();
+  }
+
+  private <T> T run(Timer timer, Supplier<T> task) {
+    Future<T> future;
+    try {
+      future = executor.submit(() -> timer.record(task));
+    } catch (RejectedExecutionException ex) {
+      rejected.increment();
+      throw new ServiceOverloadedException("Too many authentication attempts in progress");
+    }
+    try {
+      return future.get(timeoutNanos, TimeUnit.NANOSECONDS);
+    } catch (TimeoutException ex) {
+      future.cancel(true);
+      rejected.increment();
+      throw new ServiceOverloadedException("Password verification timed out");
+    } catch (InterruptedException ex) {
+      future.cancel(true);
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for password hashing", ex);
+    } catch (ExecutionException ex) {
+      if (ex.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      if (ex.getCause() instanceof Error error) {
+        throw error;
+      }
+      throw new IllegalStateException("Password hashing failed", ex.getCause());
+    }
+  }
+
+  private static Timer hashingTimer(String operation, MeterRegistry meterRegistry) {
+    return Timer.builder("bank.security.password.hashing")
+        .description("Time spent hashing or verifying one password, excluding the wait in the "
+            + "queue")
+        .tag("operation", operation)
+        .register(meterRegistry);
+  }
+}
@@ -0,0 +1,52 @@
+package dev.itltcanz.bankapi.security;
+
+import dev.itltcanz.bankapi.entity.User;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.function.Supplier;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Holds the current user entity for the duration of an HTTP request, so that it is loaded from
+ * the database at most once per request however many services ask for it. Outside a request,
+ * for example in scheduled jobs, every call loads the user.
+ */
+@Component
+public class CurrentUserContext {
+
+  private static final String USER_ATTRIBUTE = CurrentUserContext.class.getName() + ".user";
+
+  private final Counter lookups;
+
+  public CurrentUserContext(MeterRegistry meterRegistry) {
+    this.lookups = Counter.builder("bank.security.user.lookups")
+        .description("Current user entities loaded from the database")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Returns the user already loaded in this request, or loads and remembers it.
+   *
+   * @param loader Loads the current user from the database.
+   * @return The current user.
+   */
+  public User get(Supplier<User> loader) {
+    var attributes = RequestContextHolder.getRequestAttributes();
+    if (attributes == null) {
+      return load(loader);
+    }
+    var user = (User) attributes.getAttribute(USER_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+    if (user == null) {
+      user = load(loader);
+      attributes.setAttribute(USER_ATTRIBUTE, user, RequestAttributes.SCOPE_REQUEST);
+    }
+    return user;
+  }
+
+  private User load(Supplier<User> loader) {
+    lookups.increment();
+    return loader.get();
+  }
+}
@@ -1,23 +1,31 @@
 package dev.itltcanz.bankapi.security;
 
+import dev.itltcanz.bankapi.entity.User;
 import dev.itltcanz.bankapi.repository.UserRepo;
+import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 /**
- * Service for loading user details for authentication purposes.
+ * Service for loading user details for authentication purposes, and for storing the upgraded
+ * password hash of a user after a successful login.
  */
 @Service
 @RequiredArgsConstructor
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
   private final UserRepo userRepo;
+  private final UserDetailsCache userDetailsCache;
+  private final ApplicationEventPublisher eventPublisher;
 
   /**
-   * Loads user details by username for authentication.
+   * Loads user details by username for authentication, from the {@link UserDetailsCache} if the
+   * user was loaded recently.
    *
    * @param username The username to load details for.
    * @return The UserDetails object representing the user.
@@ -25,7 +33,26 @@ public class CustomUserDetailsService implements UserDetailsService {
    */
   @Override
   public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-    return userRepo.findByUsername(username)
-        .orElseThrow(() -> new UsernameNotFoundException("Username not found"));
+    return userDetailsCache.get(username, key -> userRepo.findByUsername(key)
+        .orElseThrow(() -> new UsernameNotFoundException("Username not found")));
+  }
+
+  /**
+   * Replaces the stored password hash of a user whose hash uses an outdated algorithm or cost.
+   * The given user is this request's own copy from {@link UserDetailsCache}, so it is updated in
+   * place.
+   *
+   * @param user        The authenticated user.
+   * @param newPassword The new password hash.
+   * @return The user with the new password hash.
+   */
+  @Override
+  @Transactional
+  public UserDetails updatePassword(UserDetails user, String newPassword) {
+    userRepo.updatePassword(user.getUsername(), newPassword);
+    eventPublisher.publishEvent(new UserDetailsInvalidatedEvent(user.getUsername()));
+    var current = (User) user;
+    current.setPassword(newPassword);
+    return current;
   }
 }
@@ -0,0 +1,58 @@
+package dev.itltcanz.bankapi.security;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps revoked token ids in memory when {@code bank.security.revocation.store} is {@code memory},
+ * as in the load test. Revocations are then local to the node and lost on restart.
+ */
+@Component
+@ConditionalOnProperty(name = "bank.security.revocation.store", havingValue = "memory")
+public class InMemoryRevokedTokenStore implements RevokedTokenStore {
+
+  private final Map<String, Instant> revocations = new ConcurrentHashMap<>();
+  private final Map<UUID, UserVersion> userVersions = new ConcurrentHashMap<>();
+
+  @Override
+  public void add(String tokenId, Instant expiresAt) {
+    revocations.put(tokenId, expiresAt);
+  }
+
+  @Override
+  public boolean contains(String tokenId) {
+    var expiresAt = revocations.get(tokenId);
+    return expiresAt != null && expiresAt.isAfter(Instant.now());
+  }
+
+  @Override
+  public Collection<String> findActive() {
+    var now = Instant.now();
+    revocations.values().removeIf(expiresAt -> !expiresAt.isAfter(now));
+    return List.copyOf(revocations.keySet());
+  }
+
+  @Override
+  public void setUserVersion(UUID userId, long version, Instant expiresAt) {
+    userVersions.put(userId, new UserVersion(version, expiresAt));
+  }
+
+  @Override
+  public long getUserVersion(UUID userId) {
+    var userVersion = userVersions.get(userId);
+    if (userVersion == null || !userVersion.expiresAt().isAfter(Instant.now())) {
+      return 0;
+    }
+    return userVersion.version();
+  }
+
+  private record UserVersion(long version, Instant expiresAt) {
+
+  }
+}
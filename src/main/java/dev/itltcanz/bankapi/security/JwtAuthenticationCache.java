@@ -0,0 +1,87 @@
+package dev.itltcanz.bankapi.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import dev.itltcanz.bankapi.config.TokenCacheProperties;
+import dev.itltcanz.bankapi.util.HashUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.function.Function;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded cache of bearer tokens that have already been verified, keyed by the SHA-256 hash of
+ * the token so raw tokens are not retained. A cached entry expires with its token or after
+ * {@link TokenCacheProperties#getMaxTtl()}, whichever comes first. Hit and miss counts are
+ * published as the {@code cache.*} metrics of the {@code jwtAuthentication} cache.
+ */
+@Component
+public class JwtAuthenticationCache {
+
+  private final TokenCacheProperties properties;
+  private final Cache<String, VerifiedToken> verifiedTokens;
+
+  public JwtAuthenticationCache(TokenCacheProperties properties, MeterRegistry meterRegistry) {
+    this.properties = properties;
+    this.verifiedTokens = Caffeine.newBuilder()
+        .maximumSize(properties.getMaximumSize())
+        .expireAfter(new Expiry<String, VerifiedToken>() {
+          @Override
+          public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+            var untilExpiration = Duration.between(Instant.now(), value.expiresAt());
+            var ttl = untilExpiration.compareTo(properties.getMaxTtl()) < 0
+                ? untilExpiration : properties.getMaxTtl();
+            return Math.max(0, ttl.toNanos());
+          }
+
+          @Override
+          public long expireAfterUpdate(String key, VerifiedToken value, long currentTime,
+              long currentDuration) {
+            return currentDuration;
+          }
+
+          @Override
+          public long expireAfterRead(String key, VerifiedToken value, long currentTime,
+              long currentDuration) {
+            return currentDuration;
+          }
+        })
+        .recordStats()
+        .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "jwtAuthentication");
+  }
+
+  /**
+   * Returns a bearer token verified earlier, verifying it only if it is not cached yet.
+   * Exceptions thrown by the verifier are propagated and nothing is cached for the token.
+   * Revocation is not covered by the cache and has to be checked by the caller.
+   *
+   * @param token    The bearer token.
+   * @param verifier Verifies the token and builds its authentication.
+   * @return The verified token.
+   */
+  public VerifiedToken get(String token, Function<String, VerifiedToken> verifier) {
+    if (!properties.isEnabled()) {
+      return verifier.apply(token);
+    }
+    return verifiedTokens.get(HashUtils.sha256Hex(token), key -> verifier.apply(token));
+  }
+
+  /**
+   * A verified token.
+   *
+   * @param authentication The authentication built for the token, without request details.
+   * @param tokenId        The {@code jti} of the token, {@code null} for tokens issued before
+   *                       tokens carried one.
+   * @param expiresAt      The expiration time of the token.
+   * @param userVersion    The token version of the user the token was issued with.
+   */
+  public record VerifiedToken(Authentication authentication, String tokenId, Instant expiresAt,
+                              long userVersion) {
+
+  }
+}
@@ -1,5 +1,6 @@
 package dev.itltcanz.bankapi.security;
 
+import dev.itltcanz.bankapi.exception.InvalidTokenException;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.security.SignatureException;
 import jakarta.servlet.FilterChain;
@@ -39,6 +40,8 @@ public class JwtExceptionFilter extends OncePerRequestFilter {
       handleException(response, "Wrong JWT token");
     } catch (ExpiredJwtException ex) {
       handleException(response, "JWT token has expired");
+    } catch (InvalidTokenException ex) {
+      handleException(response, ex.getMessage());
     }
   }
 
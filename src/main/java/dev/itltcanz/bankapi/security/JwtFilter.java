@@ -1,5 +1,8 @@
 package dev.itltcanz.bankapi.security;
 
+import dev.itltcanz.bankapi.entity.User;
+import dev.itltcanz.bankapi.exception.InvalidTokenException;
+import dev.itltcanz.bankapi.security.JwtAuthenticationCache.VerifiedToken;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -15,7 +18,9 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 /**
- * Filter for processing JWT-based authentication in HTTP requests.
+ * Filter for processing JWT-based authentication in HTTP requests. A token issued before all
+ * tokens of its user were revoked, because the user was changed or deleted, authenticates
+ * nothing, so the request is handled like one without a token.
  */
 @Component
 @RequiredArgsConstructor
@@ -24,6 +29,8 @@ public class JwtFilter extends OncePerRequestFilter {
   private final JwtGenerator jwtGenerator;
   private final CustomUserDetailsService customUserDetailsService;
   private final RequestMatcher permitRequests;
+  private final JwtAuthenticationCache jwtAuthenticationCache;
+  private final TokenRevocationService tokenRevocationService;
 
   /**
    * Processes the request, authenticating users based on JWT tokens if applicable.
@@ -31,8 +38,9 @@ public class JwtFilter extends OncePerRequestFilter {
    * @param request     The HTTP servlet request.
    * @param response    The HTTP servlet response.
    * @param filterChain The filter chain to proceed with.
-   * @throws ServletException If a servlet error occurs.
-   * @throws IOException      If an I/O error occurs.
+   * @throws ServletException      If a servlet error occurs.
+   * @throws IOException           If an I/O error occurs.
+   * @throws InvalidTokenException If the token has been revoked.
    */
   @Override
   protected void doFilterInternal(@NonNull HttpServletRequest request,
@@ -44,21 +52,41 @@ public class JwtFilter extends OncePerRequestFilter {
     }
 
     var authHeader = request.getHeader("Authorization");
-    String token = null;
-    String username = null;
-    if (authHeader != null && authHeader.startsWith("Bearer ")) {
-      token = authHeader.substring(7);
-      username = jwtGenerator.extractUsername(token);
-    }
-
-    if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-      var userDetails = customUserDetailsService.loadUserByUsername(username);
-      jwtGenerator.validateToken(token, userDetails);
-      var authToken = new UsernamePasswordAuthenticationToken(userDetails, null,
-          userDetails.getAuthorities());
-      authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-      SecurityContextHolder.getContext().setAuthentication(authToken);
+    if (authHeader != null && authHeader.startsWith("Bearer ")
+        && SecurityContextHolder.getContext().getAuthentication() == null) {
+      var verifiedToken = jwtAuthenticationCache.get(authHeader.substring(7), this::verify);
+      if (verifiedToken.tokenId() != null
+          && tokenRevocationService.isRevoked(verifiedToken.tokenId())) {
+        throw new InvalidTokenException("JWT token has been revoked");
+      }
+      var authentication = verifiedToken.authentication();
+      var principal = (AuthenticatedUser) authentication.getPrincipal();
+      if (!tokenRevocationService.isRevoked(principal.id(), verifiedToken.userVersion())) {
+        var authToken = UsernamePasswordAuthenticationToken.authenticated(principal, null,
+            authentication.getAuthorities());
+        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        SecurityContextHolder.getContext().setAuthentication(authToken);
+      }
     }
     filterChain.doFilter(request, response);
   }
+
+  /**
+   * Parses and verifies a token once and builds the principal from its claims. Only tokens issued
+   * before they carried the user id and role need the user to be loaded.
+   *
+   * @param token The JWT token.
+   * @return The verified token with an authentication for its user.
+   */
+  private VerifiedToken verify(String token) {
+    var claims = jwtGenerator.extractAllClaims(token);
+    var principal = jwtGenerator.extractPrincipal(claims).orElseGet(() -> {
+      var user = (User) customUserDetailsService.loadUserByUsername(claims.getSubject());
+      jwtGenerator.validateClaims(claims, user);
+      return AuthenticatedUser.of(user);
+    });
+    return new VerifiedToken(UsernamePasswordAuthenticationToken.authenticated(principal, null,
+        principal.getAuthorities()), claims.getId(), claims.getExpiration().toInstant(),
+        jwtGenerator.extractUserVersion(claims));
+  }
 }
\ No newline at end of file
@@ -1,57 +1,129 @@
 package dev.itltcanz.bankapi.security;
 
+import dev.itltcanz.bankapi.config.JwtProperties;
+import dev.itltcanz.bankapi.entity.User;
+import dev.itltcanz.bankapi.entity.enumeration.Role;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.ProtectedHeader;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
 import java.util.function.Function;
 import javax.crypto.SecretKey;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 /**
- * Service for generating, validating, and extracting information from JWT tokens.
+ * Service for generating, validating, and extracting information from JWT tokens. Key material
+ * and the parser are built once; tokens carry the id of their signing key in the {@code kid}
+ * header so that several keys can be accepted while the signing key is rotated. Besides the
+ * username, tokens carry the user id and role, from which requests are authenticated without
+ * loading the user, a unique {@code jti} by which they can be revoked, and the token version of
+ * the user, by which all tokens of the user can be revoked at once.
  */
 @Service
 public class JwtGenerator {
 
-  @Value("${jwt.secret}")
-  private String secret;
+  static final String USER_ID_CLAIM = "uid";
+  static final String ROLE_CLAIM = "role";
+  static final String USER_VERSION_CLAIM = "uver";
 
-  @Value("${jwt.access-token-validity}")
-  private long accessTokenMillis;
+  private final Map<String, SecretKey> keys;
+  private final String activeKeyId;
+  private final SecretKey activeKey;
+  private final long accessTokenMillis;
+  private final JwtParser parser;
 
   /**
-   * Generates a JWT token for the specified username.
+   * Decodes the configured keys and builds the parser.
    *
-   * @param username The username to include in the token.
+   * @param properties The JWT settings.
+   * @throws IllegalStateException If no key is configured under the active key id.
+   */
+  public JwtGenerator(JwtProperties properties) {
+    var decodedKeys = new HashMap<String, SecretKey>();
+    if (properties.getSecret() != null) {
+      decodedKeys.put(JwtProperties.DEFAULT_KEY_ID, decodeKey(properties.getSecret()));
+    }
+    properties.getKeys().forEach((keyId, secret) -> decodedKeys.put(keyId, decodeKey(secret)));
+    this.keys = Map.copyOf(decodedKeys);
+    this.activeKeyId = properties.getActiveKeyId();
+    this.activeKey = keys.get(activeKeyId);
+    if (activeKey == null) {
+      throw new IllegalStateException("No JWT key is configured with the id " + activeKeyId);
+    }
+    this.accessTokenMillis = properties.getAccessTokenValidity().toMillis();
+    this.parser = Jwts.parser().keyLocator(new LocatorAdapter<Key>() {
+      @Override
+      protected Key locate(ProtectedHeader header) {
+        return findKey(header.getKeyId());
+      }
+    }).build();
+  }
+
+  /**
+   * Generates a JWT token for the specified user with the initial token version, signed with the
+   * active key.
+   *
+   * @param user The user to include in the token.
    * @return The generated JWT token as a string.
    */
-  public String generateToken(String username) {
-    var claims = new HashMap<String, Object>();
+  public String generateToken(User user) {
+    return generateToken(user, 0);
+  }
+
+  /**
+   * Generates a JWT token for the specified user, signed with the active key.
+   *
+   * @param user        The user to include in the token.
+   * @param userVersion The current token version of the user.
+   * @return The generated JWT token as a string.
+   */
+  public String generateToken(User user, long userVersion) {
+    var now = System.currentTimeMillis();
     return Jwts.builder()
-        .claims()
-        .add(claims)
-        .subject(username)
-        .issuedAt(new Date(System.currentTimeMillis()))
-        .expiration(new Date(System.currentTimeMillis() + accessTokenMillis))
+        .header()
+        .keyId(activeKeyId)
         .and()
-        .signWith(getKey())
+        .id(UUID.randomUUID().toString())
+        .subject(user.getUsername())
+        .claim(USER_ID_CLAIM, user.getId().toString())
+        .claim(ROLE_CLAIM, user.getRole().name())
+        .claim(USER_VERSION_CLAIM, userVersion)
+        .issuedAt(new Date(now))
+        .expiration(new Date(now + accessTokenMillis))
+        .signWith(activeKey)
         .compact();
   }
 
   /**
-   * Retrieves the secret key used for signing JWT tokens.
+   * Finds the verification key of a token by its key id. Tokens without a key id were issued
+   * before key ids were introduced and are verified with the {@code jwt.secret} key.
    *
-   * @return The secret key.
+   * @param keyId The key id from the token header, may be {@code null}.
+   * @return The key.
+   * @throws SignatureException If no key is configured under the key id.
    */
-  private SecretKey getKey() {
-    var keyBytes = Decoders.BASE64.decode(secret);
-    return Keys.hmacShaKeyFor(keyBytes);
+  private SecretKey findKey(String keyId) {
+    var key = keys.get(keyId != null ? keyId : JwtProperties.DEFAULT_KEY_ID);
+    if (key == null) {
+      throw new SignatureException("Unknown JWT signing key " + keyId);
+    }
+    return key;
+  }
+
+  private static SecretKey decodeKey(String secret) {
+    return Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
   }
 
   /**
@@ -86,50 +158,65 @@ public class JwtGenerator {
    * @return The claims embedded in the token.
    * @throws JwtException If the token is invalid or cannot be parsed.
    */
-  private Claims extractAllClaims(String token) {
-    return Jwts.parser()
-        .verifyWith(getKey())
-        .build()
-        .parseSignedClaims(token)
-        .getPayload();
+  public Claims extractAllClaims(String token) {
+    return parser.parseSignedClaims(token).getPayload();
   }
 
   /**
-   * Validates a JWT token against user details.
+   * Builds the principal from the already verified claims of a JWT token.
    *
-   * @param token       The JWT token to validate.
-   * @param userDetails The user details to validate against.
-   * @throws IllegalArgumentException If the token's username does not match or the token is
-   *                                  expired.
+   * @param claims The claims of the JWT token.
+   * @return The principal, or empty if the token was issued before it carried the user id and
+   *         role.
    */
-  public void validateToken(String token, UserDetails userDetails) {
-    var username = extractUsername(token);
-    if (!username.equals(userDetails.getUsername())) {
-      throw new IllegalArgumentException("Token username does not match user details");
-    }
-    if (isTokenExpired(token)) {
-      throw new IllegalArgumentException("JWT token has expired");
+  public Optional<AuthenticatedUser> extractPrincipal(Claims claims) {
+    var userId = claims.get(USER_ID_CLAIM, String.class);
+    var role = claims.get(ROLE_CLAIM, String.class);
+    if (userId == null || role == null) {
+      return Optional.empty();
     }
+    return Optional.of(
+        new AuthenticatedUser(UUID.fromString(userId), claims.getSubject(), Role.valueOf(role)));
   }
 
   /**
-   * Checks if a JWT token is expired.
+   * Extracts the token version of the user from the already verified claims of a JWT token.
    *
-   * @param token The JWT token.
-   * @return {@code true} if the token is expired; {@code false} otherwise.
+   * @param claims The claims of the JWT token.
+   * @return The token version, {@code 0} for tokens issued before they carried one.
    */
-  private boolean isTokenExpired(String token) {
-    return extractExpiration(token).before(new Date());
+  public long extractUserVersion(Claims claims) {
+    var version = claims.get(USER_VERSION_CLAIM, Long.class);
+    return version != null ? version : 0;
   }
 
   /**
-   * Extracts the expiration date from a JWT token.
+   * Validates a JWT token against user details.
    *
-   * @param token The JWT token.
-   * @return The expiration date of the token.
-   * @throws JwtException If the token is invalid or cannot be parsed.
+   * @param token       The JWT token to validate.
+   * @param userDetails The user details to validate against.
+   * @throws IllegalArgumentException If the token's username does not match or the token is
+   *                                  expired.
    */
-  private Date extractExpiration(String token) {
-    return extractClaim(token, Claims::getExpiration);
+  public void validateToken(String token, UserDetails userDetails) {
+    validateClaims(extractAllClaims(token), userDetails);
+  }
+
+  /**
+   * Validates the already verified claims of a JWT token against user details, so a token that
+   * has been parsed once does not have to be parsed again.
+   *
+   * @param claims      The claims of the JWT token.
+   * @param userDetails The user details to validate against.
+   * @throws IllegalArgumentException If the token's username does not match or the token is
+   *                                  expired.
+   */
+  public void validateClaims(Claims claims, UserDetails userDetails) {
+    if (!claims.getSubject().equals(userDetails.getUsername())) {
+      throw new IllegalArgumentException("Token username does not match user details");
+    }
+    if (claims.getExpiration().before(new Date())) {
+      throw new IllegalArgumentException("JWT token has expired");
+    }
   }
-}
\ No newline at end of file
+}
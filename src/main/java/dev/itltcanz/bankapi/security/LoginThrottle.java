@@ -0,0 +1,76 @@
+package dev.itltcanz.bankapi.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import dev.itltcanz.bankapi.config.LoginThrottleProperties;
+import dev.itltcanz.bankapi.config.LoginThrottleProperties.Limit;
+import dev.itltcanz.bankapi.exception.TooManyRequestsException;
+import dev.itltcanz.bankapi.util.TokenBucket;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Locale;
+import org.springframework.stereotype.Component;
+
+/**
+ * Limits login attempts per client address and per username with token buckets, so that
+ * password guessing and credential stuffing are refused before they reach the password encoder.
+ * Buckets live on this node only; an idle bucket is dropped once it would have refilled anyway.
+ */
+@Component
+public class LoginThrottle {
+
+  private final LoginThrottleProperties properties;
+  private final Cache<String, TokenBucket> addresses;
+  private final Cache<String, TokenBucket> usernames;
+  private final Counter addressRejections;
+  private final Counter usernameRejections;
+
+  public LoginThrottle(LoginThrottleProperties properties, MeterRegistry meterRegistry) {
+    this.properties = properties;
+    this.addresses = buckets(properties.getIp(), properties.getMaximumTracked());
+    this.usernames = buckets(properties.getUsername(), properties.getMaximumTracked());
+    this.addressRejections = rejections("ip", meterRegistry);
+    this.usernameRejections = rejections("username", meterRegistry);
+  }
+
+  /**
+   * Spends one attempt of the client address and one of the username. The address is checked
+   * first, so that a client that is over its limit cannot drain the attempts of other users.
+   *
+   * @param username      The username being logged in to.
+   * @param remoteAddress The address of the client.
+   * @throws TooManyRequestsException If either limit is exhausted.
+   */
+  public void acquire(String username, String remoteAddress) {
+    if (!properties.isEnabled()) {
+      return;
+    }
+    acquire(addresses, properties.getIp(), remoteAddress, addressRejections);
+    acquire(usernames, properties.getUsername(), username.toLowerCase(Locale.ROOT),
+        usernameRejections);
+  }
+
+  private static void acquire(Cache<String, TokenBucket> buckets, Limit limit, String key,
+      Counter rejections) {
+    var retryAfter = buckets.get(key,
+        k -> new TokenBucket(limit.getCapacity(), limit.getRefillPeriod())).tryAcquire();
+    if (!retryAfter.isZero()) {
+      rejections.increment();
+      throw new TooManyRequestsException("Too many login attempts, try again later", retryAfter);
+    }
+  }
+
+  private static Cache<String, TokenBucket> buckets(Limit limit, long maximumSize) {
+    return Caffeine.newBuilder()
+        .maximumSize(maximumSize)
+        .expireAfterAccess(limit.getRefillPeriod().multipliedBy(limit.getCapacity()))
+        .build();
+  }
+
+  private static Counter rejections(String limit, MeterRegistry meterRegistry) {
+    return Counter.builder("bank.security.login.throttled")
+        .description("Login attempts refused by the throttle")
+        .tag("limit", limit)
+        .register(meterRegistry);
+  }
+}
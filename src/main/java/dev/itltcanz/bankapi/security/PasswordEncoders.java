@@ -0,0 +1,81 @@
+package dev.itltcanz.bankapi.security;
+
+import dev.itltcanz.bankapi.config.PasswordHashingProperties;
+import dev.itltcanz.bankapi.config.PasswordHashingProperties.Algorithm;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+/**
+ * Builds the password encoder of the application: a {@link DelegatingPasswordEncoder} that hashes
+ * with the configured algorithm, accepts hashes of every supported algorithm by their
+ * {@code {id}} prefix, and reports hashes of another algorithm or of a lower BCrypt cost as in
+ * need of an upgrade.
+ */
+@Slf4j
+public final class PasswordEncoders {
+
+  private static final int PROBE_STRENGTH = 6;
+  private static final int MAXIMUM_STRENGTH = 16;
+  private static final int PROBE_ROUNDS = 5;
+
+  private PasswordEncoders() {
+  }
+
+  /**
+   * Creates the password encoder, choosing the BCrypt cost by timing this host if it is not
+   * configured.
+   *
+   * @param properties The password hashing settings.
+   * @return The password encoder.
+   */
+  public static PasswordEncoder create(PasswordHashingProperties properties) {
+    var strength = properties.getStrength();
+    if (strength == null) {
+      strength = calibrateBCryptStrength(properties.getTargetHashTime(),
+          properties.getMinimumStrength());
+      log.info("Chose BCrypt cost {} for a target of {} per hash", strength,
+          properties.getTargetHashTime());
+    }
+    var bcrypt = new BCryptPasswordEncoder(strength);
+    Map<String, PasswordEncoder> encoders = new HashMap<>();
+    encoders.put(Algorithm.BCRYPT.getId(), bcrypt);
+    encoders.put(Algorithm.PBKDF2.getId(), Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+    var encoder = new DelegatingPasswordEncoder(properties.getAlgorithm().getId(), encoders);
+    // Hashes stored before the prefix was introduced are plain BCrypt.
+    encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+    return encoder;
+  }
+
+  /**
+   * Finds the highest BCrypt cost whose hash takes no longer than the target on this host. A hash
+   * at a cheap cost is timed and the time is doubled per cost step, so calibration itself takes a
+   * few milliseconds.
+   *
+   * @param target          The time one hash should take.
+   * @param minimumStrength The lowest cost returned, however slow the host.
+   * @return The cost factor.
+   */
+  public static int calibrateBCryptStrength(Duration target, int minimumStrength) {
+    var probe = new BCryptPasswordEncoder(PROBE_STRENGTH);
+    probe.encode("calibration");
+    var fastest = Long.MAX_VALUE;
+    for (int i = 0; i < PROBE_ROUNDS; i++) {
+      var start = System.nanoTime();
+      probe.encode("calibration");
+      fastest = Math.min(fastest, System.nanoTime() - start);
+    }
+    var strength = PROBE_STRENGTH;
+    var estimate = fastest;
+    while (strength < MAXIMUM_STRENGTH && estimate * 2 <= target.toNanos()) {
+      strength++;
+      estimate *= 2;
+    }
+    return Math.max(minimumStrength, strength);
+  }
+}
@@ -0,0 +1,62 @@
+package dev.itltcanz.bankapi.security;
+
+import dev.itltcanz.bankapi.config.TokenRevocationProperties;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps revoked token ids in a Redis sorted set scored by the expiration of the token, and
+ * announces each revocation on a channel so that other nodes add it to their Bloom filter. The
+ * token version of a user is kept in a key of its own that expires with the revocation.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "bank.security.revocation.store", havingValue = "redis",
+    matchIfMissing = true)
+public class RedisRevokedTokenStore implements RevokedTokenStore {
+
+  private final StringRedisTemplate redisTemplate;
+  private final TokenRevocationProperties properties;
+
+  @Override
+  public void add(String tokenId, Instant expiresAt) {
+    redisTemplate.opsForZSet().add(properties.getRedisKey(), tokenId, expiresAt.getEpochSecond());
+    redisTemplate.convertAndSend(properties.getChannel(), tokenId);
+  }
+
+  @Override
+  public boolean contains(String tokenId) {
+    var expiresAt = redisTemplate.opsForZSet().score(properties.getRedisKey(), tokenId);
+    return expiresAt != null && expiresAt > Instant.now().getEpochSecond();
+  }
+
+  @Override
+  public Collection<String> findActive() {
+    var now = Instant.now().getEpochSecond();
+    var revocations = redisTemplate.opsForZSet();
+    revocations.removeRangeByScore(properties.getRedisKey(), Double.NEGATIVE_INFINITY, now);
+    return revocations.rangeByScore(properties.getRedisKey(), now, Double.POSITIVE_INFINITY);
+  }
+
+  @Override
+  public void setUserVersion(UUID userId, long version, Instant expiresAt) {
+    redisTemplate.opsForValue().set(userVersionKey(userId), Long.toString(version),
+        Duration.between(Instant.now(), expiresAt));
+  }
+
+  @Override
+  public long getUserVersion(UUID userId) {
+    var version = redisTemplate.opsForValue().get(userVersionKey(userId));
+    return version != null ? Long.parseLong(version) : 0;
+  }
+
+  private String userVersionKey(UUID userId) {
+    return properties.getRedisKey() + ":user:" + userId;
+  }
+}
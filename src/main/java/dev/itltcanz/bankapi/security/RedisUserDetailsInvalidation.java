@@ -0,0 +1,50 @@
+package dev.itltcanz.bankapi.security;
+
+import dev.itltcanz.bankapi.config.UserDetailsCacheProperties;
+import java.nio.charset.StandardCharsets;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Relays evictions of the {@link UserDetailsCache} between nodes over Redis pub/sub. Local
+ * invalidations are published on the invalidation channel, and usernames received on it are
+ * evicted from this node's cache. A node also receives its own messages, which evicts an entry
+ * that is already gone.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "bank.security.user-cache.invalidation", havingValue = "redis",
+    matchIfMissing = true)
+public class RedisUserDetailsInvalidation implements MessageListener {
+
+  private final StringRedisTemplate redisTemplate;
+  private final UserDetailsCache userDetailsCache;
+  private final UserDetailsCacheProperties properties;
+
+  /**
+   * Announces a committed user change to the other nodes. If Redis is unavailable the change is
+   * only logged, and other nodes pick it up when their entry expires.
+   *
+   * @param event The invalidated user.
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onUserDetailsInvalidated(UserDetailsInvalidatedEvent event) {
+    try {
+      redisTemplate.convertAndSend(properties.getInvalidationChannel(), event.username());
+    } catch (RuntimeException ex) {
+      log.warn("Failed to announce the change of user {} to other nodes", event.username(), ex);
+    }
+  }
+
+  @Override
+  public void onMessage(Message message, byte[] pattern) {
+    userDetailsCache.evict(new String(message.getBody(), StandardCharsets.UTF_8));
+  }
+}
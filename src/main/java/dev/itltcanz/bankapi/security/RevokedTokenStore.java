@@ -0,0 +1,54 @@
+package dev.itltcanz.bankapi.security;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Shared store of the ids of revoked access tokens and of the token versions of users whose
+ * tokens have all been revoked. A revocation only has to be kept until the tokens it revokes
+ * expire.
+ */
+public interface RevokedTokenStore {
+
+  /**
+   * Stores a revoked token id.
+   *
+   * @param tokenId   The {@code jti} of the token.
+   * @param expiresAt The expiration of the token.
+   */
+  void add(String tokenId, Instant expiresAt);
+
+  /**
+   * Tells whether a token id is revoked.
+   *
+   * @param tokenId The {@code jti} of the token.
+   * @return {@code true} if the token is revoked and not expired yet.
+   */
+  boolean contains(String tokenId);
+
+  /**
+   * Returns the ids of all revoked tokens that have not expired yet, dropping expired ones.
+   *
+   * @return The revoked token ids.
+   */
+  Collection<String> findActive();
+
+  /**
+   * Stores the token version of a user; tokens issued to the user with a lower version are
+   * revoked.
+   *
+   * @param userId    The user id.
+   * @param version   The token version.
+   * @param expiresAt The expiration of the last token issued with a lower version.
+   */
+  void setUserVersion(UUID userId, long version, Instant expiresAt);
+
+  /**
+   * Returns the token version of a user.
+   *
+   * @param userId The user id.
+   * @return The version, or {@code 0} if no tokens of the user are revoked.
+   */
+  long getUserVersion(UUID userId);
+}
@@ -0,0 +1,139 @@
+package dev.itltcanz.bankapi.security;
+
+import dev.itltcanz.bankapi.config.TokenRevocationProperties;
+import dev.itltcanz.bankapi.util.BloomFilter;
+import java.time.Instant;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Revocation list of access tokens by their {@code jti}. A local Bloom filter answers the check
+ * for almost every token without a network round trip; only ids it may contain are looked up in
+ * the shared {@link RevokedTokenStore}. Revocations made on other nodes reach the filter through
+ * {@link #remember(String)}, so a token revoked elsewhere can be accepted for the moment it takes
+ * the announcement to arrive.
+ *
+ * <p>All tokens of a user are revoked at once by raising the token version of the user above the
+ * version carried by the tokens issued so far. The filter then holds {@code user:<id>}, so that
+ * only users with revoked tokens cost a store lookup.
+ */
+@Slf4j
+@Component
+public class TokenRevocationService {
+
+  private final RevokedTokenStore store;
+  private final TokenRevocationProperties properties;
+  private volatile BloomFilter revokedIds;
+  private volatile BloomFilter rebuilding;
+
+  public TokenRevocationService(RevokedTokenStore store, TokenRevocationProperties properties) {
+    this.store = store;
+    this.properties = properties;
+    this.revokedIds = newFilter();
+  }
+
+  /**
+   * Revokes an access token until it expires.
+   *
+   * @param tokenId   The {@code jti} of the token.
+   * @param expiresAt The expiration of the token.
+   */
+  public void revoke(String tokenId, Instant expiresAt) {
+    store.add(tokenId, expiresAt);
+    remember(tokenId);
+  }
+
+  /**
+   * Revokes every access token issued to a user so far. Tokens issued afterwards carry the new
+   * version and stay valid.
+   *
+   * @param userId    The user id.
+   * @param expiresAt The expiration of the last token issued so far.
+   */
+  public void revokeUser(UUID userId, Instant expiresAt) {
+    var version = Math.max(System.currentTimeMillis(), store.getUserVersion(userId) + 1);
+    store.setUserVersion(userId, version, expiresAt);
+    revoke(userFilterId(userId), expiresAt);
+  }
+
+  /**
+   * Returns the version new tokens of a user have to carry.
+   *
+   * @param userId The user id.
+   * @return The token version.
+   */
+  public long getUserVersion(UUID userId) {
+    return store.getUserVersion(userId);
+  }
+
+  /**
+   * Adds a token id revoked on another node to the local filter.
+   *
+   * @param tokenId The {@code jti} of the token.
+   */
+  public void remember(String tokenId) {
+    // The filter being rebuilt is read first: if none is, a rebuild starting later reads the id
+    // from the store, and one that has finished already replaced the filter put into below.
+    var next = rebuilding;
+    if (next != null) {
+      next.put(tokenId);
+    }
+    revokedIds.put(tokenId);
+  }
+
+  /**
+   * Tells whether an access token is revoked.
+   *
+   * @param tokenId The {@code jti} of the token.
+   * @return {@code true} if the token is revoked.
+   */
+  public boolean isRevoked(String tokenId) {
+    return revokedIds.mightContain(tokenId) && store.contains(tokenId);
+  }
+
+  /**
+   * Tells whether the tokens of a user issued with a given version are revoked.
+   *
+   * @param userId  The user id.
+   * @param version The token version carried by the token.
+   * @return {@code true} if the tokens of the user have been revoked since the token was issued.
+   */
+  public boolean isRevoked(UUID userId, long version) {
+    return revokedIds.mightContain(userFilterId(userId)) && store.getUserVersion(userId) > version;
+  }
+
+  /**
+   * Replaces the filter with one built from the store, dropping expired revocations. Ids revoked
+   * while the store is read are added to both filters. If the store cannot be read, the current
+   * filter is kept until the next attempt.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  @Scheduled(fixedDelayString = "${bank.security.revocation.rebuild-interval:PT10M}")
+  public synchronized void rebuild() {
+    var filter = newFilter();
+    rebuilding = filter;
+    try {
+      var active = store.findActive();
+      active.forEach(filter::put);
+      revokedIds = filter;
+      log.debug("Rebuilt the token revocation filter with {} revoked tokens", active.size());
+    } catch (RuntimeException ex) {
+      log.warn("Failed to rebuild the token revocation filter", ex);
+    } finally {
+      rebuilding = null;
+    }
+  }
+
+  private static String userFilterId(UUID userId) {
+    return "user:" + userId;
+  }
+
+  private BloomFilter newFilter() {
+    return new BloomFilter(properties.getExpectedRevocations(),
+        properties.getFalsePositiveProbability());
+  }
+}
@@ -0,0 +1,87 @@
+package dev.itltcanz.bankapi.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import dev.itltcanz.bankapi.config.UserDetailsCacheProperties;
+import dev.itltcanz.bankapi.entity.User;
+import dev.itltcanz.bankapi.entity.enumeration.Role;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.util.UUID;
+import java.util.function.Function;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Bounded in-process cache of users by username, so that logins and tokens without user claims do
+ * not query the users table every time. Entries expire after
+ * {@link UserDetailsCacheProperties#getTtl()} and are evicted as soon as a
+ * {@link UserDetailsInvalidatedEvent} is published, or announced by another node through
+ * {@link RedisUserDetailsInvalidation}. Hit and miss counts are published as the {@code cache.*}
+ * metrics of the {@code userDetails} cache.
+ *
+ * <p>Only an immutable snapshot of each user is cached, and every caller gets its own detached
+ * {@link User} built from it, so concurrent requests never share a mutable entity.
+ */
+@Component
+public class UserDetailsCache {
+
+  private final UserDetailsCacheProperties properties;
+  private final Cache<String, CachedUser> users;
+
+  public UserDetailsCache(UserDetailsCacheProperties properties, MeterRegistry meterRegistry) {
+    this.properties = properties;
+    this.users = Caffeine.newBuilder()
+        .maximumSize(properties.getMaximumSize())
+        .expireAfterWrite(properties.getTtl())
+        .recordStats()
+        .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, users, "userDetails");
+  }
+
+  /**
+   * Returns the user with the given username, loading it only if it is not cached yet.
+   * Exceptions thrown by the loader are propagated and nothing is cached for the username.
+   *
+   * @param username The username.
+   * @param loader   Loads the user from the database.
+   * @return A detached copy of the user that the caller may keep or change.
+   */
+  public User get(String username, Function<String, User> loader) {
+    if (!properties.isEnabled()) {
+      return loader.apply(username);
+    }
+    return users.get(username, key -> CachedUser.of(loader.apply(key))).toUser();
+  }
+
+  /**
+   * Evicts the user with the given username from this node's cache.
+   *
+   * @param username The username.
+   */
+  public void evict(String username) {
+    users.invalidate(username);
+  }
+
+  /**
+   * Evicts a changed user once the change is committed, so the stale row cannot be reloaded in
+   * between.
+   *
+   * @param event The invalidated user.
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onUserDetailsInvalidated(UserDetailsInvalidatedEvent event) {
+    evict(event.username());
+  }
+
+  private record CachedUser(UUID id, String username, String password, Role role) {
+
+    static CachedUser of(User user) {
+      return new CachedUser(user.getId(), user.getUsername(), user.getPassword(), user.getRole());
+    }
+
+    User toUser() {
+      return new User(id, username, password, role);
+    }
+  }
+}
@@ -0,0 +1,10 @@
+package dev.itltcanz.bankapi.security;
+
+/**
+ * Published when a user was created, changed or deleted, so that cached copies of it are evicted.
+ *
+ * @param username The username whose cached user is stale.
+ */
+public record UserDetailsInvalidatedEvent(String username) {
+
+}
@@ -5,6 +5,7 @@ import dev.itltcanz.bankapi.dto.user.UserDtoResponse;
 import dev.itltcanz.bankapi.entity.User;
 import dev.itltcanz.bankapi.exception.NotFoundException;
 import dev.itltcanz.bankapi.exception.UsernameAlreadyUseException;
+import dev.itltcanz.bankapi.security.AuthenticatedUser;
 
 /**
  * The {@code AuthService} interface defines methods for authenticating and logging in users.
@@ -13,7 +14,19 @@ import dev.itltcanz.bankapi.exception.UsernameAlreadyUseException;
 public interface AuthService {
 
   /**
-   * Retrieves the currently authenticated user from the security context.
+   * Retrieves the principal of the currently authenticated user from the security context. The
+   * principal is built from the token claims, so this needs no database round-trip for requests
+   * authenticated by a token.
+   *
+   * @return The authenticated user's id, username and role.
+   * @throws NotFoundException if the principal is not built from a token and the user is not
+   *                           found in the repository.
+   */
+  AuthenticatedUser getCurrentPrincipal();
+
+  /**
+   * Loads the currently authenticated user from the repository, at most once per HTTP request.
+   * Use {@link #getCurrentPrincipal()} unless the User entity itself is needed.
    *
    * @return The authenticated User entity.
    * @throws NotFoundException if the user is not found in the repository.
@@ -33,6 +46,7 @@ public interface AuthService {
    * Verifies user credentials using the authentication manager.
    *
    * @param userDto The user login credentials.
+   * @return The authenticated user.
    */
-  void verify(UserDtoRegistration userDto);
+  User verify(UserDtoRegistration userDto);
 }
@@ -3,7 +3,7 @@ package dev.itltcanz.bankapi.service;
 import dev.itltcanz.bankapi.entity.Card;
 import dev.itltcanz.bankapi.exception.InactiveCardException;
 import dev.itltcanz.bankapi.exception.InsufficientFundsException;
-import java.math.BigDecimal;
+import dev.itltcanz.bankapi.util.Money;
 
 /**
  * Service for managing card balance operations, such as fund transfers.
@@ -11,7 +11,9 @@ import java.math.BigDecimal;
 public interface BalanceService {
 
   /**
-   * Transfers funds from sender to receiver card.
+   * Transfers funds from sender to receiver card. Must run inside the transaction that locked both
+   * cards via {@link CardService#findAllForUpdate}, otherwise concurrent transfers may overwrite
+   * each other's balance updates.
    *
    * @param senderCard   The sender's card.
    * @param receiverCard The receiver's card.
@@ -19,5 +21,27 @@ public interface BalanceService {
    * @throws InactiveCardException      If either card is inactive.
    * @throws InsufficientFundsException If sender has insufficient funds.
    */
-  void transferFunds(Card senderCard, Card receiverCard, BigDecimal amount);
+  void transferFunds(Card senderCard, Card receiverCard, Money amount);
+
+  /**
+   * First step of a transfer executed in two steps: checks both cards like
+   * {@link #transferFunds(Card, Card, Money)} but only withdraws the amount from the sender
+   * card. Only the sender card has to be locked; the receiver card is read for the checks.
+   *
+   * @param senderCard   The sender's card.
+   * @param receiverCard The receiver's card.
+   * @param amount       The amount to transfer.
+   * @throws InactiveCardException      If either card is inactive.
+   * @throws InsufficientFundsException If sender has insufficient funds.
+   */
+  void debit(Card senderCard, Card receiverCard, Money amount);
+
+  /**
+   * Second step of a transfer executed in two steps: deposits an amount already withdrawn by
+   * {@link #debit(Card, Card, Money)} to the locked receiver card.
+   *
+   * @param receiverCard The receiver's card.
+   * @param amount       The amount to deposit.
+   */
+  void credit(Card receiverCard, Money amount);
 }
\ No newline at end of file
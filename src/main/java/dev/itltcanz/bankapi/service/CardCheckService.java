@@ -4,7 +4,7 @@ import dev.itltcanz.bankapi.entity.Card;
 import dev.itltcanz.bankapi.entity.enumeration.CardStatus;
 import dev.itltcanz.bankapi.exception.InactiveCardException;
 import dev.itltcanz.bankapi.exception.InsufficientFundsException;
-import java.math.BigDecimal;
+import dev.itltcanz.bankapi.util.Money;
 import java.time.YearMonth;
 
 /**
@@ -35,5 +35,5 @@ public interface CardCheckService {
    * @param amount The amount to transfer.
    * @throws InsufficientFundsException if the card has insufficient funds.
    */
-  void checkBalanceBeforeTransfer(Card card, BigDecimal amount);
+  void checkBalanceBeforeTransfer(Card card, Money amount);
 }
@@ -1,5 +1,6 @@
 package dev.itltcanz.bankapi.service;
 
+import dev.itltcanz.bankapi.dto.card.CardBalanceDtoResponse;
 import dev.itltcanz.bankapi.dto.card.CardDto;
 import dev.itltcanz.bankapi.dto.card.CardDtoCreate;
 import dev.itltcanz.bankapi.dto.card.CardDtoResponse;
@@ -7,6 +8,9 @@ import dev.itltcanz.bankapi.entity.Card;
 import dev.itltcanz.bankapi.exception.NotFoundException;
 import dev.itltcanz.bankapi.filter.CardFilter;
 import jakarta.validation.constraints.NotNull;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Map;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 
@@ -68,6 +72,17 @@ public interface CardService {
    */
    CardDtoResponse updateCard(@NotNull String cardId, @NotNull CardDto cardDto);
 
+  /**
+   * Retrieves the balance of a card, either the current one or the one at a point in time
+   * reconstructed from the ledger.
+   *
+   * @param cardId The ID of the card.
+   * @param at     The point in time, or {@code null} for the current balance.
+   * @return The card balance as a DTO.
+   * @throws NotFoundException if the card is not found.
+   */
+  CardBalanceDtoResponse getCardBalance(@NotNull String cardId, LocalDateTime at);
+
   /**
    * Retrieves a card by its ID without permission checks.
    *
@@ -86,6 +101,26 @@ public interface CardService {
    */
    Card findByIdWithPermissionCheck(String cardId);
 
+  /**
+   * Retrieves cards by their IDs and locks their rows until the current transaction ends. Rows are
+   * always locked in ascending card number order, so concurrent transfers touching the same cards
+   * queue up behind each other instead of deadlocking. In optimistic locking mode the rows are not
+   * locked and conflicting updates are rejected at commit by the card version instead.
+   *
+   * @param cardIds The IDs of the cards.
+   * @return The locked card entities keyed by ID, in lock order.
+   * @throws NotFoundException if any of the cards is not found.
+   */
+  Map<String, Card> findAllForUpdate(Collection<String> cardIds);
+
+  /**
+   * Same as {@link #findAllForUpdate(Collection)}, but silently skips cards that do not exist.
+   *
+   * @param cardIds The IDs of the cards.
+   * @return The locked card entities that were found, keyed by ID, in lock order.
+   */
+  Map<String, Card> findExistingForUpdate(Collection<String> cardIds);
+
   /**
    * Saves a card entity to the repository.
    *
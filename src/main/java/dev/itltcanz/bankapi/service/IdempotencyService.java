@@ -0,0 +1,39 @@
+package dev.itltcanz.bankapi.service;
+
+import dev.itltcanz.bankapi.exception.DuplicateRequestException;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Service for remembering which transaction was created for a client-supplied idempotency key.
+ */
+public interface IdempotencyService {
+
+  /**
+   * Looks up the transaction created earlier for the idempotency key of the user.
+   *
+   * @param userId      The ID of the user who sent the request.
+   * @param key         The idempotency key.
+   * @param requestHash The hash of the request payload.
+   * @return The ID of the transaction, or an empty optional if the key is not known yet.
+   * @throws IllegalArgumentException if the key was used for a request with another payload.
+   */
+  Optional<UUID> findTransactionId(UUID userId, String key, String requestHash);
+
+  /**
+   * Stores the idempotency key in the current transaction, so that it is committed or rolled back
+   * together with the transfer it protects.
+   *
+   * @param userId        The ID of the user who sent the request.
+   * @param key           The idempotency key.
+   * @param requestHash   The hash of the request payload.
+   * @param transactionId The ID of the created transaction.
+   * @throws DuplicateRequestException if a concurrent request already stored the same key.
+   */
+  void register(UUID userId, String key, String requestHash, UUID transactionId);
+
+  /**
+   * Deletes keys older than the configured time to live.
+   */
+  void removeExpiredKeys();
+}
@@ -0,0 +1,64 @@
+package dev.itltcanz.bankapi.service;
+
+import dev.itltcanz.bankapi.entity.Card;
+import dev.itltcanz.bankapi.entity.Transaction;
+import dev.itltcanz.bankapi.util.Money;
+import java.time.LocalDateTime;
+
+/**
+ * Service for the append-only card ledger. {@link Card#getBalance()} stays the materialized
+ * balance used by transfers; the ledger records how it got there.
+ */
+public interface LedgerService {
+
+  /**
+   * Appends a debit entry for the sender card and a credit entry for the receiver card of a
+   * completed transaction. Must run in the transaction that moved the funds and locked both cards.
+   *
+   * @param transaction The persisted transaction.
+   */
+  void recordTransfer(Transaction transaction);
+
+  /**
+   * Appends the debit entry for the sender card of a transaction executed in two steps.
+   *
+   * @param transaction The debited transaction.
+   */
+  void recordDebit(Transaction transaction);
+
+  /**
+   * Appends the credit entry for the receiver card of a transaction executed in two steps.
+   *
+   * @param transaction The credited transaction.
+   */
+  void recordCredit(Transaction transaction);
+
+  /**
+   * Appends a credit entry for the sender card of a debited transaction that has been given up,
+   * returning the withdrawn amount.
+   *
+   * @param transaction The failed transaction.
+   */
+  void recordRefund(Transaction transaction);
+
+  /**
+   * Appends an entry for a balance change made outside of a transfer, such as an opening balance
+   * or an administrative correction. Does nothing if the balance has not changed.
+   *
+   * @param card            The card with its new balance already set.
+   * @param previousBalance The balance before the change.
+   */
+  void recordBalanceChange(Card card, Money previousBalance);
+
+  /**
+   * Calculates the balance of a card at a point in time from the latest checkpoint taken at or
+   * before that time and the entries written after it. Cards that existed before the ledger carry
+   * an opening checkpoint dated at the epoch, so any earlier time reports their balance at the
+   * introduction of the ledger.
+   *
+   * @param card The card.
+   * @param at   The point in time.
+   * @return The balance at that time, or zero if the card had no recorded history yet.
+   */
+  Money getBalanceAt(Card card, LocalDateTime at);
+}
@@ -0,0 +1,61 @@
+package dev.itltcanz.bankapi.service;
+
+import dev.itltcanz.bankapi.dto.auth.TokenDtoResponse;
+import dev.itltcanz.bankapi.entity.User;
+import dev.itltcanz.bankapi.exception.InvalidTokenException;
+import java.util.UUID;
+
+/**
+ * Service for issuing short-lived access tokens together with rotating refresh tokens, so that
+ * clients renew their access without sending the password again.
+ */
+public interface TokenService {
+
+  /**
+   * Issues an access token and a refresh token of a new token family after a successful login.
+   *
+   * @param user The authenticated user.
+   * @return The issued tokens.
+   */
+  TokenDtoResponse issue(User user);
+
+  /**
+   * Exchanges a refresh token for a new access token and a new refresh token of the same family.
+   * The presented refresh token can no longer be used; presenting it again revokes the family.
+   *
+   * @param refreshToken The refresh token.
+   * @return The issued tokens.
+   * @throws InvalidTokenException if the refresh token is unknown, expired or already used.
+   */
+  TokenDtoResponse refresh(String refreshToken);
+
+  /**
+   * Logs out: revokes the family of the refresh token and, if given, the access token.
+   *
+   * @param accessToken  The access token, may be {@code null}.
+   * @param refreshToken The refresh token.
+   * @throws InvalidTokenException if the access token is not a valid token.
+   */
+  void revoke(String accessToken, String refreshToken);
+
+  /**
+   * Revokes every refresh token and access token issued to a user so far, once the surrounding
+   * database transaction commits. Used when the credentials or the role of the user change.
+   *
+   * @param userId The user id.
+   */
+  void revokeAll(UUID userId);
+
+  /**
+   * Revokes every access token issued to a user so far, once the surrounding database transaction
+   * commits. Refresh tokens are not touched, as deleting a user deletes them.
+   *
+   * @param userId The user id.
+   */
+  void revokeAccessTokens(UUID userId);
+
+  /**
+   * Deletes expired refresh tokens.
+   */
+  void removeExpiredTokens();
+}
@@ -1,11 +1,17 @@
 package dev.itltcanz.bankapi.service;
 
+import dev.itltcanz.bankapi.dto.transaction.TransactionBatchItemResponse;
 import dev.itltcanz.bankapi.dto.transaction.TransactionDtoCreate;
 import dev.itltcanz.bankapi.dto.transaction.TransactionDtoResponse;
+import dev.itltcanz.bankapi.dto.transaction.TransactionStatusDtoResponse;
 import dev.itltcanz.bankapi.entity.Transaction;
+import dev.itltcanz.bankapi.exception.DuplicateRequestException;
 import dev.itltcanz.bankapi.exception.InactiveCardException;
 import dev.itltcanz.bankapi.exception.InsufficientFundsException;
 import dev.itltcanz.bankapi.exception.NotFoundException;
+import dev.itltcanz.bankapi.transfer.TransferStep;
+import java.time.LocalDateTime;
+import java.util.List;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.security.access.AccessDeniedException;
@@ -24,9 +30,90 @@ public interface TransactionService {
    * @throws AccessDeniedException      if the user lacks access to the sender card.
    * @throws InactiveCardException      if either card is inactive or expired.
    * @throws InsufficientFundsException if the sender has insufficient funds.
+   * @throws IllegalArgumentException   if the sender and receiver cards are the same.
    */
   TransactionDtoResponse createTransaction(TransactionDtoCreate transactionDto);
 
+  /**
+   * Creates a new transaction unless one was already created for the same idempotency key, in
+   * which case the original transaction is returned and no funds are moved.
+   *
+   * @param transactionDto The transaction details.
+   * @param idempotencyKey The client-supplied idempotency key, or {@code null}.
+   * @return The created or previously created transaction details as a DTO.
+   * @throws DuplicateRequestException if a request with the same key is still being processed.
+   * @throws IllegalArgumentException  if the key was used for a request with another payload.
+   * @see #createTransaction(TransactionDtoCreate)
+   */
+  TransactionDtoResponse createTransaction(TransactionDtoCreate transactionDto,
+      String idempotencyKey);
+
+  /**
+   * Executes a batch of transfers in one database transaction. All involved cards are locked with
+   * a single query; items that fail validation are reported and skipped without affecting the
+   * others.
+   *
+   * @param transactionDtos The transfers to execute.
+   * @return The outcome of every item, in request order.
+   */
+  List<TransactionBatchItemResponse> createTransactions(List<TransactionDtoCreate> transactionDtos);
+
+  /**
+   * Stores a new transaction in the PENDING state and hands it to the asynchronous transfer
+   * pipeline once the surrounding database transaction commits. Funds are moved later by
+   * {@link #processTransferSteps(List)}.
+   *
+   * @param transactionDto The transaction details.
+   * @return The pending transaction details as a DTO.
+   * @throws NotFoundException        if the sender or receiver card is not found.
+   * @throws AccessDeniedException    if the user lacks access to the sender card.
+   * @throws IllegalArgumentException if the sender and receiver cards are the same.
+   */
+  TransactionDtoResponse submitTransaction(TransactionDtoCreate transactionDto);
+
+  /**
+   * Applies a micro-batch of steps of the asynchronous transfer pipeline in one database
+   * transaction. Only the cards modified by the steps are locked, each of them once, and every
+   * card is written once however many steps touch it. A DEBIT step moves a PENDING transaction to
+   * DEBITED, a CREDIT step moves a DEBITED one to COMPLETED and a TRANSFER step does both; a step
+   * whose transaction is not in the expected state is skipped, so a step queued twice is only
+   * applied once. A transaction whose cards are inactive, expired or lack funds is marked FAILED
+   * with the reason.
+   *
+   * @param steps The steps to apply, in order.
+   * @return The CREDIT steps that have become due because their DEBIT step was applied.
+   */
+  List<TransferStep> processTransferSteps(List<TransferStep> steps);
+
+  /**
+   * Gives up on a transfer whose step keeps failing: marks a PENDING or DEBITED transaction FAILED
+   * with the reason in its own database transaction, returning the amount to the sender card if it
+   * has already been withdrawn. Does nothing if the transaction has already finished.
+   *
+   * @param step   The failing step.
+   * @param reason The failure reason reported to the client.
+   */
+  void failTransferStep(TransferStep step, String reason);
+
+  /**
+   * Retrieves the next steps of transactions that are still pending or debited, oldest first.
+   *
+   * @param createdBefore Only transactions created before this time are returned.
+   * @param limit         The maximum number of steps to return.
+   * @return DEBIT steps for pending and CREDIT steps for debited transactions.
+   */
+  List<TransferStep> findUnfinishedTransferSteps(LocalDateTime createdBefore, int limit);
+
+  /**
+   * Retrieves the state of a transaction with permission checks.
+   *
+   * @param transactionId The ID of the transaction.
+   * @return The transaction status as a DTO.
+   * @throws NotFoundException     if the transaction is not found.
+   * @throws AccessDeniedException if the user lacks access to the transaction.
+   */
+  TransactionStatusDtoResponse getTransactionStatus(String transactionId);
+
   TransactionDtoResponse getTransactionById(String transactionId);
 
   /**
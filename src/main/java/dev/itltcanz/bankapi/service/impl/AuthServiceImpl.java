@@ -4,12 +4,16 @@ import dev.itltcanz.bankapi.dto.user.UserDtoRegistration;
 import dev.itltcanz.bankapi.dto.user.UserDtoResponse;
 import dev.itltcanz.bankapi.entity.User;
 import dev.itltcanz.bankapi.entity.enumeration.Role;
+import dev.itltcanz.bankapi.exception.NotFoundException;
 import dev.itltcanz.bankapi.exception.UsernameAlreadyUseException;
+import dev.itltcanz.bankapi.mapper.UserMapper;
 import dev.itltcanz.bankapi.repository.UserRepo;
+import dev.itltcanz.bankapi.security.AuthenticatedUser;
+import dev.itltcanz.bankapi.security.CurrentUserContext;
+import dev.itltcanz.bankapi.security.UserDetailsInvalidatedEvent;
 import dev.itltcanz.bankapi.service.AuthService;
-import dev.itltcanz.bankapi.service.UserService;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -21,32 +25,55 @@ import org.springframework.stereotype.Service;
 public class AuthServiceImpl implements AuthService {
 
   private final UserRepo userRepo;
-  private final UserService userService;
   private final PasswordEncoder encoder;
   private final AuthenticationManager authManager;
-  private final ModelMapper modelMapper;
+  private final UserMapper userMapper;
+  private final CurrentUserContext currentUserContext;
+  private final ApplicationEventPublisher eventPublisher;
+
+  @Override
+  public AuthenticatedUser getCurrentPrincipal() {
+    var authentication = SecurityContextHolder.getContext().getAuthentication();
+    if (authentication.getPrincipal() instanceof AuthenticatedUser principal) {
+      return principal;
+    }
+    return AuthenticatedUser.of(getCurrentUser());
+  }
 
   @Override
   public User getCurrentUser() {
-    var username = SecurityContextHolder.getContext().getAuthentication().getName();
-    return userService.findUserById(username);
+    return currentUserContext.get(this::loadCurrentUser);
   }
+
+  private User loadCurrentUser() {
+    var authentication = SecurityContextHolder.getContext().getAuthentication();
+    if (authentication.getPrincipal() instanceof AuthenticatedUser principal) {
+      return userRepo.findById(principal.id()).orElseThrow(
+          () -> new NotFoundException("A user with id " + principal.id() + " was not found"));
+    }
+    var username = authentication.getName();
+    return userRepo.findByUsername(username).orElseThrow(
+        () -> new NotFoundException("A user with nickname " + username + " was not found"));
+  }
+
   @Override
   public UserDtoResponse register(UserDtoRegistration userDto) {
     if (userRepo.existsByUsername(userDto.getUsername())) {
       throw new UsernameAlreadyUseException(
           "A user with nickname " + userDto.getUsername() + " already exists");
     }
-    var user = modelMapper.map(userDto, User.class);
+    var user = userMapper.toEntity(userDto);
     user.setPassword(encoder.encode(user.getPassword()));
     user.setRole(Role.ROLE_USER);
     var savedUser = userRepo.save(user);
-    return modelMapper.map(savedUser, UserDtoResponse.class);
+    eventPublisher.publishEvent(new UserDetailsInvalidatedEvent(savedUser.getUsername()));
+    return userMapper.toResponse(savedUser);
   }
 
   @Override
-  public void verify(UserDtoRegistration userDto) {
-    authManager.authenticate(
+  public User verify(UserDtoRegistration userDto) {
+    var authentication = authManager.authenticate(
         new UsernamePasswordAuthenticationToken(userDto.getUsername(), userDto.getPassword()));
+    return (User) authentication.getPrincipal();
   }
 }
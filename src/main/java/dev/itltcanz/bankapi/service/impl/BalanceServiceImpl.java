@@ -1,10 +1,14 @@
 package dev.itltcanz.bankapi.service.impl;
 
 import dev.itltcanz.bankapi.entity.Card;
+import dev.itltcanz.bankapi.exception.InactiveCardException;
+import dev.itltcanz.bankapi.exception.InsufficientFundsException;
 import dev.itltcanz.bankapi.service.BalanceService;
 import dev.itltcanz.bankapi.service.CardCheckService;
 import dev.itltcanz.bankapi.service.CardService;
-import java.math.BigDecimal;
+import dev.itltcanz.bankapi.util.Money;
+import jakarta.transaction.Transactional;
+import jakarta.transaction.Transactional.TxType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -16,7 +20,27 @@ public class BalanceServiceImpl implements BalanceService {
   private final CardCheckService cardCheckService;
 
   @Override
-  public void transferFunds(Card senderCard, Card receiverCard, BigDecimal amount) {
+  @Transactional(value = TxType.MANDATORY,
+      dontRollbackOn = {InactiveCardException.class, InsufficientFundsException.class})
+  public void transferFunds(Card senderCard, Card receiverCard, Money amount) {
+    withdraw(senderCard, receiverCard, amount);
+    deposit(receiverCard, amount);
+  }
+
+  @Override
+  @Transactional(value = TxType.MANDATORY,
+      dontRollbackOn = {InactiveCardException.class, InsufficientFundsException.class})
+  public void debit(Card senderCard, Card receiverCard, Money amount) {
+    withdraw(senderCard, receiverCard, amount);
+  }
+
+  @Override
+  @Transactional(TxType.MANDATORY)
+  public void credit(Card receiverCard, Money amount) {
+    deposit(receiverCard, amount);
+  }
+
+  private void withdraw(Card senderCard, Card receiverCard, Money amount) {
     cardCheckService.checkValidityPeriod(senderCard.getValidityPeriod());
     cardCheckService.checkValidityPeriod(receiverCard.getValidityPeriod());
 
@@ -25,10 +49,12 @@ public class BalanceServiceImpl implements BalanceService {
 
     cardCheckService.checkBalanceBeforeTransfer(senderCard, amount);
 
-    senderCard.setBalance(senderCard.getBalance().subtract(amount));
-    receiverCard.setBalance(receiverCard.getBalance().add(amount));
-
+    senderCard.setBalance(senderCard.getBalance().minus(amount));
     cardService.save(senderCard);
+  }
+
+  private void deposit(Card receiverCard, Money amount) {
+    receiverCard.setBalance(receiverCard.getBalance().plus(amount));
     cardService.save(receiverCard);
   }
-}
\ No newline at end of file
+}
@@ -1,5 +1,6 @@
 package dev.itltcanz.bankapi.service.impl;
 
+import dev.itltcanz.bankapi.cache.CacheInvalidator;
 import dev.itltcanz.bankapi.dto.request.BlockRequestDtoCreate;
 import dev.itltcanz.bankapi.dto.request.BlockRequestDtoResponse;
 import dev.itltcanz.bankapi.entity.BlockRequest;
@@ -8,17 +9,18 @@ import dev.itltcanz.bankapi.entity.enumeration.CardStatus;
 import dev.itltcanz.bankapi.entity.enumeration.RequestStatus;
 import dev.itltcanz.bankapi.exception.NotFoundException;
 import dev.itltcanz.bankapi.exception.RequestAlreadyProcessedException;
+import dev.itltcanz.bankapi.mapper.BlockRequestMapper;
 import dev.itltcanz.bankapi.repository.BlockRequestRepo;
 import dev.itltcanz.bankapi.service.AuthService;
 import dev.itltcanz.bankapi.service.BlockRequestService;
 import dev.itltcanz.bankapi.service.CardService;
 import dev.itltcanz.bankapi.service.PermissionService;
+import dev.itltcanz.bankapi.util.HibernateUtils;
 import jakarta.transaction.Transactional;
 import jakarta.validation.constraints.NotNull;
 import java.time.LocalDateTime;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
@@ -31,12 +33,13 @@ public class BlockRequestServiceImpl implements BlockRequestService {
   private final CardService cardService;
   private final AuthService authService;
   private final PermissionService permissionService;
-  private final ModelMapper modelMapper;
+  private final BlockRequestMapper blockRequestMapper;
+  private final CacheInvalidator cacheInvalidator;
 
   @Override
   public BlockRequestDtoResponse getRequest(String requestId) {
     var blockingRequest = findByIdWithPermissionCheck(requestId);
-    return modelMapper.map(blockingRequest, BlockRequestDtoResponse.class);
+    return blockRequestMapper.toResponse(blockingRequest);
   }
 
   @Override
@@ -49,7 +52,7 @@ public class BlockRequestServiceImpl implements BlockRequestService {
     request.setCard(card);
     request.setUser(authService.getCurrentUser());
     var savedRequest = requestRepo.save(request);
-    return modelMapper.map(savedRequest, BlockRequestDtoResponse.class);
+    return blockRequestMapper.toResponse(savedRequest);
   }
 
   @Override
@@ -63,8 +66,9 @@ public class BlockRequestServiceImpl implements BlockRequestService {
     request.setAdmin(authService.getCurrentUser());
     request.setUpdatedAt(LocalDateTime.now());
     cardService.save(card);
+    cacheInvalidator.cardListChanged(HibernateUtils.getId(card.getOwner()));
     var savedRequest = requestRepo.save(request);
-    return modelMapper.map(savedRequest, BlockRequestDtoResponse.class);
+    return blockRequestMapper.toResponse(savedRequest);
   }
 
   @Override
@@ -76,7 +80,7 @@ public class BlockRequestServiceImpl implements BlockRequestService {
     request.setAdmin(authService.getCurrentUser());
     request.setUpdatedAt(LocalDateTime.now());
     var savedRequest = requestRepo.save(request);
-    return modelMapper.map(savedRequest, BlockRequestDtoResponse.class);
+    return blockRequestMapper.toResponse(savedRequest);
   }
 
   @Override
@@ -97,14 +101,12 @@ public class BlockRequestServiceImpl implements BlockRequestService {
 
   @Override
   public Page<BlockRequestDtoResponse> getRequestsUser(PageRequest pageable) {
-    var currentUser = authService.getCurrentUser();
-    return requestRepo.findAllByUser(currentUser, pageable)
-        .map(request -> modelMapper.map(request, BlockRequestDtoResponse.class));
+    var userId = authService.getCurrentPrincipal().id();
+    return requestRepo.findAllByUser_Id(userId, pageable).map(blockRequestMapper::toResponse);
   }
 
   @Override
   public Page<BlockRequestDtoResponse> getRequestsAdmin(PageRequest pageable) {
-    return requestRepo.findAll(pageable)
-        .map(request -> modelMapper.map(request, BlockRequestDtoResponse.class));
+    return requestRepo.findAll(pageable).map(blockRequestMapper::toResponse);
   }
 }
\ No newline at end of file
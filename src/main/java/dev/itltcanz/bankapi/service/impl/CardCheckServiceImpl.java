@@ -5,7 +5,7 @@ import dev.itltcanz.bankapi.entity.enumeration.CardStatus;
 import dev.itltcanz.bankapi.exception.InactiveCardException;
 import dev.itltcanz.bankapi.exception.InsufficientFundsException;
 import dev.itltcanz.bankapi.service.CardCheckService;
-import java.math.BigDecimal;
+import dev.itltcanz.bankapi.util.Money;
 import java.time.YearMonth;
 import org.springframework.stereotype.Service;
 
@@ -27,8 +27,8 @@ public class CardCheckServiceImpl implements CardCheckService {
   }
 
   @Override
-  public void checkBalanceBeforeTransfer(Card card, BigDecimal amount) {
-    if (card.getBalance().compareTo(amount) < 0) {
+  public void checkBalanceBeforeTransfer(Card card, Money amount) {
+    if (card.getBalance().isLessThan(amount)) {
       throw new InsufficientFundsException(
           "There are insufficient funds on the " + card.getNumber() + " card");
     }
@@ -1,5 +1,10 @@
 package dev.itltcanz.bankapi.service.impl;
 
+import dev.itltcanz.bankapi.cache.CacheInvalidator;
+import dev.itltcanz.bankapi.cache.CacheReads;
+import dev.itltcanz.bankapi.config.TransferProperties;
+import dev.itltcanz.bankapi.config.TransferProperties.LockingMode;
+import dev.itltcanz.bankapi.dto.card.CardBalanceDtoResponse;
 import dev.itltcanz.bankapi.dto.card.CardDto;
 import dev.itltcanz.bankapi.dto.card.CardDtoCreate;
 import dev.itltcanz.bankapi.dto.card.CardDtoResponse;
@@ -8,17 +13,25 @@ import dev.itltcanz.bankapi.entity.enumeration.CardStatus;
 import dev.itltcanz.bankapi.exception.NotFoundException;
 import dev.itltcanz.bankapi.filter.CardFilter;
 import dev.itltcanz.bankapi.filter.CardSpecification;
+import dev.itltcanz.bankapi.mapper.CardMapper;
 import dev.itltcanz.bankapi.repository.CardRepo;
 import dev.itltcanz.bankapi.service.AuthService;
 import dev.itltcanz.bankapi.service.CardNumberGeneratorService;
 import dev.itltcanz.bankapi.service.CardService;
+import dev.itltcanz.bankapi.service.LedgerService;
 import dev.itltcanz.bankapi.service.UserService;
+import dev.itltcanz.bankapi.util.HibernateUtils;
+import dev.itltcanz.bankapi.util.Money;
+import jakarta.transaction.Transactional;
 import jakarta.validation.constraints.NotNull;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeSet;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
-import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.cache.annotation.Caching;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
@@ -29,76 +42,100 @@ public class CardServiceImpl implements CardService {
 
   private final CardRepo cardRepo;
   private final CardSpecification cardSpecification;
-  private final ModelMapper modelMapper;
+  private final CardMapper cardMapper;
   private final AuthService authService;
   private final UserService userService;
   private final PermissionServiceImpl permissionService;
   private final CardNumberGeneratorService cardNumberGeneratorService;
+  private final TransferProperties transferProperties;
+  private final LedgerService ledgerService;
+  private final CacheInvalidator cacheInvalidator;
+  private final CacheManager cacheManager;
 
   @Override
-  @CacheEvict(value = "{userCards, adminCards}", allEntries = true)
+  @Transactional
   public CardDtoResponse createCard(CardDtoCreate cardDto) {
     var owner = userService.findUserById(cardDto.getOwnerId());
     var number = cardNumberGeneratorService.generateCardNumber();
     var card = new Card(number, owner, cardDto.getValidityPeriod(), CardStatus.ACTIVE,
         cardDto.getBalance());
     var savedCard = cardRepo.save(card);
-    return modelMapper.map(savedCard, CardDtoResponse.class);
+    ledgerService.recordBalanceChange(savedCard, Money.ZERO);
+    cacheInvalidator.cardListChanged(owner.getId());
+    return cardMapper.toResponse(savedCard);
   }
 
   @Override
   @Cacheable(
       value = "userCards",
-      key = "@authService.getCurrentUser().id + '-' + #filter.hashCode() + '-' + #pageable.pageNumber + '-' + #pageable.pageSize"
+      key = "@authService.getCurrentPrincipal().id() + ':' + #filter.hashCode() + '-' + #pageable.pageNumber + '-' + #pageable.pageSize",
+      sync = true
   )
   public Page<CardDtoResponse> getUserCards(CardFilter filter, PageRequest pageable) {
-    var currentUser = authService.getCurrentUser();
-    filter.setOwnerId(currentUser.getId().toString());
+    filter.setOwnerId(authService.getCurrentPrincipal().id().toString());
     var spec = cardSpecification.withFilter(filter);
     var userCards = cardRepo.findAll(spec, pageable);
-    return userCards.map(card -> modelMapper.map(card, CardDtoResponse.class));
+    return userCards.map(cardMapper::toResponse);
   }
 
   @Override
   @Cacheable(
       value = "adminCards",
-      key = "#filter.hashCode() + '-' + #pageable.pageNumber + '-' + #pageable.pageSize"
+      key = "#filter.hashCode() + '-' + #pageable.pageNumber + '-' + #pageable.pageSize",
+      sync = true
   )
   public Page<CardDtoResponse> getAdminCards(CardFilter filter, PageRequest pageable) {
     var spec = cardSpecification.withFilter(filter);
     var cards = cardRepo.findAll(spec, pageable);
-    return cards.map(card -> modelMapper.map(card, CardDtoResponse.class));
+    return cards.map(cardMapper::toResponse);
   }
 
   @Override
-  @Cacheable(value = "cards", key = "#cardId")
   public CardDtoResponse getCardById(@NotNull String cardId) {
-    var card = findByIdWithPermissionCheck(cardId);
-    return modelMapper.map(card, CardDtoResponse.class);
+    var card = CacheReads.get(cacheManager, CacheInvalidator.CARDS, cardId,
+        () -> cardMapper.toResponse(findById(cardId)));
+    permissionService.hasRights(card.getOwnerId());
+    return card;
   }
 
   @Override
-  @Caching(evict = {
-      @CacheEvict(cacheNames = "cards", key = "#cardId"),
-      @CacheEvict(cacheNames = {"userCards", "adminCards"}, allEntries = true)
-  })
   public void deleteCard(String cardId) {
     var card = findByIdWithPermissionCheck(cardId);
+    var ownerId = HibernateUtils.getId(card.getOwner());
     cardRepo.delete(card);
+    cacheInvalidator.cardChanged(cardId, ownerId);
+    cacheInvalidator.cardListChanged(ownerId);
   }
 
   @Override
-  @Caching(evict = {
-      @CacheEvict(cacheNames = "cards", key = "#cardId"),
-      @CacheEvict(cacheNames = {"userCards", "adminCards"}, allEntries = true)
-  })
+  @Transactional
   public CardDtoResponse updateCard(@NotNull String cardId, @NotNull CardDto cardDto) {
     var cardEntity = findByIdWithPermissionCheck(cardId);
+    var previousBalance = cardEntity.getBalance();
+    var previousOwnerId = HibernateUtils.getId(cardEntity.getOwner());
     var user = userService.findUserById(cardDto.getOwnerId());
-    modelMapper.map(cardDto, cardEntity);
+    cardMapper.updateEntity(cardDto, cardEntity);
     cardEntity.setOwner(user);
     var savedCard = cardRepo.save(cardEntity);
-    return modelMapper.map(savedCard, CardDtoResponse.class);
+    ledgerService.recordBalanceChange(savedCard, previousBalance);
+    cacheInvalidator.cardChanged(cardId, user.getId());
+    cacheInvalidator.cardListChanged(previousOwnerId);
+    cacheInvalidator.cardListChanged(user.getId());
+    return cardMapper.toResponse(savedCard);
+  }
+
+  @Override
+  public CardBalanceDtoResponse getCardBalance(@NotNull String cardId, LocalDateTime at) {
+    var card = findByIdWithPermissionCheck(cardId);
+    var response = cardMapper.toBalanceResponse(card);
+    if (at == null) {
+      response.setBalance(card.getBalance());
+      response.setAt(LocalDateTime.now());
+    } else {
+      response.setBalance(ledgerService.getBalanceAt(card, at));
+      response.setAt(at);
+    }
+    return response;
   }
 
   @Override
@@ -114,9 +151,35 @@ public class CardServiceImpl implements CardService {
     return card;
   }
 
+  @Override
+  public Map<String, Card> findAllForUpdate(Collection<String> cardIds) {
+    var cards = findExistingForUpdate(cardIds);
+    for (var cardId : cardIds) {
+      if (!cards.containsKey(cardId)) {
+        throw new NotFoundException("A card with the number " + cardId + " has not been found.");
+      }
+    }
+    return cards;
+  }
+
+  @Override
+  public Map<String, Card> findExistingForUpdate(Collection<String> cardIds) {
+    var numbers = new TreeSet<>(cardIds);
+    var found = transferProperties.getLockingMode() == LockingMode.OPTIMISTIC
+        ? cardRepo.findAllByNumberInOrderByNumber(numbers)
+        : cardRepo.findAllByNumberInForUpdate(numbers);
+    var cards = new LinkedHashMap<String, Card>();
+    for (var card : found) {
+      cards.put(card.getNumber(), card);
+    }
+    return cards;
+  }
+
   @Override
   @SuppressWarnings("UnusedReturnValue")
   public Card save(Card card) {
-    return cardRepo.save(card);
+    var savedCard = cardRepo.save(card);
+    cacheInvalidator.cardChanged(card.getNumber(), HibernateUtils.getId(card.getOwner()));
+    return savedCard;
   }
 }
\ No newline at end of file
@@ -0,0 +1,127 @@
+package dev.itltcanz.bankapi.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import dev.itltcanz.bankapi.config.IdempotencyProperties;
+import dev.itltcanz.bankapi.entity.IdempotencyKey;
+import dev.itltcanz.bankapi.exception.DuplicateRequestException;
+import dev.itltcanz.bankapi.repository.IdempotencyKeyRepo;
+import dev.itltcanz.bankapi.service.IdempotencyService;
+import jakarta.transaction.Transactional;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Slf4j
+@Service("idempotencyService")
+public class IdempotencyServiceImpl implements IdempotencyService {
+
+  private final IdempotencyKeyRepo idempotencyKeyRepo;
+  private final IdempotencyProperties properties;
+  private final Cache<String, IdempotencyKey> knownKeys;
+
+  public IdempotencyServiceImpl(IdempotencyKeyRepo idempotencyKeyRepo,
+      IdempotencyProperties properties) {
+    this.idempotencyKeyRepo = idempotencyKeyRepo;
+    this.properties = properties;
+    // A key expires with its creation time, not with the time it was cached: a key loaded from
+    // the database late in its lifetime must not be remembered for another full TTL.
+    this.knownKeys = Caffeine.newBuilder()
+        .maximumSize(properties.getCacheSize())
+        .expireAfter(new Expiry<String, IdempotencyKey>() {
+          @Override
+          public long expireAfterCreate(String key, IdempotencyKey value, long currentTime) {
+            return remainingLifetime(value);
+          }
+
+          @Override
+          public long expireAfterUpdate(String key, IdempotencyKey value, long currentTime,
+              long currentDuration) {
+            return remainingLifetime(value);
+          }
+
+          @Override
+          public long expireAfterRead(String key, IdempotencyKey value, long currentTime,
+              long currentDuration) {
+            return currentDuration;
+          }
+        })
+        .build();
+  }
+
+  @Override
+  public Optional<UUID> findTransactionId(UUID userId, String key, String requestHash) {
+    var cacheKey = cacheKey(userId, key);
+    var idempotencyKey = knownKeys.getIfPresent(cacheKey);
+    if (idempotencyKey == null) {
+      idempotencyKey = idempotencyKeyRepo.findByUserIdAndKey(userId, key).orElse(null);
+      if (idempotencyKey == null) {
+        return Optional.empty();
+      }
+      if (remainingLifetime(idempotencyKey) == 0) {
+        // Not yet swept by removeExpiredKeys: drop it now so that the key can be registered again.
+        idempotencyKeyRepo.deleteByUserIdAndKeyCreatedBefore(userId, key,
+            LocalDateTime.now().minus(properties.getTtl()));
+        return Optional.empty();
+      }
+      knownKeys.put(cacheKey, idempotencyKey);
+    }
+    if (!idempotencyKey.getRequestHash().equals(requestHash)) {
+      throw new IllegalArgumentException(
+          "The idempotency key " + key + " has already been used for a different request");
+    }
+    return Optional.of(idempotencyKey.getTransactionId());
+  }
+
+  @Override
+  public void register(UUID userId, String key, String requestHash, UUID transactionId) {
+    var idempotencyKey = new IdempotencyKey();
+    idempotencyKey.setUserId(userId);
+    idempotencyKey.setKey(key);
+    idempotencyKey.setRequestHash(requestHash);
+    idempotencyKey.setTransactionId(transactionId);
+    try {
+      idempotencyKeyRepo.saveAndFlush(idempotencyKey);
+    } catch (DataIntegrityViolationException e) {
+      throw new DuplicateRequestException(
+          "A request with the idempotency key " + key + " is already being processed");
+    }
+    var cacheKey = cacheKey(userId, key);
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          knownKeys.put(cacheKey, idempotencyKey);
+        }
+      });
+    } else {
+      knownKeys.put(cacheKey, idempotencyKey);
+    }
+  }
+
+  @Override
+  @Transactional
+  @Scheduled(fixedDelayString = "${bank.idempotency.cleanup-interval:PT1H}")
+  public void removeExpiredKeys() {
+    var removed = idempotencyKeyRepo.deleteAllCreatedBefore(
+        LocalDateTime.now().minus(properties.getTtl()));
+    log.info("Removed {} expired idempotency keys", removed);
+  }
+
+  private long remainingLifetime(IdempotencyKey idempotencyKey) {
+    var expiresAt = idempotencyKey.getCreatedAt().plus(properties.getTtl());
+    return Math.max(0, Duration.between(LocalDateTime.now(), expiresAt).toNanos());
+  }
+
+  private static String cacheKey(UUID userId, String key) {
+    return userId + ":" + key;
+  }
+}
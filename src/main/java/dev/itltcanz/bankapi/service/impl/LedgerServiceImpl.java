@@ -0,0 +1,95 @@
+package dev.itltcanz.bankapi.service.impl;
+
+import dev.itltcanz.bankapi.config.LedgerProperties;
+import dev.itltcanz.bankapi.entity.BalanceCheckpoint;
+import dev.itltcanz.bankapi.entity.Card;
+import dev.itltcanz.bankapi.entity.LedgerEntry;
+import dev.itltcanz.bankapi.entity.Transaction;
+import dev.itltcanz.bankapi.entity.enumeration.LedgerEntryType;
+import dev.itltcanz.bankapi.repository.BalanceCheckpointRepo;
+import dev.itltcanz.bankapi.repository.LedgerEntryRepo;
+import dev.itltcanz.bankapi.service.LedgerService;
+import dev.itltcanz.bankapi.util.Money;
+import jakarta.transaction.Transactional;
+import jakarta.transaction.Transactional.TxType;
+import java.time.LocalDateTime;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+@Service("ledgerService")
+@RequiredArgsConstructor
+public class LedgerServiceImpl implements LedgerService {
+
+  private final LedgerEntryRepo ledgerEntryRepo;
+  private final BalanceCheckpointRepo balanceCheckpointRepo;
+  private final LedgerProperties ledgerProperties;
+
+  @Override
+  @Transactional(TxType.MANDATORY)
+  public void recordTransfer(Transaction transaction) {
+    var postedAt = LocalDateTime.now();
+    append(transaction.getSenderCard(), LedgerEntryType.DEBIT, transaction.getAmount(),
+        transaction, postedAt);
+    append(transaction.getReceiverCard(), LedgerEntryType.CREDIT, transaction.getAmount(),
+        transaction, postedAt);
+  }
+
+  @Override
+  @Transactional(TxType.MANDATORY)
+  public void recordDebit(Transaction transaction) {
+    append(transaction.getSenderCard(), LedgerEntryType.DEBIT, transaction.getAmount(),
+        transaction, LocalDateTime.now());
+  }
+
+  @Override
+  @Transactional(TxType.MANDATORY)
+  public void recordCredit(Transaction transaction) {
+    append(transaction.getReceiverCard(), LedgerEntryType.CREDIT, transaction.getAmount(),
+        transaction, LocalDateTime.now());
+  }
+
+  @Override
+  @Transactional(TxType.MANDATORY)
+  public void recordRefund(Transaction transaction) {
+    append(transaction.getSenderCard(), LedgerEntryType.CREDIT, transaction.getAmount(),
+        transaction, LocalDateTime.now());
+  }
+
+  @Override
+  @Transactional(TxType.MANDATORY)
+  public void recordBalanceChange(Card card, Money previousBalance) {
+    var difference = card.getBalance().minus(previousBalance);
+    if (difference.signum() == 0) {
+      return;
+    }
+    var type = difference.signum() > 0 ? LedgerEntryType.CREDIT : LedgerEntryType.DEBIT;
+    append(card, type, difference.abs(), null, LocalDateTime.now());
+  }
+
+  @Override
+  public Money getBalanceAt(Card card, LocalDateTime at) {
+    var checkpoint = balanceCheckpointRepo
+        .findFirstByCard_NumberAndCreatedAtLessThanEqualOrderBySequenceDesc(card.getNumber(), at);
+    var balance = checkpoint.map(BalanceCheckpoint::getBalance).orElse(Money.ZERO);
+    var sequence = checkpoint.map(BalanceCheckpoint::getSequence).orElse(0L);
+    return balance.plus(
+        Money.of(ledgerEntryRepo.sumAmountsAfter(card.getNumber(), sequence, at)));
+  }
+
+  /**
+   * Appends an entry. {@link #getBalanceAt} expects the time of the entries of a card to rise with
+   * their sequence, so entries are stamped with the time they are posted, never with an earlier
+   * one such as the submission time of their transaction.
+   */
+  private void append(Card card, LedgerEntryType type, Money amount, Transaction transaction,
+      LocalDateTime createdAt) {
+    var sequence = card.getLedgerSequence() + 1;
+    card.setLedgerSequence(sequence);
+    ledgerEntryRepo.save(LedgerEntry.builder().card(card).sequence(sequence).type(type)
+        .amount(amount).transaction(transaction).createdAt(createdAt).build());
+    if (sequence % ledgerProperties.getCheckpointInterval() == 0) {
+      balanceCheckpointRepo.save(
+          new BalanceCheckpoint(null, card, sequence, card.getBalance(), createdAt));
+    }
+  }
+}
@@ -16,8 +16,8 @@ public class PermissionServiceImpl implements PermissionService {
 
   @Override
   public void hasRights(String compareUserId) {
-    var currentUser = authService.getCurrentUser();
-    if (!currentUser.getRole().equals(Role.ROLE_ADMIN) && !currentUser.getId()
+    var principal = authService.getCurrentPrincipal();
+    if (!principal.role().equals(Role.ROLE_ADMIN) && !principal.id()
         .equals(UUID.fromString(compareUserId))) {
       throw new AccessDeniedException("Access denied");
     }
@@ -0,0 +1,144 @@
+package dev.itltcanz.bankapi.service.impl;
+
+import dev.itltcanz.bankapi.config.JwtProperties;
+import dev.itltcanz.bankapi.dto.auth.TokenDtoResponse;
+import dev.itltcanz.bankapi.entity.RefreshToken;
+import dev.itltcanz.bankapi.entity.User;
+import dev.itltcanz.bankapi.exception.InvalidTokenException;
+import dev.itltcanz.bankapi.repository.RefreshTokenRepo;
+import dev.itltcanz.bankapi.repository.UserRepo;
+import dev.itltcanz.bankapi.security.JwtGenerator;
+import dev.itltcanz.bankapi.security.TokenRevocationService;
+import dev.itltcanz.bankapi.service.TokenService;
+import dev.itltcanz.bankapi.util.HashUtils;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import jakarta.transaction.Transactional;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Slf4j
+@Service("tokenService")
+@RequiredArgsConstructor
+public class TokenServiceImpl implements TokenService {
+
+  private static final int REFRESH_TOKEN_BYTES = 32;
+  private static final SecureRandom RANDOM = new SecureRandom();
+
+  private final JwtGenerator jwtGenerator;
+  private final RefreshTokenRepo refreshTokenRepo;
+  private final UserRepo userRepo;
+  private final TokenRevocationService tokenRevocationService;
+  private final JwtProperties jwtProperties;
+
+  @Override
+  @Transactional
+  public TokenDtoResponse issue(User user) {
+    return createTokens(user, UUID.randomUUID());
+  }
+
+  @Override
+  @Transactional(dontRollbackOn = InvalidTokenException.class)
+  public TokenDtoResponse refresh(String refreshToken) {
+    var token = refreshTokenRepo.findByTokenHash(HashUtils.sha256Hex(refreshToken))
+        .orElseThrow(() -> new InvalidTokenException("Unknown refresh token"));
+    var now = LocalDateTime.now();
+    if (token.getRevokedAt() != null) {
+      var revoked = refreshTokenRepo.revokeFamily(token.getFamilyId(), now);
+      log.warn("Reuse of a rotated refresh token of user {}, revoked {} tokens of its family",
+          token.getUserId(), revoked);
+      throw new InvalidTokenException("The refresh token has already been used");
+    }
+    if (!token.getExpiresAt().isAfter(now)) {
+      throw new InvalidTokenException("The refresh token has expired");
+    }
+    token.setRevokedAt(now);
+    var user = userRepo.findById(token.getUserId())
+        .orElseThrow(() -> new InvalidTokenException("Unknown refresh token"));
+    return createTokens(user, token.getFamilyId());
+  }
+
+  @Override
+  @Transactional
+  public void revoke(String accessToken, String refreshToken) {
+    refreshTokenRepo.findByTokenHash(HashUtils.sha256Hex(refreshToken)).ifPresent(
+        token -> refreshTokenRepo.revokeFamily(token.getFamilyId(), LocalDateTime.now()));
+    if (accessToken == null) {
+      return;
+    }
+    try {
+      var claims = jwtGenerator.extractAllClaims(accessToken);
+      if (claims.getId() != null) {
+        tokenRevocationService.revoke(claims.getId(), claims.getExpiration().toInstant());
+      }
+    } catch (ExpiredJwtException e) {
+      log.debug("Access token presented on logout has already expired");
+    } catch (JwtException e) {
+      throw new InvalidTokenException("Invalid access token");
+    }
+  }
+
+  @Override
+  @Transactional
+  public void revokeAll(UUID userId) {
+    refreshTokenRepo.revokeAllByUserId(userId, LocalDateTime.now());
+    revokeAccessTokens(userId);
+  }
+
+  @Override
+  public void revokeAccessTokens(UUID userId) {
+    // After the commit, so that a token issued in between carries the old version and is revoked
+    // too, instead of carrying the new version with the old role.
+    Runnable revocation = () -> tokenRevocationService.revokeUser(userId,
+        Instant.now().plus(jwtProperties.getAccessTokenValidity()));
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          revocation.run();
+        }
+      });
+    } else {
+      revocation.run();
+    }
+  }
+
+  @Override
+  @Transactional
+  @Scheduled(fixedDelayString = "${jwt.refresh-token-cleanup-interval:PT1H}")
+  public void removeExpiredTokens() {
+    var removed = refreshTokenRepo.deleteAllExpiredBefore(LocalDateTime.now());
+    log.info("Removed {} expired refresh tokens", removed);
+  }
+
+  private TokenDtoResponse createTokens(User user, UUID familyId) {
+    var refreshToken = generateRefreshToken();
+    var now = LocalDateTime.now();
+    var entity = new RefreshToken();
+    entity.setTokenHash(HashUtils.sha256Hex(refreshToken));
+    entity.setUserId(user.getId());
+    entity.setFamilyId(familyId);
+    entity.setCreatedAt(now);
+    entity.setExpiresAt(now.plus(jwtProperties.getRefreshTokenValidity()));
+    refreshTokenRepo.save(entity);
+    var accessToken = jwtGenerator.generateToken(user,
+        tokenRevocationService.getUserVersion(user.getId()));
+    return new TokenDtoResponse(accessToken, refreshToken, "Bearer",
+        jwtProperties.getAccessTokenValidity().toSeconds());
+  }
+
+  private static String generateRefreshToken() {
+    var bytes = new byte[REFRESH_TOKEN_BYTES];
+    RANDOM.nextBytes(bytes);
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+  }
+}
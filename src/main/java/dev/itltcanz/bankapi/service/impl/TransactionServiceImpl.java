@@ -1,22 +1,45 @@
 package dev.itltcanz.bankapi.service.impl;
 
+import dev.itltcanz.bankapi.cache.CacheInvalidator;
+import dev.itltcanz.bankapi.cache.CacheReads;
+import dev.itltcanz.bankapi.cache.Owned;
+import dev.itltcanz.bankapi.dto.transaction.TransactionBatchItemResponse;
 import dev.itltcanz.bankapi.dto.transaction.TransactionDtoCreate;
 import dev.itltcanz.bankapi.dto.transaction.TransactionDtoResponse;
+import dev.itltcanz.bankapi.dto.transaction.TransactionStatusDtoResponse;
+import dev.itltcanz.bankapi.entity.Card;
 import dev.itltcanz.bankapi.entity.Transaction;
 import dev.itltcanz.bankapi.entity.enumeration.TransactionStatus;
+import dev.itltcanz.bankapi.exception.InactiveCardException;
+import dev.itltcanz.bankapi.exception.InsufficientFundsException;
 import dev.itltcanz.bankapi.exception.NotFoundException;
+import dev.itltcanz.bankapi.mapper.TransactionMapper;
 import dev.itltcanz.bankapi.repository.TransactionRepo;
 import dev.itltcanz.bankapi.service.AuthService;
+import dev.itltcanz.bankapi.service.IdempotencyService;
+import dev.itltcanz.bankapi.service.LedgerService;
 import dev.itltcanz.bankapi.service.TransactionService;
+import dev.itltcanz.bankapi.transfer.TransferStep;
+import dev.itltcanz.bankapi.transfer.TransferStep.Phase;
+import dev.itltcanz.bankapi.transfer.TransferSubmittedEvent;
+import dev.itltcanz.bankapi.util.HashUtils;
+import dev.itltcanz.bankapi.util.HibernateUtils;
 import jakarta.transaction.Transactional;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
-import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 
 @Service("transactionService")
@@ -28,14 +51,47 @@ public class TransactionServiceImpl implements TransactionService {
   private final AuthService authService;
   private final PermissionServiceImpl permissionService;
   private final BalanceServiceImpl balanceService;
-  private final ModelMapper modelMapper;
+  private final IdempotencyService idempotencyService;
+  private final LedgerService ledgerService;
+  private final ApplicationEventPublisher eventPublisher;
+  private final TransactionMapper transactionMapper;
+  private final CacheInvalidator cacheInvalidator;
+  private final CacheManager cacheManager;
 
   @Override
   @Transactional
-  @CacheEvict(value = "{adminTransactions, userTransactions}")
   public TransactionDtoResponse createTransaction(TransactionDtoCreate transactionDto) {
-    var senderCard = cardService.findByIdWithPermissionCheck(transactionDto.getSenderCardId());
-    var receiverCard = cardService.findByIdWithPermissionCheck(transactionDto.getReceiverCardId());
+    return createTransaction(transactionDto, null);
+  }
+
+  @Override
+  @Transactional
+  public TransactionDtoResponse createTransaction(TransactionDtoCreate transactionDto,
+      String idempotencyKey) {
+    UUID userId = null;
+    String requestHash = null;
+    if (idempotencyKey != null) {
+      userId = authService.getCurrentPrincipal().id();
+      requestHash = HashUtils.sha256Hex(transactionDto.getSenderCardId() + ":"
+          + transactionDto.getReceiverCardId() + ":"
+          + transactionDto.getAmount().getMinorUnits());
+      var transactionId = idempotencyService.findTransactionId(userId, idempotencyKey,
+          requestHash);
+      if (transactionId.isPresent()) {
+        return transactionMapper.toResponse(findById(transactionId.get().toString()));
+      }
+    }
+
+    var senderCardId = transactionDto.getSenderCardId();
+    var receiverCardId = transactionDto.getReceiverCardId();
+    if (senderCardId.equals(receiverCardId)) {
+      throw new IllegalArgumentException("The sender and receiver cards must be different");
+    }
+    var cards = cardService.findAllForUpdate(List.of(senderCardId, receiverCardId));
+    var senderCard = cards.get(senderCardId);
+    var receiverCard = cards.get(receiverCardId);
+    permissionService.hasRights(senderCard.getOwner().getId().toString());
+    permissionService.hasRights(receiverCard.getOwner().getId().toString());
 
     balanceService.transferFunds(senderCard, receiverCard, transactionDto.getAmount());
 
@@ -44,37 +100,246 @@ public class TransactionServiceImpl implements TransactionService {
         .createdAt(LocalDateTime.now()).build();
 
     var savedTransaction = transactionRepo.save(transaction);
-    return modelMapper.map(savedTransaction, TransactionDtoResponse.class);
+    ledgerService.recordTransfer(savedTransaction);
+    cacheInvalidator.transactionChanged(savedTransaction.getId(),
+        senderCard.getOwner().getId());
+    if (idempotencyKey != null) {
+      idempotencyService.register(userId, idempotencyKey, requestHash, savedTransaction.getId());
+    }
+    return transactionMapper.toResponse(savedTransaction);
   }
 
   @Override
-  @Cacheable(value = "transaction", key = "#transactionId")
-  public TransactionDtoResponse getTransactionById(String transactionId) {
+  @Transactional
+  public List<TransactionBatchItemResponse> createTransactions(
+      List<TransactionDtoCreate> transactionDtos) {
+    var cardIds = new HashSet<String>();
+    for (var dto : transactionDtos) {
+      cardIds.add(dto.getSenderCardId());
+      cardIds.add(dto.getReceiverCardId());
+    }
+    var cards = cardService.findExistingForUpdate(cardIds);
+    var ownerAccess = new HashMap<UUID, Boolean>();
+
+    var results = new ArrayList<TransactionBatchItemResponse>(transactionDtos.size());
+    for (int i = 0; i < transactionDtos.size(); i++) {
+      var dto = transactionDtos.get(i);
+      try {
+        if (dto.getSenderCardId().equals(dto.getReceiverCardId())) {
+          throw new IllegalArgumentException("The sender and receiver cards must be different");
+        }
+        var senderCard = getBatchCard(cards, ownerAccess, dto.getSenderCardId());
+        var receiverCard = getBatchCard(cards, ownerAccess, dto.getReceiverCardId());
+        balanceService.transferFunds(senderCard, receiverCard, dto.getAmount());
+        var transaction = transactionRepo.save(Transaction.builder().senderCard(senderCard)
+            .receiverCard(receiverCard).amount(dto.getAmount())
+            .status(TransactionStatus.COMPLETED).createdAt(LocalDateTime.now()).build());
+        ledgerService.recordTransfer(transaction);
+        cacheInvalidator.transactionChanged(transaction.getId(), senderCard.getOwner().getId());
+        results.add(new TransactionBatchItemResponse(i, TransactionStatus.COMPLETED,
+            transactionMapper.toResponse(transaction), null));
+      } catch (NotFoundException | AccessDeniedException | IllegalArgumentException
+               | InactiveCardException | InsufficientFundsException e) {
+        results.add(new TransactionBatchItemResponse(i, TransactionStatus.FAILED, null,
+            e.getMessage()));
+      }
+    }
+
+    return results;
+  }
+
+  /**
+   * Resolves a card locked for a batch and checks access to it, asking the permission service
+   * only once per card owner.
+   *
+   * @param cards       The locked cards of the batch.
+   * @param ownerAccess The permission decisions made so far, keyed by owner ID.
+   * @param cardId      The ID of the card.
+   * @return The card entity.
+   * @throws NotFoundException     if the card is not found.
+   * @throws AccessDeniedException if the current user lacks access to the card.
+   */
+  private Card getBatchCard(Map<String, Card> cards, Map<UUID, Boolean> ownerAccess,
+      String cardId) {
+    var card = cards.get(cardId);
+    if (card == null) {
+      throw new NotFoundException("A card with the number " + cardId + " has not been found.");
+    }
+    var ownerId = card.getOwner().getId();
+    var allowed = ownerAccess.computeIfAbsent(ownerId, id -> {
+      try {
+        permissionService.hasRights(id.toString());
+        return true;
+      } catch (AccessDeniedException e) {
+        return false;
+      }
+    });
+    if (!allowed) {
+      throw new AccessDeniedException("Access denied");
+    }
+    return card;
+  }
+
+  @Override
+  @Transactional
+  public TransactionDtoResponse submitTransaction(TransactionDtoCreate transactionDto) {
+    var senderCardId = transactionDto.getSenderCardId();
+    var receiverCardId = transactionDto.getReceiverCardId();
+    if (senderCardId.equals(receiverCardId)) {
+      throw new IllegalArgumentException("The sender and receiver cards must be different");
+    }
+    var senderCard = cardService.findByIdWithPermissionCheck(senderCardId);
+    var receiverCard = cardService.findByIdWithPermissionCheck(receiverCardId);
+
+    var transaction = Transaction.builder().senderCard(senderCard).receiverCard(receiverCard)
+        .amount(transactionDto.getAmount()).status(TransactionStatus.PENDING)
+        .createdAt(LocalDateTime.now()).build();
+    var savedTransaction = transactionRepo.save(transaction);
+    cacheInvalidator.transactionChanged(savedTransaction.getId(),
+        senderCard.getOwner().getId());
+    eventPublisher.publishEvent(new TransferSubmittedEvent(savedTransaction.getId(),
+        senderCardId, receiverCardId));
+    return transactionMapper.toResponse(savedTransaction);
+  }
+
+  @Override
+  @Transactional
+  public List<TransferStep> processTransferSteps(List<TransferStep> steps) {
+    // Lock the cards before loading the transactions, so that the card entities they reference
+    // are read after the lock and carry the current balances.
+    var transactionIds = new HashSet<UUID>();
+    var cardIds = new HashSet<String>();
+    for (var step : steps) {
+      transactionIds.add(step.transactionId());
+      if (step.phase() != Phase.CREDIT) {
+        cardIds.add(step.senderCardNumber());
+      }
+      if (step.phase() != Phase.DEBIT) {
+        cardIds.add(step.receiverCardNumber());
+      }
+    }
+    cardService.findExistingForUpdate(cardIds);
+    var transactions = new HashMap<UUID, Transaction>();
+    for (var transaction : transactionRepo.findAllByIdInForUpdate(transactionIds)) {
+      transactions.put(transaction.getId(), transaction);
+    }
+
+    var creditSteps = new ArrayList<TransferStep>();
+    for (var step : steps) {
+      var transaction = transactions.get(step.transactionId());
+      if (transaction == null) {
+        continue;
+      }
+      var status = transaction.getStatus();
+      if (step.phase() == Phase.CREDIT) {
+        if (status == TransactionStatus.DEBITED) {
+          balanceService.credit(transaction.getReceiverCard(), transaction.getAmount());
+          ledgerService.recordCredit(transaction);
+          transaction.setStatus(TransactionStatus.COMPLETED);
+        }
+      } else if (status == TransactionStatus.PENDING) {
+        try {
+          if (step.phase() == Phase.TRANSFER) {
+            balanceService.transferFunds(transaction.getSenderCard(),
+                transaction.getReceiverCard(), transaction.getAmount());
+            ledgerService.recordTransfer(transaction);
+            transaction.setStatus(TransactionStatus.COMPLETED);
+          } else {
+            balanceService.debit(transaction.getSenderCard(), transaction.getReceiverCard(),
+                transaction.getAmount());
+            ledgerService.recordDebit(transaction);
+            transaction.setStatus(TransactionStatus.DEBITED);
+            creditSteps.add(step.withPhase(Phase.CREDIT));
+          }
+        } catch (InactiveCardException | InsufficientFundsException e) {
+          transaction.setStatus(TransactionStatus.FAILED);
+          transaction.setFailureReason(e.getMessage());
+        }
+      }
+      if (transaction.getStatus() != status) {
+        cacheInvalidator.transactionChanged(transaction.getId(),
+            HibernateUtils.getId(transaction.getSenderCard().getOwner()));
+      }
+    }
+    return creditSteps;
+  }
+
+  @Override
+  @Transactional
+  public void failTransferStep(TransferStep step, String reason) {
+    // Same lock order as processTransferSteps: the card first, then the transaction.
+    var senderCard = cardService.findExistingForUpdate(Set.of(step.senderCardNumber()))
+        .get(step.senderCardNumber());
+    var transaction = transactionRepo.findAllByIdInForUpdate(Set.of(step.transactionId()))
+        .stream().findFirst().orElse(null);
+    if (transaction == null) {
+      return;
+    }
+    var status = transaction.getStatus();
+    if (status != TransactionStatus.PENDING && status != TransactionStatus.DEBITED) {
+      return;
+    }
+    if (status == TransactionStatus.DEBITED && senderCard != null) {
+      balanceService.credit(senderCard, transaction.getAmount());
+      ledgerService.recordRefund(transaction);
+    }
+    transaction.setStatus(TransactionStatus.FAILED);
+    transaction.setFailureReason(reason);
+    cacheInvalidator.transactionChanged(transaction.getId(),
+        HibernateUtils.getId(transaction.getSenderCard().getOwner()));
+  }
+
+  @Override
+  public List<TransferStep> findUnfinishedTransferSteps(LocalDateTime createdBefore, int limit) {
+    return transactionRepo.findTransferCardsByStatusInAndCreatedAtBefore(
+            List.of(TransactionStatus.PENDING, TransactionStatus.DEBITED), createdBefore,
+            PageRequest.of(0, limit)).stream()
+        .map(transfer -> new TransferStep(transfer.getId(),
+            transfer.getStatus() == TransactionStatus.DEBITED ? Phase.CREDIT : Phase.DEBIT,
+            transfer.getSenderCardNumber(), transfer.getReceiverCardNumber()))
+        .toList();
+  }
+
+  @Override
+  public TransactionStatusDtoResponse getTransactionStatus(String transactionId) {
     var transaction = findByIdWithPermissionCheck(transactionId);
-    return modelMapper.map(transaction, TransactionDtoResponse.class);
+    return new TransactionStatusDtoResponse(transaction.getId().toString(),
+        transaction.getStatus(), transaction.getFailureReason());
+  }
+
+  @Override
+  public TransactionDtoResponse getTransactionById(String transactionId) {
+    var transaction = CacheReads.get(cacheManager, CacheInvalidator.TRANSACTION, transactionId,
+        () -> {
+          var entity = findById(transactionId);
+          return new Owned<>(HibernateUtils.getIdAsString(entity.getSenderCard().getOwner()),
+              transactionMapper.toResponse(entity));
+        });
+    permissionService.hasRights(transaction.ownerId());
+    return transaction.value();
   }
 
   @Override
   @Cacheable(
       value = "adminTransactions",
-      key = "#pageable.pageNumber + '-' + #pageable.pageSize"
+      key = "#pageable.pageNumber + '-' + #pageable.pageSize",
+      sync = true
   )
   public Page<TransactionDtoResponse> getAdminTransactions(PageRequest pageable) {
     var transactions = transactionRepo.findAll(pageable);
-    return transactions.map(
-        transaction -> modelMapper.map(transaction, TransactionDtoResponse.class));
+    return transactions.map(transactionMapper::toResponse);
   }
 
   @Override
   @Cacheable(
       value = "userTransactions",
-      key = "@authService.currentUser().id + '-' + #pageable.pageNumber + '-' + #pageable.pageSize"
+      key = "@authService.getCurrentPrincipal().id() + ':' + #pageable.pageNumber + '-' + #pageable.pageSize",
+      sync = true
   )
   public Page<TransactionDtoResponse> getUserTransactions(PageRequest pageable) {
-    var currentUser = authService.getCurrentUser();
-    var transactions = transactionRepo.findTransactionsBySenderCard_Owner(currentUser, pageable);
-    return transactions.map(
-        transaction -> modelMapper.map(transaction, TransactionDtoResponse.class));
+    var userId = authService.getCurrentPrincipal().id();
+    var transactions = transactionRepo.findTransactionsBySenderCard_Owner_Id(userId, pageable);
+    return transactions.map(transactionMapper::toResponse);
   }
 
   @Override
@@ -6,11 +6,15 @@ import dev.itltcanz.bankapi.dto.user.UserDtoResponse;
 import dev.itltcanz.bankapi.entity.User;
 import dev.itltcanz.bankapi.exception.NotFoundException;
 import dev.itltcanz.bankapi.exception.UsernameAlreadyUseException;
+import dev.itltcanz.bankapi.mapper.UserMapper;
 import dev.itltcanz.bankapi.repository.UserRepo;
+import dev.itltcanz.bankapi.security.UserDetailsInvalidatedEvent;
+import dev.itltcanz.bankapi.service.TokenService;
 import dev.itltcanz.bankapi.service.UserService;
+import jakarta.transaction.Transactional;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -21,8 +25,10 @@ import org.springframework.stereotype.Service;
 public class UserServiceImpl implements UserService {
 
   private final UserRepo userRepo;
-  private final ModelMapper modelMapper;
+  private final UserMapper userMapper;
   private final PasswordEncoder passwordEncoder;
+  private final ApplicationEventPublisher eventPublisher;
+  private final TokenService tokenService;
 
   @Override
   public UserDtoResponse createUser(UserDtoCreate userDto) {
@@ -35,34 +41,45 @@ public class UserServiceImpl implements UserService {
     user.setPassword(passwordEncoder.encode(userDto.getPassword()));
     user.setRole(userDto.getRole());
     var savedUser = userRepo.save(user);
-    return modelMapper.map(savedUser, UserDtoResponse.class);
+    eventPublisher.publishEvent(new UserDetailsInvalidatedEvent(savedUser.getUsername()));
+    return userMapper.toResponse(savedUser);
   }
 
   @Override
   public Page<UserDtoResponse> getUsers(PageRequest pageable) {
     var userPage = userRepo.findAll(pageable);
-    return userPage.map(user -> modelMapper.map(user, UserDtoResponse.class));
+    return userPage.map(userMapper::toResponse);
   }
 
   @Override
+  @Transactional
   public void deleteUser(String userId) {
     var user = userRepo.findById(UUID.fromString(userId))
         .orElseThrow(() -> new NotFoundException("User with id " + userId + " not found"));
     userRepo.delete(user);
+    tokenService.revokeAccessTokens(user.getId());
+    eventPublisher.publishEvent(new UserDetailsInvalidatedEvent(user.getUsername()));
   }
 
   @Override
+  @Transactional
   public UserDtoResponse updateUser(String userId, UserDto userDto) {
     var user = findUserById(userId);
     if (userRepo.existsByUsername(userDto.getUsername())) {
       throw new UsernameAlreadyUseException(
           "Username " + userDto.getUsername() + " is already in use");
     }
+    var previousUsername = user.getUsername();
     user.setUsername(userDto.getUsername());
     user.setPassword(passwordEncoder.encode(userDto.getPassword()));
     user.setRole(userDto.getRole());
     var savedUser = userRepo.save(user);
-    return modelMapper.map(savedUser, UserDtoResponse.class);
+    // The username and password are always replaced, so tokens issued under the old credentials
+    // and role must not outlive them.
+    tokenService.revokeAll(savedUser.getId());
+    eventPublisher.publishEvent(new UserDetailsInvalidatedEvent(previousUsername));
+    eventPublisher.publishEvent(new UserDetailsInvalidatedEvent(savedUser.getUsername()));
+    return userMapper.toResponse(savedUser);
   }
 
   @Override
@@ -73,6 +90,6 @@ public class UserServiceImpl implements UserService {
 
   @Override
   public UserDtoResponse getUserById(String userId) {
-    return modelMapper.map(findUserById(userId), UserDtoResponse.class);
+    return userMapper.toResponse(findUserById(userId));
   }
 }
\ No newline at end of file
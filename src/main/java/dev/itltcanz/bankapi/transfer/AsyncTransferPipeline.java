@@ -0,0 +1,219 @@
+package dev.itltcanz.bankapi.transfer;
+
+import dev.itltcanz.bankapi.config.TransferProperties;
+import dev.itltcanz.bankapi.service.TransactionService;
+import dev.itltcanz.bankapi.transfer.TransferStep.Phase;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Applies pending transactions asynchronously on a fixed number of single-threaded lanes. Every
+ * card is owned by the lane its number hashes to and only that lane modifies it, so transfers
+ * touching a hot card queue up in memory instead of on its row lock, and a lane applies its
+ * queue in micro-batches that lock and write every card once per batch.
+ *
+ * <p>A transfer whose cards belong to different lanes runs in two ordered steps: the sender's
+ * lane checks both cards and withdraws the amount (DEBITED), then hands a credit step to the
+ * receiver's lane, which deposits it (COMPLETED).
+ *
+ * <p>The database row is the source of truth: a step that is rejected by a full lane, lost in a
+ * restart or given up after too many lock conflicts leaves its transaction PENDING or DEBITED,
+ * and the recovery sweep queues it again. A step that fails on its own with an unexpected error
+ * more than {@code max-step-failures} times marks its transaction FAILED instead.
+ */
+@Slf4j
+@Component
+public class AsyncTransferPipeline {
+
+  private final TransactionService transactionService;
+  private final TransferRetryExecutor transferRetryExecutor;
+  private final TransferProperties.Async properties;
+  private final List<Lane> lanes;
+  private final DistributionSummary flushSize;
+  /**
+   * Unexpected failures of single steps, by transaction. A step and its requeued copies may run
+   * on different lanes, hence the concurrent map.
+   */
+  private final Map<UUID, Integer> stepFailures = new ConcurrentHashMap<>();
+
+  public AsyncTransferPipeline(TransactionService transactionService,
+      TransferRetryExecutor transferRetryExecutor, TransferProperties transferProperties,
+      MeterRegistry meterRegistry) {
+    this.transactionService = transactionService;
+    this.transferRetryExecutor = transferRetryExecutor;
+    this.properties = transferProperties.getAsync();
+    this.flushSize = DistributionSummary.builder("bank.transfer.lane.flush.size")
+        .description("Transfer steps applied in one database transaction by a lane")
+        .register(meterRegistry);
+    this.lanes = new ArrayList<>(properties.getLanes());
+    for (int i = 0; i < properties.getLanes(); i++) {
+      var lane = new Lane(i, new ArrayBlockingQueue<>(properties.getQueueCapacity()));
+      Gauge.builder("bank.transfer.lane.queue", lane.queue, BlockingQueue::size)
+          .description("Transfer steps waiting in a lane")
+          .tag("lane", String.valueOf(i))
+          .register(meterRegistry);
+      lanes.add(lane);
+      lane.start();
+    }
+  }
+
+  /**
+   * Queues a transfer once the transaction that stored it has committed.
+   *
+   * @param event The submitted transfer.
+   */
+  @TransactionalEventListener
+  public void onTransferSubmitted(TransferSubmittedEvent event) {
+    route(new TransferStep(event.transactionId(), Phase.DEBIT, event.senderCardNumber(),
+        event.receiverCardNumber()));
+  }
+
+  /**
+   * Queues transfers that were left unfinished by a previous run of the application.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void recoverOnStartup() {
+    requeueUnfinished(LocalDateTime.now());
+  }
+
+  /**
+   * Queues transfers that have been unfinished for longer than expected.
+   */
+  @Scheduled(fixedDelayString = "${bank.transfer.async.recovery-interval:PT1M}")
+  public void recoverStale() {
+    requeueUnfinished(LocalDateTime.now().minus(properties.getStaleAfter()));
+  }
+
+  @PreDestroy
+  public void shutdown() throws InterruptedException {
+    for (var lane : lanes) {
+      lane.interrupt();
+    }
+    for (var lane : lanes) {
+      lane.join(10_000);
+    }
+  }
+
+  /**
+   * Queues a step on the lane owning the card it modifies. A debit whose receiver card belongs to
+   * the same lane is turned into a full transfer.
+   *
+   * @param step The step to queue.
+   * @return Whether the lane accepted the step.
+   */
+  boolean route(TransferStep step) {
+    var lane = laneOf(step.ownerCardNumber());
+    if (step.phase() == Phase.DEBIT && lane == laneOf(step.receiverCardNumber())) {
+      step = step.withPhase(Phase.TRANSFER);
+    }
+    if (!lane.queue.offer(step)) {
+      log.warn("Transfer lane {} is full, transaction {} will be picked up by the recovery sweep",
+          lane.index, step.transactionId());
+      return false;
+    }
+    return true;
+  }
+
+  private Lane laneOf(String cardNumber) {
+    return lanes.get(Math.floorMod(cardNumber.hashCode(), lanes.size()));
+  }
+
+  private void requeueUnfinished(LocalDateTime createdBefore) {
+    var capacity = lanes.stream().mapToInt(lane -> lane.queue.remainingCapacity()).min()
+        .orElse(0);
+    if (capacity == 0) {
+      return;
+    }
+    var steps = transactionService.findUnfinishedTransferSteps(createdBefore, capacity);
+    if (!steps.isEmpty()) {
+      log.info("Re-queuing {} unfinished transfers", steps.size());
+      steps.forEach(this::route);
+    }
+  }
+
+  private final class Lane extends Thread {
+
+    private final int index;
+    private final BlockingQueue<TransferStep> queue;
+
+    private Lane(int index, BlockingQueue<TransferStep> queue) {
+      super("transfer-lane-" + index);
+      this.index = index;
+      this.queue = queue;
+      setDaemon(true);
+    }
+
+    @Override
+    public void run() {
+      while (!isInterrupted()) {
+        // A new list per batch, since the steps are handed over and may be kept by the callee.
+        var batch = new ArrayList<TransferStep>(properties.getMaxBatchSize());
+        try {
+          batch.add(queue.take());
+        } catch (InterruptedException e) {
+          return;
+        }
+        queue.drainTo(batch, properties.getMaxBatchSize() - 1);
+        flush(batch);
+      }
+    }
+
+    private void flush(List<TransferStep> batch) {
+      flushSize.record(batch.size());
+      try {
+        transferRetryExecutor.execute(() -> transactionService.processTransferSteps(batch))
+            .forEach(AsyncTransferPipeline.this::route);
+        if (!stepFailures.isEmpty()) {
+          batch.forEach(step -> stepFailures.remove(step.transactionId()));
+        }
+      } catch (RuntimeException e) {
+        if (batch.size() == 1) {
+          stepFailed(batch.get(0), e);
+          return;
+        }
+        // Isolate the step that broke the batch by applying the steps one by one.
+        log.warn("Batch of {} transfer steps failed, retrying them one by one", batch.size(), e);
+        for (var step : batch) {
+          flush(List.of(step));
+        }
+      }
+    }
+
+    private void stepFailed(TransferStep step, RuntimeException e) {
+      var transactionId = step.transactionId();
+      // Lock conflicts are transient and are not held against the transfer.
+      var failures = e instanceof ConcurrencyFailureException
+          ? stepFailures.getOrDefault(transactionId, 0)
+          : stepFailures.merge(transactionId, 1, Integer::sum);
+      if (failures < properties.getMaxStepFailures()) {
+        log.error("Transaction {} could not be processed and stays unfinished", transactionId, e);
+        return;
+      }
+      log.error("Transaction {} failed {} times and is given up", transactionId, failures, e);
+      try {
+        transactionService.failTransferStep(step,
+            "The transfer could not be processed, please try again later");
+        stepFailures.remove(transactionId);
+      } catch (RuntimeException failure) {
+        log.error("Transaction {} could not be marked as failed", transactionId, failure);
+      }
+    }
+  }
+}
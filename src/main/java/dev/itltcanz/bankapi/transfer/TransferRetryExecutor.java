@@ -0,0 +1,76 @@
+package dev.itltcanz.bankapi.transfer;
+
+import dev.itltcanz.bankapi.config.TransferProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Re-runs a transactional transfer when it loses a race on a card row, either through a stale
+ * version (optimistic mode) or a lock timeout/deadlock (pessimistic mode). Each attempt must start
+ * a new transaction so that the cards are re-read.
+ */
+@Slf4j
+@Component
+public class TransferRetryExecutor {
+
+  private final TransferProperties.Retry retry;
+  private final Counter retries;
+  private final Counter exhausted;
+
+  public TransferRetryExecutor(TransferProperties properties, MeterRegistry meterRegistry) {
+    this.retry = properties.getRetry();
+    this.retries = Counter.builder("bank.transfer.retries")
+        .description("Transfers re-run after a concurrent card update")
+        .register(meterRegistry);
+    this.exhausted = Counter.builder("bank.transfer.retries.exhausted")
+        .description("Transfers given up after the maximum number of attempts")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Runs the transfer, retrying it with jittered exponential backoff on concurrency failures.
+   *
+   * @param transfer The transfer to run; must open its own transaction.
+   * @param <T>      The type of the transfer result.
+   * @return The result of the first successful attempt.
+   * @throws ConcurrencyFailureException if all attempts failed.
+   */
+  public <T> T execute(Supplier<T> transfer) {
+    for (int attempt = 1; ; attempt++) {
+      try {
+        return transfer.get();
+      } catch (ConcurrencyFailureException e) {
+        if (attempt >= retry.getMaxAttempts()) {
+          exhausted.increment();
+          throw e;
+        }
+        retries.increment();
+        log.debug("Transfer attempt {} lost a concurrent update, retrying: {}", attempt,
+            e.getMessage());
+        backOff(attempt, e);
+      }
+    }
+  }
+
+  /**
+   * Sleeps for a random time between zero and the exponential backoff ceiling of the attempt.
+   *
+   * @param attempt The number of the failed attempt.
+   * @param cause   The failure to rethrow if the thread is interrupted.
+   */
+  private void backOff(int attempt, ConcurrencyFailureException cause) {
+    var ceiling = Math.min(retry.getMaxBackoff().toMillis(),
+        retry.getInitialBackoff().toMillis() << Math.min(attempt - 1, 20));
+    try {
+      Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw cause;
+    }
+  }
+}
@@ -0,0 +1,43 @@
+package dev.itltcanz.bankapi.transfer;
+
+import java.util.UUID;
+
+/**
+ * A unit of work of the asynchronous transfer pipeline.
+ *
+ * @param transactionId      The ID of the transaction.
+ * @param phase              What to do with the transaction.
+ * @param senderCardNumber   The number of the sender card.
+ * @param receiverCardNumber The number of the receiver card.
+ */
+public record TransferStep(UUID transactionId, Phase phase, String senderCardNumber,
+                           String receiverCardNumber) {
+
+  /**
+   * The number of the only card this step modifies, or of the sender card for a full transfer.
+   *
+   * @return The card number the step is routed by.
+   */
+  public String ownerCardNumber() {
+    return phase == Phase.CREDIT ? receiverCardNumber : senderCardNumber;
+  }
+
+  public TransferStep withPhase(Phase phase) {
+    return new TransferStep(transactionId, phase, senderCardNumber, receiverCardNumber);
+  }
+
+  public enum Phase {
+    /**
+     * Check both cards and withdraw from the sender card: PENDING to DEBITED.
+     */
+    DEBIT,
+    /**
+     * Deposit to the receiver card: DEBITED to COMPLETED.
+     */
+    CREDIT,
+    /**
+     * Both steps at once, used when both cards belong to the same lane: PENDING to COMPLETED.
+     */
+    TRANSFER
+  }
+}
@@ -0,0 +1,15 @@
+package dev.itltcanz.bankapi.transfer;
+
+import java.util.UUID;
+
+/**
+ * Published when a pending transaction has been stored and is waiting for a transfer worker.
+ *
+ * @param transactionId      The ID of the pending transaction.
+ * @param senderCardNumber   The number of the sender card.
+ * @param receiverCardNumber The number of the receiver card.
+ */
+public record TransferSubmittedEvent(UUID transactionId, String senderCardNumber,
+                                     String receiverCardNumber) {
+
+}
@@ -0,0 +1,93 @@
+package dev.itltcanz.bankapi.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe Bloom filter of strings. {@link #mightContain(String)} never returns {@code false}
+ * for a value that was put, and returns {@code true} for a value that was not put with roughly the
+ * configured probability as long as no more than the expected number of values were put.
+ * Values cannot be removed; a filter is rebuilt instead.
+ */
+public final class BloomFilter {
+
+  private final AtomicLongArray words;
+  private final long bitCount;
+  private final int hashCount;
+
+  /**
+   * Creates an empty filter sized for the expected number of values.
+   *
+   * @param expectedInsertions       The number of values expected to be put.
+   * @param falsePositiveProbability The acceptable false positive probability at that number.
+   * @throws IllegalArgumentException If the number is not positive or the probability is not
+   *                                  between 0 and 1.
+   */
+  public BloomFilter(long expectedInsertions, double falsePositiveProbability) {
+    if (expectedInsertions <= 0) {
+      throw new IllegalArgumentException("The expected number of insertions must be positive");
+    }
+    if (falsePositiveProbability <= 0 || falsePositiveProbability >= 1) {
+      throw new IllegalArgumentException("The false positive probability must be between 0 and 1");
+    }
+    var optimalBits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveProbability)
+        / (Math.log(2) * Math.log(2)));
+    var wordCount = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (optimalBits + 63) / 64));
+    this.words = new AtomicLongArray(wordCount);
+    this.bitCount = wordCount * 64L;
+    this.hashCount = Math.max(1,
+        (int) Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+  }
+
+  /**
+   * Adds a value.
+   *
+   * @param value The value.
+   */
+  public void put(String value) {
+    var hash1 = mix(fnv1a(value));
+    var hash2 = mix(hash1 + 0x9E3779B97F4A7C15L) | 1;
+    for (int i = 0; i < hashCount; i++) {
+      var index = Long.remainderUnsigned(hash1 + i * hash2, bitCount);
+      words.accumulateAndGet((int) (index >>> 6), 1L << index, (word, bit) -> word | bit);
+    }
+  }
+
+  /**
+   * Tells whether a value may have been put.
+   *
+   * @param value The value.
+   * @return {@code false} if the value was definitely not put.
+   */
+  public boolean mightContain(String value) {
+    var hash1 = mix(fnv1a(value));
+    var hash2 = mix(hash1 + 0x9E3779B97F4A7C15L) | 1;
+    for (int i = 0; i < hashCount; i++) {
+      var index = Long.remainderUnsigned(hash1 + i * hash2, bitCount);
+      if ((words.get((int) (index >>> 6)) & (1L << index)) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static long fnv1a(String value) {
+    var hash = 0xCBF29CE484222325L;
+    for (int i = 0; i < value.length(); i++) {
+      hash ^= value.charAt(i);
+      hash *= 0x100000001B3L;
+    }
+    return hash;
+  }
+
+  /**
+   * The 64-bit finalizer of MurmurHash3, spreading the FNV hash over all bits.
+   */
+  private static long mix(long hash) {
+    hash ^= hash >>> 33;
+    hash *= 0xFF51AFD7ED558CCDL;
+    hash ^= hash >>> 33;
+    hash *= 0xC4CEB9FE1A85EC53L;
+    hash ^= hash >>> 33;
+    return hash;
+  }
+}
@@ -0,0 +1,30 @@
+package dev.itltcanz.bankapi.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Utility class for hashing values that must not be stored or compared in clear text.
+ */
+public final class HashUtils {
+
+  private HashUtils() {
+  }
+
+  /**
+   * Calculates the SHA-256 digest of a string.
+   *
+   * @param value The value to hash.
+   * @return The digest as a lowercase hex string.
+   */
+  public static String sha256Hex(String value) {
+    try {
+      var digest = MessageDigest.getInstance("SHA-256");
+      return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not supported by the JVM", e);
+    }
+  }
+}
@@ -1,53 +1,62 @@
 package dev.itltcanz.bankapi.util;
 
 import dev.itltcanz.bankapi.entity.Card;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
-import java.util.UUID;
-import org.hibernate.Hibernate;
+import dev.itltcanz.bankapi.entity.Identifiable;
+import org.hibernate.proxy.HibernateProxy;
 
 /**
- * Utility class for Hibernate-related operations, such as checking initialization and extracting
- * IDs.
+ * Utility class for reading the IDs of associated entities. An ID is read from the lazy initializer
+ * when the association is a Hibernate proxy, so none of these methods initializes a proxy or issues
+ * SQL.
  */
 public final class HibernateUtils {
 
-  /**
-   * Checks if an object is non-null and initialized by Hibernate.
-   *
-   * @param obj The object to check.
-   * @return {@code true} if the object is non-null and initialized; {@code false} otherwise.
-   */
-  public static boolean isSafe(Object obj) {
-    return obj != null && Hibernate.isInitialized(obj);
+  private HibernateUtils() {
   }
 
   /**
-   * Retrieves the ID of an object as a string by invoking its getId method.
+   * Retrieves the ID of an entity, taking it from the lazy initializer if the entity is an
+   * uninitialized or initialized proxy.
    *
-   * @param obj The object whose ID is to be retrieved.
-   * @return The ID as a string, or {@code null} if the object is not safe or has no getId method.
+   * @param entity The entity, may be {@code null}.
+   * @param <T>    The type of the identifier.
+   * @return The ID, or {@code null} if the entity is {@code null} or has no ID yet.
    */
-  public static String getIdAsString(Object obj) {
-    if (!isSafe(obj)) {
+  @SuppressWarnings("unchecked")
+  public static <T> T getId(Identifiable<T> entity) {
+    if (entity == null) {
       return null;
     }
-    try {
-      Method getId = obj.getClass().getMethod("getId");
-      UUID id = (UUID) getId.invoke(obj);
-      return id != null ? id.toString() : null;
-    } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
-      return null;
+    if (entity instanceof HibernateProxy proxy) {
+      return (T) proxy.getHibernateLazyInitializer().getIdentifier();
     }
+    return entity.getId();
+  }
+
+  /**
+   * Retrieves the ID of an entity as a string.
+   *
+   * @param entity The entity, may be {@code null}.
+   * @return The ID as a string, or {@code null} if the entity is {@code null} or has no ID yet.
+   */
+  public static String getIdAsString(Identifiable<?> entity) {
+    var id = getId(entity);
+    return id != null ? id.toString() : null;
   }
 
   /**
-   * Retrieves the card number from a Card object.
+   * Retrieves the card number, which is the ID of a card.
    *
-   * @param card The Card object.
-   * @return The card number as a string, or {@code null} if the card is not safe.
+   * @param card The card, may be {@code null}.
+   * @return The card number, or {@code null} if the card is {@code null}.
    */
   public static String getCardNumber(Card card) {
-    return isSafe(card) ? card.getNumber() : null;
+    if (card == null) {
+      return null;
+    }
+    if (card instanceof HibernateProxy proxy) {
+      return (String) proxy.getHibernateLazyInitializer().getIdentifier();
+    }
+    return card.getNumber();
   }
-}
\ No newline at end of file
+}
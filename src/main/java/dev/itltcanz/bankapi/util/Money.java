@@ -0,0 +1,172 @@
+package dev.itltcanz.bankapi.util;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.io.Serial;
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+/**
+ * Immutable amount of money stored as a {@code long} number of minor units (cents), matching the
+ * scale of the {@code decimal(19,2)} balance and amount columns. Arithmetic is overflow-checked
+ * and does not allocate intermediate {@link BigDecimal} instances; conversion to and from
+ * {@link BigDecimal} only happens at the database and JSON boundaries.
+ */
+@JsonSerialize(using = MoneySerializer.class)
+@JsonDeserialize(using = MoneyDeserializer.class)
+@Schema(type = "number", example = "129.99")
+public final class Money implements Comparable<Money>, Serializable {
+
+  @Serial
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * The number of decimal places of an amount.
+   */
+  public static final int SCALE = 2;
+
+  /**
+   * An amount of zero.
+   */
+  public static final Money ZERO = new Money(0);
+
+  private final long minorUnits;
+
+  private Money(long minorUnits) {
+    this.minorUnits = minorUnits;
+  }
+
+  /**
+   * Creates an amount from a number of minor units.
+   *
+   * @param minorUnits The number of minor units.
+   * @return The amount.
+   */
+  public static Money ofMinor(long minorUnits) {
+    return minorUnits == 0 ? ZERO : new Money(minorUnits);
+  }
+
+  /**
+   * Creates an amount from a decimal value.
+   *
+   * @param value The decimal value.
+   * @return The amount.
+   * @throws ArithmeticException If the value has more than {@link #SCALE} decimal places or does
+   *                             not fit into a {@code long} of minor units.
+   */
+  public static Money of(BigDecimal value) {
+    return ofMinor(value.movePointRight(SCALE).longValueExact());
+  }
+
+  /**
+   * Parses an amount from a decimal string such as {@code 12.50}.
+   *
+   * @param value The decimal string.
+   * @return The amount.
+   * @throws NumberFormatException If the string is not a decimal number.
+   * @throws ArithmeticException   If the value has more than {@link #SCALE} decimal places or does
+   *                               not fit into a {@code long} of minor units.
+   */
+  public static Money parse(String value) {
+    return of(new BigDecimal(value));
+  }
+
+  /**
+   * Retrieves the number of minor units of this amount.
+   *
+   * @return The number of minor units.
+   */
+  public long getMinorUnits() {
+    return minorUnits;
+  }
+
+  /**
+   * Adds an amount to this amount.
+   *
+   * @param other The amount to add.
+   * @return The sum.
+   * @throws ArithmeticException If the sum overflows.
+   */
+  public Money plus(Money other) {
+    return ofMinor(Math.addExact(minorUnits, other.minorUnits));
+  }
+
+  /**
+   * Subtracts an amount from this amount.
+   *
+   * @param other The amount to subtract.
+   * @return The difference.
+   * @throws ArithmeticException If the difference overflows.
+   */
+  public Money minus(Money other) {
+    return ofMinor(Math.subtractExact(minorUnits, other.minorUnits));
+  }
+
+  /**
+   * Negates this amount.
+   *
+   * @return The negated amount.
+   * @throws ArithmeticException If this amount cannot be negated without overflow.
+   */
+  public Money negate() {
+    return ofMinor(Math.negateExact(minorUnits));
+  }
+
+  /**
+   * Retrieves the absolute value of this amount.
+   *
+   * @return This amount if it is not negative, otherwise the negated amount.
+   */
+  public Money abs() {
+    return minorUnits < 0 ? negate() : this;
+  }
+
+  /**
+   * Retrieves the sign of this amount.
+   *
+   * @return -1, 0 or 1 as this amount is negative, zero or positive.
+   */
+  public int signum() {
+    return Long.signum(minorUnits);
+  }
+
+  /**
+   * Checks whether this amount is less than another amount.
+   *
+   * @param other The amount to compare with.
+   * @return {@code true} if this amount is less than the other amount.
+   */
+  public boolean isLessThan(Money other) {
+    return minorUnits < other.minorUnits;
+  }
+
+  /**
+   * Converts this amount to a decimal value with a scale of {@link #SCALE}.
+   *
+   * @return The decimal value.
+   */
+  public BigDecimal toBigDecimal() {
+    return BigDecimal.valueOf(minorUnits, SCALE);
+  }
+
+  @Override
+  public int compareTo(Money other) {
+    return Long.compare(minorUnits, other.minorUnits);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    return this == o || o instanceof Money other && minorUnits == other.minorUnits;
+  }
+
+  @Override
+  public int hashCode() {
+    return Long.hashCode(minorUnits);
+  }
+
+  @Override
+  public String toString() {
+    return toBigDecimal().toPlainString();
+  }
+}
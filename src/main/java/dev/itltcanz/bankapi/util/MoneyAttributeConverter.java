@@ -0,0 +1,34 @@
+package dev.itltcanz.bankapi.util;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import java.math.BigDecimal;
+
+/**
+ * JPA converter for mapping Money to a decimal column with a scale of two in the database.
+ */
+@Converter(autoApply = true)
+public class MoneyAttributeConverter implements AttributeConverter<Money, BigDecimal> {
+
+  /**
+   * Converts a Money to a BigDecimal for database storage.
+   *
+   * @param money The Money to convert.
+   * @return The decimal value, or {@code null} if money is null.
+   */
+  @Override
+  public BigDecimal convertToDatabaseColumn(Money money) {
+    return money != null ? money.toBigDecimal() : null;
+  }
+
+  /**
+   * Converts a BigDecimal from the database to a Money.
+   *
+   * @param value The decimal value.
+   * @return The Money, or {@code null} if value is null.
+   */
+  @Override
+  public Money convertToEntityAttribute(BigDecimal value) {
+    return value != null ? Money.of(value) : null;
+  }
+}
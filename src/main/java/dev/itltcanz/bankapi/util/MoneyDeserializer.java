@@ -0,0 +1,50 @@
+package dev.itltcanz.bankapi.util;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+import dev.itltcanz.bankapi.exception.MoneyParseException;
+import java.io.IOException;
+import java.math.BigDecimal;
+
+/**
+ * Jackson deserializer for parsing Money from JSON numbers or decimal strings.
+ */
+public class MoneyDeserializer extends StdScalarDeserializer<Money> {
+
+  /**
+   * Constructs a new MoneyDeserializer.
+   */
+  public MoneyDeserializer() {
+    super(Money.class);
+  }
+
+  /**
+   * Deserializes a JSON number or decimal string to a Money.
+   *
+   * @param jsonParser             The JSON parser.
+   * @param deserializationContext The deserialization context.
+   * @return The parsed Money.
+   * @throws IOException         If an I/O error occurs.
+   * @throws MoneyParseException If the value is not a decimal number, has more than two decimal
+   *                             places or is out of range.
+   */
+  @Override
+  public Money deserialize(JsonParser jsonParser, DeserializationContext deserializationContext)
+      throws IOException {
+    var token = jsonParser.currentToken();
+    if (token != JsonToken.VALUE_NUMBER_INT && token != JsonToken.VALUE_NUMBER_FLOAT
+        && token != JsonToken.VALUE_STRING) {
+      return (Money) deserializationContext.handleUnexpectedToken(Money.class, jsonParser);
+    }
+    String moneyString = jsonParser.getText().trim();
+    try {
+      return Money.of(token == JsonToken.VALUE_STRING
+          ? new BigDecimal(moneyString) : jsonParser.getDecimalValue());
+    } catch (ArithmeticException | NumberFormatException e) {
+      throw new MoneyParseException("Failed to parse amount from '" + moneyString
+          + "'. Expected a decimal number with at most " + Money.SCALE + " decimal places", e);
+    }
+  }
+}
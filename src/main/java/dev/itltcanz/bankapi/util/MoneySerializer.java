@@ -0,0 +1,33 @@
+package dev.itltcanz.bankapi.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdScalarSerializer;
+import java.io.IOException;
+
+/**
+ * Jackson serializer for writing Money as a JSON number with two decimal places.
+ */
+public class MoneySerializer extends StdScalarSerializer<Money> {
+
+  /**
+   * Constructs a new MoneySerializer.
+   */
+  public MoneySerializer() {
+    super(Money.class);
+  }
+
+  /**
+   * Serializes a Money to a JSON number.
+   *
+   * @param money              The Money to serialize.
+   * @param jsonGenerator      The JSON generator.
+   * @param serializerProvider The serializer provider.
+   * @throws IOException If an I/O error occurs.
+   */
+  @Override
+  public void serialize(Money money, JsonGenerator jsonGenerator,
+      SerializerProvider serializerProvider) throws IOException {
+    jsonGenerator.writeNumber(money.toBigDecimal());
+  }
+}
@@ -0,0 +1,38 @@
+package dev.itltcanz.bankapi.util;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Annotation for validating that a Money field or parameter is positive or zero.
+ */
+@Constraint(validatedBy = PositiveOrZeroMoneyValidator.class)
+@Target({ElementType.FIELD, ElementType.PARAMETER})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface PositiveOrZeroMoney {
+
+  /**
+   * The error message to display when validation fails.
+   *
+   * @return The default error message.
+   */
+  String message() default "must be greater than or equal to 0";
+
+  /**
+   * The validation groups to which this constraint belongs.
+   *
+   * @return The validation groups.
+   */
+  Class<?>[] groups() default {};
+
+  /**
+   * The payload associated with this constraint.
+   *
+   * @return The payload classes.
+   */
+  Class<? extends Payload>[] payload() default {};
+}
\ No newline at end of file
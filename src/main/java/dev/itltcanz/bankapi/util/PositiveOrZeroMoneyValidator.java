@@ -0,0 +1,23 @@
+package dev.itltcanz.bankapi.util;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+/**
+ * Validator for the {@link PositiveOrZeroMoney} annotation, ensuring a Money is not negative.
+ */
+public class PositiveOrZeroMoneyValidator implements
+    ConstraintValidator<PositiveOrZeroMoney, Money> {
+
+  /**
+   * Validates that the provided Money is positive or zero.
+   *
+   * @param money                      The Money to validate.
+   * @param constraintValidatorContext The validation context.
+   * @return {@code true} if the Money is null, positive or zero; {@code false} otherwise.
+   */
+  @Override
+  public boolean isValid(Money money, ConstraintValidatorContext constraintValidatorContext) {
+    return money == null || money.signum() >= 0;
+  }
+}
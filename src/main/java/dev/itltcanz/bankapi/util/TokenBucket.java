@@ -0,0 +1,66 @@
+package dev.itltcanz.bankapi.util;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Thread-safe token bucket: holds up to a fixed number of tokens, earns one token back every
+ * refill period, and spends one token per acquired permit. A full bucket therefore allows a burst
+ * of its capacity and then one permit per refill period.
+ */
+public final class TokenBucket {
+
+  private final long capacity;
+  private final long refillNanos;
+  private final LongSupplier nanoClock;
+  private long tokens;
+  private long lastRefill;
+
+  /**
+   * Creates a full bucket.
+   *
+   * @param capacity     The maximum number of tokens.
+   * @param refillPeriod The time it takes to earn one token back.
+   * @throws IllegalArgumentException If the capacity or the period is not positive.
+   */
+  public TokenBucket(long capacity, Duration refillPeriod) {
+    this(capacity, refillPeriod, System::nanoTime);
+  }
+
+  TokenBucket(long capacity, Duration refillPeriod, LongSupplier nanoClock) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("The capacity must be positive");
+    }
+    if (refillPeriod.isNegative() || refillPeriod.isZero()) {
+      throw new IllegalArgumentException("The refill period must be positive");
+    }
+    this.capacity = capacity;
+    this.refillNanos = refillPeriod.toNanos();
+    this.nanoClock = nanoClock;
+    this.tokens = capacity;
+    this.lastRefill = nanoClock.getAsLong();
+  }
+
+  /**
+   * Takes one token if there is one.
+   *
+   * @return Zero if a token was taken, otherwise the time until the next token is earned.
+   */
+  public synchronized Duration tryAcquire() {
+    var now = nanoClock.getAsLong();
+    var earned = (now - lastRefill) / refillNanos;
+    if (tokens + earned >= capacity) {
+      // A full bucket earns nothing, so the next token is counted from the first one spent.
+      tokens = capacity;
+      lastRefill = now;
+    } else {
+      tokens += earned;
+      lastRefill += earned * refillNanos;
+    }
+    if (tokens > 0) {
+      tokens--;
+      return Duration.ZERO;
+    }
+    return Duration.ofNanos(refillNanos - (now - lastRefill));
+  }
+}
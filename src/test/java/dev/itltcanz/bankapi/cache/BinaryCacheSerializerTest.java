@@ -0,0 +1,172 @@
+package dev.itltcanz.bankapi.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import dev.itltcanz.bankapi.dto.card.CardDtoResponse;
+import dev.itltcanz.bankapi.dto.transaction.TransactionDtoResponse;
+import dev.itltcanz.bankapi.entity.enumeration.TransactionStatus;
+import dev.itltcanz.bankapi.util.Money;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.support.NullValue;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+class BinaryCacheSerializerTest {
+
+  private final GenericJackson2JsonRedisSerializer json = new GenericJackson2JsonRedisSerializer();
+  private final BinaryCacheSerializer serializer = new BinaryCacheSerializer(0, json);
+
+  @Test
+  void card_roundTrips() {
+    var card = card(1);
+
+    var read = (CardDtoResponse) serializer.deserialize(serializer.serialize(card));
+
+    assertCard(card, read);
+  }
+
+  @Test
+  void card_withNullFields_roundTrips() {
+    var card = new CardDtoResponse(null, "not-a-uuid", null, null, null);
+
+    var read = (CardDtoResponse) serializer.deserialize(serializer.serialize(card));
+
+    assertCard(card, read);
+  }
+
+  @Test
+  void transaction_roundTrips() {
+    var transaction = new TransactionDtoResponse(UUID.randomUUID().toString(),
+        UUID.randomUUID().toString(), UUID.randomUUID().toString(), Money.parse("-12.34"),
+        TransactionStatus.COMPLETED, LocalDateTime.of(2025, 3, 14, 15, 9, 26, 535_000_000));
+
+    var read = (TransactionDtoResponse) serializer.deserialize(serializer.serialize(transaction));
+
+    assertEquals(transaction.getId(), read.getId());
+    assertEquals(transaction.getSenderCardId(), read.getSenderCardId());
+    assertEquals(transaction.getReceiverCardId(), read.getReceiverCardId());
+    assertEquals(transaction.getAmount(), read.getAmount());
+    assertEquals(transaction.getStatus(), read.getStatus());
+    assertEquals(transaction.getCreatedAt(), read.getCreatedAt());
+  }
+
+  @Test
+  void owned_roundTripsWithItsValue() {
+    var ownerId = UUID.randomUUID().toString();
+    var owned = new Owned<>(ownerId, card(1));
+
+    var read = assertInstanceOf(Owned.class, serializer.deserialize(serializer.serialize(owned)));
+
+    assertEquals(ownerId, read.ownerId());
+    assertCard(owned.value(), (CardDtoResponse) read.value());
+  }
+
+  @Test
+  void page_roundTripsAsPageImpl() {
+    var pageable = PageRequest.of(2, 3, Sort.by(Sort.Order.desc("balance"),
+        Sort.Order.asc("number")));
+    var page = new PageImpl<>(List.of(card(1), card(2), card(3)), pageable, 40);
+
+    var read = assertInstanceOf(PageImpl.class, serializer.deserialize(serializer.serialize(page)));
+
+    assertEquals(pageable, read.getPageable());
+    assertEquals(40, read.getTotalElements());
+    assertEquals(3, read.getNumberOfElements());
+    for (int i = 0; i < 3; i++) {
+      assertCard(page.getContent().get(i), (CardDtoResponse) read.getContent().get(i));
+    }
+  }
+
+  @Test
+  void largePage_isCompressedAndRoundTrips() {
+    var compressing = new BinaryCacheSerializer(1024, json);
+    var page = page(100);
+
+    var plain = serializer.serialize(page);
+    var compressed = compressing.serialize(page);
+    var read = (Page<?>) compressing.deserialize(compressed);
+
+    assertTrue(compressed.length < plain.length);
+    assertEquals(100, read.getNumberOfElements());
+    assertCard(page.getContent().get(99), (CardDtoResponse) read.getContent().get(99));
+  }
+
+  @Test
+  void smallValue_isNotCompressed() {
+    var compressing = new BinaryCacheSerializer(1024, json);
+    var card = card(1);
+
+    assertEquals(serializer.serialize(card).length, compressing.serialize(card).length);
+  }
+
+  @Test
+  void nullValue_roundTrips() {
+    var bytes = serializer.serialize(NullValue.INSTANCE);
+
+    assertSame(NullValue.INSTANCE, serializer.deserialize(bytes));
+  }
+
+  @Test
+  void otherValue_roundTripsAsJson() {
+    assertEquals("value", serializer.deserialize(serializer.serialize("value")));
+  }
+
+  @Test
+  void deserialize_entryWrittenAsJson_isRead() {
+    assertEquals("legacy", serializer.deserialize(json.serialize("legacy")));
+  }
+
+  @Test
+  void deserialize_empty_returnsNull() {
+    assertNull(serializer.deserialize(new byte[0]));
+  }
+
+  @Test
+  void deserialize_truncated_throws() {
+    var bytes = serializer.serialize(card(1));
+    var truncated = Arrays.copyOf(bytes, bytes.length - 3);
+
+    assertThrows(SerializationException.class, () -> serializer.deserialize(truncated));
+  }
+
+  private static CardDtoResponse card(int index) {
+    return card(index, UUID.randomUUID().toString());
+  }
+
+  private static CardDtoResponse card(int index, String ownerId) {
+    return new CardDtoResponse("**** **** **** " + (1000 + index), ownerId,
+        YearMonth.of(2030, index % 12 + 1), Money.ofMinor(100_000L * index), "ACTIVE");
+  }
+
+  private static Page<CardDtoResponse> page(int size) {
+    var ownerId = UUID.randomUUID().toString();
+    var cards = new ArrayList<CardDtoResponse>();
+    for (int i = 0; i < size; i++) {
+      cards.add(card(i, ownerId));
+    }
+    return new PageImpl<>(cards, PageRequest.of(0, size), 1000);
+  }
+
+  private static void assertCard(CardDtoResponse expected, CardDtoResponse actual) {
+    assertEquals(expected.getNumber(), actual.getNumber());
+    assertEquals(expected.getOwnerId(), actual.getOwnerId());
+    assertEquals(expected.getValidityPeriod(), actual.getValidityPeriod());
+    assertEquals(expected.getBalance(), actual.getBalance());
+    assertEquals(expected.getStatus(), actual.getStatus());
+  }
+}
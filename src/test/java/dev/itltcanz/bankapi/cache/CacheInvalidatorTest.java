@@ -0,0 +1,351 @@
+package dev.itltcanz.bankapi.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import dev.itltcanz.bankapi.config.CachePolicyProperties;
+import dev.itltcanz.bankapi.config.CachePolicyProperties.Policy;
+import dev.itltcanz.bankapi.dto.card.CardDtoResponse;
+import dev.itltcanz.bankapi.util.Money;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+/**
+ * Reads pages through the cache stack the application uses, with maps standing in for the
+ * database and Redis, and checks that no page shows a balance older than the last committed
+ * transfer.
+ */
+class CacheInvalidatorTest {
+
+  private static final String ADMIN_KEY = "0-0-20";
+
+  private final Map<String, Money> balances = new LinkedHashMap<>();
+  private final Map<String, UUID> owners = new HashMap<>();
+  private final Map<String, Integer> loads = new HashMap<>();
+  private UUID alice;
+  private UUID bob;
+  private UUID carol;
+  private CachePolicyProperties properties;
+  private TwoLevelCacheManager cacheManager;
+  private CacheInvalidator cacheInvalidator;
+
+  @BeforeEach
+  void setUp() {
+    var remotes = new ConcurrentHashMap<String, Cache>();
+    var remoteCacheManager = mock(RedisCacheManager.class);
+    when(remoteCacheManager.getCache(anyString())).thenAnswer(invocation -> remotes
+        .computeIfAbsent(invocation.getArgument(0), name -> new ConcurrentMapCache(name)));
+    properties = new CachePolicyProperties();
+    cacheManager = new TwoLevelCacheManager(remoteCacheManager, mock(StringRedisTemplate.class),
+        new InMemoryTagIndex(), mock(CacheLoadLock.class), new InMemoryCacheGenerations(),
+        OwnerTags.taggers(), properties, new SimpleMeterRegistry());
+    cacheInvalidator = new CacheInvalidator(cacheManager);
+
+    alice = UUID.randomUUID();
+    bob = UUID.randomUUID();
+    carol = UUID.randomUUID();
+    addCard("4000000000000001", alice, "100.00");
+    addCard("4000000000000002", bob, "100.00");
+    addCard("4000000000000003", carol, "100.00");
+  }
+
+  @AfterEach
+  void tearDown() {
+    TransactionSynchronizationManager.unbindResourceIfPossible(cacheInvalidator);
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+  }
+
+  @Test
+  void transfer_afterCommit_evictsPagesOfBothOwnersOnly() {
+    readAll();
+
+    transfer("4000000000000001", "4000000000000002", "30.00", true);
+
+    assertEquals(Money.parse("70.00"), userBalance(alice, "4000000000000001"));
+    assertEquals(Money.parse("130.00"), userBalance(bob, "4000000000000002"));
+    assertEquals(Money.parse("70.00"), adminBalance("4000000000000001"));
+    assertEquals(Money.parse("100.00"), userBalance(carol, "4000000000000003"));
+    assertEquals(1, loads.get(userKey(carol)));
+    assertEquals(2, loads.get(userKey(alice)));
+  }
+
+  @Test
+  void transfer_beforeCommit_keepsPages() {
+    readAll();
+    TransactionSynchronizationManager.initSynchronization();
+
+    move("4000000000000001", "4000000000000002", "30.00");
+
+    assertEquals(Money.parse("100.00"), userBalance(alice, "4000000000000001"));
+    assertEquals(1, loads.get(userKey(alice)));
+  }
+
+  @Test
+  void transfer_rolledBack_keepsPages() {
+    readAll();
+
+    transfer("4000000000000001", "4000000000000002", "30.00", false);
+
+    userBalance(alice, "4000000000000001");
+    userBalance(bob, "4000000000000002");
+    assertEquals(1, loads.get(userKey(alice)));
+    assertEquals(1, loads.get(userKey(bob)));
+  }
+
+  @Test
+  void transfer_outsideTransaction_evictsRightAway() {
+    readAll();
+
+    move("4000000000000001", "4000000000000002", "30.00");
+
+    assertEquals(Money.parse("70.00"), userBalance(alice, "4000000000000001"));
+    assertEquals(Money.parse("130.00"), userBalance(bob, "4000000000000002"));
+  }
+
+  @Test
+  void randomTransfers_neverServeStaleBalances() {
+    for (int i = 4; i <= 12; i++) {
+      addCard("40000000000000" + String.format("%02d", i), List.of(alice, bob, carol).get(i % 3),
+          "1000.00");
+    }
+    var numbers = new ArrayList<>(balances.keySet());
+    var random = new Random(42);
+
+    for (int i = 0; i < 200; i++) {
+      readAll();
+      var from = numbers.get(random.nextInt(numbers.size()));
+      var to = numbers.get(random.nextInt(numbers.size()));
+      if (!from.equals(to)) {
+        transfer(from, to, "1.00", random.nextInt(10) != 0);
+      }
+      for (var number : numbers) {
+        assertEquals(balances.get(number), userBalance(owners.get(number), number));
+        assertEquals(balances.get(number), adminBalance(number));
+      }
+    }
+  }
+
+  @Test
+  void pageLoadedDuringTransferCommit_isNotServedAfterIt() throws Exception {
+    var loaded = loadDuringCommit(CacheInvalidator.USER_CARDS, userKey(alice),
+        () -> load(userKey(alice), alice),
+        () -> transfer("4000000000000001", "4000000000000002", "30.00", true));
+
+    assertEquals(Money.parse("100.00"), balanceOf(loaded, "4000000000000001"));
+    assertEquals(Money.parse("70.00"), userBalance(alice, "4000000000000001"));
+  }
+
+  @Test
+  void cardLoadedDuringTransferCommit_isNotServedAfterIt() throws Exception {
+    var loaded = loadDuringCommit(CacheInvalidator.CARDS, "4000000000000001",
+        () -> balances.get("4000000000000001"),
+        () -> transfer("4000000000000001", "4000000000000002", "30.00", true));
+
+    assertEquals(Money.parse("100.00"), loaded);
+    assertNull(cacheManager.getCache(CacheInvalidator.CARDS).get("4000000000000001"));
+  }
+
+  @Test
+  void pageRefreshedEarlyDuringTransferCommit_isNotServedAfterIt() throws Exception {
+    var policy = new Policy();
+    policy.setEarlyRefreshBeta(1e12);
+    properties.getCaches().put(CacheInvalidator.ADMIN_CARDS, policy);
+    adminPage();
+
+    var refreshed = loadDuringCommit(CacheInvalidator.ADMIN_CARDS, ADMIN_KEY,
+        () -> load(ADMIN_KEY, null),
+        () -> transfer("4000000000000001", "4000000000000002", "30.00", true));
+
+    assertEquals(Money.parse("100.00"), balanceOf(refreshed, "4000000000000001"));
+    assertNull(cacheManager.getCache(CacheInvalidator.ADMIN_CARDS).get(ADMIN_KEY));
+  }
+
+  @Test
+  void cardListChanged_clearsAdminPages() {
+    readAll();
+
+    addCard("4000000000000004", carol, "5.00");
+    cacheInvalidator.cardListChanged(carol);
+
+    assertEquals(Money.parse("5.00"), adminBalance("4000000000000004"));
+    assertEquals(Money.parse("5.00"), userBalance(carol, "4000000000000004"));
+    assertEquals(1, loads.get(userKey(alice)));
+  }
+
+  @Test
+  void transactionChanged_evictsSenderTransactionsAndAdminTransactions() {
+    var userTransactions = cacheManager.getCache(CacheInvalidator.USER_TRANSACTIONS);
+    var adminTransactions = cacheManager.getCache(CacheInvalidator.ADMIN_TRANSACTIONS);
+    userTransactions.put(alice + ":0-20", page(List.of()));
+    userTransactions.put(bob + ":0-20", page(List.of()));
+    adminTransactions.put("0-20", page(List.of()));
+
+    cacheInvalidator.transactionChanged(UUID.randomUUID(), alice);
+
+    assertNull(userTransactions.get(alice + ":0-20"));
+    assertNotNull(userTransactions.get(bob + ":0-20"));
+    assertNull(adminTransactions.get("0-20"));
+  }
+
+  private void addCard(String number, UUID owner, String balance) {
+    balances.put(number, Money.parse(balance));
+    owners.put(number, owner);
+  }
+
+  /**
+   * Moves money in the stand-in database and records the change, as {@code BalanceServiceImpl}
+   * does through {@code CardServiceImpl.save}.
+   */
+  private void move(String from, String to, String amount) {
+    balances.put(from, balances.get(from).minus(Money.parse(amount)));
+    balances.put(to, balances.get(to).plus(Money.parse(amount)));
+    cacheInvalidator.cardChanged(from, owners.get(from));
+    cacheInvalidator.cardChanged(to, owners.get(to));
+  }
+
+  private void transfer(String from, String to, String amount, boolean commit) {
+    var before = new HashMap<>(balances);
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      move(from, to, amount);
+      if (commit) {
+        TransactionSynchronizationUtils.triggerAfterCommit();
+      } else {
+        balances.putAll(before);
+      }
+      TransactionSynchronizationUtils.triggerAfterCompletion(commit
+          ? TransactionSynchronization.STATUS_COMMITTED
+          : TransactionSynchronization.STATUS_ROLLED_BACK);
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+  }
+
+  /**
+   * Loads a value through the cache on another thread, holding the load between reading the
+   * stand-in database and returning until the commit has run, as a request does that reads
+   * while a transfer commits.
+   */
+  private <T> T loadDuringCommit(String cacheName, String key, Supplier<T> read,
+      Runnable commit) throws Exception {
+    var readDone = new CountDownLatch(1);
+    var committed = new CountDownLatch(1);
+    var executor = Executors.newSingleThreadExecutor();
+    try {
+      var loading = executor.submit(() -> cacheManager.getCache(cacheName).get(key, () -> {
+        var value = read.get();
+        readDone.countDown();
+        committed.await();
+        return value;
+      }));
+      assertTrue(readDone.await(10, TimeUnit.SECONDS));
+      commit.run();
+      committed.countDown();
+      return loading.get(10, TimeUnit.SECONDS);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private void readAll() {
+    for (var owner : Set.copyOf(owners.values())) {
+      userPage(owner);
+    }
+    adminPage();
+  }
+
+  private Money userBalance(UUID owner, String number) {
+    return balanceOf(userPage(owner), number);
+  }
+
+  private Money adminBalance(String number) {
+    return balanceOf(adminPage(), number);
+  }
+
+  private Page<CardDtoResponse> userPage(UUID owner) {
+    return cacheManager.getCache(CacheInvalidator.USER_CARDS).get(userKey(owner),
+        () -> load(userKey(owner), owner));
+  }
+
+  private Page<CardDtoResponse> adminPage() {
+    return cacheManager.getCache(CacheInvalidator.ADMIN_CARDS).get(ADMIN_KEY,
+        () -> load(ADMIN_KEY, null));
+  }
+
+  private Page<CardDtoResponse> load(String key, UUID owner) {
+    loads.merge(key, 1, Integer::sum);
+    var cards = new ArrayList<CardDtoResponse>();
+    balances.forEach((number, balance) -> {
+      if (owner == null || owner.equals(owners.get(number))) {
+        cards.add(new CardDtoResponse(number, owners.get(number).toString(), null, balance,
+            "ACTIVE"));
+      }
+    });
+    return page(cards);
+  }
+
+  private static <T> Page<T> page(List<T> content) {
+    return new PageImpl<>(content, PageRequest.of(0, 20), content.size());
+  }
+
+  private static Money balanceOf(Page<CardDtoResponse> page, String number) {
+    return page.getContent().stream().filter(card -> card.getNumber().equals(number))
+        .findFirst().orElseThrow().getBalance();
+  }
+
+  private static String userKey(UUID owner) {
+    return owner + ":0-0-20";
+  }
+
+  private static class InMemoryTagIndex implements CacheTagIndex {
+
+    private final Map<String, Set<String>> keys = new ConcurrentHashMap<>();
+
+    @Override
+    public void tag(String cacheName, String key, Collection<String> tags) {
+      for (var tag : tags) {
+        keys.computeIfAbsent(cacheName + ":" + tag, k -> new HashSet<>()).add(key);
+      }
+    }
+
+    @Override
+    public Collection<String> removeKeys(String cacheName, String tag) {
+      var removed = keys.remove(cacheName + ":" + tag);
+      return removed != null ? removed : Set.of();
+    }
+  }
+}
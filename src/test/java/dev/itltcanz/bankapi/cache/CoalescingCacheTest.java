@@ -0,0 +1,229 @@
+package dev.itltcanz.bankapi.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import dev.itltcanz.bankapi.config.CachePolicyProperties;
+import dev.itltcanz.bankapi.config.CachePolicyProperties.Policy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+class CoalescingCacheTest {
+
+  private final AtomicInteger queries = new AtomicInteger();
+  private CachePolicyProperties properties;
+  private Policy policy;
+  private InMemoryLoadLock loadLock;
+
+  @BeforeEach
+  void setUp() {
+    properties = new CachePolicyProperties();
+    policy = new Policy();
+    properties.getCaches().put("adminCards", policy);
+    loadLock = new InMemoryLoadLock();
+  }
+
+  @Test
+  void expiredKey_concurrentReads_runOneQuery() throws Exception {
+    var remoteCacheManager = mock(RedisCacheManager.class);
+    when(remoteCacheManager.getCache(anyString()))
+        .thenAnswer(invocation -> new ConcurrentMapCache(invocation.getArgument(0)));
+    var cacheManager = new TwoLevelCacheManager(remoteCacheManager,
+        mock(StringRedisTemplate.class), mock(CacheTagIndex.class), loadLock,
+        new InMemoryCacheGenerations(), Map.of(), properties, new SimpleMeterRegistry());
+    var cache = cacheManager.getCache("adminCards");
+    cache.put("0-0-20", new PageImpl<>(List.of("stale")));
+    cache.evict("0-0-20");
+
+    var executor = Executors.newFixedThreadPool(500);
+    try {
+      var start = new CountDownLatch(1);
+      var results = new ArrayList<Future<Page<String>>>();
+      for (int i = 0; i < 500; i++) {
+        results.add(executor.submit(() -> {
+          start.await();
+          return cache.get("0-0-20", () -> query(Duration.ofMillis(200)));
+        }));
+      }
+      start.countDown();
+
+      var first = results.get(0).get(10, TimeUnit.SECONDS);
+      for (var result : results) {
+        assertSame(first, result.get(10, TimeUnit.SECONDS));
+      }
+      assertEquals(1, queries.get());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void failedLoad_isNotSharedWithWaiters() throws Exception {
+    var cache = cache(new ConcurrentMapCache("adminCards"));
+    var loaderRunning = new CountDownLatch(1);
+    var denied = new CountDownLatch(1);
+    var executor = Executors.newFixedThreadPool(10);
+    try {
+      var failing = executor.submit(() -> cache.get("key", () -> {
+        loaderRunning.countDown();
+        denied.await();
+        throw new IllegalStateException("Access denied");
+      }));
+      assertTrue(loaderRunning.await(10, TimeUnit.SECONDS));
+      var waiting = new ArrayList<Future<String>>();
+      for (int i = 0; i < 9; i++) {
+        waiting.add(executor.submit(() -> cache.get("key", () -> "value")));
+      }
+      Thread.sleep(100);
+      denied.countDown();
+
+      var ex = assertThrows(ExecutionException.class, () -> failing.get(10, TimeUnit.SECONDS));
+      assertInstanceOf(Cache.ValueRetrievalException.class, ex.getCause());
+      for (var result : waiting) {
+        assertEquals("value", result.get(10, TimeUnit.SECONDS));
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void hit_withEarlyRefresh_reloadsValueBeforeExpiry() {
+    policy.setEarlyRefreshBeta(1e12);
+    var cache = cache(new ConcurrentMapCache("adminCards"));
+    cache.get("key", () -> query(Duration.ZERO));
+
+    var refreshed = cache.get("key", () -> query(Duration.ZERO));
+
+    assertEquals(2, queries.get());
+    assertEquals(refreshed, cache.get("key").get());
+  }
+
+  @Test
+  void hit_withoutEarlyRefresh_isServedFromCache() {
+    policy.setEarlyRefreshBeta(0.0);
+    var cache = cache(new ConcurrentMapCache("adminCards"));
+    var loaded = cache.get("key", () -> query(Duration.ZERO));
+
+    assertSame(loaded, cache.get("key", () -> query(Duration.ZERO)));
+    assertEquals(1, queries.get());
+  }
+
+  @Test
+  void distributedLock_heldByOtherNode_waitsForItsValue() throws Exception {
+    policy.setDistributedLock(true);
+    var shared = new ConcurrentMapCache("adminCards");
+    var cache = cache(shared);
+    assertNotNull(loadLock.tryLock("adminCards", "key"));
+    var otherNode = Executors.newSingleThreadScheduledExecutor();
+    try {
+      otherNode.schedule(() -> shared.put("key", "from other node"), 100, TimeUnit.MILLISECONDS);
+
+      assertEquals("from other node", cache.get("key", () -> query(Duration.ZERO)));
+      assertEquals(0, queries.get());
+    } finally {
+      otherNode.shutdownNow();
+    }
+  }
+
+  @Test
+  void distributedLock_otherNodeNeverStores_loadsAfterTimeout() {
+    policy.setDistributedLock(true);
+    properties.setLockTimeout(Duration.ofMillis(100));
+    var cache = cache(new ConcurrentMapCache("adminCards"));
+    loadLock.tryLock("adminCards", "key");
+
+    cache.get("key", () -> query(Duration.ZERO));
+
+    assertEquals(1, queries.get());
+  }
+
+  @Test
+  void distributedLock_releasedWithoutValue_loadsBeforeTimeout() throws Exception {
+    policy.setDistributedLock(true);
+    properties.setLockTimeout(Duration.ofSeconds(30));
+    var cache = cache(new ConcurrentMapCache("adminCards"));
+    var token = loadLock.tryLock("adminCards", "key");
+    var otherNode = Executors.newSingleThreadScheduledExecutor();
+    try {
+      otherNode.schedule(() -> loadLock.unlock("adminCards", "key", token), 100,
+          TimeUnit.MILLISECONDS);
+      var start = System.nanoTime();
+
+      cache.get("key", () -> query(Duration.ZERO));
+
+      assertEquals(1, queries.get());
+      assertTrue(System.nanoTime() - start < Duration.ofSeconds(10).toNanos());
+    } finally {
+      otherNode.shutdownNow();
+    }
+  }
+
+  @Test
+  void distributedLock_isReleasedAfterLoad() {
+    policy.setDistributedLock(true);
+    var cache = cache(new ConcurrentMapCache("adminCards"));
+
+    cache.get("key", () -> query(Duration.ZERO));
+
+    assertEquals(1, queries.get());
+    assertNull(loadLock.tokens.get("adminCards:key"));
+  }
+
+  private CoalescingCache cache(Cache delegate) {
+    return new CoalescingCache(delegate, loadLock, new InMemoryCacheGenerations(), properties,
+        new SimpleMeterRegistry());
+  }
+
+  /**
+   * Stands in for {@code cardRepo.findAll(spec, pageable)}.
+   */
+  private Page<String> query(Duration latency) throws InterruptedException {
+    queries.incrementAndGet();
+    Thread.sleep(latency.toMillis());
+    return new PageImpl<>(List.of(UUID.randomUUID().toString()));
+  }
+
+  private static class InMemoryLoadLock implements CacheLoadLock {
+
+    private final Map<String, String> tokens = new ConcurrentHashMap<>();
+
+    @Override
+    public String tryLock(String cacheName, String key) {
+      var token = UUID.randomUUID().toString();
+      return tokens.putIfAbsent(cacheName + ":" + key, token) == null ? token : null;
+    }
+
+    @Override
+    public void unlock(String cacheName, String key, String token) {
+      tokens.remove(cacheName + ":" + key, token);
+    }
+  }
+}
@@ -0,0 +1,23 @@
+package dev.itltcanz.bankapi.cache;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache generations kept in a map, standing in for {@link RedisCacheGenerations} in tests.
+ */
+class InMemoryCacheGenerations implements CacheGenerations {
+
+  private final Map<String, Long> counters = new ConcurrentHashMap<>();
+
+  @Override
+  public long current(String cacheName, String key) {
+    return counters.getOrDefault(cacheName, 0L)
+        + counters.getOrDefault(cacheName + ":" + key, 0L);
+  }
+
+  @Override
+  public void advance(String cacheName, String key) {
+    counters.merge(key != null ? cacheName + ":" + key : cacheName, 1L, Long::sum);
+  }
+}
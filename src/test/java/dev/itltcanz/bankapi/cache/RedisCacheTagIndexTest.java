@@ -0,0 +1,76 @@
+package dev.itltcanz.bankapi.cache;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import dev.itltcanz.bankapi.config.CachePolicyProperties;
+import dev.itltcanz.bankapi.config.CachePolicyProperties.Policy;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisKeyCommands;
+import org.springframework.data.redis.connection.RedisSetCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+class RedisCacheTagIndexTest {
+
+  private static final byte[] SET_KEY =
+      "bank:cache:tags:userCards:owner".getBytes(StandardCharsets.UTF_8);
+
+  private StringRedisTemplate redisTemplate;
+  private RedisKeyCommands keyCommands;
+  private RedisSetCommands setCommands;
+  private CachePolicyProperties properties;
+  private Policy policy;
+
+  @BeforeEach
+  void setUp() {
+    redisTemplate = mock(StringRedisTemplate.class);
+    keyCommands = mock(RedisKeyCommands.class);
+    setCommands = mock(RedisSetCommands.class);
+    properties = new CachePolicyProperties();
+    policy = new Policy();
+    properties.getCaches().put("userCards", policy);
+  }
+
+  @Test
+  void tag_expiringCache_expiresSetWithValue() {
+    policy.setTtl(Duration.ofMillis(1500));
+
+    tag();
+
+    verify(setCommands).sAdd(SET_KEY, "owner:0-20".getBytes(StandardCharsets.UTF_8));
+    verify(keyCommands).expire(SET_KEY, 2);
+  }
+
+  @Test
+  void tag_nonExpiringCache_keepsSet() {
+    policy.setTtl(Duration.ZERO);
+
+    tag();
+
+    verify(setCommands).sAdd(SET_KEY, "owner:0-20".getBytes(StandardCharsets.UTF_8));
+    verify(keyCommands, never()).expire(any(byte[].class), anyLong());
+  }
+
+  @SuppressWarnings("unchecked")
+  private void tag() {
+    new RedisCacheTagIndex(redisTemplate, properties).tag("userCards", "owner:0-20",
+        List.of("owner"));
+    var callback = ArgumentCaptor.forClass(RedisCallback.class);
+    verify(redisTemplate).executePipelined(callback.capture());
+    var connection = mock(RedisConnection.class);
+    when(connection.keyCommands()).thenReturn(keyCommands);
+    when(connection.setCommands()).thenReturn(setCommands);
+    callback.getValue().doInRedis(connection);
+  }
+}
@@ -0,0 +1,123 @@
+package dev.itltcanz.bankapi.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import dev.itltcanz.bankapi.config.CachePolicyProperties;
+import dev.itltcanz.bankapi.config.CachePolicyProperties.Policy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+class TwoLevelCacheManagerTest {
+
+  private ConcurrentMapCache remote;
+  private StringRedisTemplate redisTemplate;
+  private CachePolicyProperties properties;
+  private TwoLevelCacheManager cacheManager;
+
+  @BeforeEach
+  void setUp() {
+    remote = spy(new ConcurrentMapCache("cards"));
+    var remoteCacheManager = mock(RedisCacheManager.class);
+    when(remoteCacheManager.getCache("cards")).thenReturn(remote);
+    redisTemplate = mock(StringRedisTemplate.class);
+    properties = new CachePolicyProperties();
+    cacheManager = new TwoLevelCacheManager(remoteCacheManager, redisTemplate,
+        mock(CacheTagIndex.class), mock(CacheLoadLock.class), new InMemoryCacheGenerations(),
+        Map.of(), properties, new SimpleMeterRegistry());
+  }
+
+  @Test
+  void get_afterFirstRead_servedLocally() {
+    remote.put("1", "card");
+    var cache = cacheManager.getCache("cards");
+
+    assertEquals("card", cache.get("1").get());
+    assertEquals("card", cache.get("1").get());
+    assertEquals("card", cache.get("1", String.class));
+
+    verify(remote, times(1)).get("1");
+  }
+
+  @Test
+  void put_writesBothTiersAndAnnouncesKey() {
+    var cache = cacheManager.getCache("cards");
+
+    cache.put("1", "card");
+
+    assertEquals("card", remote.get("1").get());
+    var message = ArgumentCaptor.forClass(String.class);
+    verify(redisTemplate).convertAndSend(eq("bank:cache:invalidation"), message.capture());
+    assertEquals("cards\n1", message.getValue().substring(message.getValue().indexOf('\n') + 1));
+  }
+
+  @Test
+  void onMessage_fromOtherNode_dropsLocalCopy() {
+    remote.put("1", "old");
+    var cache = cacheManager.getCache("cards");
+    cache.get("1");
+    remote.put("1", "new");
+
+    cacheManager.onMessage(message("other-node\ncards\n1"), null);
+
+    assertEquals("new", cache.get("1").get());
+  }
+
+  @Test
+  void onMessage_clearFromOtherNode_dropsAllLocalCopies() {
+    remote.put("1", "old");
+    remote.put("2", "old");
+    var cache = cacheManager.getCache("cards");
+    cache.get("1");
+    cache.get("2");
+    remote.clear();
+
+    cacheManager.onMessage(message("other-node\ncards"), null);
+
+    assertNull(cache.get("1"));
+    assertNull(cache.get("2"));
+  }
+
+  @Test
+  void onMessage_ownAnnouncement_keepsLocalCopy() {
+    var cache = cacheManager.getCache("cards");
+    cache.put("1", "card");
+    var message = ArgumentCaptor.forClass(String.class);
+    verify(redisTemplate).convertAndSend(anyString(), message.capture());
+    remote.evict("1");
+
+    cacheManager.onMessage(message(message.getValue()), null);
+
+    assertEquals("card", cache.get("1").get());
+  }
+
+  @Test
+  void getCache_localDisabled_usesRemoteCacheOnly() {
+    var policy = new Policy();
+    policy.setLocalEnabled(false);
+    properties.getCaches().put("cards", policy);
+
+    assertSame(remote.getNativeCache(), cacheManager.getCache("cards").getNativeCache());
+  }
+
+  private static DefaultMessage message(String body) {
+    return new DefaultMessage("bank:cache:invalidation".getBytes(StandardCharsets.UTF_8),
+        body.getBytes(StandardCharsets.UTF_8));
+  }
+}
@@ -0,0 +1,41 @@
+package dev.itltcanz.bankapi.mapper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import dev.itltcanz.bankapi.entity.BlockRequest;
+import dev.itltcanz.bankapi.entity.Card;
+import dev.itltcanz.bankapi.entity.User;
+import dev.itltcanz.bankapi.entity.enumeration.CardStatus;
+import dev.itltcanz.bankapi.entity.enumeration.RequestStatus;
+import dev.itltcanz.bankapi.entity.enumeration.Role;
+import dev.itltcanz.bankapi.util.Money;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class BlockRequestMapperTest {
+
+  private final BlockRequestMapper blockRequestMapper = new BlockRequestMapper();
+
+  @Test
+  void toResponse_pendingRequest_mapsFieldsWithoutAdmin() {
+    var user = new User(UUID.randomUUID(), "owner", "password", Role.ROLE_USER);
+    var card = new Card("4000001234567899", user, YearMonth.of(2030, 1), CardStatus.ACTIVE,
+        Money.parse("1.00"));
+    var createdAt = LocalDateTime.of(2025, 1, 1, 12, 0);
+    var request = new BlockRequest(UUID.randomUUID(), card, user, RequestStatus.PENDING,
+        createdAt, null, null);
+
+    var response = blockRequestMapper.toResponse(request);
+
+    assertEquals(request.getId().toString(), response.getId());
+    assertEquals("************7899", response.getCardId());
+    assertEquals(user.getId().toString(), response.getUserId());
+    assertEquals(RequestStatus.PENDING, response.getStatus());
+    assertEquals(createdAt, response.getCreatedAt());
+    assertNull(response.getUpdatedAt());
+    assertNull(response.getAdminId());
+  }
+}
@@ -0,0 +1,86 @@
+package dev.itltcanz.bankapi.mapper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import dev.itltcanz.bankapi.dto.card.CardDtoPatch;
+import dev.itltcanz.bankapi.dto.card.CardDtoPut;
+import dev.itltcanz.bankapi.entity.Card;
+import dev.itltcanz.bankapi.entity.User;
+import dev.itltcanz.bankapi.entity.enumeration.CardStatus;
+import dev.itltcanz.bankapi.entity.enumeration.Role;
+import dev.itltcanz.bankapi.util.Money;
+import java.time.YearMonth;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CardMapperTest {
+
+  private final CardMapper cardMapper = new CardMapper();
+  private User owner;
+  private Card card;
+
+  @BeforeEach
+  void setUp() {
+    owner = new User(UUID.randomUUID(), "owner", "password", Role.ROLE_USER);
+    card = new Card("4000001234567899", owner, YearMonth.of(2030, 1), CardStatus.ACTIVE,
+        Money.parse("1500.00"));
+  }
+
+  @Test
+  void toResponse_masksNumberAndMapsFields() {
+    var response = cardMapper.toResponse(card);
+
+    assertEquals("************7899", response.getNumber());
+    assertEquals(owner.getId().toString(), response.getOwnerId());
+    assertEquals(YearMonth.of(2030, 1), response.getValidityPeriod());
+    assertEquals(Money.parse("1500.00"), response.getBalance());
+    assertEquals("ACTIVE", response.getStatus());
+  }
+
+  @Test
+  void toResponse_withoutOwner_ownerIdIsNull() {
+    card.setOwner(null);
+
+    assertNull(cardMapper.toResponse(card).getOwnerId());
+  }
+
+  @Test
+  void toBalanceResponse_onlyMasksNumber() {
+    var response = cardMapper.toBalanceResponse(card);
+
+    assertEquals("************7899", response.getNumber());
+    assertNull(response.getBalance());
+    assertNull(response.getAt());
+  }
+
+  @Test
+  void maskNumber_shortOrNull_returnedAsIs() {
+    assertNull(CardMapper.maskNumber(null));
+    assertEquals("123", CardMapper.maskNumber("123"));
+  }
+
+  @Test
+  void updateEntity_put_copiesFields() {
+    var dto = new CardDtoPut(owner.getId().toString(), YearMonth.of(2031, 6), CardStatus.BLOCKED,
+        Money.parse("10.00"));
+
+    cardMapper.updateEntity(dto, card);
+
+    assertEquals(YearMonth.of(2031, 6), card.getValidityPeriod());
+    assertEquals(CardStatus.BLOCKED, card.getStatus());
+    assertEquals(Money.parse("10.00"), card.getBalance());
+  }
+
+  @Test
+  void updateEntity_patch_skipsNullFields() {
+    var dto = new CardDtoPatch(null, null, CardStatus.BLOCKED, null);
+
+    cardMapper.updateEntity(dto, card);
+
+    assertEquals(YearMonth.of(2030, 1), card.getValidityPeriod());
+    assertEquals(CardStatus.BLOCKED, card.getStatus());
+    assertEquals(Money.parse("1500.00"), card.getBalance());
+  }
+}
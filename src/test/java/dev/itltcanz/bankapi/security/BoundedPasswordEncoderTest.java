@@ -0,0 +1,105 @@
+package dev.itltcanz.bankapi.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import dev.itltcanz.bankapi.config.PasswordHashingProperties;
+import dev.itltcanz.bankapi.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+class BoundedPasswordEncoderTest {
+
+  private PasswordHashingProperties properties;
+  private SimpleMeterRegistry meterRegistry;
+
+  @BeforeEach
+  void setUp() {
+    properties = new PasswordHashingProperties();
+    properties.setThreads(1);
+    properties.setQueueCapacity(1);
+    meterRegistry = new SimpleMeterRegistry();
+  }
+
+  @Test
+  void encodeAndMatches_delegateToEncoder() {
+    try (var encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), properties,
+        meterRegistry)) {
+      var hash = encoder.encode("password");
+
+      assertTrue(encoder.matches("password", hash));
+      assertFalse(encoder.matches("wrong", hash));
+      assertEquals(2, meterRegistry.get("bank.security.password.hashing")
+          .tag("operation", "matches").timer().count());
+    }
+  }
+
+  @Test
+  void encode_poolAndQueueFull_rejected() throws Exception {
+    var started = new CountDownLatch(1);
+    var release = new CountDownLatch(1);
+    var blocking = new BlockingEncoder(started, release);
+    var callers = Executors.newFixedThreadPool(2);
+    try (var encoder = new BoundedPasswordEncoder(blocking, properties, meterRegistry)) {
+      callers.submit(() -> encoder.encode("running"));
+      assertTrue(started.await(5, TimeUnit.SECONDS));
+      callers.submit(() -> encoder.encode("queued"));
+      while (meterRegistry.get("bank.security.password.hashing.queue").gauge().value() < 1) {
+        Thread.onSpinWait();
+      }
+
+      assertThrows(ServiceOverloadedException.class, () -> encoder.encode("rejected"));
+      assertEquals(1.0, meterRegistry.get("bank.security.password.hashing.rejected")
+          .counter().count());
+    } finally {
+      release.countDown();
+      callers.shutdownNow();
+    }
+  }
+
+  @Test
+  void matches_slowerThanTimeout_rejected() {
+    properties.setTimeout(Duration.ofMillis(50));
+    var release = new CountDownLatch(1);
+    try (var encoder = new BoundedPasswordEncoder(
+        new BlockingEncoder(new CountDownLatch(1), release), properties, meterRegistry)) {
+      assertThrows(ServiceOverloadedException.class, () -> encoder.matches("password", "hash"));
+    } finally {
+      release.countDown();
+    }
+  }
+
+  private record BlockingEncoder(CountDownLatch started, CountDownLatch release)
+      implements PasswordEncoder {
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+      block();
+      return rawPassword.toString();
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+      block();
+      return rawPassword.toString().equals(encodedPassword);
+    }
+
+    private void block() {
+      started.countDown();
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+}
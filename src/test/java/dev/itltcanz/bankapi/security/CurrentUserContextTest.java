@@ -0,0 +1,75 @@
+package dev.itltcanz.bankapi.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import dev.itltcanz.bankapi.entity.User;
+import dev.itltcanz.bankapi.entity.enumeration.Role;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+class CurrentUserContextTest {
+
+  private SimpleMeterRegistry meterRegistry;
+  private CurrentUserContext currentUserContext;
+  private AtomicInteger loads;
+  private User user;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    currentUserContext = new CurrentUserContext(meterRegistry);
+    loads = new AtomicInteger();
+    user = new User(UUID.randomUUID(), "testuser", "password", Role.ROLE_USER);
+  }
+
+  @AfterEach
+  void tearDown() {
+    RequestContextHolder.resetRequestAttributes();
+  }
+
+  @Test
+  void get_withinRequest_loadsOnce() {
+    RequestContextHolder.setRequestAttributes(
+        new ServletRequestAttributes(new MockHttpServletRequest()));
+
+    assertSame(user, currentUserContext.get(this::load));
+    assertSame(user, currentUserContext.get(this::load));
+    assertSame(user, currentUserContext.get(this::load));
+
+    assertEquals(1, loads.get());
+    assertEquals(1.0, meterRegistry.get("bank.security.user.lookups").counter().count());
+  }
+
+  @Test
+  void get_separateRequests_loadOncePerRequest() {
+    RequestContextHolder.setRequestAttributes(
+        new ServletRequestAttributes(new MockHttpServletRequest()));
+    currentUserContext.get(this::load);
+    RequestContextHolder.setRequestAttributes(
+        new ServletRequestAttributes(new MockHttpServletRequest()));
+    currentUserContext.get(this::load);
+
+    assertEquals(2, loads.get());
+  }
+
+  @Test
+  void get_outsideRequest_loadsEveryTime() {
+    currentUserContext.get(this::load);
+    currentUserContext.get(this::load);
+
+    assertEquals(2, loads.get());
+  }
+
+  private User load() {
+    loads.incrementAndGet();
+    return user;
+  }
+}
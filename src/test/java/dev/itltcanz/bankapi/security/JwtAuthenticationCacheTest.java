@@ -0,0 +1,84 @@
+package dev.itltcanz.bankapi.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import dev.itltcanz.bankapi.config.TokenCacheProperties;
+import dev.itltcanz.bankapi.security.JwtAuthenticationCache.VerifiedToken;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+class JwtAuthenticationCacheTest {
+
+  private TokenCacheProperties properties;
+  private SimpleMeterRegistry meterRegistry;
+  private AtomicInteger verifications;
+  private UsernamePasswordAuthenticationToken authentication;
+
+  @BeforeEach
+  void setUp() {
+    properties = new TokenCacheProperties();
+    meterRegistry = new SimpleMeterRegistry();
+    verifications = new AtomicInteger();
+    authentication = UsernamePasswordAuthenticationToken.authenticated("user", null, List.of());
+  }
+
+  @Test
+  void get_sameToken_verifiesOnce() {
+    var cache = new JwtAuthenticationCache(properties, meterRegistry);
+
+    assertSame(authentication, cache.get("token", this::verify).authentication());
+    assertSame(authentication, cache.get("token", this::verify).authentication());
+
+    assertEquals(1, verifications.get());
+    assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "jwtAuthentication")
+        .tag("result", "hit").functionCounter().count());
+  }
+
+  @Test
+  void get_differentTokens_verifiesEach() {
+    var cache = new JwtAuthenticationCache(properties, meterRegistry);
+
+    cache.get("token", this::verify);
+    cache.get("other-token", this::verify);
+
+    assertEquals(2, verifications.get());
+  }
+
+  @Test
+  void get_disabled_verifiesEveryTime() {
+    properties.setEnabled(false);
+    var cache = new JwtAuthenticationCache(properties, meterRegistry);
+
+    cache.get("token", this::verify);
+    cache.get("token", this::verify);
+
+    assertEquals(2, verifications.get());
+  }
+
+  @Test
+  void get_verificationFails_cachesNothing() {
+    var cache = new JwtAuthenticationCache(properties, meterRegistry);
+
+    assertThrows(IllegalArgumentException.class, () -> cache.get("token", token -> {
+      verifications.incrementAndGet();
+      throw new IllegalArgumentException("Token username does not match user details");
+    }));
+    cache.get("token", this::verify);
+
+    assertEquals(2, verifications.get());
+  }
+
+  private VerifiedToken verify(String token) {
+    verifications.incrementAndGet();
+    return new VerifiedToken(authentication, "token-id",
+        Instant.now().plus(1, ChronoUnit.HOURS), 0);
+  }
+}
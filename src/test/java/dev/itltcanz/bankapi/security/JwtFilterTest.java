@@ -0,0 +1,97 @@
+package dev.itltcanz.bankapi.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+import dev.itltcanz.bankapi.config.JwtProperties;
+import dev.itltcanz.bankapi.config.TokenCacheProperties;
+import dev.itltcanz.bankapi.config.TokenRevocationProperties;
+import dev.itltcanz.bankapi.entity.User;
+import dev.itltcanz.bankapi.entity.enumeration.Role;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authorization.AuthorityAuthorizationManager;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.access.ExceptionTranslationFilter;
+import org.springframework.security.web.access.intercept.AuthorizationFilter;
+import org.springframework.security.web.authentication.Http403ForbiddenEntryPoint;
+
+class JwtFilterTest {
+
+  private static final String SECRET =
+      "53A73E5F1C4E0A2D3B5F2D784E6A1B4274OMH4TY1F6E5C3A596D635A75327855";
+
+  private JwtGenerator jwtGenerator;
+  private TokenRevocationService tokenRevocationService;
+  private JwtFilter jwtFilter;
+  private User admin;
+
+  @BeforeEach
+  void setUp() {
+    var jwtProperties = new JwtProperties();
+    jwtProperties.setSecret(SECRET);
+    jwtGenerator = new JwtGenerator(jwtProperties);
+    tokenRevocationService = new TokenRevocationService(new InMemoryRevokedTokenStore(),
+        new TokenRevocationProperties());
+    jwtFilter = new JwtFilter(jwtGenerator, mock(CustomUserDetailsService.class),
+        request -> false,
+        new JwtAuthenticationCache(new TokenCacheProperties(), new SimpleMeterRegistry()),
+        tokenRevocationService);
+    admin = new User(UUID.randomUUID(), "admin", "password", Role.ROLE_ADMIN);
+  }
+
+  @AfterEach
+  void tearDown() {
+    SecurityContextHolder.clearContext();
+  }
+
+  @Test
+  void doFilter_admin_reachesAdminEndpoint() throws Exception {
+    var token = jwtGenerator.generateToken(admin,
+        tokenRevocationService.getUserVersion(admin.getId()));
+
+    assertEquals(200, requestAdminEndpoint(token));
+  }
+
+  @Test
+  void doFilter_demotedAdmin_isForbiddenOnNextRequest() throws Exception {
+    var token = jwtGenerator.generateToken(admin,
+        tokenRevocationService.getUserVersion(admin.getId()));
+    assertEquals(200, requestAdminEndpoint(token));
+
+    // What UserService does after the role of the user has been changed.
+    tokenRevocationService.revokeUser(admin.getId(), Instant.now().plus(15, ChronoUnit.MINUTES));
+
+    assertEquals(403, requestAdminEndpoint(token));
+  }
+
+  /**
+   * Runs a request through the JWT filter and Spring Security's authorization of an endpoint
+   * that requires the admin role.
+   */
+  private int requestAdminEndpoint(String token) throws Exception {
+    SecurityContextHolder.clearContext();
+    var request = new MockHttpServletRequest("GET", "/v1/users");
+    request.addHeader("Authorization", "Bearer " + token);
+    var response = new MockHttpServletResponse();
+    new MockFilterChain(new HttpServlet() {
+      @Override
+      protected void service(HttpServletRequest req, HttpServletResponse resp) {
+      }
+    }, jwtFilter, new ExceptionTranslationFilter(new Http403ForbiddenEntryPoint()),
+        new AuthorizationFilter(AuthorityAuthorizationManager.hasRole("ADMIN")))
+        .doFilter(request, response);
+    return response.getStatus();
+  }
+}
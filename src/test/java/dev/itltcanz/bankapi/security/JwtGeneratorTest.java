@@ -0,0 +1,122 @@
+package dev.itltcanz.bankapi.security;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import dev.itltcanz.bankapi.config.JwtProperties;
+import dev.itltcanz.bankapi.entity.User;
+import dev.itltcanz.bankapi.entity.enumeration.Role;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import java.util.Date;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class JwtGeneratorTest {
+
+  private static final String SECRET =
+      "53A73E5F1C4E0A2D3B5F2D784E6A1B4274OMH4TY1F6E5C3A596D635A75327855";
+  private static final String NEXT_SECRET =
+      "Q2hhbmdlZCBrZXkgbWF0ZXJpYWwgZm9yIHRoZSBuZXh0IHJvdGF0aW9uIHBlcmlvZA==";
+
+  private JwtProperties properties;
+  private User user;
+
+  @BeforeEach
+  void setUp() {
+    properties = new JwtProperties();
+    properties.setSecret(SECRET);
+    user = new User(UUID.randomUUID(), "testuser", "password", Role.ROLE_USER);
+  }
+
+  @Test
+  void generateToken_validatesAndCarriesActiveKeyId() {
+    var jwtGenerator = new JwtGenerator(properties);
+
+    var token = jwtGenerator.generateToken(user);
+
+    assertEquals("testuser", jwtGenerator.extractUsername(token));
+    assertDoesNotThrow(() -> jwtGenerator.validateToken(token, user));
+    assertEquals(JwtProperties.DEFAULT_KEY_ID, Jwts.parser()
+        .verifyWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET))).build()
+        .parseSignedClaims(token).getHeader().getKeyId());
+  }
+
+  @Test
+  void validateToken_otherUser_throwsIllegalArgumentException() {
+    var jwtGenerator = new JwtGenerator(properties);
+    var token = jwtGenerator.generateToken(
+        new User(UUID.randomUUID(), "otheruser", "password", Role.ROLE_USER));
+
+    assertThrows(IllegalArgumentException.class, () -> jwtGenerator.validateToken(token, user));
+  }
+
+  @Test
+  void extractPrincipal_carriesUserIdAndRole() {
+    var jwtGenerator = new JwtGenerator(properties);
+    var token = jwtGenerator.generateToken(user);
+
+    var principal = jwtGenerator.extractPrincipal(jwtGenerator.extractAllClaims(token));
+
+    assertEquals(Optional.of(new AuthenticatedUser(user.getId(), "testuser", Role.ROLE_USER)),
+        principal);
+  }
+
+  @Test
+  void extractPrincipal_tokenWithoutUserClaims_isEmpty() {
+    var token = Jwts.builder().subject("testuser")
+        .expiration(new Date(System.currentTimeMillis() + 60_000))
+        .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET))).compact();
+    var jwtGenerator = new JwtGenerator(properties);
+
+    assertTrue(jwtGenerator.extractPrincipal(jwtGenerator.extractAllClaims(token)).isEmpty());
+  }
+
+  @Test
+  void rotation_tokensOfPreviousKeyStayValid() {
+    var oldToken = new JwtGenerator(properties).generateToken(user);
+    properties.setKeys(Map.of("next", NEXT_SECRET));
+    properties.setActiveKeyId("next");
+    var jwtGenerator = new JwtGenerator(properties);
+
+    var newToken = jwtGenerator.generateToken(user);
+
+    assertEquals("testuser", jwtGenerator.extractUsername(oldToken));
+    assertEquals("testuser", jwtGenerator.extractUsername(newToken));
+  }
+
+  @Test
+  void extractUsername_unknownKeyId_throwsSignatureException() {
+    properties.setKeys(Map.of("next", NEXT_SECRET));
+    properties.setActiveKeyId("next");
+    var token = new JwtGenerator(properties).generateToken(user);
+    properties.setKeys(Map.of());
+    properties.setActiveKeyId(JwtProperties.DEFAULT_KEY_ID);
+    var jwtGenerator = new JwtGenerator(properties);
+
+    assertThrows(SignatureException.class, () -> jwtGenerator.extractUsername(token));
+  }
+
+  @Test
+  void extractUsername_tokenWithoutKeyId_usesSecret() {
+    var token = Jwts.builder().subject("testuser")
+        .expiration(new Date(System.currentTimeMillis() + 60_000))
+        .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET))).compact();
+
+    assertEquals("testuser", new JwtGenerator(properties).extractUsername(token));
+  }
+
+  @Test
+  void constructor_missingActiveKey_throwsIllegalStateException() {
+    properties.setActiveKeyId("missing");
+
+    assertThrows(IllegalStateException.class, () -> new JwtGenerator(properties));
+  }
+}
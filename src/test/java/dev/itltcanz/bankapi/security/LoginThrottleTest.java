@@ -0,0 +1,65 @@
+package dev.itltcanz.bankapi.security;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import dev.itltcanz.bankapi.config.LoginThrottleProperties;
+import dev.itltcanz.bankapi.config.LoginThrottleProperties.Limit;
+import dev.itltcanz.bankapi.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class LoginThrottleTest {
+
+  private LoginThrottleProperties properties;
+  private SimpleMeterRegistry meterRegistry;
+
+  @BeforeEach
+  void setUp() {
+    properties = new LoginThrottleProperties();
+    properties.setUsername(new Limit(2, Duration.ofMinutes(1)));
+    properties.setIp(new Limit(3, Duration.ofMinutes(1)));
+    meterRegistry = new SimpleMeterRegistry();
+  }
+
+  @Test
+  void acquire_sameUsernameFromManyAddresses_throttledByUsername() {
+    var throttle = new LoginThrottle(properties, meterRegistry);
+    throttle.acquire("testuser", "10.0.0.1");
+    throttle.acquire("TestUser", "10.0.0.2");
+
+    assertThrows(TooManyRequestsException.class, () -> throttle.acquire("testuser", "10.0.0.3"));
+    assertDoesNotThrow(() -> throttle.acquire("otheruser", "10.0.0.3"));
+    assertEquals(1.0, meterRegistry.get("bank.security.login.throttled")
+        .tag("limit", "username").counter().count());
+  }
+
+  @Test
+  void acquire_manyUsernamesFromOneAddress_throttledByAddress() {
+    var throttle = new LoginThrottle(properties, meterRegistry);
+    for (int i = 0; i < 3; i++) {
+      throttle.acquire("user" + i, "10.0.0.1");
+    }
+
+    var ex = assertThrows(TooManyRequestsException.class,
+        () -> throttle.acquire("user3", "10.0.0.1"));
+    assertTrue(ex.getRetryAfter().compareTo(Duration.ZERO) > 0);
+    assertTrue(ex.getRetryAfter().compareTo(Duration.ofMinutes(1)) <= 0);
+    assertEquals(1.0, meterRegistry.get("bank.security.login.throttled")
+        .tag("limit", "ip").counter().count());
+  }
+
+  @Test
+  void acquire_disabled_neverThrottles() {
+    properties.setEnabled(false);
+    var throttle = new LoginThrottle(properties, meterRegistry);
+
+    for (int i = 0; i < 10; i++) {
+      throttle.acquire("testuser", "10.0.0.1");
+    }
+  }
+}
@@ -0,0 +1,74 @@
+package dev.itltcanz.bankapi.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import dev.itltcanz.bankapi.config.PasswordHashingProperties;
+import dev.itltcanz.bankapi.config.PasswordHashingProperties.Algorithm;
+import java.time.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+class PasswordEncodersTest {
+
+  private PasswordHashingProperties properties;
+
+  @BeforeEach
+  void setUp() {
+    properties = new PasswordHashingProperties();
+    properties.setStrength(5);
+  }
+
+  @Test
+  void encode_prefixesHashWithAlgorithm() {
+    var encoder = PasswordEncoders.create(properties);
+
+    var hash = encoder.encode("password");
+
+    assertTrue(hash.startsWith("{bcrypt}$2a$05$"));
+    assertTrue(encoder.matches("password", hash));
+    assertFalse(encoder.upgradeEncoding(hash));
+  }
+
+  @Test
+  void matches_legacyHashWithoutPrefix_acceptedAndUpgraded() {
+    var encoder = PasswordEncoders.create(properties);
+    var legacyHash = new BCryptPasswordEncoder(5).encode("password");
+
+    assertTrue(encoder.matches("password", legacyHash));
+    assertFalse(encoder.matches("wrong", legacyHash));
+    assertTrue(encoder.upgradeEncoding(legacyHash));
+  }
+
+  @Test
+  void upgradeEncoding_lowerCost_upgraded() {
+    var lowCostHash = PasswordEncoders.create(properties).encode("password");
+    properties.setStrength(6);
+
+    var encoder = PasswordEncoders.create(properties);
+
+    assertTrue(encoder.matches("password", lowCostHash));
+    assertTrue(encoder.upgradeEncoding(lowCostHash));
+  }
+
+  @Test
+  void upgradeEncoding_otherAlgorithm_upgraded() {
+    properties.setAlgorithm(Algorithm.PBKDF2);
+    var pbkdf2Hash = PasswordEncoders.create(properties).encode("password");
+    properties.setAlgorithm(Algorithm.BCRYPT);
+
+    var encoder = PasswordEncoders.create(properties);
+
+    assertTrue(pbkdf2Hash.startsWith("{pbkdf2}"));
+    assertTrue(encoder.matches("password", pbkdf2Hash));
+    assertTrue(encoder.upgradeEncoding(pbkdf2Hash));
+  }
+
+  @Test
+  void calibrateBCryptStrength_neverBelowMinimum() {
+    assertEquals(10, PasswordEncoders.calibrateBCryptStrength(Duration.ofNanos(1), 10));
+    assertTrue(PasswordEncoders.calibrateBCryptStrength(Duration.ofMillis(50), 4) >= 6);
+  }
+}
@@ -0,0 +1,136 @@
+package dev.itltcanz.bankapi.security;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import dev.itltcanz.bankapi.config.TokenRevocationProperties;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TokenRevocationServiceTest {
+
+  private TokenRevocationProperties properties;
+  private Instant expiresAt;
+
+  @BeforeEach
+  void setUp() {
+    properties = new TokenRevocationProperties();
+    expiresAt = Instant.now().plus(15, ChronoUnit.MINUTES);
+  }
+
+  @Test
+  void isRevoked_revokedToken_true() {
+    var service = new TokenRevocationService(new InMemoryRevokedTokenStore(), properties);
+
+    service.revoke("jti-1", expiresAt);
+
+    assertTrue(service.isRevoked("jti-1"));
+    assertFalse(service.isRevoked("jti-2"));
+  }
+
+  @Test
+  void isRevoked_revokedUser_onlyTokensIssuedBefore() {
+    var service = new TokenRevocationService(new InMemoryRevokedTokenStore(), properties);
+    var userId = UUID.randomUUID();
+    var oldVersion = service.getUserVersion(userId);
+
+    service.revokeUser(userId, expiresAt);
+
+    assertTrue(service.isRevoked(userId, oldVersion));
+    assertFalse(service.isRevoked(userId, service.getUserVersion(userId)));
+    assertFalse(service.isRevoked(UUID.randomUUID(), 0));
+  }
+
+  @Test
+  void isRevoked_userNotInFilter_skipsStore() {
+    var store = mock(RevokedTokenStore.class);
+    var service = new TokenRevocationService(store, properties);
+    var userId = UUID.randomUUID();
+
+    assertFalse(service.isRevoked(userId, 0));
+
+    verify(store, never()).getUserVersion(userId);
+  }
+
+  @Test
+  void isRevoked_notInFilter_skipsStore() {
+    var store = mock(RevokedTokenStore.class);
+    var service = new TokenRevocationService(store, properties);
+
+    assertFalse(service.isRevoked("jti-1"));
+
+    verify(store, never()).contains("jti-1");
+  }
+
+  @Test
+  void isRevoked_rememberedFromOtherNode_checksStore() {
+    var store = mock(RevokedTokenStore.class);
+    when(store.contains("jti-1")).thenReturn(true);
+    var service = new TokenRevocationService(store, properties);
+
+    service.remember("jti-1");
+
+    assertTrue(service.isRevoked("jti-1"));
+  }
+
+  @Test
+  void rebuild_loadsRevocationsFromStore() {
+    var store = mock(RevokedTokenStore.class);
+    when(store.findActive()).thenReturn(List.of("jti-1"));
+    when(store.contains("jti-1")).thenReturn(true);
+    var service = new TokenRevocationService(store, properties);
+
+    service.rebuild();
+
+    assertTrue(service.isRevoked("jti-1"));
+  }
+
+  @Test
+  void rebuild_concurrentRevocations_areKept() throws Exception {
+    properties.setExpectedRevocations(1_000_000);
+    properties.setFalsePositiveProbability(1e-9);
+    var service = new TokenRevocationService(new InMemoryRevokedTokenStore(), properties);
+    var revoking = new AtomicBoolean(true);
+    var executor = Executors.newSingleThreadExecutor();
+    try {
+      var rebuilds = executor.submit(() -> {
+        while (revoking.get()) {
+          service.rebuild();
+        }
+      });
+      // A revocation missing from the new filter is only restored by the next rebuild, so each
+      // one is checked right away.
+      for (int i = 0; i < 100_000; i++) {
+        service.revoke("jti-" + i, expiresAt);
+        assertTrue(service.isRevoked("jti-" + i), "jti-" + i);
+      }
+      revoking.set(false);
+      rebuilds.get(10, TimeUnit.SECONDS);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void rebuild_dropsExpiredRevocations() {
+    var store = new InMemoryRevokedTokenStore();
+    var service = new TokenRevocationService(store, properties);
+    service.revoke("jti-1", Instant.now().minusSeconds(1));
+
+    service.rebuild();
+
+    assertFalse(service.isRevoked("jti-1"));
+    assertTrue(store.findActive().isEmpty());
+  }
+}
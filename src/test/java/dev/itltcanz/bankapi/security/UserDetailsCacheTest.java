@@ -0,0 +1,95 @@
+package dev.itltcanz.bankapi.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import dev.itltcanz.bankapi.config.UserDetailsCacheProperties;
+import dev.itltcanz.bankapi.entity.User;
+import dev.itltcanz.bankapi.entity.enumeration.Role;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+class UserDetailsCacheTest {
+
+  private UserDetailsCacheProperties properties;
+  private AtomicInteger loads;
+  private User user;
+
+  @BeforeEach
+  void setUp() {
+    properties = new UserDetailsCacheProperties();
+    loads = new AtomicInteger();
+    user = new User(UUID.randomUUID(), "testuser", "password", Role.ROLE_USER);
+  }
+
+  @Test
+  void get_sameUsername_loadsOnce() {
+    var cache = new UserDetailsCache(properties, new SimpleMeterRegistry());
+
+    cache.get("testuser", this::load);
+    cache.get("testuser", this::load);
+
+    assertEquals(1, loads.get());
+  }
+
+  @Test
+  void get_cached_returnsDetachedCopies() {
+    var cache = new UserDetailsCache(properties, new SimpleMeterRegistry());
+    var first = cache.get("testuser", this::load);
+    first.setPassword("changed");
+
+    var second = cache.get("testuser", this::load);
+
+    assertNotSame(user, first);
+    assertNotSame(first, second);
+    assertEquals(user.getId(), second.getId());
+    assertEquals("password", second.getPassword());
+    assertEquals(Role.ROLE_USER, second.getRole());
+  }
+
+  @Test
+  void get_afterInvalidation_loadsAgain() {
+    var cache = new UserDetailsCache(properties, new SimpleMeterRegistry());
+    cache.get("testuser", this::load);
+
+    cache.onUserDetailsInvalidated(new UserDetailsInvalidatedEvent("testuser"));
+    cache.get("testuser", this::load);
+
+    assertEquals(2, loads.get());
+  }
+
+  @Test
+  void get_unknownUser_isNotCached() {
+    var cache = new UserDetailsCache(properties, new SimpleMeterRegistry());
+
+    for (int i = 0; i < 2; i++) {
+      assertThrows(UsernameNotFoundException.class, () -> cache.get("missing", username -> {
+        loads.incrementAndGet();
+        throw new UsernameNotFoundException("Username not found");
+      }));
+    }
+
+    assertEquals(2, loads.get());
+  }
+
+  @Test
+  void get_disabled_loadsEveryTime() {
+    properties.setEnabled(false);
+    var cache = new UserDetailsCache(properties, new SimpleMeterRegistry());
+
+    cache.get("testuser", this::load);
+    cache.get("testuser", this::load);
+
+    assertEquals(2, loads.get());
+  }
+
+  private User load(String username) {
+    loads.incrementAndGet();
+    return user;
+  }
+}
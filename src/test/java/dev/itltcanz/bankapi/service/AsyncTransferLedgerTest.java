@@ -0,0 +1,124 @@
+package dev.itltcanz.bankapi.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import dev.itltcanz.bankapi.cache.CacheInvalidator;
+import dev.itltcanz.bankapi.config.LedgerProperties;
+import dev.itltcanz.bankapi.config.TransferProperties;
+import dev.itltcanz.bankapi.dto.transaction.TransactionDtoCreate;
+import dev.itltcanz.bankapi.entity.Card;
+import dev.itltcanz.bankapi.entity.User;
+import dev.itltcanz.bankapi.entity.enumeration.CardStatus;
+import dev.itltcanz.bankapi.entity.enumeration.Role;
+import dev.itltcanz.bankapi.entity.enumeration.TransactionStatus;
+import dev.itltcanz.bankapi.filter.CardSpecification;
+import dev.itltcanz.bankapi.mapper.CardMapper;
+import dev.itltcanz.bankapi.mapper.TransactionMapper;
+import dev.itltcanz.bankapi.repository.CardRepo;
+import dev.itltcanz.bankapi.repository.TransactionRepo;
+import dev.itltcanz.bankapi.repository.UserRepo;
+import dev.itltcanz.bankapi.service.impl.BalanceServiceImpl;
+import dev.itltcanz.bankapi.service.impl.CardCheckServiceImpl;
+import dev.itltcanz.bankapi.service.impl.CardServiceImpl;
+import dev.itltcanz.bankapi.service.impl.LedgerServiceImpl;
+import dev.itltcanz.bankapi.service.impl.PermissionServiceImpl;
+import dev.itltcanz.bankapi.service.impl.TransactionServiceImpl;
+import dev.itltcanz.bankapi.transfer.TransferStep;
+import dev.itltcanz.bankapi.transfer.TransferStep.Phase;
+import dev.itltcanz.bankapi.util.Money;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+/**
+ * Posts an asynchronous transfer some time after it was submitted, as happens when it waits in
+ * the queue or is re-queued by recovery, and reads the ledger balances around the posting.
+ */
+@DataJpaTest(properties = {
+    "spring.liquibase.enabled=false",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.show-sql=false"
+})
+@Import({TransactionServiceImpl.class, CardServiceImpl.class, BalanceServiceImpl.class,
+    CardCheckServiceImpl.class, LedgerServiceImpl.class, TransferProperties.class})
+@EnableConfigurationProperties(LedgerProperties.class)
+class AsyncTransferLedgerTest {
+
+  private static final String SENDER = "4000000000000001";
+  private static final String RECEIVER = "4000000000000002";
+
+  @Autowired
+  private TransactionService transactionService;
+  @Autowired
+  private LedgerService ledgerService;
+  @Autowired
+  private CardRepo cardRepo;
+  @Autowired
+  private UserRepo userRepo;
+  @Autowired
+  private TransactionRepo transactionRepo;
+
+  @MockitoBean
+  private AuthService authService;
+  @MockitoBean
+  private PermissionServiceImpl permissionService;
+  @MockitoBean
+  private IdempotencyService idempotencyService;
+  @MockitoBean
+  private TransactionMapper transactionMapper;
+  @MockitoBean
+  private CacheInvalidator cacheInvalidator;
+  @MockitoBean
+  private CardSpecification cardSpecification;
+  @MockitoBean
+  private CardMapper cardMapper;
+  @MockitoBean
+  private UserService userService;
+  @MockitoBean
+  private CardNumberGeneratorService cardNumberGeneratorService;
+
+  @Test
+  void delayedPosting_movesFundsAtPostingTime() throws InterruptedException {
+    var owner = new User();
+    owner.setUsername("owner");
+    owner.setPassword("password");
+    owner.setRole(Role.ROLE_USER);
+    owner = userRepo.save(owner);
+    var sender = cardRepo.save(new Card(SENDER, owner, YearMonth.now().plusYears(1),
+        CardStatus.ACTIVE, Money.parse("100.00")));
+    ledgerService.recordBalanceChange(sender, Money.ZERO);
+    cardRepo.save(new Card(RECEIVER, owner, YearMonth.now().plusYears(1), CardStatus.ACTIVE,
+        Money.ZERO));
+    pause();
+
+    transactionService.submitTransaction(
+        new TransactionDtoCreate(SENDER, RECEIVER, Money.parse("30.00")));
+    var transaction = transactionRepo.findAll().get(0);
+    pause();
+    var beforePosting = LocalDateTime.now();
+    pause();
+    transactionService.processTransferSteps(
+        List.of(new TransferStep(transaction.getId(), Phase.TRANSFER, SENDER, RECEIVER)));
+    var afterPosting = LocalDateTime.now();
+
+    assertEquals(TransactionStatus.COMPLETED, transaction.getStatus());
+    assertEquals(Money.parse("100.00"), balanceAt(SENDER, beforePosting));
+    assertEquals(Money.ZERO, balanceAt(RECEIVER, beforePosting));
+    assertEquals(Money.parse("70.00"), balanceAt(SENDER, afterPosting));
+    assertEquals(Money.parse("30.00"), balanceAt(RECEIVER, afterPosting));
+  }
+
+  private Money balanceAt(String number, LocalDateTime at) {
+    return ledgerService.getBalanceAt(cardRepo.findById(number).orElseThrow(), at);
+  }
+
+  private static void pause() throws InterruptedException {
+    Thread.sleep(20);
+  }
+}
@@ -5,6 +5,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
@@ -14,8 +15,13 @@ import dev.itltcanz.bankapi.entity.User;
 import dev.itltcanz.bankapi.entity.enumeration.Role;
 import dev.itltcanz.bankapi.exception.NotFoundException;
 import dev.itltcanz.bankapi.exception.UsernameAlreadyUseException;
+import dev.itltcanz.bankapi.mapper.UserMapper;
 import dev.itltcanz.bankapi.repository.UserRepo;
+import dev.itltcanz.bankapi.security.AuthenticatedUser;
+import dev.itltcanz.bankapi.security.CurrentUserContext;
+import dev.itltcanz.bankapi.security.UserDetailsInvalidatedEvent;
 import dev.itltcanz.bankapi.service.impl.AuthServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.util.Optional;
 import java.util.UUID;
 import org.junit.jupiter.api.BeforeEach;
@@ -23,8 +29,9 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -44,7 +51,14 @@ class AuthServiceTest {
   private AuthenticationManager authManager;
 
   @Mock
-  private ModelMapper modelMapper;
+  private UserMapper userMapper;
+
+  @Mock
+  private ApplicationEventPublisher eventPublisher;
+
+  @Spy
+  private CurrentUserContext currentUserContext = new CurrentUserContext(
+      new SimpleMeterRegistry());
 
   @InjectMocks
   private AuthServiceImpl authenticationService;
@@ -90,13 +104,49 @@ class AuthServiceTest {
     verify(userRepo).findByUsername("testuser");
   }
 
+  @Test
+  void getCurrentPrincipal_authenticatedByToken_doesNotLoadUser() {
+    var principal = AuthenticatedUser.of(user);
+    SecurityContextHolder.getContext().setAuthentication(
+        UsernamePasswordAuthenticationToken.authenticated(principal, null,
+            principal.getAuthorities()));
+
+    AuthenticatedUser result = authenticationService.getCurrentPrincipal();
+
+    assertEquals(principal, result);
+    verifyNoInteractions(userRepo);
+  }
+
+  @Test
+  void getCurrentPrincipal_otherPrincipal_loadsUser() {
+    when(userRepo.findByUsername("testuser")).thenReturn(Optional.of(user));
+
+    AuthenticatedUser result = authenticationService.getCurrentPrincipal();
+
+    assertEquals(AuthenticatedUser.of(user), result);
+  }
+
+  @Test
+  void getCurrentUser_authenticatedByToken_loadsUserById() {
+    var principal = AuthenticatedUser.of(user);
+    SecurityContextHolder.getContext().setAuthentication(
+        UsernamePasswordAuthenticationToken.authenticated(principal, null,
+            principal.getAuthorities()));
+    when(userRepo.findById(user.getId())).thenReturn(Optional.of(user));
+
+    User result = authenticationService.getCurrentUser();
+
+    assertEquals(user, result);
+    verify(userRepo).findById(user.getId());
+  }
+
   @Test
   void register_success() {
     when(userRepo.existsByUsername("testuser")).thenReturn(false);
-    when(modelMapper.map(userDto, User.class)).thenReturn(user);
+    when(userMapper.toEntity(userDto)).thenReturn(user);
     when(encoder.encode("encodedPassword")).thenReturn("encodedPassword");
     when(userRepo.save(any(User.class))).thenReturn(user);
-    when(modelMapper.map(user, UserDtoResponse.class)).thenReturn(
+    when(userMapper.toResponse(user)).thenReturn(
         new UserDtoResponse(user.getId().toString(), "testuser", "ROLE_USER"));
 
     UserDtoResponse result = authenticationService.register(userDto);
@@ -106,6 +156,7 @@ class AuthServiceTest {
     verify(userRepo).existsByUsername("testuser");
     verify(encoder).encode("encodedPassword");
     verify(userRepo).save(any(User.class));
+    verify(eventPublisher).publishEvent(new UserDetailsInvalidatedEvent("testuser"));
   }
 
   @Test
@@ -117,13 +168,18 @@ class AuthServiceTest {
 
     assertEquals("A user with nickname testuser already exists", exception.getMessage());
     verify(userRepo).existsByUsername("testuser");
-    verifyNoMoreInteractions(modelMapper, encoder, userRepo);
+    verifyNoMoreInteractions(userMapper, encoder, userRepo);
   }
 
   @Test
   void verify_success() {
-    authenticationService.verify(userDto);
+    when(authManager.authenticate(new UsernamePasswordAuthenticationToken("testuser", "password")))
+        .thenReturn(UsernamePasswordAuthenticationToken.authenticated(user, null,
+            user.getAuthorities()));
 
+    User result = authenticationService.verify(userDto);
+
+    assertEquals(user, result);
     verify(authManager).authenticate(
         new UsernamePasswordAuthenticationToken("testuser", "password"));
   }
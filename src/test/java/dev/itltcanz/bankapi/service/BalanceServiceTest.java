@@ -15,7 +15,7 @@ import dev.itltcanz.bankapi.exception.InsufficientFundsException;
 import dev.itltcanz.bankapi.service.impl.BalanceServiceImpl;
 import dev.itltcanz.bankapi.service.impl.CardCheckServiceImpl;
 import dev.itltcanz.bankapi.service.impl.CardServiceImpl;
-import java.math.BigDecimal;
+import dev.itltcanz.bankapi.util.Money;
 import java.time.YearMonth;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -42,19 +42,19 @@ class BalanceServiceTest {
   @BeforeEach
   void setUp() {
     senderCard = new Card("1234567890123456", null,
-        YearMonth.now().plusYears(1), CardStatus.ACTIVE, new BigDecimal("100"));
+        YearMonth.now().plusYears(1), CardStatus.ACTIVE, Money.parse("100"));
     receiverCard = new Card("6543210987654321", null,
-        YearMonth.now().plusYears(1), CardStatus.ACTIVE, new BigDecimal("50"));
+        YearMonth.now().plusYears(1), CardStatus.ACTIVE, Money.parse("50"));
   }
 
   @Test
   void transferFunds_success() {
-    BigDecimal amount = new BigDecimal("30");
+    Money amount = Money.parse("30");
 
     balanceService.transferFunds(senderCard, receiverCard, amount);
 
-    assertEquals(new BigDecimal("70"), senderCard.getBalance());
-    assertEquals(new BigDecimal("80"), receiverCard.getBalance());
+    assertEquals(Money.parse("70"), senderCard.getBalance());
+    assertEquals(Money.parse("80"), receiverCard.getBalance());
     verify(cardCheckService, times(2)).checkValidityPeriod(any(YearMonth.class));
     verify(cardCheckService, times(2)).checkStatus(CardStatus.ACTIVE);
     verify(cardCheckService).checkBalanceBeforeTransfer(senderCard, amount);
@@ -63,7 +63,7 @@ class BalanceServiceTest {
 
   @Test
   void transferFunds_insufficientFunds_throwsInsufficientFundsException() {
-    BigDecimal amount = new BigDecimal("200");
+    Money amount = Money.parse("200");
     doThrow(new InsufficientFundsException("Insufficient funds")).when(cardCheckService)
         .checkBalanceBeforeTransfer(senderCard, amount);
 
@@ -74,4 +74,26 @@ class BalanceServiceTest {
     verify(cardCheckService).checkBalanceBeforeTransfer(senderCard, amount);
     verifyNoInteractions(cardService);
   }
-}
\ No newline at end of file
+
+  @Test
+  void debit_withdrawsFromSenderOnly() {
+    Money amount = Money.parse("30");
+
+    balanceService.debit(senderCard, receiverCard, amount);
+
+    assertEquals(Money.parse("70"), senderCard.getBalance());
+    assertEquals(Money.parse("50"), receiverCard.getBalance());
+    verify(cardCheckService, times(2)).checkStatus(CardStatus.ACTIVE);
+    verify(cardCheckService).checkBalanceBeforeTransfer(senderCard, amount);
+    verify(cardService).save(senderCard);
+  }
+
+  @Test
+  void credit_depositsToReceiverWithoutChecks() {
+    balanceService.credit(receiverCard, Money.parse("30"));
+
+    assertEquals(Money.parse("80"), receiverCard.getBalance());
+    verifyNoInteractions(cardCheckService);
+    verify(cardService).save(receiverCard);
+  }
+}
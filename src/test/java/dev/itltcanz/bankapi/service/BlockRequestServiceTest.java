@@ -5,11 +5,11 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import dev.itltcanz.bankapi.cache.CacheInvalidator;
 import dev.itltcanz.bankapi.dto.request.BlockRequestDtoCreate;
 import dev.itltcanz.bankapi.dto.request.BlockRequestDtoResponse;
 import dev.itltcanz.bankapi.entity.BlockRequest;
@@ -19,6 +19,7 @@ import dev.itltcanz.bankapi.entity.enumeration.CardStatus;
 import dev.itltcanz.bankapi.entity.enumeration.RequestStatus;
 import dev.itltcanz.bankapi.exception.NotFoundException;
 import dev.itltcanz.bankapi.exception.RequestAlreadyProcessedException;
+import dev.itltcanz.bankapi.mapper.BlockRequestMapper;
 import dev.itltcanz.bankapi.repository.BlockRequestRepo;
 import dev.itltcanz.bankapi.service.impl.AuthServiceImpl;
 import dev.itltcanz.bankapi.service.impl.BlockRequestServiceImpl;
@@ -32,7 +33,6 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
 import org.springframework.security.test.context.support.WithMockUser;
 
 @ExtendWith(MockitoExtension.class)
@@ -47,7 +47,9 @@ class BlockRequestServiceTest {
   @Mock
   private PermissionServiceImpl permissionService;
   @Mock
-  private ModelMapper modelMapper;
+  private BlockRequestMapper blockRequestMapper;
+  @Mock
+  private CacheInvalidator cacheInvalidator;
   @InjectMocks
   private BlockRequestServiceImpl blockRequestService;
 
@@ -81,7 +83,7 @@ class BlockRequestServiceTest {
   @WithMockUser(username = "testuser", roles = "USER")
   void getRequest_success() {
     when(requestRepo.findById(any(UUID.class))).thenReturn(Optional.of(blockRequest));
-    when(modelMapper.map(blockRequest, BlockRequestDtoResponse.class)).thenReturn(blockResponse);
+    when(blockRequestMapper.toResponse(blockRequest)).thenReturn(blockResponse);
 
     var result = blockRequestService.getRequest(blockRequest.getId().toString());
 
@@ -90,7 +92,7 @@ class BlockRequestServiceTest {
     assertEquals(blockResponse.getCardId(), result.getCardId());
     verify(requestRepo).findById(any(UUID.class));
     verify(permissionService).hasRights(blockRequest.getUser().getId().toString());
-    verify(modelMapper).map(blockRequest, BlockRequestDtoResponse.class);
+    verify(blockRequestMapper).toResponse(blockRequest);
   }
 
   @Test
@@ -102,7 +104,7 @@ class BlockRequestServiceTest {
     assertThrows(NotFoundException.class, () -> blockRequestService.getRequest(requestId));
     verify(requestRepo).findById(any(UUID.class));
     verify(permissionService, never()).hasRights(any(String.class));
-    verify(modelMapper, never()).map(any(), eq(BlockRequestDtoResponse.class));
+    verify(blockRequestMapper, never()).toResponse(any());
   }
 
   // Тесты для createRequest
@@ -113,7 +115,7 @@ class BlockRequestServiceTest {
     when(cardService.findByIdWithPermissionCheck(card.getNumber())).thenReturn(card);
     when(authService.getCurrentUser()).thenReturn(user);
     when(requestRepo.save(any(BlockRequest.class))).thenReturn(blockRequest);
-    when(modelMapper.map(blockRequest, BlockRequestDtoResponse.class)).thenReturn(blockResponse);
+    when(blockRequestMapper.toResponse(blockRequest)).thenReturn(blockResponse);
 
     BlockRequestDtoResponse result = blockRequestService.createRequest(dto);
 
@@ -123,7 +125,7 @@ class BlockRequestServiceTest {
     verify(cardService).findByIdWithPermissionCheck(card.getNumber());
     verify(authService).getCurrentUser();
     verify(requestRepo).save(any(BlockRequest.class));
-    verify(modelMapper).map(blockRequest, BlockRequestDtoResponse.class);
+    verify(blockRequestMapper).toResponse(blockRequest);
   }
 
   @Test
@@ -136,7 +138,7 @@ class BlockRequestServiceTest {
     assertThrows(IllegalStateException.class, () -> blockRequestService.createRequest(dto));
     verify(cardService).findByIdWithPermissionCheck(card.getNumber());
     verify(requestRepo, never()).save(any(BlockRequest.class));
-    verify(modelMapper, never()).map(any(), eq(BlockRequestDtoResponse.class));
+    verify(blockRequestMapper, never()).toResponse(any());
   }
 
   // Тесты для approveRequest
@@ -158,7 +160,7 @@ class BlockRequestServiceTest {
     when(authService.getCurrentUser()).thenReturn(user);
     when(cardService.save(any(Card.class))).thenReturn(card);
     when(requestRepo.save(any(BlockRequest.class))).thenReturn(updatedRequest);
-    when(modelMapper.map(updatedRequest, BlockRequestDtoResponse.class)).thenReturn(
+    when(blockRequestMapper.toResponse(updatedRequest)).thenReturn(
         updatedResponse);
 
     var result = blockRequestService.approveRequest(blockRequest.getId().toString());
@@ -172,7 +174,7 @@ class BlockRequestServiceTest {
     verify(requestRepo).save(any(BlockRequest.class));
     verify(permissionService).hasRights(blockRequest.getUser().getId().toString());
     verify(authService).getCurrentUser();
-    verify(modelMapper).map(updatedRequest, BlockRequestDtoResponse.class);
+    verify(blockRequestMapper).toResponse(updatedRequest);
   }
 
   @Test
@@ -184,7 +186,7 @@ class BlockRequestServiceTest {
     assertThrows(NotFoundException.class, () -> blockRequestService.approveRequest(requestId));
     verify(requestRepo).findById(any(UUID.class));
     verify(cardService, never()).findByIdWithPermissionCheck(any(String.class));
-    verify(modelMapper, never()).map(any(), eq(BlockRequestDtoResponse.class));
+    verify(blockRequestMapper, never()).toResponse(any());
   }
 
   @Test
@@ -197,7 +199,7 @@ class BlockRequestServiceTest {
         () -> blockRequestService.approveRequest(blockRequest.getId().toString()));
     verify(requestRepo).findById(any(UUID.class));
     verify(cardService, never()).findByIdWithPermissionCheck(any(String.class));
-    verify(modelMapper, never()).map(any(), eq(BlockRequestDtoResponse.class));
+    verify(blockRequestMapper, never()).toResponse(any());
   }
 
   // Тесты для rejectRequest
@@ -217,7 +219,7 @@ class BlockRequestServiceTest {
     when(requestRepo.findById(any(UUID.class))).thenReturn(Optional.of(blockRequest));
     when(authService.getCurrentUser()).thenReturn(user);
     when(requestRepo.save(any(BlockRequest.class))).thenReturn(updatedRequest);
-    when(modelMapper.map(updatedRequest, BlockRequestDtoResponse.class)).thenReturn(
+    when(blockRequestMapper.toResponse(updatedRequest)).thenReturn(
         updatedResponse);
 
     var result = blockRequestService.rejectRequest(blockRequest.getId().toString());
@@ -229,7 +231,7 @@ class BlockRequestServiceTest {
     verify(requestRepo).save(any(BlockRequest.class));
     verify(permissionService).hasRights(blockRequest.getUser().getId().toString());
     verify(authService).getCurrentUser();
-    verify(modelMapper).map(updatedRequest, BlockRequestDtoResponse.class);
+    verify(blockRequestMapper).toResponse(updatedRequest);
   }
 
   @Test
@@ -241,7 +243,7 @@ class BlockRequestServiceTest {
     assertThrows(NotFoundException.class, () -> blockRequestService.rejectRequest(requestId));
     verify(requestRepo).findById(any(UUID.class));
     verify(requestRepo, never()).save(any(BlockRequest.class));
-    verify(modelMapper, never()).map(any(), eq(BlockRequestDtoResponse.class));
+    verify(blockRequestMapper, never()).toResponse(any());
   }
 
   @Test
@@ -254,7 +256,7 @@ class BlockRequestServiceTest {
         () -> blockRequestService.rejectRequest(blockRequest.getId().toString()));
     verify(requestRepo).findById(any(UUID.class));
     verify(requestRepo, never()).save(any(BlockRequest.class));
-    verify(modelMapper, never()).map(any(), eq(BlockRequestDtoResponse.class));
+    verify(blockRequestMapper, never()).toResponse(any());
   }
 
   // Тесты для findByIdValid
@@ -9,7 +9,7 @@ import dev.itltcanz.bankapi.entity.enumeration.CardStatus;
 import dev.itltcanz.bankapi.exception.InactiveCardException;
 import dev.itltcanz.bankapi.exception.InsufficientFundsException;
 import dev.itltcanz.bankapi.service.impl.CardCheckServiceImpl;
-import java.math.BigDecimal;
+import dev.itltcanz.bankapi.util.Money;
 import java.time.YearMonth;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -26,7 +26,7 @@ class CardCheckServiceTest {
   void setUp() {
     cardCheckService = new CardCheckServiceImpl();
     card = new Card("1234567890123456", null, YearMonth.now().plusYears(1), CardStatus.ACTIVE,
-        new BigDecimal("100"));
+        Money.parse("100"));
   }
 
   @Test
@@ -61,14 +61,14 @@ class CardCheckServiceTest {
 
   @Test
   void checkBalanceBeforeTransfer_sufficientFunds_success() {
-    BigDecimal amount = new BigDecimal("50");
+    Money amount = Money.parse("50");
 
     assertDoesNotThrow(() -> cardCheckService.checkBalanceBeforeTransfer(card, amount));
   }
 
   @Test
   void checkBalanceBeforeTransfer_insufficientFunds_throwsInsufficientFundsException() {
-    BigDecimal amount = new BigDecimal("200");
+    Money amount = Money.parse("200");
 
     InsufficientFundsException exception = assertThrows(InsufficientFundsException.class,
         () -> cardCheckService.checkBalanceBeforeTransfer(card, amount));
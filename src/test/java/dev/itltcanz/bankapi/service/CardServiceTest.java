@@ -4,13 +4,17 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import dev.itltcanz.bankapi.cache.CacheInvalidator;
+import dev.itltcanz.bankapi.config.TransferProperties;
+import dev.itltcanz.bankapi.config.TransferProperties.LockingMode;
+import dev.itltcanz.bankapi.dto.card.CardBalanceDtoResponse;
 import dev.itltcanz.bankapi.dto.card.CardDtoCreate;
 import dev.itltcanz.bankapi.dto.card.CardDtoPut;
 import dev.itltcanz.bankapi.dto.card.CardDtoResponse;
@@ -21,24 +25,30 @@ import dev.itltcanz.bankapi.entity.enumeration.Role;
 import dev.itltcanz.bankapi.exception.NotFoundException;
 import dev.itltcanz.bankapi.filter.CardFilter;
 import dev.itltcanz.bankapi.filter.CardSpecification;
+import dev.itltcanz.bankapi.mapper.CardMapper;
 import dev.itltcanz.bankapi.repository.CardRepo;
+import dev.itltcanz.bankapi.security.AuthenticatedUser;
 import dev.itltcanz.bankapi.service.impl.AuthServiceImpl;
 import dev.itltcanz.bankapi.service.impl.CardNumberGeneratorServiceImpl;
 import dev.itltcanz.bankapi.service.impl.CardServiceImpl;
 import dev.itltcanz.bankapi.service.impl.PermissionServiceImpl;
 import dev.itltcanz.bankapi.service.impl.UserServiceImpl;
-import java.math.BigDecimal;
+import dev.itltcanz.bankapi.util.Money;
+import java.time.LocalDateTime;
 import java.time.YearMonth;
 import java.util.List;
 import java.util.Optional;
+import java.util.TreeSet;
 import java.util.UUID;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -54,7 +64,7 @@ class CardServiceTest {
   @Mock
   private CardSpecification specification;
   @Mock
-  private ModelMapper modelMapper;
+  private CardMapper cardMapper;
 
   @Mock
   private AuthServiceImpl authService;
@@ -64,6 +74,14 @@ class CardServiceTest {
   private PermissionServiceImpl permissionService;
   @Mock
   private CardNumberGeneratorServiceImpl cardNumberGeneratorService;
+  @Spy
+  private TransferProperties transferProperties = new TransferProperties();
+  @Mock
+  private LedgerService ledgerService;
+  @Mock
+  private CacheInvalidator cacheInvalidator;
+  @Mock
+  private CacheManager cacheManager;
   @InjectMocks
   private CardServiceImpl cardService;
 
@@ -84,7 +102,7 @@ class CardServiceTest {
     card.setNumber("4561261212345467");
     card.setStatus(CardStatus.ACTIVE);
     card.setOwner(user);
-    card.setBalance(BigDecimal.ZERO);
+    card.setBalance(Money.ZERO);
 
     response = new CardDtoResponse();
     response.setNumber(card.getNumber());
@@ -103,12 +121,12 @@ class CardServiceTest {
     var dtoCreate = new CardDtoCreate();
     dtoCreate.setOwnerId(user.getId().toString());
     dtoCreate.setValidityPeriod(YearMonth.of(2030, 6));
-    dtoCreate.setBalance(BigDecimal.valueOf(10000));
+    dtoCreate.setBalance(Money.parse("10000"));
 
     when(userService.findUserById(dtoCreate.getOwnerId())).thenReturn(user);
     when(cardNumberGeneratorService.generateCardNumber()).thenReturn(card.getNumber());
     when(cardRepo.save(any(Card.class))).thenReturn(card);
-    when(modelMapper.map(card, CardDtoResponse.class)).thenReturn(response);
+    when(cardMapper.toResponse(card)).thenReturn(response);
 
     var result = cardService.createCard(dtoCreate);
 
@@ -116,7 +134,9 @@ class CardServiceTest {
     assertEquals(card.getNumber(), result.getNumber());
     assertEquals(CardStatus.ACTIVE.toString(), result.getStatus());
     verify(cardRepo).save(any(Card.class));
-    verify(modelMapper).map(card, CardDtoResponse.class);
+    verify(ledgerService).recordBalanceChange(card, Money.ZERO);
+    verify(cacheInvalidator).cardListChanged(user.getId());
+    verify(cardMapper).toResponse(card);
   }
 
   // Тесты для getCards
@@ -126,11 +146,11 @@ class CardServiceTest {
     // Arrange
     var cardPage = new PageImpl<>(List.of(card), pageRequest, 1);
 
-    when(authService.getCurrentUser()).thenReturn(user);
+    when(authService.getCurrentPrincipal()).thenReturn(AuthenticatedUser.of(user));
     when(specification.withFilter(filter)).thenReturn(
         null); // Заменили Specification.where(null) на null
     when(cardRepo.findAll((Specification<Card>) null, pageRequest)).thenReturn(cardPage);
-    when(modelMapper.map(card, CardDtoResponse.class)).thenReturn(response);
+    when(cardMapper.toResponse(card)).thenReturn(response);
 
     // Act
     var userCards = cardService.getUserCards(filter, pageRequest);
@@ -142,10 +162,10 @@ class CardServiceTest {
     assertEquals(CardStatus.ACTIVE.toString(), userCards.getContent().get(0).getStatus());
 
     // Verify
-    verify(authService).getCurrentUser();
+    verify(authService).getCurrentPrincipal();
     verify(specification).withFilter(filter);
     verify(cardRepo).findAll((Specification<Card>) null, pageRequest);
-    verify(modelMapper).map(card, CardDtoResponse.class);
+    verify(cardMapper).toResponse(card);
   }
 
   @Test
@@ -157,7 +177,7 @@ class CardServiceTest {
     when(specification.withFilter(filter)).thenReturn(
         null); // Заменили Specification.where(null) на null
     when(cardRepo.findAll((Specification<Card>) null, pageRequest)).thenReturn(cardPage);
-    when(modelMapper.map(card, CardDtoResponse.class)).thenReturn(response);
+    when(cardMapper.toResponse(card)).thenReturn(response);
 
     // Act
     Page<CardDtoResponse> result = cardService.getAdminCards(filter, pageRequest);
@@ -171,7 +191,7 @@ class CardServiceTest {
     // Verify
     verify(specification).withFilter(filter);
     verify(cardRepo).findAll((Specification<Card>) null, pageRequest);
-    verify(modelMapper).map(card, CardDtoResponse.class);
+    verify(cardMapper).toResponse(card);
   }
 
   // Тесты для deleteCard
@@ -186,6 +206,7 @@ class CardServiceTest {
     verify(permissionService).hasRights(card.getOwner().getId().toString());
     verify(cardRepo).findById(card.getNumber());
     verify(cardRepo).delete(card);
+    verify(cacheInvalidator).cardListChanged(card.getOwner().getId());
   }
 
   @Test
@@ -226,7 +247,7 @@ class CardServiceTest {
   void getCardById_success() {
     doNothing().when(permissionService).hasRights(card.getOwner().getId().toString());
     when(cardRepo.findById(card.getNumber())).thenReturn(Optional.of(card));
-    when(modelMapper.map(card, CardDtoResponse.class)).thenReturn(response);
+    when(cardMapper.toResponse(card)).thenReturn(response);
 
     var result = cardService.getCardById(card.getNumber());
 
@@ -235,7 +256,22 @@ class CardServiceTest {
 
     verify(permissionService).hasRights(card.getOwner().getId().toString());
     verify(cardRepo).findById(card.getNumber());
-    verify(modelMapper).map(card, CardDtoResponse.class);
+    verify(cardMapper).toResponse(card);
+  }
+
+  @Test
+  void getCardById_cached_checksAccessOnEveryRead() {
+    when(cacheManager.getCache(CacheInvalidator.CARDS)).thenReturn(new ConcurrentMapCache("cards"));
+    when(cardRepo.findById(card.getNumber())).thenReturn(Optional.of(card));
+    when(cardMapper.toResponse(card)).thenReturn(response);
+    cardService.getCardById(card.getNumber());
+    doThrow(new AccessDeniedException("Access denied"))
+        .when(permissionService).hasRights(user.getId().toString());
+
+    assertThrows(AccessDeniedException.class, () -> cardService.getCardById(card.getNumber()));
+
+    verify(cardRepo).findById(card.getNumber());
+    verify(permissionService, times(2)).hasRights(user.getId().toString());
   }
 
   @Test
@@ -248,7 +284,7 @@ class CardServiceTest {
     assertThrows(NotFoundException.class, () -> cardService.getCardById(cardId));
 
     verify(cardRepo).findById(cardId);
-    verify(modelMapper, never()).map(any(), eq(CardDtoResponse.class));
+    verify(cardMapper, never()).toResponse(any());
 
   }
 
@@ -260,11 +296,11 @@ class CardServiceTest {
     dto.setOwnerId(user.getId().toString());
 
     doNothing().when(permissionService).hasRights(card.getOwner().getId().toString());
-    doNothing().when(modelMapper).map(dto, card);
+    doNothing().when(cardMapper).updateEntity(dto, card);
     when(userService.findUserById(user.getId().toString())).thenReturn(user);
     when(cardRepo.findById(card.getNumber())).thenReturn(Optional.of(card));
     when(cardRepo.save(any(Card.class))).thenReturn(card);
-    when(modelMapper.map(card, CardDtoResponse.class)).thenReturn(response);
+    when(cardMapper.toResponse(card)).thenReturn(response);
 
     CardDtoResponse result = cardService.updateCard(card.getNumber(), dto);
 
@@ -273,9 +309,25 @@ class CardServiceTest {
 
     verify(permissionService).hasRights(card.getOwner().getId().toString());
     verify(cardRepo).findById(card.getNumber());
-    verify(modelMapper).map(dto, card);
+    verify(cardMapper).updateEntity(dto, card);
     verify(cardRepo).save(card);
-    verify(modelMapper).map(card, CardDtoResponse.class);
+    verify(ledgerService).recordBalanceChange(card, Money.ZERO);
+    verify(cardMapper).toResponse(card);
+  }
+
+  @Test
+  void getCardBalance_atPointInTime_readsLedger() {
+    var at = LocalDateTime.of(2025, 1, 31, 23, 59);
+    when(cardRepo.findById(card.getNumber())).thenReturn(Optional.of(card));
+    when(cardMapper.toBalanceResponse(card)).thenReturn(
+        new CardBalanceDtoResponse());
+    when(ledgerService.getBalanceAt(card, at)).thenReturn(Money.parse("42.00"));
+
+    var result = cardService.getCardBalance(card.getNumber(), at);
+
+    assertEquals(Money.parse("42.00"), result.getBalance());
+    assertEquals(at, result.getAt());
+    verify(permissionService).hasRights(user.getId().toString());
   }
 
   @Test
@@ -290,7 +342,7 @@ class CardServiceTest {
 
     verify(cardRepo).findById(cardId);
     verify(cardRepo, never()).save(any(Card.class));
-    verify(modelMapper, never()).map(any(), any());
+    verify(cardMapper, never()).updateEntity(any(), any());
   }
 
   // Тесты для findByIdWithPermissionCheck
@@ -366,6 +418,45 @@ class CardServiceTest {
     verify(cardRepo).findById(card.getNumber());
   }
 
+  // Тесты для findAllForUpdate
+  @Test
+  void findAllForUpdate_success_locksInNumberOrder() {
+    var otherCard = new Card("1111222233334444", user, YearMonth.now().plusYears(1),
+        CardStatus.ACTIVE, Money.parse("10"));
+    var numbers = new TreeSet<>(List.of(otherCard.getNumber(), card.getNumber()));
+    when(cardRepo.findAllByNumberInForUpdate(numbers)).thenReturn(List.of(otherCard, card));
+
+    var result = cardService.findAllForUpdate(List.of(card.getNumber(), otherCard.getNumber()));
+
+    assertEquals(List.of(otherCard.getNumber(), card.getNumber()),
+        List.copyOf(result.keySet()));
+    verify(cardRepo).findAllByNumberInForUpdate(numbers);
+  }
+
+  @Test
+  void findAllForUpdate_optimisticMode_readsWithoutLock() {
+    transferProperties.setLockingMode(LockingMode.OPTIMISTIC);
+    var numbers = new TreeSet<>(List.of(card.getNumber()));
+    when(cardRepo.findAllByNumberInOrderByNumber(numbers)).thenReturn(List.of(card));
+
+    var result = cardService.findAllForUpdate(List.of(card.getNumber()));
+
+    assertEquals(card, result.get(card.getNumber()));
+    verify(cardRepo, never()).findAllByNumberInForUpdate(any());
+  }
+
+  @Test
+  void findAllForUpdate_missingCard_throwsNotFoundException() {
+    String cardId = "1234567890123456";
+    when(cardRepo.findAllByNumberInForUpdate(any())).thenReturn(List.of(card));
+
+    NotFoundException exception = assertThrows(NotFoundException.class,
+        () -> cardService.findAllForUpdate(List.of(card.getNumber(), cardId)));
+
+    assertEquals("A card with the number " + cardId + " has not been found.",
+        exception.getMessage());
+  }
+
   // Тесты для save
   @Test
   void save_success() {
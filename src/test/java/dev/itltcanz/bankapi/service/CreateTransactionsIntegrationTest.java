@@ -0,0 +1,125 @@
+package dev.itltcanz.bankapi.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import dev.itltcanz.bankapi.cache.CacheInvalidator;
+import dev.itltcanz.bankapi.config.TransferProperties;
+import dev.itltcanz.bankapi.dto.transaction.TransactionDtoCreate;
+import dev.itltcanz.bankapi.entity.Card;
+import dev.itltcanz.bankapi.entity.User;
+import dev.itltcanz.bankapi.entity.enumeration.CardStatus;
+import dev.itltcanz.bankapi.entity.enumeration.Role;
+import dev.itltcanz.bankapi.entity.enumeration.TransactionStatus;
+import dev.itltcanz.bankapi.filter.CardSpecification;
+import dev.itltcanz.bankapi.mapper.CardMapper;
+import dev.itltcanz.bankapi.mapper.TransactionMapper;
+import dev.itltcanz.bankapi.repository.CardRepo;
+import dev.itltcanz.bankapi.repository.TransactionRepo;
+import dev.itltcanz.bankapi.repository.UserRepo;
+import dev.itltcanz.bankapi.service.impl.BalanceServiceImpl;
+import dev.itltcanz.bankapi.service.impl.CardCheckServiceImpl;
+import dev.itltcanz.bankapi.service.impl.CardServiceImpl;
+import dev.itltcanz.bankapi.service.impl.PermissionServiceImpl;
+import dev.itltcanz.bankapi.service.impl.TransactionServiceImpl;
+import dev.itltcanz.bankapi.util.Money;
+import java.time.YearMonth;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Runs a batch of transfers through the transactional service proxies against a real database,
+ * so that an item failing inside a nested transactional call is checked not to roll back the
+ * items that succeeded.
+ */
+@DataJpaTest(properties = {
+    "spring.liquibase.enabled=false",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.show-sql=false"
+})
+@Import({TransactionServiceImpl.class, CardServiceImpl.class, BalanceServiceImpl.class,
+    CardCheckServiceImpl.class, TransferProperties.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CreateTransactionsIntegrationTest {
+
+  @Autowired
+  private TransactionService transactionService;
+  @Autowired
+  private CardRepo cardRepo;
+  @Autowired
+  private UserRepo userRepo;
+  @Autowired
+  private TransactionRepo transactionRepo;
+
+  @MockitoBean
+  private AuthService authService;
+  @MockitoBean
+  private PermissionServiceImpl permissionService;
+  @MockitoBean
+  private IdempotencyService idempotencyService;
+  @MockitoBean
+  private LedgerService ledgerService;
+  @MockitoBean
+  private TransactionMapper transactionMapper;
+  @MockitoBean
+  private CacheInvalidator cacheInvalidator;
+  @MockitoBean
+  private CardSpecification cardSpecification;
+  @MockitoBean
+  private CardMapper cardMapper;
+  @MockitoBean
+  private UserService userService;
+  @MockitoBean
+  private CardNumberGeneratorService cardNumberGeneratorService;
+
+  private User owner;
+
+  @BeforeEach
+  void setUp() {
+    transactionRepo.deleteAll();
+    cardRepo.deleteAll();
+    userRepo.deleteAll();
+    owner = new User();
+    owner.setUsername("owner");
+    owner.setPassword("password");
+    owner.setRole(Role.ROLE_USER);
+    owner = userRepo.save(owner);
+  }
+
+  @Test
+  void mixedBatch_commitsSuccessfulItemsAndReportsFailedOnes() {
+    saveCard("4000000000000001", "100.00", CardStatus.ACTIVE);
+    saveCard("4000000000000002", "0.00", CardStatus.ACTIVE);
+    saveCard("4000000000000003", "0.00", CardStatus.BLOCKED);
+
+    var results = transactionService.createTransactions(List.of(
+        new TransactionDtoCreate("4000000000000001", "4000000000000002", Money.parse("30.00")),
+        new TransactionDtoCreate("4000000000000001", "4000000000000002", Money.parse("500.00")),
+        new TransactionDtoCreate("4000000000000001", "4000000000000003", Money.parse("10.00")),
+        new TransactionDtoCreate("4000000000000002", "4000000000000001", Money.parse("5.00"))));
+
+    assertEquals(TransactionStatus.COMPLETED, results.get(0).getStatus());
+    assertEquals(TransactionStatus.FAILED, results.get(1).getStatus());
+    assertEquals(TransactionStatus.FAILED, results.get(2).getStatus());
+    assertEquals(TransactionStatus.COMPLETED, results.get(3).getStatus());
+    assertEquals(Money.parse("75.00"), balance("4000000000000001"));
+    assertEquals(Money.parse("25.00"), balance("4000000000000002"));
+    assertEquals(Money.parse("0.00"), balance("4000000000000003"));
+    assertEquals(2, transactionRepo.count());
+  }
+
+  private void saveCard(String number, String balance, CardStatus status) {
+    cardRepo.save(new Card(number, owner, YearMonth.now().plusYears(1), status,
+        Money.parse(balance)));
+  }
+
+  private Money balance(String number) {
+    return cardRepo.findById(number).orElseThrow().getBalance();
+  }
+}
@@ -0,0 +1,74 @@
+package dev.itltcanz.bankapi.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import dev.itltcanz.bankapi.entity.User;
+import dev.itltcanz.bankapi.entity.enumeration.Role;
+import dev.itltcanz.bankapi.exception.NotFoundException;
+import dev.itltcanz.bankapi.repository.UserRepo;
+import dev.itltcanz.bankapi.security.CurrentUserContext;
+import dev.itltcanz.bankapi.service.impl.AuthServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Resolves the current user of a request authenticated by username and password against the
+ * database. The username is not a user ID, so looking it up as one fails for every user.
+ */
+@DataJpaTest(properties = {
+    "spring.liquibase.enabled=false",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.show-sql=false"
+})
+class CurrentUserLookupTest {
+
+  @Autowired
+  private UserRepo userRepo;
+
+  private AuthService authService;
+
+  @BeforeEach
+  void setUp() {
+    authService = new AuthServiceImpl(userRepo, null, null, null,
+        new CurrentUserContext(new SimpleMeterRegistry()), null);
+  }
+
+  @AfterEach
+  void tearDown() {
+    SecurityContextHolder.clearContext();
+  }
+
+  @Test
+  void getCurrentUser_authenticatedByUsername_findsUser() {
+    var user = new User();
+    user.setUsername("alice");
+    user.setPassword("password");
+    user.setRole(Role.ROLE_USER);
+    user = userRepo.save(user);
+    authenticate("alice");
+
+    assertEquals(user.getId(), authService.getCurrentUser().getId());
+    assertEquals(user.getId(), authService.getCurrentPrincipal().id());
+  }
+
+  @Test
+  void getCurrentUser_unknownUsername_throwsNotFoundException() {
+    authenticate("nobody");
+
+    var exception = assertThrows(NotFoundException.class, () -> authService.getCurrentUser());
+
+    assertEquals("A user with nickname nobody was not found", exception.getMessage());
+  }
+
+  private static void authenticate(String username) {
+    SecurityContextHolder.getContext().setAuthentication(
+        UsernamePasswordAuthenticationToken.authenticated(username, null, null));
+  }
+}
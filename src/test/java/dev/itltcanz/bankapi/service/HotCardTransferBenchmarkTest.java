@@ -0,0 +1,216 @@
+package dev.itltcanz.bankapi.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import dev.itltcanz.bankapi.config.TransferProperties;
+import dev.itltcanz.bankapi.entity.Card;
+import dev.itltcanz.bankapi.entity.Transaction;
+import dev.itltcanz.bankapi.entity.User;
+import dev.itltcanz.bankapi.entity.enumeration.CardStatus;
+import dev.itltcanz.bankapi.entity.enumeration.Role;
+import dev.itltcanz.bankapi.entity.enumeration.TransactionStatus;
+import dev.itltcanz.bankapi.repository.BalanceCheckpointRepo;
+import dev.itltcanz.bankapi.repository.CardRepo;
+import dev.itltcanz.bankapi.repository.LedgerEntryRepo;
+import dev.itltcanz.bankapi.repository.TransactionRepo;
+import dev.itltcanz.bankapi.repository.UserRepo;
+import dev.itltcanz.bankapi.transfer.AsyncTransferPipeline;
+import dev.itltcanz.bankapi.transfer.TransferRetryExecutor;
+import dev.itltcanz.bankapi.transfer.TransferSubmittedEvent;
+import dev.itltcanz.bankapi.util.Money;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Compares the row-locking transfer path with the sharded lane pipeline on the worst case for
+ * row locks: many senders paying into one merchant card. Both runs must leave the same balances;
+ * the throughput of each run is logged. Tagged {@code benchmark}, so it only runs with the
+ * {@code loadtest} profile.
+ */
+@Slf4j
+@Tag("benchmark")
+@DataJpaTest(properties = {
+    "spring.liquibase.enabled=false",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.show-sql=false"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class HotCardTransferBenchmarkTest {
+
+  private static final int SENDERS = 32;
+  private static final int TRANSFERS_PER_SENDER = 25;
+  private static final int THREADS = 16;
+  private static final String MERCHANT = "5000000000000000";
+
+  @Autowired
+  private CardRepo cardRepo;
+  @Autowired
+  private UserRepo userRepo;
+  @Autowired
+  private TransactionRepo transactionRepo;
+  @Autowired
+  private LedgerEntryRepo ledgerEntryRepo;
+  @Autowired
+  private BalanceCheckpointRepo balanceCheckpointRepo;
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  private TransferProperties transferProperties;
+  private CardService cardService;
+  private BalanceService balanceService;
+  private LedgerService ledgerService;
+  private TransactionService transactionService;
+  private TransactionTemplate transactionTemplate;
+  private TransferRetryExecutor retryExecutor;
+  private List<String> senders;
+  private User owner;
+
+  @BeforeEach
+  void setUp() {
+    cleanUp();
+    owner = new User();
+    owner.setUsername("merchant");
+    owner.setPassword("password");
+    owner.setRole(Role.ROLE_USER);
+    owner = userRepo.save(owner);
+    saveCard(MERCHANT, "0.00");
+    senders = new ArrayList<>();
+    for (int i = 1; i <= SENDERS; i++) {
+      senders.add(String.valueOf(4_000_000_000_000_000L + i));
+      saveCard(senders.get(i - 1), "1000.00");
+    }
+
+    transferProperties = new TransferProperties();
+    transferProperties.getRetry().setMaxAttempts(1000);
+    transferProperties.getRetry().setMaxBackoff(Duration.ofMillis(20));
+    var services = new TransferServices(cardRepo, transactionRepo, ledgerEntryRepo,
+        balanceCheckpointRepo, transferProperties, transactionManager);
+    cardService = services.getCardService();
+    balanceService = services.getBalanceService();
+    ledgerService = services.getLedgerService();
+    transactionService = services.getTransactionService();
+    transactionTemplate = services.getTransactionTemplate();
+    retryExecutor = new TransferRetryExecutor(transferProperties, new SimpleMeterRegistry());
+  }
+
+  @AfterEach
+  void cleanUp() {
+    ledgerEntryRepo.deleteAll();
+    balanceCheckpointRepo.deleteAll();
+    transactionRepo.deleteAll();
+    cardRepo.deleteAll();
+    userRepo.deleteAll();
+  }
+
+  @Test
+  void rowLockingPath_intoOneMerchantCard() throws Exception {
+    var executor = Executors.newFixedThreadPool(THREADS);
+    var started = System.nanoTime();
+    try {
+      var futures = senders.stream().map(sender -> executor.submit(() -> {
+        for (int i = 0; i < TRANSFERS_PER_SENDER; i++) {
+          transfer(sender);
+        }
+        return null;
+      })).toList();
+      for (var future : futures) {
+        future.get(120, TimeUnit.SECONDS);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    report("row locking", started);
+    assertBalances();
+  }
+
+  @Test
+  void lanePipeline_intoOneMerchantCard() throws Exception {
+    var transactions = new ArrayList<Transaction>();
+    transactionTemplate.executeWithoutResult(status -> {
+      var merchant = cardRepo.findById(MERCHANT).orElseThrow();
+      for (var sender : senders) {
+        var senderCard = cardRepo.findById(sender).orElseThrow();
+        for (int i = 0; i < TRANSFERS_PER_SENDER; i++) {
+          transactions.add(transactionRepo.save(Transaction.builder().senderCard(senderCard)
+              .receiverCard(merchant).amount(Money.parse("1.00"))
+              .status(TransactionStatus.PENDING).createdAt(LocalDateTime.now()).build()));
+        }
+      }
+    });
+    var pipeline = new AsyncTransferPipeline(transactionService, retryExecutor,
+        transferProperties, new SimpleMeterRegistry());
+
+    var started = System.nanoTime();
+    try {
+      for (var transaction : transactions) {
+        pipeline.onTransferSubmitted(new TransferSubmittedEvent(transaction.getId(),
+            transaction.getSenderCard().getNumber(), MERCHANT));
+      }
+      var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(120);
+      while (!transactionRepo.findTransferCardsByStatusInAndCreatedAtBefore(
+          List.of(TransactionStatus.PENDING, TransactionStatus.DEBITED),
+          LocalDateTime.now().plusDays(1), PageRequest.of(0, 1)).isEmpty()) {
+        assertTrue(System.nanoTime() < deadline, "The lanes did not drain in time");
+        Thread.sleep(5);
+      }
+    } finally {
+      pipeline.shutdown();
+    }
+    report("lanes", started);
+    assertBalances();
+  }
+
+  private void transfer(String sender) {
+    retryExecutor.execute(() -> transactionTemplate.execute(status -> {
+      var cards = cardService.findAllForUpdate(List.of(sender, MERCHANT));
+      var amount = Money.parse("1.00");
+      balanceService.transferFunds(cards.get(sender), cards.get(MERCHANT), amount);
+      var transaction = transactionRepo.save(Transaction.builder().senderCard(cards.get(sender))
+          .receiverCard(cards.get(MERCHANT)).amount(amount).status(TransactionStatus.COMPLETED)
+          .createdAt(LocalDateTime.now()).build());
+      ledgerService.recordTransfer(transaction);
+      return null;
+    }));
+  }
+
+  private void report(String path, long startedNanos) {
+    var transfers = SENDERS * TRANSFERS_PER_SENDER;
+    var millis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedNanos));
+    log.info("{}: {} transfers into one card in {} ms ({} transfers/s)", path, transfers, millis,
+        transfers * 1000L / millis);
+  }
+
+  private void assertBalances() {
+    var expected = Money.ofMinor(SENDERS * TRANSFERS_PER_SENDER * 100L);
+    assertEquals(0, expected.compareTo(cardRepo.findById(MERCHANT).orElseThrow().getBalance()));
+    for (var sender : senders) {
+      assertEquals(0, Money.ofMinor((1000 - TRANSFERS_PER_SENDER) * 100L)
+          .compareTo(cardRepo.findById(sender).orElseThrow().getBalance()));
+    }
+    assertEquals(2L * SENDERS * TRANSFERS_PER_SENDER, ledgerEntryRepo.count());
+  }
+
+  private void saveCard(String number, String balance) {
+    cardRepo.save(new Card(number, owner, YearMonth.now().plusYears(1), CardStatus.ACTIVE,
+        Money.parse(balance)));
+  }
+}
@@ -0,0 +1,114 @@
+package dev.itltcanz.bankapi.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import dev.itltcanz.bankapi.config.IdempotencyProperties;
+import dev.itltcanz.bankapi.entity.IdempotencyKey;
+import dev.itltcanz.bankapi.exception.DuplicateRequestException;
+import dev.itltcanz.bankapi.repository.IdempotencyKeyRepo;
+import dev.itltcanz.bankapi.service.impl.IdempotencyServiceImpl;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyServiceTest {
+
+  @Mock
+  private IdempotencyKeyRepo idempotencyKeyRepo;
+
+  private IdempotencyServiceImpl idempotencyService;
+  private UUID userId;
+  private UUID transactionId;
+
+  @BeforeEach
+  void setUp() {
+    idempotencyService = new IdempotencyServiceImpl(idempotencyKeyRepo,
+        new IdempotencyProperties());
+    userId = UUID.randomUUID();
+    transactionId = UUID.randomUUID();
+  }
+
+  @Test
+  void findTransactionId_unknownKey_returnsEmpty() {
+    when(idempotencyKeyRepo.findByUserIdAndKey(userId, "key-1")).thenReturn(Optional.empty());
+
+    assertTrue(idempotencyService.findTransactionId(userId, "key-1", "hash").isEmpty());
+  }
+
+  @Test
+  void findTransactionId_storedKey_isLoadedOnce() {
+    var stored = new IdempotencyKey(UUID.randomUUID(), userId, "key-1", "hash", transactionId,
+        LocalDateTime.now());
+    when(idempotencyKeyRepo.findByUserIdAndKey(userId, "key-1")).thenReturn(Optional.of(stored));
+
+    assertEquals(Optional.of(transactionId),
+        idempotencyService.findTransactionId(userId, "key-1", "hash"));
+    assertEquals(Optional.of(transactionId),
+        idempotencyService.findTransactionId(userId, "key-1", "hash"));
+    verify(idempotencyKeyRepo, times(1)).findByUserIdAndKey(userId, "key-1");
+  }
+
+  @Test
+  void findTransactionId_storedKeyPastTtl_returnsEmpty() {
+    var stored = new IdempotencyKey(UUID.randomUUID(), userId, "key-1", "hash", transactionId,
+        LocalDateTime.now().minusHours(25));
+    when(idempotencyKeyRepo.findByUserIdAndKey(userId, "key-1")).thenReturn(Optional.of(stored));
+
+    assertEquals(Optional.empty(),
+        idempotencyService.findTransactionId(userId, "key-1", "hash"));
+    verify(idempotencyKeyRepo).deleteByUserIdAndKeyCreatedBefore(eq(userId), eq("key-1"),
+        any(LocalDateTime.class));
+  }
+
+  @Test
+  void findTransactionId_storedKeyPastTtlWithNewPayload_returnsEmpty() {
+    var stored = new IdempotencyKey(UUID.randomUUID(), userId, "key-1", "hash", transactionId,
+        LocalDateTime.now().minusHours(25));
+    when(idempotencyKeyRepo.findByUserIdAndKey(userId, "key-1")).thenReturn(Optional.of(stored));
+
+    assertEquals(Optional.empty(),
+        idempotencyService.findTransactionId(userId, "key-1", "other-hash"));
+  }
+
+  @Test
+  void findTransactionId_differentPayload_throwsIllegalArgumentException() {
+    var stored = new IdempotencyKey(UUID.randomUUID(), userId, "key-1", "hash", transactionId,
+        LocalDateTime.now());
+    when(idempotencyKeyRepo.findByUserIdAndKey(userId, "key-1")).thenReturn(Optional.of(stored));
+
+    assertThrows(IllegalArgumentException.class,
+        () -> idempotencyService.findTransactionId(userId, "key-1", "other-hash"));
+  }
+
+  @Test
+  void register_concurrentDuplicate_throwsDuplicateRequestException() {
+    when(idempotencyKeyRepo.saveAndFlush(any(IdempotencyKey.class)))
+        .thenThrow(new DataIntegrityViolationException("uk_idempotency_keys_user_key"));
+
+    assertThrows(DuplicateRequestException.class,
+        () -> idempotencyService.register(userId, "key-1", "hash", transactionId));
+  }
+
+  @Test
+  void register_outsideTransaction_isServedFromCache() {
+    idempotencyService.register(userId, "key-1", "hash", transactionId);
+
+    assertEquals(Optional.of(transactionId),
+        idempotencyService.findTransactionId(userId, "key-1", "hash"));
+    verify(idempotencyKeyRepo, times(0)).findByUserIdAndKey(userId, "key-1");
+  }
+}
@@ -0,0 +1,177 @@
+package dev.itltcanz.bankapi.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import dev.itltcanz.bankapi.config.LedgerProperties;
+import dev.itltcanz.bankapi.entity.BalanceCheckpoint;
+import dev.itltcanz.bankapi.entity.Card;
+import dev.itltcanz.bankapi.entity.LedgerEntry;
+import dev.itltcanz.bankapi.entity.Transaction;
+import dev.itltcanz.bankapi.entity.enumeration.CardStatus;
+import dev.itltcanz.bankapi.entity.enumeration.LedgerEntryType;
+import dev.itltcanz.bankapi.entity.enumeration.TransactionStatus;
+import dev.itltcanz.bankapi.repository.BalanceCheckpointRepo;
+import dev.itltcanz.bankapi.repository.LedgerEntryRepo;
+import dev.itltcanz.bankapi.service.impl.LedgerServiceImpl;
+import dev.itltcanz.bankapi.util.Money;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class LedgerServiceTest {
+
+  @Mock
+  private LedgerEntryRepo ledgerEntryRepo;
+  @Mock
+  private BalanceCheckpointRepo balanceCheckpointRepo;
+
+  private LedgerServiceImpl ledgerService;
+  private Card senderCard;
+  private Card receiverCard;
+
+  @BeforeEach
+  void setUp() {
+    var ledgerProperties = new LedgerProperties();
+    ledgerProperties.setCheckpointInterval(10);
+    ledgerService = new LedgerServiceImpl(ledgerEntryRepo, balanceCheckpointRepo,
+        ledgerProperties);
+    senderCard = new Card("1234567890123456", null, YearMonth.now().plusYears(1),
+        CardStatus.ACTIVE, Money.parse("70"));
+    receiverCard = new Card("6543210987654321", null, YearMonth.now().plusYears(1),
+        CardStatus.ACTIVE, Money.parse("80"));
+  }
+
+  @Test
+  void recordTransfer_appendsDebitAndCreditWithNextSequence() {
+    senderCard.setLedgerSequence(4);
+    receiverCard.setLedgerSequence(9);
+    var transaction = Transaction.builder().id(UUID.randomUUID()).senderCard(senderCard)
+        .receiverCard(receiverCard).amount(Money.parse("30"))
+        .status(TransactionStatus.COMPLETED).createdAt(LocalDateTime.now()).build();
+
+    ledgerService.recordTransfer(transaction);
+
+    ArgumentCaptor<LedgerEntry> entries = ArgumentCaptor.captor();
+    verify(ledgerEntryRepo, times(2)).save(entries.capture());
+    var debit = entries.getAllValues().get(0);
+    var credit = entries.getAllValues().get(1);
+    assertEquals(LedgerEntryType.DEBIT, debit.getType());
+    assertEquals(5, debit.getSequence());
+    assertEquals(LedgerEntryType.CREDIT, credit.getType());
+    assertEquals(10, credit.getSequence());
+    assertEquals(5, senderCard.getLedgerSequence());
+    assertEquals(10, receiverCard.getLedgerSequence());
+
+    ArgumentCaptor<BalanceCheckpoint> checkpoint = ArgumentCaptor.captor();
+    verify(balanceCheckpointRepo).save(checkpoint.capture());
+    assertEquals(receiverCard, checkpoint.getValue().getCard());
+    assertEquals(Money.parse("80"), checkpoint.getValue().getBalance());
+  }
+
+  @Test
+  void recordTransfer_stampsEntriesWithPostingTime() {
+    senderCard.setLedgerSequence(9);
+    var submittedAt = LocalDateTime.now().minusHours(1);
+    var transaction = Transaction.builder().id(UUID.randomUUID()).senderCard(senderCard)
+        .receiverCard(receiverCard).amount(Money.parse("30"))
+        .status(TransactionStatus.COMPLETED).createdAt(submittedAt).build();
+    var before = LocalDateTime.now();
+
+    ledgerService.recordTransfer(transaction);
+
+    ArgumentCaptor<LedgerEntry> entries = ArgumentCaptor.captor();
+    verify(ledgerEntryRepo, times(2)).save(entries.capture());
+    for (var entry : entries.getAllValues()) {
+      assertFalse(entry.getCreatedAt().isBefore(before));
+    }
+    ArgumentCaptor<BalanceCheckpoint> checkpoint = ArgumentCaptor.captor();
+    verify(balanceCheckpointRepo).save(checkpoint.capture());
+    assertFalse(checkpoint.getValue().getCreatedAt().isBefore(before));
+  }
+
+  @Test
+  void recordCredit_appendsReceiverEntryOnly() {
+    var transaction = Transaction.builder().id(UUID.randomUUID()).senderCard(senderCard)
+        .receiverCard(receiverCard).amount(Money.parse("30"))
+        .status(TransactionStatus.DEBITED).createdAt(LocalDateTime.now()).build();
+
+    ledgerService.recordCredit(transaction);
+
+    ArgumentCaptor<LedgerEntry> entry = ArgumentCaptor.captor();
+    verify(ledgerEntryRepo).save(entry.capture());
+    assertEquals(receiverCard, entry.getValue().getCard());
+    assertEquals(LedgerEntryType.CREDIT, entry.getValue().getType());
+    assertEquals(0, senderCard.getLedgerSequence());
+  }
+
+  @Test
+  void recordRefund_appendsSenderCredit() {
+    var transaction = Transaction.builder().id(UUID.randomUUID()).senderCard(senderCard)
+        .receiverCard(receiverCard).amount(Money.parse("30"))
+        .status(TransactionStatus.DEBITED).createdAt(LocalDateTime.now()).build();
+
+    ledgerService.recordRefund(transaction);
+
+    ArgumentCaptor<LedgerEntry> entry = ArgumentCaptor.captor();
+    verify(ledgerEntryRepo).save(entry.capture());
+    assertEquals(senderCard, entry.getValue().getCard());
+    assertEquals(LedgerEntryType.CREDIT, entry.getValue().getType());
+    assertEquals(0, receiverCard.getLedgerSequence());
+  }
+
+  @Test
+  void recordBalanceChange_decrease_appendsDebit() {
+    ledgerService.recordBalanceChange(senderCard, Money.parse("100"));
+
+    ArgumentCaptor<LedgerEntry> entry = ArgumentCaptor.captor();
+    verify(ledgerEntryRepo).save(entry.capture());
+    assertEquals(LedgerEntryType.DEBIT, entry.getValue().getType());
+    assertEquals(Money.parse("30"), entry.getValue().getAmount());
+  }
+
+  @Test
+  void recordBalanceChange_unchanged_appendsNothing() {
+    ledgerService.recordBalanceChange(senderCard, Money.parse("70.00"));
+
+    verify(ledgerEntryRepo, never()).save(any(LedgerEntry.class));
+  }
+
+  @Test
+  void getBalanceAt_addsEntriesAfterLatestCheckpoint() {
+    var at = LocalDateTime.now().minusDays(1);
+    var checkpoint = new BalanceCheckpoint(UUID.randomUUID(), senderCard, 2000,
+        Money.parse("500"), at.minusHours(1));
+    when(balanceCheckpointRepo.findFirstByCard_NumberAndCreatedAtLessThanEqualOrderBySequenceDesc(
+        senderCard.getNumber(), at)).thenReturn(Optional.of(checkpoint));
+    when(ledgerEntryRepo.sumAmountsAfter(senderCard.getNumber(), 2000, at))
+        .thenReturn(new BigDecimal("-120"));
+
+    assertEquals(Money.parse("380"), ledgerService.getBalanceAt(senderCard, at));
+  }
+
+  @Test
+  void getBalanceAt_withoutCheckpoint_sumsAllEntries() {
+    var at = LocalDateTime.now();
+    when(balanceCheckpointRepo.findFirstByCard_NumberAndCreatedAtLessThanEqualOrderBySequenceDesc(
+        senderCard.getNumber(), at)).thenReturn(Optional.empty());
+    when(ledgerEntryRepo.sumAmountsAfter(senderCard.getNumber(), 0, at))
+        .thenReturn(new BigDecimal("70"));
+
+    assertEquals(Money.parse("70"), ledgerService.getBalanceAt(senderCard, at));
+  }
+}
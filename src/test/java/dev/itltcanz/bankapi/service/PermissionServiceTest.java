@@ -6,8 +6,8 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
-import dev.itltcanz.bankapi.entity.User;
 import dev.itltcanz.bankapi.entity.enumeration.Role;
+import dev.itltcanz.bankapi.security.AuthenticatedUser;
 import dev.itltcanz.bankapi.service.impl.AuthServiceImpl;
 import dev.itltcanz.bankapi.service.impl.PermissionServiceImpl;
 import java.util.UUID;
@@ -28,43 +28,41 @@ class PermissionServiceTest {
   @InjectMocks
   private PermissionServiceImpl permissionService;
 
-  private User user;
+  private AuthenticatedUser principal;
   private UUID userId;
 
   @BeforeEach
   void setUp() {
     userId = UUID.randomUUID();
-    user = new User();
-    user.setId(userId);
-    user.setRole(Role.ROLE_USER);
+    principal = new AuthenticatedUser(userId, "testuser", Role.ROLE_USER);
   }
 
   @Test
   void hasRights_adminUser_success() {
-    user.setRole(Role.ROLE_ADMIN);
-    when(authService.getCurrentUser()).thenReturn(user);
+    when(authService.getCurrentPrincipal()).thenReturn(
+        new AuthenticatedUser(UUID.randomUUID(), "admin", Role.ROLE_ADMIN));
 
     assertDoesNotThrow(() -> permissionService.hasRights(userId.toString()));
-    verify(authService).getCurrentUser();
+    verify(authService).getCurrentPrincipal();
   }
 
   @Test
   void hasRights_sameUserId_success() {
-    when(authService.getCurrentUser()).thenReturn(user);
+    when(authService.getCurrentPrincipal()).thenReturn(principal);
 
     assertDoesNotThrow(() -> permissionService.hasRights(userId.toString()));
-    verify(authService).getCurrentUser();
+    verify(authService).getCurrentPrincipal();
   }
 
   @Test
   void hasRights_differentUserId_throwsAccessDeniedException() {
     UUID differentUserId = UUID.randomUUID();
-    when(authService.getCurrentUser()).thenReturn(user);
+    when(authService.getCurrentPrincipal()).thenReturn(principal);
 
     AccessDeniedException exception = assertThrows(AccessDeniedException.class,
         () -> permissionService.hasRights(differentUserId.toString()));
 
     assertEquals("Access denied", exception.getMessage());
-    verify(authService).getCurrentUser();
+    verify(authService).getCurrentPrincipal();
   }
 }
\ No newline at end of file
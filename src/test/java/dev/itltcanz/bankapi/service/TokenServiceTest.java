@@ -0,0 +1,170 @@
+package dev.itltcanz.bankapi.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import dev.itltcanz.bankapi.config.JwtProperties;
+import dev.itltcanz.bankapi.config.TokenRevocationProperties;
+import dev.itltcanz.bankapi.entity.RefreshToken;
+import dev.itltcanz.bankapi.entity.User;
+import dev.itltcanz.bankapi.entity.enumeration.Role;
+import dev.itltcanz.bankapi.exception.InvalidTokenException;
+import dev.itltcanz.bankapi.repository.RefreshTokenRepo;
+import dev.itltcanz.bankapi.repository.UserRepo;
+import dev.itltcanz.bankapi.security.InMemoryRevokedTokenStore;
+import dev.itltcanz.bankapi.security.JwtGenerator;
+import dev.itltcanz.bankapi.security.TokenRevocationService;
+import dev.itltcanz.bankapi.service.impl.TokenServiceImpl;
+import dev.itltcanz.bankapi.util.HashUtils;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class TokenServiceTest {
+
+  private static final String SECRET =
+      "53A73E5F1C4E0A2D3B5F2D784E6A1B4274OMH4TY1F6E5C3A596D635A75327855";
+
+  @Mock
+  private RefreshTokenRepo refreshTokenRepo;
+
+  @Mock
+  private UserRepo userRepo;
+
+  private JwtGenerator jwtGenerator;
+  private TokenRevocationService tokenRevocationService;
+  private TokenServiceImpl tokenService;
+  private User user;
+
+  @BeforeEach
+  void setUp() {
+    var jwtProperties = new JwtProperties();
+    jwtProperties.setSecret(SECRET);
+    jwtGenerator = new JwtGenerator(jwtProperties);
+    tokenRevocationService = new TokenRevocationService(new InMemoryRevokedTokenStore(),
+        new TokenRevocationProperties());
+    tokenService = new TokenServiceImpl(jwtGenerator, refreshTokenRepo, userRepo,
+        tokenRevocationService, jwtProperties);
+    user = new User(UUID.randomUUID(), "testuser", "password", Role.ROLE_USER);
+  }
+
+  @Test
+  void issue_storesOnlyTheHashOfTheRefreshToken() {
+    var result = tokenService.issue(user);
+
+    var saved = ArgumentCaptor.forClass(RefreshToken.class);
+    verify(refreshTokenRepo).save(saved.capture());
+    assertEquals(HashUtils.sha256Hex(result.getRefreshToken()), saved.getValue().getTokenHash());
+    assertEquals(user.getId(), saved.getValue().getUserId());
+    assertEquals("testuser", jwtGenerator.extractUsername(result.getAccessToken()));
+    assertEquals("Bearer", result.getTokenType());
+    assertEquals(900, result.getExpiresIn());
+  }
+
+  @Test
+  void revokeAll_revokesRefreshTokensAndEarlierAccessTokens() {
+    var before = tokenRevocationService.getUserVersion(user.getId());
+
+    tokenService.revokeAll(user.getId());
+
+    verify(refreshTokenRepo).revokeAllByUserId(eq(user.getId()), any(LocalDateTime.class));
+    assertTrue(tokenRevocationService.isRevoked(user.getId(), before));
+    var accessToken = tokenService.issue(user).getAccessToken();
+    assertEquals(tokenRevocationService.getUserVersion(user.getId()),
+        jwtGenerator.extractUserVersion(jwtGenerator.extractAllClaims(accessToken)));
+  }
+
+  @Test
+  void refresh_rotatesTokenWithinFamily() {
+    var stored = storedToken(null, LocalDateTime.now().plusDays(1));
+    when(refreshTokenRepo.findByTokenHash(HashUtils.sha256Hex("refresh-1")))
+        .thenReturn(Optional.of(stored));
+    when(userRepo.findById(user.getId())).thenReturn(Optional.of(user));
+
+    var result = tokenService.refresh("refresh-1");
+
+    assertNotNull(stored.getRevokedAt());
+    assertNotEquals("refresh-1", result.getRefreshToken());
+    var saved = ArgumentCaptor.forClass(RefreshToken.class);
+    verify(refreshTokenRepo).save(saved.capture());
+    assertEquals(stored.getFamilyId(), saved.getValue().getFamilyId());
+  }
+
+  @Test
+  void refresh_usedToken_revokesFamily() {
+    var stored = storedToken(LocalDateTime.now().minusMinutes(1),
+        LocalDateTime.now().plusDays(1));
+    when(refreshTokenRepo.findByTokenHash(HashUtils.sha256Hex("refresh-1")))
+        .thenReturn(Optional.of(stored));
+
+    var exception = assertThrows(InvalidTokenException.class,
+        () -> tokenService.refresh("refresh-1"));
+
+    assertEquals("The refresh token has already been used", exception.getMessage());
+    verify(refreshTokenRepo).revokeFamily(eq(stored.getFamilyId()), any(LocalDateTime.class));
+    verify(refreshTokenRepo, never()).save(any(RefreshToken.class));
+  }
+
+  @Test
+  void refresh_expiredToken_throwsInvalidTokenException() {
+    var stored = storedToken(null, LocalDateTime.now().minusMinutes(1));
+    when(refreshTokenRepo.findByTokenHash(HashUtils.sha256Hex("refresh-1")))
+        .thenReturn(Optional.of(stored));
+
+    var exception = assertThrows(InvalidTokenException.class,
+        () -> tokenService.refresh("refresh-1"));
+
+    assertEquals("The refresh token has expired", exception.getMessage());
+  }
+
+  @Test
+  void refresh_unknownToken_throwsInvalidTokenException() {
+    when(refreshTokenRepo.findByTokenHash(HashUtils.sha256Hex("refresh-1")))
+        .thenReturn(Optional.empty());
+
+    assertThrows(InvalidTokenException.class, () -> tokenService.refresh("refresh-1"));
+  }
+
+  @Test
+  void revoke_revokesAccessTokenAndRefreshFamily() {
+    var stored = storedToken(null, LocalDateTime.now().plusDays(1));
+    when(refreshTokenRepo.findByTokenHash(HashUtils.sha256Hex("refresh-1")))
+        .thenReturn(Optional.of(stored));
+    var accessToken = jwtGenerator.generateToken(user);
+
+    tokenService.revoke(accessToken, "refresh-1");
+
+    verify(refreshTokenRepo).revokeFamily(eq(stored.getFamilyId()), any(LocalDateTime.class));
+    assertTrue(tokenRevocationService.isRevoked(
+        jwtGenerator.extractAllClaims(accessToken).getId()));
+  }
+
+  @Test
+  void revoke_invalidAccessToken_throwsInvalidTokenException() {
+    when(refreshTokenRepo.findByTokenHash(HashUtils.sha256Hex("refresh-1")))
+        .thenReturn(Optional.empty());
+
+    assertThrows(InvalidTokenException.class,
+        () -> tokenService.revoke("not-a-token", "refresh-1"));
+  }
+
+  private RefreshToken storedToken(LocalDateTime revokedAt, LocalDateTime expiresAt) {
+    return new RefreshToken(UUID.randomUUID(), HashUtils.sha256Hex("refresh-1"), user.getId(),
+        UUID.randomUUID(), LocalDateTime.now().minusDays(1), expiresAt, revokedAt);
+  }
+}
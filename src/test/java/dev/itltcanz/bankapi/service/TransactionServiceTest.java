@@ -4,9 +4,17 @@ import static org.hibernate.validator.internal.util.Contracts.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
+import dev.itltcanz.bankapi.cache.CacheInvalidator;
 import dev.itltcanz.bankapi.dto.transaction.TransactionDtoCreate;
 import dev.itltcanz.bankapi.dto.transaction.TransactionDtoResponse;
 import dev.itltcanz.bankapi.entity.Card;
@@ -15,28 +23,40 @@ import dev.itltcanz.bankapi.entity.User;
 import dev.itltcanz.bankapi.entity.enumeration.CardStatus;
 import dev.itltcanz.bankapi.entity.enumeration.Role;
 import dev.itltcanz.bankapi.entity.enumeration.TransactionStatus;
+import dev.itltcanz.bankapi.exception.InsufficientFundsException;
 import dev.itltcanz.bankapi.exception.NotFoundException;
+import dev.itltcanz.bankapi.mapper.TransactionMapper;
 import dev.itltcanz.bankapi.repository.TransactionRepo;
+import dev.itltcanz.bankapi.security.AuthenticatedUser;
 import dev.itltcanz.bankapi.service.impl.AuthServiceImpl;
 import dev.itltcanz.bankapi.service.impl.BalanceServiceImpl;
 import dev.itltcanz.bankapi.service.impl.CardServiceImpl;
 import dev.itltcanz.bankapi.service.impl.PermissionServiceImpl;
 import dev.itltcanz.bankapi.service.impl.TransactionServiceImpl;
-import java.math.BigDecimal;
+import dev.itltcanz.bankapi.transfer.TransferStep;
+import dev.itltcanz.bankapi.transfer.TransferStep.Phase;
+import dev.itltcanz.bankapi.transfer.TransferSubmittedEvent;
+import dev.itltcanz.bankapi.util.Money;
 import java.time.LocalDateTime;
 import java.time.YearMonth;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.security.access.AccessDeniedException;
 
 @ExtendWith(MockitoExtension.class)
 class TransactionServiceTest {
@@ -57,7 +77,22 @@ class TransactionServiceTest {
   private BalanceServiceImpl balanceService;
 
   @Mock
-  private ModelMapper modelMapper;
+  private IdempotencyService idempotencyService;
+
+  @Mock
+  private LedgerService ledgerService;
+
+  @Mock
+  private ApplicationEventPublisher eventPublisher;
+
+  @Mock
+  private TransactionMapper transactionMapper;
+
+  @Mock
+  private CacheInvalidator cacheInvalidator;
+
+  @Mock
+  private CacheManager cacheManager;
 
   @InjectMocks
   private TransactionServiceImpl transactionService;
@@ -76,16 +111,16 @@ class TransactionServiceTest {
     user.setRole(Role.ROLE_USER);
 
     senderCard = new Card("1234567890123456", user, YearMonth.now().plusYears(1), CardStatus.ACTIVE,
-        new BigDecimal("100"));
+        Money.parse("100"));
     receiverCard = new Card("6543210987654321", user, YearMonth.now().plusYears(1),
-        CardStatus.ACTIVE, new BigDecimal("50"));
+        CardStatus.ACTIVE, Money.parse("50"));
 
     transactionId = UUID.randomUUID();
     transaction = Transaction.builder()
         .id(transactionId)
         .senderCard(senderCard)
         .receiverCard(receiverCard)
-        .amount(new BigDecimal("30"))
+        .amount(Money.parse("30"))
         .status(TransactionStatus.COMPLETED)
         .createdAt(LocalDateTime.now())
         .build();
@@ -93,60 +128,281 @@ class TransactionServiceTest {
     transactionDto = new TransactionDtoCreate();
     transactionDto.setSenderCardId("1234567890123456");
     transactionDto.setReceiverCardId("6543210987654321");
-    transactionDto.setAmount(new BigDecimal("30"));
+    transactionDto.setAmount(Money.parse("30"));
   }
 
   @Test
   void createTransaction_success() {
-    when(cardService.findByIdWithPermissionCheck("1234567890123456")).thenReturn(senderCard);
-    when(cardService.findByIdWithPermissionCheck("6543210987654321")).thenReturn(receiverCard);
+    when(cardService.findAllForUpdate(List.of("1234567890123456", "6543210987654321")))
+        .thenReturn(Map.of("1234567890123456", senderCard, "6543210987654321", receiverCard));
     when(transactionRepo.save(any(Transaction.class))).thenReturn(transaction);
-    when(modelMapper.map(transaction, TransactionDtoResponse.class)).thenReturn(
+    when(transactionMapper.toResponse(transaction)).thenReturn(
         new TransactionDtoResponse());
 
     TransactionDtoResponse result = transactionService.createTransaction(transactionDto);
 
     assertNotNull(result);
+    verify(permissionService, times(2)).hasRights(user.getId().toString());
     verify(balanceService).transferFunds(senderCard, receiverCard, transactionDto.getAmount());
     verify(transactionRepo).save(any(Transaction.class));
-    verify(modelMapper).map(transaction, TransactionDtoResponse.class);
+    verify(ledgerService).recordTransfer(transaction);
+    verify(transactionMapper).toResponse(transaction);
+  }
+
+  @Test
+  void createTransaction_sameCard_throwsIllegalArgumentException() {
+    transactionDto.setReceiverCardId(transactionDto.getSenderCardId());
+
+    IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+        () -> transactionService.createTransaction(transactionDto));
+
+    assertEquals("The sender and receiver cards must be different", exception.getMessage());
+    verifyNoInteractions(cardService, balanceService, transactionRepo);
+  }
+
+  @Test
+  void createTransaction_withNewIdempotencyKey_registersKey() {
+    when(authService.getCurrentPrincipal()).thenReturn(AuthenticatedUser.of(user));
+    when(idempotencyService.findTransactionId(eq(user.getId()), eq("key-1"), anyString()))
+        .thenReturn(Optional.empty());
+    when(cardService.findAllForUpdate(List.of("1234567890123456", "6543210987654321")))
+        .thenReturn(Map.of("1234567890123456", senderCard, "6543210987654321", receiverCard));
+    when(transactionRepo.save(any(Transaction.class))).thenReturn(transaction);
+    when(transactionMapper.toResponse(transaction)).thenReturn(
+        new TransactionDtoResponse());
+
+    transactionService.createTransaction(transactionDto, "key-1");
+
+    verify(balanceService).transferFunds(senderCard, receiverCard, transactionDto.getAmount());
+    verify(idempotencyService).register(eq(user.getId()), eq("key-1"), anyString(),
+        eq(transactionId));
+  }
+
+  @Test
+  void createTransaction_withKnownIdempotencyKey_returnsOriginalTransaction() {
+    when(authService.getCurrentPrincipal()).thenReturn(AuthenticatedUser.of(user));
+    when(idempotencyService.findTransactionId(eq(user.getId()), eq("key-1"), anyString()))
+        .thenReturn(Optional.of(transactionId));
+    when(transactionRepo.findById(transactionId)).thenReturn(Optional.of(transaction));
+    when(transactionMapper.toResponse(transaction)).thenReturn(
+        new TransactionDtoResponse());
+
+    TransactionDtoResponse result = transactionService.createTransaction(transactionDto, "key-1");
+
+    assertNotNull(result);
+    verifyNoInteractions(cardService, balanceService, permissionService);
+    verify(transactionRepo, times(0)).save(any(Transaction.class));
+  }
+
+  @Test
+  void submitTransaction_storesPendingTransactionAndPublishesEvent() {
+    transaction.setStatus(TransactionStatus.PENDING);
+    when(cardService.findByIdWithPermissionCheck("1234567890123456")).thenReturn(senderCard);
+    when(cardService.findByIdWithPermissionCheck("6543210987654321")).thenReturn(receiverCard);
+    when(transactionRepo.save(any(Transaction.class))).thenReturn(transaction);
+    when(transactionMapper.toResponse(transaction)).thenReturn(
+        new TransactionDtoResponse());
+
+    transactionService.submitTransaction(transactionDto);
+
+    ArgumentCaptor<Transaction> saved = ArgumentCaptor.captor();
+    verify(transactionRepo).save(saved.capture());
+    assertEquals(TransactionStatus.PENDING, saved.getValue().getStatus());
+    verify(eventPublisher).publishEvent(
+        new TransferSubmittedEvent(transactionId, "1234567890123456", "6543210987654321"));
+    verifyNoInteractions(balanceService, ledgerService);
+  }
+
+  @Test
+  void processTransferSteps_debit_withdrawsAndReturnsCreditStep() {
+    transaction.setStatus(TransactionStatus.PENDING);
+    var step = new TransferStep(transactionId, Phase.DEBIT, "1234567890123456",
+        "6543210987654321");
+    when(transactionRepo.findAllByIdInForUpdate(Set.of(transactionId)))
+        .thenReturn(List.of(transaction));
+
+    var result = transactionService.processTransferSteps(List.of(step));
+
+    assertEquals(List.of(step.withPhase(Phase.CREDIT)), result);
+    assertEquals(TransactionStatus.DEBITED, transaction.getStatus());
+    verify(cardService).findExistingForUpdate(Set.of("1234567890123456"));
+    verify(balanceService).debit(senderCard, receiverCard, transaction.getAmount());
+    verify(ledgerService).recordDebit(transaction);
+  }
+
+  @Test
+  void processTransferSteps_creditsOfOneCard_areAppliedUnderOneLock() {
+    var secondId = UUID.randomUUID();
+    var second = Transaction.builder().id(secondId).senderCard(senderCard)
+        .receiverCard(receiverCard).amount(Money.parse("5"))
+        .status(TransactionStatus.DEBITED).createdAt(LocalDateTime.now()).build();
+    transaction.setStatus(TransactionStatus.DEBITED);
+    var steps = List.of(
+        new TransferStep(transactionId, Phase.CREDIT, "1234567890123456", "6543210987654321"),
+        new TransferStep(secondId, Phase.CREDIT, "1234567890123456", "6543210987654321"));
+    when(transactionRepo.findAllByIdInForUpdate(Set.of(transactionId, secondId)))
+        .thenReturn(List.of(transaction, second));
+
+    var result = transactionService.processTransferSteps(steps);
+
+    assertEquals(List.of(), result);
+    assertEquals(TransactionStatus.COMPLETED, transaction.getStatus());
+    assertEquals(TransactionStatus.COMPLETED, second.getStatus());
+    verify(cardService).findExistingForUpdate(Set.of("6543210987654321"));
+    verify(balanceService).credit(receiverCard, transaction.getAmount());
+    verify(balanceService).credit(receiverCard, second.getAmount());
+  }
+
+  @Test
+  void processTransferSteps_insufficientFunds_marksFailed() {
+    transaction.setStatus(TransactionStatus.PENDING);
+    var step = new TransferStep(transactionId, Phase.TRANSFER, "1234567890123456",
+        "6543210987654321");
+    when(transactionRepo.findAllByIdInForUpdate(Set.of(transactionId)))
+        .thenReturn(List.of(transaction));
+    doThrow(new InsufficientFundsException("There are insufficient funds")).when(balanceService)
+        .transferFunds(senderCard, receiverCard, transaction.getAmount());
+
+    var result = transactionService.processTransferSteps(List.of(step));
+
+    assertEquals(List.of(), result);
+    assertEquals(TransactionStatus.FAILED, transaction.getStatus());
+    assertEquals("There are insufficient funds", transaction.getFailureReason());
+    verifyNoInteractions(ledgerService);
+  }
+
+  @Test
+  void processTransferSteps_alreadyProcessed_doesNothing() {
+    var step = new TransferStep(transactionId, Phase.DEBIT, "1234567890123456",
+        "6543210987654321");
+    when(transactionRepo.findAllByIdInForUpdate(Set.of(transactionId)))
+        .thenReturn(List.of(transaction));
+
+    var result = transactionService.processTransferSteps(List.of(step));
+
+    assertEquals(List.of(), result);
+    assertEquals(TransactionStatus.COMPLETED, transaction.getStatus());
+    verifyNoInteractions(balanceService, ledgerService);
+  }
+
+  @Test
+  void failTransferStep_debited_refundsSenderAndMarksFailed() {
+    transaction.setStatus(TransactionStatus.DEBITED);
+    var step = new TransferStep(transactionId, Phase.CREDIT, "1234567890123456",
+        "6543210987654321");
+    when(cardService.findExistingForUpdate(Set.of("1234567890123456")))
+        .thenReturn(Map.of("1234567890123456", senderCard));
+    when(transactionRepo.findAllByIdInForUpdate(Set.of(transactionId)))
+        .thenReturn(List.of(transaction));
+
+    transactionService.failTransferStep(step, "Could not be processed");
+
+    assertEquals(TransactionStatus.FAILED, transaction.getStatus());
+    assertEquals("Could not be processed", transaction.getFailureReason());
+    verify(balanceService).credit(senderCard, transaction.getAmount());
+    verify(ledgerService).recordRefund(transaction);
+  }
+
+  @Test
+  void failTransferStep_completed_doesNothing() {
+    var step = new TransferStep(transactionId, Phase.CREDIT, "1234567890123456",
+        "6543210987654321");
+    when(transactionRepo.findAllByIdInForUpdate(Set.of(transactionId)))
+        .thenReturn(List.of(transaction));
+
+    transactionService.failTransferStep(step, "Could not be processed");
+
+    assertEquals(TransactionStatus.COMPLETED, transaction.getStatus());
+    verifyNoInteractions(balanceService, ledgerService);
+  }
+
+  @Test
+  void createTransactions_success_locksAllCardsOnce() {
+    var secondDto = new TransactionDtoCreate("6543210987654321", "1234567890123456",
+        Money.parse("10"));
+    when(cardService.findExistingForUpdate(
+        Set.of("1234567890123456", "6543210987654321"))).thenReturn(
+        Map.of("1234567890123456", senderCard, "6543210987654321", receiverCard));
+    when(transactionRepo.save(any(Transaction.class))).thenReturn(transaction);
+    when(transactionMapper.toResponse(transaction)).thenReturn(
+        new TransactionDtoResponse());
+
+    var result = transactionService.createTransactions(List.of(transactionDto, secondDto));
+
+    assertEquals(2, result.size());
+    assertEquals(TransactionStatus.COMPLETED, result.get(0).getStatus());
+    assertEquals(TransactionStatus.COMPLETED, result.get(1).getStatus());
+    assertNotNull(result.get(1).getTransaction());
+    verify(permissionService).hasRights(user.getId().toString());
+    verify(balanceService).transferFunds(senderCard, receiverCard, transactionDto.getAmount());
+    verify(balanceService).transferFunds(receiverCard, senderCard, secondDto.getAmount());
+    verify(ledgerService, times(2)).recordTransfer(transaction);
+  }
+
+  @Test
+  void createTransactions_failedItem_isReportedAndSkipped() {
+    var missingDto = new TransactionDtoCreate("1234567890123456", "1111222233334444",
+        Money.parse("10"));
+    var poorDto = new TransactionDtoCreate("1234567890123456", "6543210987654321",
+        Money.parse("1000"));
+    when(cardService.findExistingForUpdate(anySet())).thenReturn(
+        Map.of("1234567890123456", senderCard, "6543210987654321", receiverCard));
+    doThrow(new InsufficientFundsException("There are insufficient funds")).when(balanceService)
+        .transferFunds(senderCard, receiverCard, poorDto.getAmount());
+    doNothing().when(balanceService)
+        .transferFunds(senderCard, receiverCard, transactionDto.getAmount());
+    when(transactionRepo.save(any(Transaction.class))).thenReturn(transaction);
+    when(transactionMapper.toResponse(transaction)).thenReturn(
+        new TransactionDtoResponse());
+
+    var result = transactionService.createTransactions(
+        List.of(missingDto, transactionDto, poorDto));
+
+    assertEquals(TransactionStatus.FAILED, result.get(0).getStatus());
+    assertEquals("A card with the number 1111222233334444 has not been found.",
+        result.get(0).getError());
+    assertEquals(TransactionStatus.COMPLETED, result.get(1).getStatus());
+    assertEquals(TransactionStatus.FAILED, result.get(2).getStatus());
+    assertEquals("There are insufficient funds", result.get(2).getError());
+    verify(transactionRepo, times(1)).save(any(Transaction.class));
+    verify(ledgerService, times(1)).recordTransfer(transaction);
   }
 
   @Test
   void getAdmin_Transactions_success() {
     PageRequest pageable = PageRequest.of(0, 10);
     when(transactionRepo.findAll(pageable)).thenReturn(new PageImpl<>(List.of(transaction)));
-    when(modelMapper.map(transaction, TransactionDtoResponse.class)).thenReturn(
+    when(transactionMapper.toResponse(transaction)).thenReturn(
         new TransactionDtoResponse());
 
     var result = transactionService.getAdminTransactions(pageable);
 
     assertEquals(1, result.getContent().size());
     verify(transactionRepo).findAll(pageable);
-    verify(modelMapper).map(transaction, TransactionDtoResponse.class);
+    verify(transactionMapper).toResponse(transaction);
   }
 
   @Test
   void getUser_Transactions_success() {
     PageRequest pageable = PageRequest.of(0, 10);
-    when(authService.getCurrentUser()).thenReturn(user);
-    when(transactionRepo.findTransactionsBySenderCard_Owner(user, pageable)).thenReturn(
-        new PageImpl<>(List.of(transaction)));
-    when(modelMapper.map(transaction, TransactionDtoResponse.class)).thenReturn(
+    when(authService.getCurrentPrincipal()).thenReturn(AuthenticatedUser.of(user));
+    when(transactionRepo.findTransactionsBySenderCard_Owner_Id(user.getId(), pageable))
+        .thenReturn(new PageImpl<>(List.of(transaction)));
+    when(transactionMapper.toResponse(transaction)).thenReturn(
         new TransactionDtoResponse());
 
     var result = transactionService.getUserTransactions(pageable);
 
     assertEquals(1, result.getContent().size());
-    verify(authService).getCurrentUser();
-    verify(transactionRepo).findTransactionsBySenderCard_Owner(user, pageable);
-    verify(modelMapper).map(transaction, TransactionDtoResponse.class);
+    verify(authService).getCurrentPrincipal();
+    verify(transactionRepo).findTransactionsBySenderCard_Owner_Id(user.getId(), pageable);
+    verify(transactionMapper).toResponse(transaction);
   }
 
   @Test
   void findByIdWithPermissionCheck_success() {
     when(transactionRepo.findById(transactionId)).thenReturn(Optional.of(transaction));
-    when(modelMapper.map(transaction, TransactionDtoResponse.class)).thenReturn(
+    when(transactionMapper.toResponse(transaction)).thenReturn(
         new TransactionDtoResponse());
 
     TransactionDtoResponse result = transactionService.getTransactionById(
@@ -154,7 +410,38 @@ class TransactionServiceTest {
 
     assertNotNull(result);
     verify(permissionService).hasRights(user.getId().toString());
-    verify(modelMapper).map(transaction, TransactionDtoResponse.class);
+    verify(transactionMapper).toResponse(transaction);
+  }
+
+  @Test
+  void getTransactionById_cached_checksAccessOnEveryRead() {
+    when(cacheManager.getCache(CacheInvalidator.TRANSACTION))
+        .thenReturn(new ConcurrentMapCache("transaction"));
+    when(transactionRepo.findById(transactionId)).thenReturn(Optional.of(transaction));
+    when(transactionMapper.toResponse(transaction)).thenReturn(new TransactionDtoResponse());
+    transactionService.getTransactionById(transactionId.toString());
+    doThrow(new AccessDeniedException("Access denied"))
+        .when(permissionService).hasRights(user.getId().toString());
+
+    assertThrows(AccessDeniedException.class,
+        () -> transactionService.getTransactionById(transactionId.toString()));
+
+    verify(transactionRepo).findById(transactionId);
+    verify(permissionService, times(2)).hasRights(user.getId().toString());
+  }
+
+  @Test
+  void getTransactionStatus_returnsFailureReason() {
+    transaction.setStatus(TransactionStatus.FAILED);
+    transaction.setFailureReason("The card is inactive");
+    when(transactionRepo.findById(transactionId)).thenReturn(Optional.of(transaction));
+
+    var result = transactionService.getTransactionStatus(transactionId.toString());
+
+    assertEquals(transactionId.toString(), result.getId());
+    assertEquals(TransactionStatus.FAILED, result.getStatus());
+    assertEquals("The card is inactive", result.getFailureReason());
+    verify(permissionService).hasRights(user.getId().toString());
   }
 
   @Test
@@ -178,4 +465,4 @@ class TransactionServiceTest {
         exception.getMessage());
     verify(transactionRepo).findById(transactionId);
   }
-}
\ No newline at end of file
+}
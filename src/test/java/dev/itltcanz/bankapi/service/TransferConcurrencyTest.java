@@ -0,0 +1,197 @@
+package dev.itltcanz.bankapi.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import dev.itltcanz.bankapi.config.TransferProperties;
+import dev.itltcanz.bankapi.config.TransferProperties.LockingMode;
+import dev.itltcanz.bankapi.entity.Card;
+import dev.itltcanz.bankapi.entity.User;
+import dev.itltcanz.bankapi.entity.enumeration.CardStatus;
+import dev.itltcanz.bankapi.entity.enumeration.Role;
+import dev.itltcanz.bankapi.exception.InsufficientFundsException;
+import dev.itltcanz.bankapi.repository.BalanceCheckpointRepo;
+import dev.itltcanz.bankapi.repository.CardRepo;
+import dev.itltcanz.bankapi.repository.LedgerEntryRepo;
+import dev.itltcanz.bankapi.repository.TransactionRepo;
+import dev.itltcanz.bankapi.repository.UserRepo;
+import dev.itltcanz.bankapi.transfer.TransferRetryExecutor;
+import dev.itltcanz.bankapi.util.Money;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Hammers a single sender card from many threads through the locking transfer path and checks
+ * that no money is lost or created.
+ */
+@DataJpaTest(properties = {
+    "spring.liquibase.enabled=false",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.show-sql=false"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TransferConcurrencyTest {
+
+  private static final int THREADS = 16;
+  private static final int TRANSFERS_PER_THREAD = 25;
+  private static final String SENDER = "4000000000000001";
+  private static final List<String> RECEIVERS = List.of(
+      "4000000000000002", "4000000000000003", "4000000000000004", "4000000000000005");
+
+  @Autowired
+  private CardRepo cardRepo;
+  @Autowired
+  private UserRepo userRepo;
+  @Autowired
+  private TransactionRepo transactionRepo;
+  @Autowired
+  private LedgerEntryRepo ledgerEntryRepo;
+  @Autowired
+  private BalanceCheckpointRepo balanceCheckpointRepo;
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  private TransferProperties transferProperties;
+  private CardService cardService;
+  private BalanceService balanceService;
+  private TransactionTemplate transactionTemplate;
+  private TransferRetryExecutor retryExecutor;
+  private User owner;
+
+  @BeforeEach
+  void setUp() {
+    cardRepo.deleteAll();
+    userRepo.deleteAll();
+    owner = new User();
+    owner.setUsername("owner");
+    owner.setPassword("password");
+    owner.setRole(Role.ROLE_USER);
+    owner = userRepo.save(owner);
+
+    transferProperties = new TransferProperties();
+    transferProperties.getRetry().setMaxAttempts(1000);
+    transferProperties.getRetry().setMaxBackoff(Duration.ofMillis(20));
+    var services = new TransferServices(cardRepo, transactionRepo, ledgerEntryRepo,
+        balanceCheckpointRepo, transferProperties, transactionManager);
+    cardService = services.getCardService();
+    balanceService = services.getBalanceService();
+    transactionTemplate = services.getTransactionTemplate();
+    retryExecutor = new TransferRetryExecutor(transferProperties, new SimpleMeterRegistry());
+  }
+
+  @Test
+  void concurrentTransfersFromOneCard_neverLoseOrCreateMoney() throws Exception {
+    saveCard(SENDER, "1000.00");
+    RECEIVERS.forEach(number -> saveCard(number, "0.00"));
+
+    var tasks = new ArrayList<Callable<Void>>();
+    for (int i = 0; i < THREADS; i++) {
+      var receiver = RECEIVERS.get(i % RECEIVERS.size());
+      var reverse = i % 2 == 1;
+      tasks.add(() -> {
+        for (int j = 0; j < TRANSFERS_PER_THREAD; j++) {
+          // Half of the threads also send money back, so both lock orders are requested.
+          if (reverse && j % 5 == 4) {
+            transfer(receiver, SENDER, "1.00");
+          } else {
+            transfer(SENDER, receiver, "1.00");
+          }
+        }
+        return null;
+      });
+    }
+    runConcurrently(tasks);
+
+    var total = cardRepo.findAll().stream().map(Card::getBalance)
+        .reduce(Money.ZERO, Money::plus);
+    assertEquals(0, Money.parse("1000.00").compareTo(total));
+
+    int reverseTransfers = THREADS / 2 * (TRANSFERS_PER_THREAD / 5);
+    int forwardTransfers = THREADS * TRANSFERS_PER_THREAD - reverseTransfers;
+    var expectedSender = Money.ofMinor((1000 - forwardTransfers + reverseTransfers) * 100L);
+    assertEquals(0, expectedSender.compareTo(cardRepo.findById(SENDER).orElseThrow().getBalance()));
+  }
+
+  @Test
+  void concurrentTransfersFromOneCard_optimisticMode_retriesWithoutLosingMoney()
+      throws Exception {
+    transferProperties.setLockingMode(LockingMode.OPTIMISTIC);
+    concurrentTransfersFromOneCard_neverLoseOrCreateMoney();
+  }
+
+  @Test
+  void concurrentTransfersFromOneCard_neverOverdraw() throws Exception {
+    saveCard(SENDER, "100.00");
+    saveCard(RECEIVERS.get(0), "0.00");
+    var rejected = new AtomicInteger();
+
+    var tasks = new ArrayList<Callable<Void>>();
+    for (int i = 0; i < THREADS; i++) {
+      tasks.add(() -> {
+        for (int j = 0; j < TRANSFERS_PER_THREAD; j++) {
+          try {
+            transfer(SENDER, RECEIVERS.get(0), "1.00");
+          } catch (InsufficientFundsException e) {
+            rejected.incrementAndGet();
+          }
+        }
+        return null;
+      });
+    }
+    runConcurrently(tasks);
+
+    assertEquals(THREADS * TRANSFERS_PER_THREAD - 100, rejected.get());
+    assertEquals(0, Money.ZERO.compareTo(
+        cardRepo.findById(SENDER).orElseThrow().getBalance()));
+    assertEquals(0, Money.parse("100.00").compareTo(
+        cardRepo.findById(RECEIVERS.get(0)).orElseThrow().getBalance()));
+  }
+
+  private void transfer(String senderId, String receiverId, String amount) {
+    retryExecutor.execute(() -> transactionTemplate.execute(status -> {
+      var cards = cardService.findAllForUpdate(List.of(senderId, receiverId));
+      balanceService.transferFunds(cards.get(senderId), cards.get(receiverId),
+          Money.parse(amount));
+      return null;
+    }));
+  }
+
+  private void saveCard(String number, String balance) {
+    cardRepo.save(new Card(number, owner, YearMonth.now().plusYears(1), CardStatus.ACTIVE,
+        Money.parse(balance)));
+  }
+
+  private void runConcurrently(List<Callable<Void>> tasks) throws Exception {
+    var executor = Executors.newFixedThreadPool(tasks.size());
+    var start = new CountDownLatch(1);
+    try {
+      var futures = tasks.stream().map(task -> executor.submit(() -> {
+        start.await();
+        return task.call();
+      })).toList();
+      start.countDown();
+      for (var future : futures) {
+        future.get(60, TimeUnit.SECONDS);
+      }
+    } finally {
+      executor.shutdownNow();
+      assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+    }
+  }
+}
@@ -0,0 +1,58 @@
+package dev.itltcanz.bankapi.service;
+
+import dev.itltcanz.bankapi.cache.CacheInvalidator;
+import dev.itltcanz.bankapi.config.LedgerProperties;
+import dev.itltcanz.bankapi.config.TransferProperties;
+import dev.itltcanz.bankapi.repository.BalanceCheckpointRepo;
+import dev.itltcanz.bankapi.repository.CardRepo;
+import dev.itltcanz.bankapi.repository.LedgerEntryRepo;
+import dev.itltcanz.bankapi.repository.TransactionRepo;
+import dev.itltcanz.bankapi.service.impl.BalanceServiceImpl;
+import dev.itltcanz.bankapi.service.impl.CardCheckServiceImpl;
+import dev.itltcanz.bankapi.service.impl.CardServiceImpl;
+import dev.itltcanz.bankapi.service.impl.LedgerServiceImpl;
+import dev.itltcanz.bankapi.service.impl.TransactionServiceImpl;
+import lombok.Getter;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.AnnotationTransactionAttributeSource;
+import org.springframework.transaction.interceptor.TransactionInterceptor;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * The transfer services wired by hand on the repositories of a {@code @DataJpaTest}, for the
+ * tests that run transfers from many threads. Only the collaborators of the transfer path are
+ * set, and caching is disabled. The transaction service is proxied so that its
+ * {@code @Transactional} methods run in transactions, as they do in the application.
+ */
+@Getter
+class TransferServices {
+
+  private final CardServiceImpl cardService;
+  private final BalanceServiceImpl balanceService;
+  private final LedgerService ledgerService;
+  private final TransactionService transactionService;
+  private final TransactionTemplate transactionTemplate;
+
+  TransferServices(CardRepo cardRepo, TransactionRepo transactionRepo,
+      LedgerEntryRepo ledgerEntryRepo, BalanceCheckpointRepo balanceCheckpointRepo,
+      TransferProperties transferProperties, PlatformTransactionManager transactionManager) {
+    var cacheManager = new NoOpCacheManager();
+    var cacheInvalidator = new CacheInvalidator(cacheManager);
+    cardService = new CardServiceImpl(cardRepo, null, null, null, null, null, null,
+        transferProperties, null, cacheInvalidator, cacheManager);
+    balanceService = new BalanceServiceImpl(cardService, new CardCheckServiceImpl());
+    ledgerService = new LedgerServiceImpl(ledgerEntryRepo, balanceCheckpointRepo,
+        new LedgerProperties());
+    var interceptor = new TransactionInterceptor();
+    interceptor.setTransactionManager(transactionManager);
+    interceptor.setTransactionAttributeSource(new AnnotationTransactionAttributeSource());
+    var proxyFactory = new ProxyFactory(new TransactionServiceImpl(transactionRepo, cardService,
+        null, null, balanceService, null, ledgerService, null, null, cacheInvalidator,
+        cacheManager));
+    proxyFactory.addAdvice(interceptor);
+    transactionService = (TransactionService) proxyFactory.getProxy();
+    transactionTemplate = new TransactionTemplate(transactionManager);
+  }
+}
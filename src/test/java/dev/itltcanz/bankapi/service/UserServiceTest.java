@@ -16,7 +16,9 @@ import dev.itltcanz.bankapi.entity.User;
 import dev.itltcanz.bankapi.entity.enumeration.Role;
 import dev.itltcanz.bankapi.exception.NotFoundException;
 import dev.itltcanz.bankapi.exception.UsernameAlreadyUseException;
+import dev.itltcanz.bankapi.mapper.UserMapper;
 import dev.itltcanz.bankapi.repository.UserRepo;
+import dev.itltcanz.bankapi.security.UserDetailsInvalidatedEvent;
 import dev.itltcanz.bankapi.service.impl.UserServiceImpl;
 import java.util.List;
 import java.util.Optional;
@@ -27,7 +29,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -39,11 +41,17 @@ class UserServiceTest {
   private UserRepo userRepo;
 
   @Mock
-  private ModelMapper modelMapper;
+  private UserMapper userMapper;
 
   @Mock
   private PasswordEncoder passwordEncoder;
 
+  @Mock
+  private ApplicationEventPublisher eventPublisher;
+
+  @Mock
+  private TokenService tokenService;
+
   @InjectMocks
   private UserServiceImpl userService;
 
@@ -77,7 +85,7 @@ class UserServiceTest {
     when(userRepo.existsByUsername("testuser")).thenReturn(false);
     when(passwordEncoder.encode("password")).thenReturn("encodedPassword");
     when(userRepo.save(any(User.class))).thenReturn(user);
-    when(modelMapper.map(user, UserDtoResponse.class)).thenReturn(
+    when(userMapper.toResponse(user)).thenReturn(
         new UserDtoResponse(userId.toString(), "testuser", "ROLE_USER"));
 
     UserDtoResponse result = userService.createUser(userDtoCreate);
@@ -87,7 +95,7 @@ class UserServiceTest {
     verify(userRepo).existsByUsername("testuser");
     verify(passwordEncoder).encode("password");
     verify(userRepo).save(any(User.class));
-    verify(modelMapper).map(user, UserDtoResponse.class);
+    verify(userMapper).toResponse(user);
   }
 
   @Test
@@ -99,20 +107,20 @@ class UserServiceTest {
 
     assertEquals("Username testuser is already in use", exception.getMessage());
     verify(userRepo).existsByUsername("testuser");
-    verifyNoInteractions(passwordEncoder, modelMapper);
+    verifyNoInteractions(passwordEncoder, userMapper);
   }
 
   @Test
   void getUsers_success() {
     PageRequest pageable = PageRequest.of(0, 10);
     when(userRepo.findAll(pageable)).thenReturn(new PageImpl<>(List.of(user)));
-    when(modelMapper.map(user, UserDtoResponse.class)).thenReturn(new UserDtoResponse());
+    when(userMapper.toResponse(user)).thenReturn(new UserDtoResponse());
 
     var result = userService.getUsers(pageable);
 
     assertEquals(1, result.getContent().size());
     verify(userRepo).findAll(pageable);
-    verify(modelMapper).map(user, UserDtoResponse.class);
+    verify(userMapper).toResponse(user);
   }
 
   @Test
@@ -123,6 +131,8 @@ class UserServiceTest {
 
     verify(userRepo).findById(userId);
     verify(userRepo).delete(user);
+    verify(tokenService).revokeAccessTokens(userId);
+    verify(eventPublisher).publishEvent(new UserDetailsInvalidatedEvent("testuser"));
   }
 
   @Test
@@ -135,6 +145,7 @@ class UserServiceTest {
     assertEquals("User with id " + userId + " not found", exception.getMessage());
     verify(userRepo).findById(userId);
     verifyNoMoreInteractions(userRepo);
+    verifyNoInteractions(tokenService);
   }
 
   @Test
@@ -143,7 +154,7 @@ class UserServiceTest {
     when(userRepo.existsByUsername("updateduser")).thenReturn(false);
     when(passwordEncoder.encode("newpassword")).thenReturn("newEncodedPassword");
     when(userRepo.save(user)).thenReturn(user);
-    when(modelMapper.map(user, UserDtoResponse.class)).thenReturn(new UserDtoResponse());
+    when(userMapper.toResponse(user)).thenReturn(new UserDtoResponse());
 
     UserDtoResponse result = userService.updateUser(userId.toString(), userDtoUpdate);
 
@@ -152,7 +163,10 @@ class UserServiceTest {
     verify(userRepo).existsByUsername("updateduser");
     verify(passwordEncoder).encode("newpassword");
     verify(userRepo).save(user);
-    verify(modelMapper).map(user, UserDtoResponse.class);
+    verify(tokenService).revokeAll(userId);
+    verify(eventPublisher).publishEvent(new UserDetailsInvalidatedEvent("testuser"));
+    verify(eventPublisher).publishEvent(new UserDetailsInvalidatedEvent("updateduser"));
+    verify(userMapper).toResponse(user);
   }
 
   @Test
@@ -166,7 +180,7 @@ class UserServiceTest {
     assertEquals("Username updateduser is already in use", exception.getMessage());
     verify(userRepo).findById(userId);
     verify(userRepo).existsByUsername("updateduser");
-    verifyNoInteractions(passwordEncoder, modelMapper);
+    verifyNoInteractions(passwordEncoder, userMapper, tokenService);
   }
 
   @Test
@@ -193,12 +207,12 @@ class UserServiceTest {
   @Test
   void getUserById_success() {
     when(userRepo.findById(userId)).thenReturn(Optional.of(user));
-    when(modelMapper.map(user, UserDtoResponse.class)).thenReturn(new UserDtoResponse());
+    when(userMapper.toResponse(user)).thenReturn(new UserDtoResponse());
 
     UserDtoResponse result = userService.getUserById(userId.toString());
 
     assertNotNull(result);
     verify(userRepo).findById(userId);
-    verify(modelMapper).map(user, UserDtoResponse.class);
+    verify(userMapper).toResponse(user);
   }
 }
\ No newline at end of file
@@ -0,0 +1,151 @@
+package dev.itltcanz.bankapi.transfer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import dev.itltcanz.bankapi.config.TransferProperties;
+import dev.itltcanz.bankapi.service.TransactionService;
+import dev.itltcanz.bankapi.transfer.TransferStep.Phase;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AsyncTransferPipelineTest {
+
+  private TransactionService transactionService;
+  private SimpleMeterRegistry meterRegistry;
+  private AsyncTransferPipeline pipeline;
+
+  @BeforeEach
+  void setUp() {
+    var properties = new TransferProperties();
+    properties.getAsync().setLanes(2);
+    transactionService = mock(TransactionService.class);
+    when(transactionService.processTransferSteps(anyList())).thenReturn(List.of());
+    meterRegistry = new SimpleMeterRegistry();
+    pipeline = new AsyncTransferPipeline(transactionService,
+        new TransferRetryExecutor(properties, meterRegistry), properties, meterRegistry);
+  }
+
+  @AfterEach
+  void tearDown() throws InterruptedException {
+    pipeline.shutdown();
+  }
+
+  @Test
+  void onTransferSubmitted_cardsInOneLane_runsFullTransfer() {
+    var id = UUID.randomUUID();
+
+    pipeline.onTransferSubmitted(new TransferSubmittedEvent(id, cardInLane(0, 0),
+        cardInLane(0, 1)));
+
+    verify(transactionService, timeout(1000)).processTransferSteps(
+        List.of(new TransferStep(id, Phase.TRANSFER, cardInLane(0, 0), cardInLane(0, 1))));
+  }
+
+  @Test
+  void onTransferSubmitted_cardsInTwoLanes_creditsAfterDebit() {
+    var id = UUID.randomUUID();
+    var debit = new TransferStep(id, Phase.DEBIT, cardInLane(0, 0), cardInLane(1, 0));
+    var credit = debit.withPhase(Phase.CREDIT);
+    when(transactionService.processTransferSteps(List.of(debit))).thenReturn(List.of(credit));
+
+    pipeline.onTransferSubmitted(new TransferSubmittedEvent(id, cardInLane(0, 0),
+        cardInLane(1, 0)));
+
+    verify(transactionService, timeout(1000)).processTransferSteps(List.of(credit));
+  }
+
+  @Test
+  void flush_failingBatch_isRetriedStepByStep() {
+    var blocker = new TransferStep(UUID.randomUUID(), Phase.CREDIT, cardInLane(0, 0),
+        cardInLane(1, 0));
+    var first = new TransferStep(UUID.randomUUID(), Phase.CREDIT, cardInLane(0, 0),
+        cardInLane(1, 1));
+    var second = new TransferStep(UUID.randomUUID(), Phase.CREDIT, cardInLane(0, 0),
+        cardInLane(1, 2));
+    var release = new CountDownLatch(1);
+    when(transactionService.processTransferSteps(List.of(blocker))).thenAnswer(invocation -> {
+      release.await();
+      return List.of();
+    });
+    when(transactionService.processTransferSteps(List.of(first, second)))
+        .thenThrow(new IllegalStateException("broken"));
+
+    pipeline.route(blocker);
+    verify(transactionService, timeout(1000)).processTransferSteps(List.of(blocker));
+    pipeline.route(first);
+    pipeline.route(second);
+    release.countDown();
+
+    verify(transactionService, timeout(1000)).processTransferSteps(List.of(second));
+    verify(transactionService).processTransferSteps(List.of(first, second));
+    verify(transactionService).processTransferSteps(List.of(first));
+    assertEquals(4, meterRegistry.summary("bank.transfer.lane.flush.size").count());
+  }
+
+  @Test
+  void flush_stepAlwaysFailing_marksTransactionFailedAfterMaxFailures() {
+    var step = new TransferStep(UUID.randomUUID(), Phase.CREDIT, cardInLane(0, 0),
+        cardInLane(1, 0));
+    when(transactionService.processTransferSteps(List.of(step)))
+        .thenThrow(new IllegalStateException("broken"));
+
+    // One at a time, so that the lane does not batch the copies together.
+    for (int i = 1; i <= 4; i++) {
+      pipeline.route(step);
+      verify(transactionService, timeout(1000).times(i)).processTransferSteps(List.of(step));
+    }
+    verify(transactionService, never()).failTransferStep(eq(step), anyString());
+
+    pipeline.route(step);
+
+    verify(transactionService, timeout(1000)).failTransferStep(eq(step), anyString());
+    verify(transactionService, times(5)).processTransferSteps(List.of(step));
+  }
+
+  @Test
+  void route_fullLane_rejectsStep() throws InterruptedException {
+    pipeline.shutdown();
+    var properties = lanesProperties();
+    properties.getAsync().setQueueCapacity(1);
+    pipeline = new AsyncTransferPipeline(transactionService,
+        new TransferRetryExecutor(properties, meterRegistry), properties, meterRegistry);
+    pipeline.shutdown();
+    var step = new TransferStep(UUID.randomUUID(), Phase.CREDIT, cardInLane(0, 0),
+        cardInLane(0, 1));
+
+    assertEquals(true, pipeline.route(step));
+    assertEquals(false, pipeline.route(step));
+  }
+
+  private static TransferProperties lanesProperties() {
+    var properties = new TransferProperties();
+    properties.getAsync().setLanes(2);
+    return properties;
+  }
+
+  /**
+   * Finds the n-th card number owned by the given lane of a two-lane pipeline.
+   */
+  private static String cardInLane(int lane, int n) {
+    for (long i = 0; ; i++) {
+      var number = String.valueOf(4_000_000_000_000_000L + i);
+      if (Math.floorMod(number.hashCode(), 2) == lane && n-- == 0) {
+        return number;
+      }
+    }
+  }
+}
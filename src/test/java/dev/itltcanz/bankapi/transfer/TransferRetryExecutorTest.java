@@ -0,0 +1,68 @@
+package dev.itltcanz.bankapi.transfer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import dev.itltcanz.bankapi.config.TransferProperties;
+import dev.itltcanz.bankapi.exception.InsufficientFundsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+class TransferRetryExecutorTest {
+
+  private SimpleMeterRegistry meterRegistry;
+  private TransferRetryExecutor retryExecutor;
+  private AtomicInteger attempts;
+
+  @BeforeEach
+  void setUp() {
+    var properties = new TransferProperties();
+    properties.getRetry().setMaxAttempts(3);
+    properties.getRetry().setInitialBackoff(Duration.ofMillis(1));
+    properties.getRetry().setMaxBackoff(Duration.ofMillis(2));
+    meterRegistry = new SimpleMeterRegistry();
+    retryExecutor = new TransferRetryExecutor(properties, meterRegistry);
+    attempts = new AtomicInteger();
+  }
+
+  @Test
+  void execute_retriesOptimisticLockFailures_untilSuccess() {
+    var result = retryExecutor.execute(() -> {
+      if (attempts.incrementAndGet() < 3) {
+        throw new ObjectOptimisticLockingFailureException("Card", "1234567890123456");
+      }
+      return "done";
+    });
+
+    assertEquals("done", result);
+    assertEquals(3, attempts.get());
+    assertEquals(2.0, meterRegistry.counter("bank.transfer.retries").count());
+    assertEquals(0.0, meterRegistry.counter("bank.transfer.retries.exhausted").count());
+  }
+
+  @Test
+  void execute_allAttemptsFail_rethrowsAndCountsExhaustion() {
+    assertThrows(ObjectOptimisticLockingFailureException.class, () -> retryExecutor.execute(() -> {
+      attempts.incrementAndGet();
+      throw new ObjectOptimisticLockingFailureException("Card", "1234567890123456");
+    }));
+
+    assertEquals(3, attempts.get());
+    assertEquals(1.0, meterRegistry.counter("bank.transfer.retries.exhausted").count());
+  }
+
+  @Test
+  void execute_businessFailure_isNotRetried() {
+    assertThrows(InsufficientFundsException.class, () -> retryExecutor.execute(() -> {
+      attempts.incrementAndGet();
+      throw new InsufficientFundsException("There are insufficient funds");
+    }));
+
+    assertEquals(1, attempts.get());
+    assertEquals(0.0, meterRegistry.counter("bank.transfer.retries").count());
+  }
+}
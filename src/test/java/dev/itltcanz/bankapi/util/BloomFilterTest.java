@@ -0,0 +1,53 @@
+package dev.itltcanz.bankapi.util;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class BloomFilterTest {
+
+  @Test
+  void mightContain_putValues_alwaysTrue() {
+    var filter = new BloomFilter(10_000, 0.01);
+    var values = new String[10_000];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = UUID.randomUUID().toString();
+      filter.put(values[i]);
+    }
+
+    for (var value : values) {
+      assertTrue(filter.mightContain(value));
+    }
+  }
+
+  @Test
+  void mightContain_otherValues_falsePositiveRateNearConfigured() {
+    var filter = new BloomFilter(10_000, 0.01);
+    for (int i = 0; i < 10_000; i++) {
+      filter.put(UUID.randomUUID().toString());
+    }
+
+    var falsePositives = 0;
+    for (int i = 0; i < 100_000; i++) {
+      if (filter.mightContain(UUID.randomUUID().toString())) {
+        falsePositives++;
+      }
+    }
+
+    assertTrue(falsePositives < 2_000, "False positives: " + falsePositives);
+  }
+
+  @Test
+  void mightContain_emptyFilter_false() {
+    assertFalse(new BloomFilter(100, 0.01).mightContain("value"));
+  }
+
+  @Test
+  void constructor_invalidSettings_throwIllegalArgumentException() {
+    assertThrows(IllegalArgumentException.class, () -> new BloomFilter(0, 0.01));
+    assertThrows(IllegalArgumentException.class, () -> new BloomFilter(100, 1));
+  }
+}
@@ -0,0 +1,84 @@
+package dev.itltcanz.bankapi.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import dev.itltcanz.bankapi.entity.Card;
+import dev.itltcanz.bankapi.entity.User;
+import dev.itltcanz.bankapi.entity.enumeration.CardStatus;
+import dev.itltcanz.bankapi.entity.enumeration.Role;
+import dev.itltcanz.bankapi.mapper.CardMapper;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.UUID;
+import org.hibernate.proxy.HibernateProxy;
+import org.hibernate.proxy.LazyInitializer;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+
+class HibernateUtilsTest {
+
+  @Test
+  void getIdAsString_entity_readsId() {
+    var user = new User(UUID.randomUUID(), "testuser", "password", Role.ROLE_USER);
+
+    assertEquals(user.getId().toString(), HibernateUtils.getIdAsString(user));
+    assertNull(HibernateUtils.getIdAsString(null));
+    assertNull(HibernateUtils.getIdAsString(new User()));
+  }
+
+  @Test
+  void getIdAsString_proxy_readsIdWithoutInitializing() {
+    var id = UUID.randomUUID();
+    var initializer = mock(LazyInitializer.class);
+    when(initializer.getIdentifier()).thenReturn(id);
+    var proxy = userProxy(initializer);
+
+    assertEquals(id.toString(), HibernateUtils.getIdAsString(proxy));
+
+    verify(initializer, never()).initialize();
+    verify(initializer, never()).getImplementation();
+    verify(proxy, never()).getId();
+  }
+
+  @Test
+  void getCardNumber_proxy_readsNumberWithoutInitializing() {
+    var initializer = mock(LazyInitializer.class);
+    when(initializer.getIdentifier()).thenReturn("4000001234567899");
+    var proxy = mock(Card.class, withSettings().extraInterfaces(HibernateProxy.class));
+    when(((HibernateProxy) proxy).getHibernateLazyInitializer()).thenReturn(initializer);
+
+    assertEquals("4000001234567899", HibernateUtils.getCardNumber(proxy));
+
+    verify(initializer, never()).initialize();
+    verify(proxy, never()).getNumber();
+  }
+
+  @Test
+  void mapPage_lazyOwners_neverInitialized() {
+    var initializer = mock(LazyInitializer.class);
+    when(initializer.getIdentifier()).thenReturn(UUID.randomUUID());
+    var cards = new ArrayList<Card>();
+    for (int i = 0; i < 1000; i++) {
+      cards.add(new Card(String.format("4%015d", i), userProxy(initializer), YearMonth.of(2030, 1),
+          CardStatus.ACTIVE, Money.parse("1.00")));
+    }
+
+    var page = new PageImpl<>(cards).map(new CardMapper()::toResponse);
+
+    assertEquals(1000, page.getNumberOfElements());
+    verify(initializer, never()).initialize();
+    verify(initializer, never()).getImplementation();
+  }
+
+  private static User userProxy(LazyInitializer initializer) {
+    var proxy = mock(User.class, withSettings().extraInterfaces(HibernateProxy.class));
+    when(((HibernateProxy) proxy).getHibernateLazyInitializer()).thenReturn(initializer);
+    return proxy;
+  }
+}
@@ -0,0 +1,70 @@
+package dev.itltcanz.bankapi.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.itltcanz.bankapi.dto.transaction.TransactionDtoCreate;
+import java.math.BigDecimal;
+import org.junit.jupiter.api.Test;
+
+public class MoneyTest {
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  @Test
+  void of_convertsDecimalToMinorUnits() {
+    assertEquals(1250, Money.of(new BigDecimal("12.5")).getMinorUnits());
+    assertEquals(1250, Money.parse("12.50").getMinorUnits());
+    assertEquals(-1, Money.parse("-0.01").getMinorUnits());
+    assertEquals(new BigDecimal("12.50"), Money.ofMinor(1250).toBigDecimal());
+    assertEquals("12.50", Money.ofMinor(1250).toString());
+  }
+
+  @Test
+  void of_rejectsFractionsOfMinorUnitsAndOverflow() {
+    assertThrows(ArithmeticException.class, () -> Money.parse("12.345"));
+    assertThrows(ArithmeticException.class, () -> Money.parse("100000000000000000000"));
+    assertThrows(NumberFormatException.class, () -> Money.parse("abc"));
+  }
+
+  @Test
+  void arithmetic_isExact() {
+    var seventy = Money.parse("70");
+    var thirty = Money.parse("30");
+
+    assertEquals(Money.parse("100"), seventy.plus(thirty));
+    assertEquals(Money.parse("40"), seventy.minus(thirty));
+    assertEquals(Money.parse("-40"), thirty.minus(seventy));
+    assertEquals(Money.parse("40"), thirty.minus(seventy).abs());
+    assertTrue(thirty.isLessThan(seventy));
+    assertEquals(0, Money.ZERO.signum());
+    assertThrows(ArithmeticException.class,
+        () -> Money.ofMinor(Long.MAX_VALUE).plus(Money.ofMinor(1)));
+    assertThrows(ArithmeticException.class,
+        () -> Money.ofMinor(Long.MIN_VALUE).minus(Money.ofMinor(1)));
+  }
+
+  @Test
+  void json_roundTrip() throws Exception {
+    assertEquals("12.50", objectMapper.writeValueAsString(Money.parse("12.5")));
+    assertEquals(Money.parse("12.5"), objectMapper.readValue("12.5", Money.class));
+    assertEquals(Money.parse("12.5"), objectMapper.readValue("\"12.50\"", Money.class));
+
+    var dto = objectMapper.readValue("{\"amount\":30}", TransactionDtoCreate.class);
+    assertEquals(Money.parse("30"), dto.getAmount());
+    assertThrows(JsonMappingException.class,
+        () -> objectMapper.readValue("{\"amount\":12.345}", TransactionDtoCreate.class));
+  }
+
+  @Test
+  void attributeConverter_roundTrip() {
+    var converter = new MoneyAttributeConverter();
+
+    assertEquals(new BigDecimal("12.50"), converter.convertToDatabaseColumn(Money.parse("12.5")));
+    assertEquals(Money.parse("12.5"), converter.convertToEntityAttribute(new BigDecimal("12.50")));
+    assertEquals(null, converter.convertToDatabaseColumn(null));
+  }
+}
@@ -0,0 +1,58 @@
+package dev.itltcanz.bankapi.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class TokenBucketTest {
+
+  private final AtomicLong now = new AtomicLong();
+
+  @Test
+  void tryAcquire_fullBucket_allowsBurstOfCapacity() {
+    var bucket = new TokenBucket(3, Duration.ofSeconds(1), now::get);
+
+    for (int i = 0; i < 3; i++) {
+      assertTrue(bucket.tryAcquire().isZero());
+    }
+
+    assertEquals(Duration.ofSeconds(1), bucket.tryAcquire());
+  }
+
+  @Test
+  void tryAcquire_afterRefillPeriod_allowsOneMore() {
+    var bucket = new TokenBucket(1, Duration.ofSeconds(1), now::get);
+    bucket.tryAcquire();
+
+    now.addAndGet(Duration.ofMillis(400).toNanos());
+    assertEquals(Duration.ofMillis(600), bucket.tryAcquire());
+    now.addAndGet(Duration.ofMillis(600).toNanos());
+
+    assertTrue(bucket.tryAcquire().isZero());
+    assertEquals(Duration.ofSeconds(1), bucket.tryAcquire());
+  }
+
+  @Test
+  void tryAcquire_longIdle_refillsOnlyUpToCapacity() {
+    var bucket = new TokenBucket(2, Duration.ofSeconds(1), now::get);
+    bucket.tryAcquire();
+    bucket.tryAcquire();
+
+    now.addAndGet(Duration.ofMinutes(1).toNanos());
+
+    assertTrue(bucket.tryAcquire().isZero());
+    assertTrue(bucket.tryAcquire().isZero());
+    assertEquals(Duration.ofSeconds(1), bucket.tryAcquire());
+  }
+
+  @Test
+  void constructor_invalidArguments_throws() {
+    assertThrows(IllegalArgumentException.class,
+        () -> new TokenBucket(0, Duration.ofSeconds(1)));
+    assertThrows(IllegalArgumentException.class, () -> new TokenBucket(1, Duration.ZERO));
+  }
+}